@@ -0,0 +1,42 @@
+-- Migration script to remove duplicate live attendances per user and day, then add the unique index
+-- the absence job and the punch batch insert against. Safe to run more than once.
+
+BEGIN;
+
+-- Step 1: Keep one live row per (user_id, attendance_date): the one with the most check-ins, then the oldest.
+-- The others are soft-deleted together with their check-ins.
+WITH ranked AS (
+    SELECT a.id,
+           ROW_NUMBER() OVER (
+               PARTITION BY a.user_id, a.attendance_date
+               ORDER BY (SELECT COUNT(*) FROM attendance_check_ins ci
+                         WHERE ci.attendance_id = a.id AND ci.is_deleted = false) DESC,
+                        a.created_at, a.id
+           ) AS position
+    FROM attendances a
+    WHERE a.is_deleted = false
+),
+duplicates AS (
+    UPDATE attendances a
+    SET is_deleted = true, deleted_at = LOCALTIMESTAMP, deleted_by = 'SYSTEM', version = a.version + 1
+    FROM ranked r
+    WHERE r.id = a.id AND r.position > 1
+    RETURNING a.id
+)
+UPDATE attendance_check_ins ci
+SET is_deleted = true, deleted_at = LOCALTIMESTAMP, deleted_by = 'SYSTEM', version = ci.version + 1
+FROM duplicates d
+WHERE ci.attendance_id = d.id AND ci.is_deleted = false;
+
+-- Step 2: One live attendance per user and day
+CREATE UNIQUE INDEX IF NOT EXISTS uk_att_user_date_active
+    ON attendances (user_id, attendance_date) WHERE is_deleted = false;
+
+COMMIT;
+
+-- Verify: should return no rows
+SELECT user_id, attendance_date, COUNT(*)
+FROM attendances
+WHERE is_deleted = false
+GROUP BY user_id, attendance_date
+HAVING COUNT(*) > 1;
@@ -0,0 +1,154 @@
+-- Migration script to range-partition orders, order_items and business_order_payments by created_at month
+-- Run this script manually during a maintenance window with the application stopped (PostgreSQL 12+)
+
+BEGIN;
+
+-- Step 1: Schema that receives detached (cold) partitions and the pre-migration tables
+CREATE SCHEMA IF NOT EXISTS archive;
+
+-- Step 2: Helper that creates one partition per month, starting at from_month, for months_ahead months
+CREATE OR REPLACE FUNCTION emenu_create_monthly_partitions(parent_table TEXT, from_month DATE, months_ahead INT)
+RETURNS INT AS $$
+DECLARE
+    month_start DATE;
+    partition_name TEXT;
+    created INT := 0;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        month_start := (date_trunc('month', from_month) + make_interval(months => i))::DATE;
+        partition_name := format('%s_p%s', parent_table, to_char(month_start, 'YYYY_MM'));
+        IF to_regclass(format('public.%I', partition_name)) IS NULL THEN
+            EXECUTE format('CREATE TABLE public.%I PARTITION OF public.%I FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, parent_table, month_start, (month_start + INTERVAL '1 month')::DATE);
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Step 3: Helper that detaches every monthly partition older than before_month and moves it to archive_schema
+CREATE OR REPLACE FUNCTION emenu_archive_partitions(parent_table TEXT, before_month DATE, archive_schema TEXT)
+RETURNS INT AS $$
+DECLARE
+    part RECORD;
+    archived INT := 0;
+BEGIN
+    FOR part IN
+        SELECT c.relname AS name
+        FROM pg_inherits i
+                 JOIN pg_class c ON c.oid = i.inhrelid
+                 JOIN pg_class p ON p.oid = i.inhparent
+                 JOIN pg_namespace n ON n.oid = p.relnamespace
+        WHERE n.nspname = 'public'
+          AND p.relname = parent_table
+          AND c.relname ~ ('^' || parent_table || '_p[0-9]{4}_[0-9]{2}$')
+          AND to_date(right(c.relname, 7), 'YYYY_MM') < date_trunc('month', before_month)
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE public.%I DETACH PARTITION public.%I', parent_table, part.name);
+        EXECUTE format('ALTER TABLE public.%I SET SCHEMA %I', part.name, archive_schema);
+        archived := archived + 1;
+    END LOOP;
+    RETURN archived;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Step 4: Drop foreign keys pointing at orders (a partitioned orders table has no unique key on id alone)
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    FOR fk IN
+        SELECT conrelid::regclass AS table_name, conname
+        FROM pg_constraint
+        WHERE contype = 'f'
+          AND confrelid IN ('public.orders'::regclass, 'public.order_items'::regclass, 'public.business_order_payments'::regclass)
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+    END LOOP;
+END;
+$$;
+
+-- Step 5: Move the current tables aside (their idx_* index names move with them, freeing the names)
+ALTER TABLE orders RENAME TO orders_legacy;
+ALTER TABLE orders_legacy SET SCHEMA archive;
+ALTER TABLE order_items RENAME TO order_items_legacy;
+ALTER TABLE order_items_legacy SET SCHEMA archive;
+ALTER TABLE business_order_payments RENAME TO business_order_payments_legacy;
+ALTER TABLE business_order_payments_legacy SET SCHEMA archive;
+
+-- Step 6: Create the partitioned parents (the primary key must contain the partition key)
+CREATE TABLE orders (LIKE archive.orders_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (created_at);
+ALTER TABLE orders ADD PRIMARY KEY (id, created_at);
+
+CREATE TABLE order_items (LIKE archive.order_items_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (created_at);
+ALTER TABLE order_items ADD PRIMARY KEY (id, created_at);
+
+CREATE TABLE business_order_payments (LIKE archive.business_order_payments_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (created_at);
+ALTER TABLE business_order_payments ADD PRIMARY KEY (id, created_at);
+
+-- A unique key on a partitioned table must contain the partition key, so order_number and
+-- payment_reference are claimed in small non-partitioned key tables instead. The triggers run for
+-- every row inserted below as well, so a duplicate in the legacy data aborts the migration.
+CREATE TABLE IF NOT EXISTS order_numbers (order_number VARCHAR(255) PRIMARY KEY);
+CREATE TABLE IF NOT EXISTS payment_references (payment_reference VARCHAR(255) PRIMARY KEY);
+
+CREATE OR REPLACE FUNCTION emenu_claim_order_number() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' OR NEW.order_number IS DISTINCT FROM OLD.order_number THEN
+        INSERT INTO order_numbers (order_number) VALUES (NEW.order_number);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION emenu_claim_payment_reference() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' OR NEW.payment_reference IS DISTINCT FROM OLD.payment_reference THEN
+        INSERT INTO payment_references (payment_reference) VALUES (NEW.payment_reference);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER orders_claim_order_number AFTER INSERT OR UPDATE OF order_number ON orders
+    FOR EACH ROW EXECUTE FUNCTION emenu_claim_order_number();
+CREATE TRIGGER business_order_payments_claim_reference AFTER INSERT OR UPDATE OF payment_reference ON business_order_payments
+    FOR EACH ROW EXECUTE FUNCTION emenu_claim_payment_reference();
+
+-- Step 7: Catch-all partitions so an insert never fails when a monthly partition is missing
+CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+CREATE TABLE order_items_default PARTITION OF order_items DEFAULT;
+CREATE TABLE business_order_payments_default PARTITION OF business_order_payments DEFAULT;
+
+-- Step 8: Monthly partitions from the oldest existing row up to three months ahead
+DO $$
+DECLARE
+    tbl TEXT;
+    oldest DATE;
+    months INT;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['orders', 'order_items', 'business_order_payments'] LOOP
+        EXECUTE format('SELECT COALESCE(MIN(created_at), CURRENT_DATE)::DATE FROM archive.%I', tbl || '_legacy') INTO oldest;
+        months := (EXTRACT(YEAR FROM age(date_trunc('month', CURRENT_DATE), date_trunc('month', oldest))) * 12
+                 + EXTRACT(MONTH FROM age(date_trunc('month', CURRENT_DATE), date_trunc('month', oldest))))::INT + 3;
+        PERFORM emenu_create_monthly_partitions(tbl, oldest, months);
+    END LOOP;
+END;
+$$;
+
+-- Step 9: Copy the data (rows are routed to their monthly partition)
+INSERT INTO orders SELECT * FROM archive.orders_legacy;
+INSERT INTO order_items SELECT * FROM archive.order_items_legacy;
+INSERT INTO business_order_payments SELECT * FROM archive.business_order_payments_legacy;
+
+COMMIT;
+
+-- Verify every row landed in a monthly partition (the default partitions should be empty)
+SELECT 'orders_default' AS partition_name, COUNT(*) FROM orders_default
+UNION ALL SELECT 'order_items_default', COUNT(*) FROM order_items_default
+UNION ALL SELECT 'business_order_payments_default', COUNT(*) FROM business_order_payments_default;
+
+-- After verifying the application, the legacy copies can be dropped:
+-- DROP TABLE archive.orders_legacy, archive.order_items_legacy, archive.business_order_payments_legacy;
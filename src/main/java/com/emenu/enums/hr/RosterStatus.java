@@ -0,0 +1,19 @@
+package com.emenu.enums.hr;
+
+import lombok.Getter;
+
+@Getter
+public enum RosterStatus {
+    SCHEDULED("Scheduled", "Shift is running but the employee has not clocked in"),
+    CHECKED_IN("Checked In", "Employee is clocked in"),
+    CHECKED_OUT("Checked Out", "Employee clocked out before the shift ended"),
+    ON_LEAVE("On Leave", "Employee is on approved leave");
+
+    private final String displayName;
+    private final String description;
+
+    RosterStatus(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+}
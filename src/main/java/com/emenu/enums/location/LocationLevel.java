@@ -0,0 +1,31 @@
+package com.emenu.enums.location;
+
+import lombok.Getter;
+
+@Getter
+public enum LocationLevel {
+    PROVINCE("Province"),
+    DISTRICT("District"),
+    COMMUNE("Commune"),
+    VILLAGE("Village");
+
+    private final String description;
+
+    LocationLevel(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Level of the parent, null for provinces
+     */
+    public LocationLevel parent() {
+        return this == PROVINCE ? null : values()[ordinal() - 1];
+    }
+
+    /**
+     * Level of the children, null for villages
+     */
+    public LocationLevel child() {
+        return this == VILLAGE ? null : values()[ordinal() + 1];
+    }
+}
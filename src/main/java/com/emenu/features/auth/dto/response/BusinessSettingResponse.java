@@ -44,6 +44,10 @@ public class BusinessSettingResponse extends BaseAuditResponse {
     private Double deliveryRadiusKm;
     private String estimatedDeliveryTime;
 
+    private Double latitude;
+    private Double longitude;
+    private Double checkInRadiusMeters;
+
     private String termsAndConditions;
     private String privacyPolicy;
     private String refundPolicy;
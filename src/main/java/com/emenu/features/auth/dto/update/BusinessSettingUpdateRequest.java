@@ -44,6 +44,17 @@ public class BusinessSettingUpdateRequest {
     private Double deliveryRadiusKm;
     private String estimatedDeliveryTime;
 
+    @DecimalMin(value = "-90.0")
+    @DecimalMax(value = "90.0")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0")
+    @DecimalMax(value = "180.0")
+    private Double longitude;
+
+    @DecimalMin(value = "1.0")
+    private Double checkInRadiusMeters;
+
     private String termsAndConditions;
     private String privacyPolicy;
     private String refundPolicy;
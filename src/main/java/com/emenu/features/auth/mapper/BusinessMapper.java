@@ -16,7 +16,8 @@ import java.util.List;
 @Mapper(componentModel = "spring", uses = {PaginationMapper.class}, unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public interface BusinessMapper {
 
-    @Mapping(target = "hasActiveSubscription", expression = "java(business.hasActiveSubscription())")
+    // Filled from SubscriptionEntitlementCache by BusinessServiceImpl
+    @Mapping(target = "hasActiveSubscription", ignore = true)
     BusinessResponse toResponse(Business business);
 
     Business toEntity(BusinessCreateRequest request);
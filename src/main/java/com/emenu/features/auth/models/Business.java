@@ -1,6 +1,7 @@
 package com.emenu.features.auth.models;
 
 import com.emenu.enums.user.BusinessStatus;
+import com.emenu.features.auth.summary.BusinessOwnerSummaryListener;
 import com.emenu.features.subscription.models.Subscription;
 import com.emenu.shared.domain.BaseUUIDEntity;
 import jakarta.persistence.*;
@@ -14,6 +15,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(BusinessOwnerSummaryListener.class)
 @Table(name = "businesses", indexes = {
         @Index(name = "idx_business_deleted", columnList = "is_deleted"),
         @Index(name = "idx_business_status", columnList = "status, is_deleted"),
@@ -0,0 +1,75 @@
+package com.emenu.features.auth.models;
+
+import com.emenu.enums.payment.PaymentStatus;
+import com.emenu.enums.sub_scription.SubscriptionStatus;
+import com.emenu.enums.user.AccountStatus;
+import com.emenu.enums.user.BusinessStatus;
+import com.emenu.shared.domain.BaseUUIDEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row per business owner for the admin listing: owner and business state, the latest subscription
+ * and the status of its latest payment, plus a lower-cased search text.
+ * Written with JDBC by BusinessOwnerSummaryService; this mapping is read-only.
+ */
+@Entity
+@Table(name = "business_owner_summary", indexes = {
+        @Index(name = "idx_owner_summary_business", columnList = "business_id"),
+        @Index(name = "idx_owner_summary_created", columnList = "owner_created_at"),
+        @Index(name = "idx_owner_summary_end_date", columnList = "subscription_end_date"),
+        @Index(name = "idx_owner_summary_status", columnList = "subscription_status"),
+        @Index(name = "idx_owner_summary_business_status", columnList = "business_status"),
+        @Index(name = "idx_owner_summary_account_status", columnList = "owner_account_status"),
+        @Index(name = "idx_owner_summary_payment_status", columnList = "payment_status")
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class BusinessOwnerSummary extends BaseUUIDEntity {
+
+    @Column(name = "owner_id", nullable = false, unique = true)
+    private UUID ownerId;
+
+    @Column(name = "business_id", nullable = false)
+    private UUID businessId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "owner_account_status")
+    private AccountStatus ownerAccountStatus;
+
+    @Column(name = "owner_created_at")
+    private LocalDateTime ownerCreatedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "business_status")
+    private BusinessStatus businessStatus;
+
+    @Column(name = "subscription_id")
+    private UUID subscriptionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "subscription_status")
+    private SubscriptionStatus subscriptionStatus;
+
+    @Column(name = "subscription_end_date")
+    private LocalDateTime subscriptionEndDate;
+
+    @Column(name = "auto_renew")
+    private Boolean autoRenew;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status")
+    private PaymentStatus paymentStatus;
+
+    // Trigram-indexed, see BusinessOwnerSummaryService.ensureSearchIndex
+    @Column(name = "search_text", columnDefinition = "TEXT")
+    private String searchText;
+}
@@ -1,5 +1,6 @@
 package com.emenu.features.auth.models;
 
+import com.emenu.features.hr.cache.BusinessGeofenceListener;
 import com.emenu.shared.domain.BaseUUIDEntity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -10,6 +11,7 @@ import lombok.NoArgsConstructor;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(BusinessGeofenceListener.class)
 @Table(name = "business_settings", indexes = {
         @Index(name = "idx_business_setting_deleted", columnList = "is_deleted"),
         @Index(name = "idx_business_setting_business", columnList = "business_id, is_deleted")
@@ -119,6 +121,16 @@ public class BusinessSetting extends BaseUUIDEntity {
     @Column(name = "estimated_delivery_time")
     private String estimatedDeliveryTime;
 
+    // Attendance Geofence
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @Column(name = "check_in_radius_meters")
+    private Double checkInRadiusMeters;
+
     // Terms & Policies
     @Column(name = "terms_and_conditions", columnDefinition = "TEXT")
     private String termsAndConditions;
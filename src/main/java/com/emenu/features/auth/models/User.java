@@ -2,6 +2,7 @@ package com.emenu.features.auth.models;
 
 import com.emenu.enums.user.AccountStatus;
 import com.emenu.enums.user.UserType;
+import com.emenu.features.auth.summary.BusinessOwnerSummaryListener;
 import com.emenu.shared.domain.BaseUUIDEntity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -13,6 +14,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(BusinessOwnerSummaryListener.class)
 @Table(name = "users", indexes = {
         @Index(name = "idx_user_deleted", columnList = "is_deleted"),
         @Index(name = "idx_user_identifier", columnList = "user_identifier, is_deleted"),
@@ -1,18 +1,12 @@
 package com.emenu.features.auth.repository;
 
-import com.emenu.enums.payment.PaymentStatus;
-import com.emenu.enums.sub_scription.SubscriptionStatus;
-import com.emenu.enums.user.AccountStatus;
-import com.emenu.enums.user.BusinessStatus;
 import com.emenu.features.auth.models.User;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -34,55 +28,14 @@ public interface BusinessOwnerRepository extends JpaRepository<User, UUID> {
     Optional<User> findBusinessOwnerById(@Param("ownerId") UUID ownerId);
 
     /**
-     * Find all business owners with comprehensive filtering
+     * Load a page of business owners with their business
      */
     @Query("""
-        SELECT DISTINCT u FROM User u
-        LEFT JOIN u.business b
-        LEFT JOIN b.subscriptions s
-        LEFT JOIN s.payments p
-        WHERE u.userType = 'BUSINESS_USER'
-        AND u.isDeleted = false
-        AND b.isDeleted = false
-        AND (:ownerAccountStatuses IS NULL OR u.accountStatus IN :ownerAccountStatuses)
-        AND (:businessStatuses IS NULL OR b.status IN :businessStatuses)
-        AND (
-            :subscriptionStatuses IS NULL 
-            OR (
-                :hasActive = true AND s.endDate > :now
-            )
-            OR (
-                :hasExpired = true AND s.endDate <= :now
-            )
-            OR (
-                :hasExpiringSoon = true AND s.endDate > :now AND s.endDate <= :expiryThreshold
-            )
-        )
-        AND (:autoRenew IS NULL OR s.autoRenew = :autoRenew)
-        AND (:paymentStatuses IS NULL OR p.status IN :paymentStatuses)
-        AND (:search IS NULL OR :search = '' OR
-             LOWER(u.userIdentifier) LIKE LOWER(CONCAT('%', :search, '%')) OR
-             LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')) OR
-             LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR
-             LOWER(u.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR
-             LOWER(b.name) LIKE LOWER(CONCAT('%', :search, '%')) OR
-             LOWER(b.email) LIKE LOWER(CONCAT('%', :search, '%')))
-        ORDER BY u.createdAt DESC
+        SELECT u FROM User u
+        LEFT JOIN FETCH u.business b
+        WHERE u.id IN :ownerIds
     """)
-    Page<User> findAllBusinessOwnersWithFilters(
-            @Param("ownerAccountStatuses") List<AccountStatus> ownerAccountStatuses,
-            @Param("businessStatuses") List<BusinessStatus> businessStatuses,
-            @Param("subscriptionStatuses") List<SubscriptionStatus> subscriptionStatuses,
-            @Param("hasActive") boolean hasActive,
-            @Param("hasExpired") boolean hasExpired,
-            @Param("hasExpiringSoon") boolean hasExpiringSoon,
-            @Param("now") LocalDateTime now,
-            @Param("expiryThreshold") LocalDateTime expiryThreshold,
-            @Param("autoRenew") Boolean autoRenew,
-            @Param("paymentStatuses") List<PaymentStatus> paymentStatuses,
-            @Param("search") String search,
-            Pageable pageable
-    );
+    List<User> findAllWithBusinessByIdIn(@Param("ownerIds") Collection<UUID> ownerIds);
 
     /**
      * Check if business owner exists by email
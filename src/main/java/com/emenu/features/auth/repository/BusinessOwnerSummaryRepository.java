@@ -0,0 +1,54 @@
+package com.emenu.features.auth.repository;
+
+import com.emenu.enums.payment.PaymentStatus;
+import com.emenu.enums.user.AccountStatus;
+import com.emenu.enums.user.BusinessStatus;
+import com.emenu.features.auth.models.BusinessOwnerSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BusinessOwnerSummaryRepository extends JpaRepository<BusinessOwnerSummary, UUID> {
+
+    /**
+     * Admin listing of business owners. Every filter is a single-table predicate;
+     * searchPattern is a lower-cased LIKE pattern served by the trigram index.
+     */
+    @Query("""
+        SELECT s FROM BusinessOwnerSummary s
+        WHERE (:ownerAccountStatuses IS NULL OR s.ownerAccountStatus IN :ownerAccountStatuses)
+        AND (:businessStatuses IS NULL OR s.businessStatus IN :businessStatuses)
+        AND (
+            :filterSubscription = false
+            OR (:hasActive = true AND s.subscriptionEndDate > :now)
+            OR (:hasExpired = true AND (s.subscriptionEndDate IS NULL OR s.subscriptionEndDate <= :now))
+            OR (:hasExpiringSoon = true AND s.subscriptionEndDate > :now AND s.subscriptionEndDate <= :expiryThreshold)
+        )
+        AND (:autoRenew IS NULL OR s.autoRenew = :autoRenew)
+        AND (:paymentStatuses IS NULL OR s.paymentStatus IN :paymentStatuses)
+        AND (:searchPattern IS NULL OR s.searchText LIKE :searchPattern)
+        ORDER BY s.ownerCreatedAt DESC
+    """)
+    Page<BusinessOwnerSummary> findAllWithFilters(
+            @Param("ownerAccountStatuses") List<AccountStatus> ownerAccountStatuses,
+            @Param("businessStatuses") List<BusinessStatus> businessStatuses,
+            @Param("filterSubscription") boolean filterSubscription,
+            @Param("hasActive") boolean hasActive,
+            @Param("hasExpired") boolean hasExpired,
+            @Param("hasExpiringSoon") boolean hasExpiringSoon,
+            @Param("now") LocalDateTime now,
+            @Param("expiryThreshold") LocalDateTime expiryThreshold,
+            @Param("autoRenew") Boolean autoRenew,
+            @Param("paymentStatuses") List<PaymentStatus> paymentStatuses,
+            @Param("searchPattern") String searchPattern,
+            Pageable pageable
+    );
+}
@@ -62,10 +62,6 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @Query("SELECT u FROM User u WHERE u.userType = 'PLATFORM_USER' AND u.isDeleted = false")
     List<User> findAllPlatformUsers();
 
-    // Find all active users (for ALL_USERS notifications)
-    @Query("SELECT u FROM User u WHERE u.accountStatus = 'ACTIVE' AND u.isDeleted = false")
-    List<User> findAllActiveUsers();
-
     /**
      * Check if user exists by email
      */
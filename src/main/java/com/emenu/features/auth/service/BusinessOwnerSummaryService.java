@@ -0,0 +1,29 @@
+package com.emenu.features.auth.service;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Maintains business_owner_summary, the read model behind the admin business owner listing.
+ * Rows are recomputed from users, businesses, subscriptions and payments in set-based statements.
+ */
+public interface BusinessOwnerSummaryService {
+
+    /**
+     * Recompute the rows of the given businesses and of the businesses owning the given subscriptions.
+     * Runs in its own transaction.
+     */
+    void refresh(Collection<UUID> businessIds, Collection<UUID> subscriptionIds);
+
+    /**
+     * Recompute every row, one chunk of businesses per transaction. Returns the number of businesses visited.
+     */
+    int rebuildAll();
+
+    /**
+     * Create the trigram index on the search text when pg_trgm is available
+     */
+    void ensureSearchIndex();
+
+    boolean isEmpty();
+}
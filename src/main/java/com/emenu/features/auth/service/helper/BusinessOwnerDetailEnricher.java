@@ -4,7 +4,6 @@ import com.emenu.enums.payment.PaymentStatus;
 import com.emenu.enums.sub_scription.SubscriptionStatus;
 import com.emenu.features.auth.dto.response.BusinessOwnerDetailResponse;
 import com.emenu.features.auth.models.Business;
-import com.emenu.features.payment.models.Payment;
 import com.emenu.features.payment.repository.PaymentRepository;
 import com.emenu.features.subscription.models.Subscription;
 import com.emenu.features.subscription.repository.SubscriptionRepository;
@@ -16,8 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -37,24 +35,86 @@ public class BusinessOwnerDetailEnricher {
             return;
         }
 
-        // Enrich subscription data
-        enrichSubscriptionData(response, business.getId());
+        enrich(Map.of(business.getId(), List.of(response)));
+    }
+
+    /**
+     * Enrich a page of responses with one subscription query and one payment totals query
+     */
+    public void enrichDetailResponses(List<BusinessOwnerDetailResponse> responses) {
+        Map<UUID, List<BusinessOwnerDetailResponse>> responsesByBusinessId = new HashMap<>();
+        for (BusinessOwnerDetailResponse response : responses) {
+            if (response.getBusinessId() != null) {
+                responsesByBusinessId.computeIfAbsent(response.getBusinessId(), id -> new ArrayList<>()).add(response);
+            }
+        }
 
-        // Enrich payment data if subscription exists
-        if (response.getCurrentSubscriptionId() != null) {
-            enrichPaymentData(response, response.getCurrentSubscriptionId());
+        if (!responsesByBusinessId.isEmpty()) {
+            enrich(responsesByBusinessId);
         }
     }
 
+    private void enrich(Map<UUID, List<BusinessOwnerDetailResponse>> responsesByBusinessId) {
+        Map<UUID, Subscription> subscriptions = findCurrentSubscriptions(responsesByBusinessId.keySet());
+        Map<UUID, PaymentTotals> paymentTotals = findPaymentTotals(
+                subscriptions.values().stream().map(Subscription::getId).toList());
+
+        responsesByBusinessId.forEach((businessId, responses) -> {
+            Subscription subscription = subscriptions.get(businessId);
+            for (BusinessOwnerDetailResponse response : responses) {
+                if (subscription == null) {
+                    response.setSubscriptionStatus(SubscriptionStatus.EXPIRED);
+                    continue;
+                }
+                populateSubscriptionInfo(response, subscription);
+
+                PaymentTotals totals = paymentTotals.get(subscription.getId());
+                if (totals == null) {
+                    setDefaultPaymentData(response);
+                } else {
+                    populatePaymentInfo(response, totals);
+                }
+            }
+        });
+    }
+
     /**
-     * Enrich subscription information
+     * Current subscription per business: the running one that ends last
      */
-    private void enrichSubscriptionData(BusinessOwnerDetailResponse response, UUID businessId) {
-        subscriptionRepository.findCurrentActiveByBusinessId(businessId, LocalDateTime.now())
-                .ifPresentOrElse(
-                        subscription -> populateSubscriptionInfo(response, subscription),
-                        () -> response.setSubscriptionStatus(SubscriptionStatus.EXPIRED)
-                );
+    private Map<UUID, Subscription> findCurrentSubscriptions(Collection<UUID> businessIds) {
+        Map<UUID, Subscription> current = new HashMap<>();
+        for (Subscription subscription : subscriptionRepository.findCurrentActiveByBusinessIdIn(businessIds, LocalDateTime.now())) {
+            current.putIfAbsent(subscription.getBusinessId(), subscription);
+        }
+        return current;
+    }
+
+    /**
+     * Fold the per-status payment rows into one summary per subscription
+     */
+    private Map<UUID, PaymentTotals> findPaymentTotals(List<UUID> subscriptionIds) {
+        Map<UUID, PaymentTotals> totals = new HashMap<>();
+        if (subscriptionIds.isEmpty()) {
+            return totals;
+        }
+
+        for (Map<String, Object> row : paymentRepository.getPaymentTotalsBySubscriptionIds(subscriptionIds)) {
+            PaymentTotals subscriptionTotals = totals.computeIfAbsent((UUID) row.get("subscriptionId"), id -> new PaymentTotals());
+            PaymentStatus status = (PaymentStatus) row.get("status");
+            BigDecimal amount = row.get("totalAmount") != null ? (BigDecimal) row.get("totalAmount") : BigDecimal.ZERO;
+            int count = ((Number) row.get("paymentCount")).intValue();
+
+            subscriptionTotals.totalPayments += count;
+            if (status == PaymentStatus.COMPLETED) {
+                subscriptionTotals.totalPaid = amount;
+                subscriptionTotals.completedPayments = count;
+                subscriptionTotals.lastPaymentDate = (LocalDateTime) row.get("lastPaymentDate");
+            } else if (status == PaymentStatus.PENDING) {
+                subscriptionTotals.totalPending = amount;
+                subscriptionTotals.pendingPayments = count;
+            }
+        }
+        return totals;
     }
 
     /**
@@ -75,47 +135,16 @@ public class BusinessOwnerDetailEnricher {
     }
 
     /**
-     * Enrich payment summary data
+     * Populate payment summary information
      */
-    private void enrichPaymentData(BusinessOwnerDetailResponse response, UUID subscriptionId) {
-        List<Payment> payments = paymentRepository.findBySubscriptionIdAndIsDeletedFalse(subscriptionId);
-
-        if (payments.isEmpty()) {
-            setDefaultPaymentData(response);
-            return;
-        }
-
-        BigDecimal totalPaid = payments.stream()
-                .filter(p -> p.getStatus() == PaymentStatus.COMPLETED)
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalPending = payments.stream()
-                .filter(p -> p.getStatus() == PaymentStatus.PENDING)
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        long completedCount = payments.stream()
-                .filter(p -> p.getStatus() == PaymentStatus.COMPLETED)
-                .count();
-
-        long pendingCount = payments.stream()
-                .filter(p -> p.getStatus() == PaymentStatus.PENDING)
-                .count();
-
-        LocalDateTime lastPaymentDate = payments.stream()
-                .filter(p -> p.getStatus() == PaymentStatus.COMPLETED)
-                .map(Payment::getCreatedAt)
-                .max(LocalDateTime::compareTo)
-                .orElse(null);
-
-        response.setTotalPaid(totalPaid);
-        response.setTotalPending(totalPending);
-        response.setTotalPayments(payments.size());
-        response.setCompletedPayments((int) completedCount);
-        response.setPendingPayments((int) pendingCount);
-        response.setPaymentStatus(determinePaymentStatus(totalPaid, totalPending, response.getCurrentPlanPrice()));
-        response.setLastPaymentDate(lastPaymentDate);
+    private void populatePaymentInfo(BusinessOwnerDetailResponse response, PaymentTotals totals) {
+        response.setTotalPaid(totals.totalPaid);
+        response.setTotalPending(totals.totalPending);
+        response.setTotalPayments(totals.totalPayments);
+        response.setCompletedPayments(totals.completedPayments);
+        response.setPendingPayments(totals.pendingPayments);
+        response.setPaymentStatus(determinePaymentStatus(totals.totalPaid, totals.totalPending, response.getCurrentPlanPrice()));
+        response.setLastPaymentDate(totals.lastPaymentDate);
     }
 
     /**
@@ -182,6 +211,13 @@ public class BusinessOwnerDetailEnricher {
 
         return "UNPAID";
     }
-}
-
 
+    private static class PaymentTotals {
+        private BigDecimal totalPaid = BigDecimal.ZERO;
+        private BigDecimal totalPending = BigDecimal.ZERO;
+        private int totalPayments;
+        private int completedPayments;
+        private int pendingPayments;
+        private LocalDateTime lastPaymentDate;
+    }
+}
@@ -16,9 +16,11 @@ import com.emenu.features.auth.dto.response.BusinessOwnerCreateResponse;
 import com.emenu.features.auth.dto.response.BusinessOwnerDetailResponse;
 import com.emenu.features.auth.mapper.BusinessOwnerMapper;
 import com.emenu.features.auth.models.Business;
+import com.emenu.features.auth.models.BusinessOwnerSummary;
 import com.emenu.features.auth.models.Role;
 import com.emenu.features.auth.models.User;
 import com.emenu.features.auth.repository.BusinessOwnerRepository;
+import com.emenu.features.auth.repository.BusinessOwnerSummaryRepository;
 import com.emenu.features.auth.repository.BusinessRepository;
 import com.emenu.features.auth.repository.RoleRepository;
 import com.emenu.features.auth.service.BusinessOwnerService;
@@ -34,15 +36,16 @@ import com.emenu.shared.pagination.PaginationUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -51,6 +54,7 @@ import java.util.UUID;
 public class BusinessOwnerServiceImpl implements BusinessOwnerService {
 
     private final BusinessOwnerRepository businessOwnerRepository;
+    private final BusinessOwnerSummaryRepository summaryRepository;
     private final BusinessRepository businessRepository;
     private final RoleRepository roleRepository;
     private final SubscriptionRepository subscriptionRepository;
@@ -126,10 +130,15 @@ public class BusinessOwnerServiceImpl implements BusinessOwnerService {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime expiryThreshold = now.plusDays(filter.getExpiringSoonDays());
 
-        Page<User> ownerPage = businessOwnerRepository.findAllBusinessOwnersWithFilters(
+        // Trigram-indexed substring match on the pre-lowered search text
+        String searchPattern = (filter.getSearch() != null && !filter.getSearch().isBlank())
+                ? "%" + filter.getSearch().trim().toLowerCase() + "%" : null;
+
+        // The summary query has a fixed order (newest owners first)
+        Page<BusinessOwnerSummary> summaryPage = summaryRepository.findAllWithFilters(
                 ownerStatuses,
                 businessStatuses,
-                subscriptionStatuses,
+                subscriptionStatuses != null,
                 hasActive,
                 hasExpired,
                 hasExpiringSoon,
@@ -137,25 +146,34 @@ public class BusinessOwnerServiceImpl implements BusinessOwnerService {
                 expiryThreshold,
                 filter.getAutoRenew(),
                 paymentStatuses,
-                filter.getSearch(),
-                pageable
+                searchPattern,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
         );
 
-        // Map and enrich responses
-        List<BusinessOwnerDetailResponse> enrichedResponses = ownerPage.getContent().stream()
-                .map(this::buildEnrichedDetailResponse)
+        // Load the page's owners in one query and keep the summary order
+        Map<UUID, User> ownersById = businessOwnerRepository.findAllWithBusinessByIdIn(
+                        summaryPage.getContent().stream().map(BusinessOwnerSummary::getOwnerId).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // Map the page, then enrich it with batched subscription and payment lookups
+        List<BusinessOwnerDetailResponse> enrichedResponses = summaryPage.getContent().stream()
+                .map(summary -> ownersById.get(summary.getOwnerId()))
+                .filter(Objects::nonNull)
+                .map(mapper::toDetailResponse)
                 .toList();
+        enricher.enrichDetailResponses(enrichedResponses);
 
         return PaginationResponse.<BusinessOwnerDetailResponse>builder()
                 .content(enrichedResponses)
-                .pageNo(ownerPage.getNumber() + 1)
-                .pageSize(ownerPage.getSize())
-                .totalElements(ownerPage.getTotalElements())
-                .totalPages(ownerPage.getTotalPages())
-                .first(ownerPage.isFirst())
-                .last(ownerPage.isLast())
-                .hasNext(ownerPage.hasNext())
-                .hasPrevious(ownerPage.hasPrevious())
+                .pageNo(summaryPage.getNumber() + 1)
+                .pageSize(summaryPage.getSize())
+                .totalElements(summaryPage.getTotalElements())
+                .totalPages(summaryPage.getTotalPages())
+                .first(summaryPage.isFirst())
+                .last(summaryPage.isLast())
+                .hasNext(summaryPage.hasNext())
+                .hasPrevious(summaryPage.hasPrevious())
                 .build();
     }
 
@@ -0,0 +1,188 @@
+package com.emenu.features.auth.service.impl;
+
+import com.emenu.features.auth.service.BusinessOwnerSummaryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@Slf4j
+public class BusinessOwnerSummaryServiceImpl implements BusinessOwnerSummaryService {
+
+    // Same threshold as BusinessOwnerDetailEnricher
+    private static final int EXPIRING_SOON_DAYS = 7;
+
+    private static final String SUBSCRIPTION_BUSINESSES_SQL =
+            "SELECT DISTINCT business_id FROM subscriptions WHERE id IN (:subscriptionIds)";
+
+    // Latest subscription per business and the status of its latest payment
+    private static final String UPSERT_SQL = """
+            WITH latest_subscription AS (
+                SELECT DISTINCT ON (s.business_id) s.business_id, s.id, s.end_date, s.auto_renew
+                FROM subscriptions s
+                WHERE s.business_id IN (:businessIds) AND s.is_deleted = false
+                ORDER BY s.business_id, s.end_date DESC
+            ),
+            latest_payment AS (
+                SELECT DISTINCT ON (p.subscription_id) p.subscription_id, p.status
+                FROM payments p
+                JOIN latest_subscription ls ON ls.id = p.subscription_id
+                WHERE p.is_deleted = false
+                ORDER BY p.subscription_id, p.created_at DESC
+            )
+            INSERT INTO business_owner_summary (id, version, created_at, created_by, is_deleted,
+                owner_id, business_id, owner_account_status, owner_created_at, business_status,
+                subscription_id, subscription_status, subscription_end_date, auto_renew, payment_status, search_text)
+            SELECT gen_random_uuid(), 0, :now, 'SYSTEM', false,
+                u.id, b.id, u.account_status, u.created_at, b.status,
+                ls.id,
+                CASE WHEN ls.end_date IS NULL OR ls.end_date <= :now THEN 'EXPIRED'
+                     WHEN ls.end_date <= :expiryThreshold THEN 'EXPIRING_SOON'
+                     ELSE 'ACTIVE' END,
+                ls.end_date, ls.auto_renew, lp.status,
+                LOWER(CONCAT_WS(' ', u.user_identifier, u.email, u.first_name, u.last_name, b.name, b.email))
+            FROM users u
+            JOIN businesses b ON b.id = u.business_id
+            LEFT JOIN latest_subscription ls ON ls.business_id = b.id
+            LEFT JOIN latest_payment lp ON lp.subscription_id = ls.id
+            WHERE b.id IN (:businessIds)
+            AND u.user_type = 'BUSINESS_USER'
+            AND u.is_deleted = false
+            AND b.is_deleted = false
+            ON CONFLICT (owner_id) DO UPDATE SET
+                business_id = EXCLUDED.business_id,
+                owner_account_status = EXCLUDED.owner_account_status,
+                owner_created_at = EXCLUDED.owner_created_at,
+                business_status = EXCLUDED.business_status,
+                subscription_id = EXCLUDED.subscription_id,
+                subscription_status = EXCLUDED.subscription_status,
+                subscription_end_date = EXCLUDED.subscription_end_date,
+                auto_renew = EXCLUDED.auto_renew,
+                payment_status = EXCLUDED.payment_status,
+                search_text = EXCLUDED.search_text,
+                updated_at = EXCLUDED.created_at,
+                version = business_owner_summary.version + 1
+            """;
+
+    // Owners that left the business, were deleted or lost their business
+    private static final String DELETE_STALE_SQL = """
+            DELETE FROM business_owner_summary s
+            WHERE s.business_id IN (:businessIds)
+            AND NOT EXISTS (
+                SELECT 1 FROM users u
+                JOIN businesses b ON b.id = u.business_id
+                WHERE u.id = s.owner_id AND b.id = s.business_id
+                AND u.user_type = 'BUSINESS_USER' AND u.is_deleted = false AND b.is_deleted = false
+            )
+            """;
+
+    private static final String DELETE_ORPHANS_SQL =
+            "DELETE FROM business_owner_summary s WHERE NOT EXISTS " +
+            "(SELECT 1 FROM businesses b WHERE b.id = s.business_id AND b.is_deleted = false)";
+
+    private static final String NEXT_BUSINESS_BATCH_SQL =
+            "SELECT id FROM businesses WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String ANY_ROW_SQL = "SELECT EXISTS (SELECT 1 FROM business_owner_summary)";
+
+    private static final String SEARCH_INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS idx_owner_summary_search_trgm " +
+            "ON business_owner_summary USING gin (search_text gin_trgm_ops)";
+
+    // PostgreSQL orders uuid by unsigned bytes, so the nil UUID sorts first
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate requiresNewTemplate;
+    private final int rebuildBatchSize;
+
+    public BusinessOwnerSummaryServiceImpl(JdbcTemplate jdbcTemplate,
+                                           NamedParameterJdbcTemplate namedJdbcTemplate,
+                                           PlatformTransactionManager transactionManager,
+                                           @Value("${app.business-owner-summary.rebuild.batch-size:500}") int rebuildBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        // Refreshes are triggered after the writing transaction committed, so they always need their own
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    @Override
+    public void refresh(Collection<UUID> businessIds, Collection<UUID> subscriptionIds) {
+        requiresNewTemplate.executeWithoutResult(status -> {
+            Set<UUID> targets = new HashSet<>(businessIds);
+            if (!subscriptionIds.isEmpty()) {
+                targets.addAll(namedJdbcTemplate.queryForList(SUBSCRIPTION_BUSINESSES_SQL,
+                        new MapSqlParameterSource("subscriptionIds", subscriptionIds), UUID.class));
+            }
+            targets.remove(null);
+            if (!targets.isEmpty()) {
+                refreshBusinesses(targets);
+            }
+        });
+    }
+
+    @Override
+    public int rebuildAll() {
+        UUID lastId = MIN_UUID;
+        int visited = 0;
+
+        while (true) {
+            List<UUID> businessIds = jdbcTemplate.queryForList(NEXT_BUSINESS_BATCH_SQL, UUID.class, lastId, rebuildBatchSize);
+            if (businessIds.isEmpty()) {
+                break;
+            }
+
+            requiresNewTemplate.executeWithoutResult(status -> refreshBusinesses(businessIds));
+            visited += businessIds.size();
+            lastId = businessIds.get(businessIds.size() - 1);
+
+            if (businessIds.size() < rebuildBatchSize) {
+                break;
+            }
+        }
+
+        int orphans = jdbcTemplate.update(DELETE_ORPHANS_SQL);
+        log.info("Business owner summary rebuilt - Businesses: {}, Orphans removed: {}", visited, orphans);
+        return visited;
+    }
+
+    @Override
+    public void ensureSearchIndex() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute(SEARCH_INDEX_SQL);
+        } catch (Exception e) {
+            log.warn("Trigram index on business_owner_summary.search_text not created, search will scan: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject(ANY_ROW_SQL, Boolean.class));
+    }
+
+    private void refreshBusinesses(Collection<UUID> businessIds) {
+        LocalDateTime now = LocalDateTime.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("businessIds", businessIds)
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("expiryThreshold", Timestamp.valueOf(now.plusDays(EXPIRING_SOON_DAYS)));
+
+        namedJdbcTemplate.update(DELETE_STALE_SQL, params);
+        int rows = namedJdbcTemplate.update(UPSERT_SQL, params);
+        log.debug("Refreshed {} business owner summary rows for {} businesses", rows, businessIds.size());
+    }
+}
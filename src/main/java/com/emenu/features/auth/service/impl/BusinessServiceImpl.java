@@ -10,6 +10,7 @@ import com.emenu.features.auth.mapper.BusinessMapper;
 import com.emenu.features.auth.models.Business;
 import com.emenu.features.auth.repository.BusinessRepository;
 import com.emenu.features.auth.service.BusinessService;
+import com.emenu.features.subscription.cache.SubscriptionEntitlementCache;
 import com.emenu.shared.dto.PaginationResponse;
 import com.emenu.shared.pagination.PaginationUtils;
 import lombok.RequiredArgsConstructor;
@@ -19,7 +20,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -31,6 +34,7 @@ public class BusinessServiceImpl implements BusinessService {
     private final BusinessRepository businessRepository;
     private final BusinessMapper businessMapper;
     private final com.emenu.shared.mapper.PaginationMapper paginationMapper;
+    private final SubscriptionEntitlementCache entitlementCache;
 
     @Override
     public BusinessResponse createBusiness(BusinessCreateRequest request) {
@@ -44,7 +48,7 @@ public class BusinessServiceImpl implements BusinessService {
         Business savedBusiness = businessRepository.save(business);
 
         log.info("Business created: {}", savedBusiness.getName());
-        return businessMapper.toResponse(savedBusiness);
+        return toResponse(savedBusiness);
     }
 
     @Override
@@ -69,7 +73,15 @@ public class BusinessServiceImpl implements BusinessService {
                 pageable
         );
 
-        return businessMapper.toPaginationResponse(businessPage, paginationMapper);
+        PaginationResponse<BusinessResponse> response = businessMapper.toPaginationResponse(businessPage, paginationMapper);
+
+        // One entitlement lookup for the whole page
+        Map<UUID, SubscriptionEntitlementCache.Entitlement> entitlements = entitlementCache.getEntitlements(
+                response.getContent().stream().map(BusinessResponse::getId).toList());
+        LocalDateTime now = LocalDateTime.now();
+        response.getContent().forEach(business ->
+                business.setHasActiveSubscription(entitlements.get(business.getId()).isActiveAt(now)));
+        return response;
     }
 
     @Override
@@ -77,7 +89,7 @@ public class BusinessServiceImpl implements BusinessService {
     public BusinessResponse getBusinessById(UUID businessId) {
         Business business = businessRepository.findByIdAndIsDeletedFalse(businessId)
                 .orElseThrow(() -> new RuntimeException("Business not found"));
-        return businessMapper.toResponse(business);
+        return toResponse(business);
     }
 
     @Override
@@ -96,7 +108,7 @@ public class BusinessServiceImpl implements BusinessService {
         Business updatedBusiness = businessRepository.save(business);
 
         log.info("Business updated: {}", updatedBusiness.getName());
-        return businessMapper.toResponse(updatedBusiness);
+        return toResponse(updatedBusiness);
     }
 
     @Override
@@ -108,4 +120,10 @@ public class BusinessServiceImpl implements BusinessService {
         businessRepository.save(business);
         log.info("Business deleted: {}", business.getName());
     }
+
+    private BusinessResponse toResponse(Business business) {
+        BusinessResponse response = businessMapper.toResponse(business);
+        response.setHasActiveSubscription(entitlementCache.isEntitled(business.getId()));
+        return response;
+    }
 }
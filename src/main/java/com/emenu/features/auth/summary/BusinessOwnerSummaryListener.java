@@ -0,0 +1,106 @@
+package com.emenu.features.auth.summary;
+
+import com.emenu.enums.user.UserType;
+import com.emenu.features.auth.models.Business;
+import com.emenu.features.auth.models.User;
+import com.emenu.features.auth.service.BusinessOwnerSummaryService;
+import com.emenu.features.payment.models.Payment;
+import com.emenu.features.subscription.models.Subscription;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Entity listener on the sources of business_owner_summary. Affected businesses are collected per
+ * transaction and their rows recomputed once it commits, whichever service made the change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BusinessOwnerSummaryListener {
+
+    private static final Object PENDING_KEY = new Object();
+
+    // Resolved lazily: listeners are created while the EntityManagerFactory is being built
+    private final ObjectProvider<BusinessOwnerSummaryService> summaryService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof Business business) {
+            record(business.getId(), null);
+        } else if (entity instanceof Subscription subscription) {
+            record(subscription.getBusinessId(), null);
+        } else if (entity instanceof Payment payment && payment.getSubscriptionId() != null) {
+            record(payment.getBusinessId(), payment.getSubscriptionId());
+        } else if (entity instanceof User user && user.getUserType() == UserType.BUSINESS_USER) {
+            record(user.getBusinessId(), null);
+        }
+    }
+
+    private void record(UUID businessId, UUID subscriptionId) {
+        if (businessId == null && subscriptionId == null) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(nullSafeSet(businessId), nullSafeSet(subscriptionId));
+            return;
+        }
+
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(PENDING_KEY);
+        if (pending == null) {
+            Pending created = new Pending();
+            TransactionSynchronizationManager.bindResource(PENDING_KEY, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(created.businessIds, created.subscriptionIds);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_KEY);
+                }
+            });
+            pending = created;
+        }
+        if (businessId != null) {
+            pending.businessIds.add(businessId);
+        }
+        if (subscriptionId != null) {
+            pending.subscriptionIds.add(subscriptionId);
+        }
+    }
+
+    /**
+     * The source change is already committed; a failed refresh is repaired by the nightly rebuild
+     */
+    private void refresh(Set<UUID> businessIds, Set<UUID> subscriptionIds) {
+        try {
+            summaryService.getObject().refresh(businessIds, subscriptionIds);
+        } catch (Exception e) {
+            log.error("Failed to refresh business owner summary for businesses {}", businessIds, e);
+        }
+    }
+
+    private static Set<UUID> nullSafeSet(UUID id) {
+        return id != null ? Set.of(id) : Set.of();
+    }
+
+    private static class Pending {
+        private final Set<UUID> businessIds = new HashSet<>();
+        private final Set<UUID> subscriptionIds = new HashSet<>();
+    }
+}
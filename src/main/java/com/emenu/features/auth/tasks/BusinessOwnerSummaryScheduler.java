@@ -0,0 +1,49 @@
+package com.emenu.features.auth.tasks;
+
+import com.emenu.features.auth.service.BusinessOwnerSummaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(value = "app.business-owner-summary.rebuild.enabled", havingValue = "true", matchIfMissing = true)
+public class BusinessOwnerSummaryScheduler {
+
+    private final BusinessOwnerSummaryService summaryService;
+
+    /**
+     * Create the search index and fill the summary table the first time the application starts with it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeOnStartup() {
+        try {
+            summaryService.ensureSearchIndex();
+            if (summaryService.isEmpty()) {
+                log.info("Business owner summary is empty, building it");
+                summaryService.rebuildAll();
+            }
+        } catch (Exception e) {
+            log.error("Failed to initialize business owner summary", e);
+        }
+    }
+
+    /**
+     * Recompute every summary row, repairing refreshes that failed after their write committed
+     */
+    @Scheduled(cron = "${app.business-owner-summary.rebuild.cron:0 15 4 * * ?}")
+    public void rebuildSummary() {
+        log.info("Starting scheduled business owner summary rebuild");
+
+        try {
+            summaryService.rebuildAll();
+        } catch (Exception e) {
+            log.error("Failed to execute scheduled business owner summary rebuild", e);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.emenu.features.hr.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Check-in sites from business_settings on a fixed lat/lon grid. Each site is registered in every
+ * cell its radius touches, so a lookup reads one cell and measures only the sites in it.
+ * Loaded at startup and kept current by {@link BusinessGeofenceListener}; changes committed on other
+ * instances are picked up by {@link #refreshIfChanged()}, which compares a digest of the site rows.
+ */
+@Component
+@Slf4j
+public class BusinessGeofenceIndex {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000.0;
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    private static final String SITES_SQL = """
+            SELECT business_id, latitude, longitude, check_in_radius_meters FROM business_settings
+            WHERE is_deleted = false AND latitude IS NOT NULL AND longitude IS NOT NULL
+            """;
+
+    // Computed in the database, so an unchanged table costs one aggregate and a 32-char result
+    private static final String SITES_DIGEST_SQL = """
+            SELECT md5(COALESCE(string_agg(business_id::text || ':' || latitude || ':' || longitude || ':'
+                || COALESCE(check_in_radius_meters::text, ''), ',' ORDER BY business_id), ''))
+            FROM business_settings
+            WHERE is_deleted = false AND latitude IS NOT NULL AND longitude IS NOT NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final double cellSizeDegrees;
+    private final double defaultRadiusMeters;
+    private final double maxRadiusMeters;
+
+    private final Map<UUID, Site> sitesByBusiness = new ConcurrentHashMap<>();
+    // Cell lists are immutable and swapped whole, so readers never see a partial update
+    private final Map<Long, List<Site>> cells = new ConcurrentHashMap<>();
+    private volatile String loadedDigest;
+
+    public BusinessGeofenceIndex(JdbcTemplate jdbcTemplate,
+                                 @Value("${app.hr.geofence.enabled:true}") boolean enabled,
+                                 @Value("${app.hr.geofence.cell-size-degrees:0.01}") double cellSizeDegrees,
+                                 @Value("${app.hr.geofence.default-radius-meters:100}") double defaultRadiusMeters,
+                                 @Value("${app.hr.geofence.max-radius-meters:5000}") double maxRadiusMeters) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.defaultRadiusMeters = defaultRadiusMeters;
+        this.maxRadiusMeters = maxRadiusMeters;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loadedDigest = jdbcTemplate.queryForObject(SITES_DIGEST_SQL, String.class);
+        jdbcTemplate.query(SITES_SQL, rs -> {
+            double radius = rs.getDouble("check_in_radius_meters");
+            put(rs.getObject("business_id", UUID.class), rs.getDouble("latitude"), rs.getDouble("longitude"),
+                    rs.wasNull() ? null : radius);
+        });
+        log.info("Geofence index loaded with {} business sites", sitesByBusiness.size());
+    }
+
+    /**
+     * Reload the sites when their digest changed, applying only the sites that differ.
+     * A change committed between the digest and the reload leaves the digest stale, so the next call reloads again.
+     */
+    public boolean refreshIfChanged() {
+        String digest = jdbcTemplate.queryForObject(SITES_DIGEST_SQL, String.class);
+        if (digest == null || digest.equals(loadedDigest)) {
+            return false;
+        }
+
+        Map<UUID, Site> current = new HashMap<>();
+        jdbcTemplate.query(SITES_SQL, rs -> {
+            double radius = rs.getDouble("check_in_radius_meters");
+            UUID businessId = rs.getObject("business_id", UUID.class);
+            current.put(businessId, toSite(businessId, rs.getDouble("latitude"), rs.getDouble("longitude"),
+                    rs.wasNull() ? null : radius));
+        });
+        synchronized (this) {
+            List.copyOf(sitesByBusiness.keySet()).stream()
+                    .filter(businessId -> !current.containsKey(businessId))
+                    .forEach(this::remove);
+            current.values().stream()
+                    .filter(site -> !site.equals(sitesByBusiness.get(site.businessId())))
+                    .forEach(site -> put(site.businessId(), site.latitude(), site.longitude(), site.radiusMeters()));
+        }
+        loadedDigest = digest;
+        log.info("Geofence index reloaded with {} business sites", sitesByBusiness.size());
+        return true;
+    }
+
+    public boolean hasSite(UUID businessId) {
+        return sitesByBusiness.containsKey(businessId);
+    }
+
+    /**
+     * Check-in rule: businesses without a configured site, or with geofencing disabled, accept any location
+     */
+    public boolean allowsCheckIn(UUID businessId, Double latitude, Double longitude) {
+        if (!enabled || !hasSite(businessId)) {
+            return true;
+        }
+        return latitude != null && longitude != null && isWithin(businessId, latitude, longitude);
+    }
+
+    /**
+     * True when the point lies inside the check-in radius of the business site
+     */
+    public boolean isWithin(UUID businessId, double latitude, double longitude) {
+        for (Site site : cells.getOrDefault(cellKey(latitude, longitude), List.of())) {
+            if (site.businessId().equals(businessId) && site.contains(latitude, longitude)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Businesses whose check-in radius covers the point
+     */
+    public List<UUID> findBusinessesAt(double latitude, double longitude) {
+        List<UUID> businessIds = new ArrayList<>();
+        for (Site site : cells.getOrDefault(cellKey(latitude, longitude), List.of())) {
+            if (site.contains(latitude, longitude)) {
+                businessIds.add(site.businessId());
+            }
+        }
+        return businessIds;
+    }
+
+    /**
+     * Apply a site change once the current transaction commits; null coordinates remove the site
+     */
+    public void updateAfterCommit(UUID businessId, Double latitude, Double longitude, Double radiusMeters) {
+        Runnable update = () -> {
+            if (latitude == null || longitude == null) {
+                remove(businessId);
+            } else {
+                put(businessId, latitude, longitude, radiusMeters);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private synchronized void put(UUID businessId, double latitude, double longitude, Double radiusMeters) {
+        remove(businessId);
+        Site site = toSite(businessId, latitude, longitude, radiusMeters);
+        sitesByBusiness.put(businessId, site);
+        forEachCoveredCell(site, key -> cells.compute(key, (k, current) -> {
+            List<Site> updated = current != null ? new ArrayList<>(current) : new ArrayList<>(1);
+            updated.add(site);
+            return List.copyOf(updated);
+        }));
+    }
+
+    private synchronized void remove(UUID businessId) {
+        Site site = sitesByBusiness.remove(businessId);
+        if (site == null) {
+            return;
+        }
+        forEachCoveredCell(site, key -> cells.computeIfPresent(key, (k, current) -> {
+            List<Site> updated = current.stream().filter(s -> s != site).toList();
+            return updated.isEmpty() ? null : updated;
+        }));
+    }
+
+    private Site toSite(UUID businessId, double latitude, double longitude, Double radiusMeters) {
+        double radius = Math.min(radiusMeters != null ? radiusMeters : defaultRadiusMeters, maxRadiusMeters);
+        return new Site(businessId, latitude, longitude, radius);
+    }
+
+    private void forEachCoveredCell(Site site, LongConsumer action) {
+        double latDelta = site.radiusMeters() / METERS_PER_DEGREE_LAT;
+        // Longitude degrees shrink towards the poles; clamp so the span stays finite
+        double cosLat = Math.max(Math.cos(Math.toRadians(site.latitude())), 0.01);
+        double lonDelta = site.radiusMeters() / (METERS_PER_DEGREE_LAT * cosLat);
+
+        long minRow = cellIndex(site.latitude() - latDelta);
+        long maxRow = cellIndex(site.latitude() + latDelta);
+        long minCol = cellIndex(site.longitude() - lonDelta);
+        long maxCol = cellIndex(site.longitude() + lonDelta);
+        for (long row = minRow; row <= maxRow; row++) {
+            for (long col = minCol; col <= maxCol; col++) {
+                action.accept(key(row, col));
+            }
+        }
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return key(cellIndex(latitude), cellIndex(longitude));
+    }
+
+    private long cellIndex(double degrees) {
+        return (long) Math.floor(degrees / cellSizeDegrees);
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    private record Site(UUID businessId, double latitude, double longitude, double radiusMeters) {
+
+        boolean contains(double lat, double lon) {
+            return distanceMeters(latitude, longitude, lat, lon) <= radiusMeters;
+        }
+    }
+
+    /**
+     * Haversine distance
+     */
+    static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(a));
+    }
+}
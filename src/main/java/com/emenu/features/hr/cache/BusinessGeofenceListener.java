@@ -0,0 +1,36 @@
+package com.emenu.features.hr.cache;
+
+import com.emenu.features.auth.models.BusinessSetting;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves a business check-in site in the geofence index once a business setting write commits
+ */
+@Component
+@RequiredArgsConstructor
+public class BusinessGeofenceListener {
+
+    // Resolved lazily: listeners are created while the EntityManagerFactory is being built
+    private final ObjectProvider<BusinessGeofenceIndex> geofenceIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onChange(BusinessSetting setting) {
+        if (Boolean.TRUE.equals(setting.getIsDeleted())) {
+            onRemove(setting);
+            return;
+        }
+        geofenceIndex.getObject().updateAfterCommit(setting.getBusinessId(),
+                setting.getLatitude(), setting.getLongitude(), setting.getCheckInRadiusMeters());
+    }
+
+    @PostRemove
+    public void onRemove(BusinessSetting setting) {
+        geofenceIndex.getObject().updateAfterCommit(setting.getBusinessId(), null, null, null);
+    }
+}
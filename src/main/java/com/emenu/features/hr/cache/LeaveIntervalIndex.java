@@ -0,0 +1,236 @@
+package com.emenu.features.hr.cache;
+
+import com.emenu.enums.hr.LeaveStatusEnum;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pending and approved leave of a business in interval trees, one across the business and one per
+ * user. A business is loaded on first use from the start of the history window; older dates fall
+ * back to a query. Leave writes are applied to the loaded snapshot after commit by
+ * {@link LeaveIntervalListener}, rebuilding only that business. Those updates reach this instance only,
+ * so a snapshot is reloaded a few minutes after it was loaded, however often it is read or updated.
+ */
+@Component
+@Slf4j
+public class LeaveIntervalIndex {
+
+    private static final String SPANS_SQL = """
+            SELECT id, user_id, leave_type_enum, start_date, end_date, status FROM leaves
+            WHERE business_id = ? AND is_deleted = false AND status IN ('PENDING', 'APPROVED')
+            AND end_date >= ? AND start_date <= ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int historyYears;
+    private final Cache<UUID, BusinessLeaves> businesses;
+
+    public LeaveIntervalIndex(JdbcTemplate jdbcTemplate,
+                              @Value("${app.hr.leave-index.history-years:1}") int historyYears,
+                              @Value("${app.hr.leave-index.maximum-size:5000}") long maximumSize,
+                              @Value("${app.hr.leave-index.expire-after-load-minutes:5}") long expireAfterLoadMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.historyYears = historyYears;
+        long ttlNanos = TimeUnit.MINUTES.toNanos(expireAfterLoadMinutes);
+        this.businesses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                // Applied writes keep the remaining time, unlike expireAfterWrite
+                .expireAfter(new Expiry<UUID, BusinessLeaves>() {
+                    @Override
+                    public long expireAfterCreate(UUID id, BusinessLeaves leaves, long currentTime) {
+                        return ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(UUID id, BusinessLeaves leaves, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(UUID id, BusinessLeaves leaves, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Pending or approved leave of the user sharing a day with [from, to]
+     */
+    public List<LeaveSpan> findOverlapping(UUID businessId, UUID userId, LocalDate from, LocalDate to) {
+        BusinessLeaves leaves = get(businessId);
+        if (!from.isBefore(leaves.windowStart)) {
+            return leaves.byUser.getOrDefault(userId, LeaveIntervals.EMPTY).overlapping(from, to);
+        }
+        return query(businessId, from, to).stream()
+                .filter(span -> span.userId().equals(userId))
+                .toList();
+    }
+
+    /**
+     * Approved leave covering the date, one span per user off that day
+     */
+    public List<LeaveSpan> findOffOn(UUID businessId, LocalDate date) {
+        BusinessLeaves leaves = get(businessId);
+        List<LeaveSpan> spans = date.isBefore(leaves.windowStart)
+                ? query(businessId, date, date)
+                : leaves.all.overlapping(date, date);
+        return spans.stream()
+                .filter(span -> span.status() == LeaveStatusEnum.APPROVED)
+                .toList();
+    }
+
+    /**
+     * Days of leave taken (approved) and requested (pending) by the user in the year, per leave type
+     */
+    public List<LeaveBalance> getYearlyBalances(UUID businessId, UUID userId, int year) {
+        BusinessLeaves leaves = get(businessId);
+        LocalDate from = LocalDate.ofYearDay(year, 1);
+        if (from.isBefore(leaves.windowStart)) {
+            return balances(year, findOverlapping(businessId, userId, from, from.plusYears(1).minusDays(1)));
+        }
+        return leaves.balances.computeIfAbsent(new UserYear(userId, year), key -> balances(year,
+                leaves.byUser.getOrDefault(userId, LeaveIntervals.EMPTY).overlapping(from, from.plusYears(1).minusDays(1))));
+    }
+
+    /**
+     * Apply a leave write to the loaded business once the current transaction commits.
+     * Deleted, rejected and cancelled leave is removed.
+     */
+    public void applyAfterCommit(UUID businessId, LeaveSpan span, boolean deleted) {
+        boolean active = !deleted && (span.status() == LeaveStatusEnum.PENDING || span.status() == LeaveStatusEnum.APPROVED);
+        Runnable apply = () -> businesses.asMap().computeIfPresent(businessId,
+                (id, current) -> active ? current.with(span) : current.without(span.leaveId()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private BusinessLeaves get(UUID businessId) {
+        return businesses.get(businessId, this::load);
+    }
+
+    private BusinessLeaves load(UUID businessId) {
+        LocalDate windowStart = LocalDate.now().minusYears(historyYears).withDayOfYear(1);
+        List<LeaveSpan> spans = query(businessId, windowStart, LocalDate.MAX);
+        log.debug("Loaded {} leave spans for business {}", spans.size(), businessId);
+        return BusinessLeaves.of(windowStart, spans);
+    }
+
+    private List<LeaveSpan> query(UUID businessId, LocalDate from, LocalDate to) {
+        // LocalDate.MAX has no SQL equivalent
+        Date upper = to.getYear() > 9999 ? Date.valueOf(LocalDate.of(9999, 12, 31)) : Date.valueOf(to);
+        return jdbcTemplate.query(SPANS_SQL, (rs, rowNum) -> new LeaveSpan(
+                rs.getObject("id", UUID.class),
+                rs.getObject("user_id", UUID.class),
+                rs.getObject("leave_type_enum", UUID.class),
+                rs.getDate("start_date").toLocalDate(),
+                rs.getDate("end_date").toLocalDate(),
+                LeaveStatusEnum.valueOf(rs.getString("status"))), businessId, Date.valueOf(from), upper);
+    }
+
+    private static List<LeaveBalance> balances(int year, List<LeaveSpan> spans) {
+        LocalDate from = LocalDate.ofYearDay(year, 1);
+        LocalDate to = from.plusYears(1).minusDays(1);
+        // Leave type is nullable, so no groupingBy
+        Map<UUID, double[]> days = new LinkedHashMap<>();
+        for (LeaveSpan span : spans) {
+            double[] totals = days.computeIfAbsent(span.leaveTypeEnum(), type -> new double[2]);
+            totals[span.status() == LeaveStatusEnum.APPROVED ? 0 : 1] += span.daysWithin(from, to);
+        }
+        List<LeaveBalance> result = new ArrayList<>(days.size());
+        days.forEach((type, totals) -> result.add(new LeaveBalance(type, year, totals[0], totals[1])));
+        return List.copyOf(result);
+    }
+
+    public record LeaveBalance(UUID leaveTypeEnum, int year, double approvedDays, double pendingDays) {
+    }
+
+    private record UserYear(UUID userId, int year) {
+    }
+
+    /**
+     * Immutable snapshot of one business; balances are memoized per snapshot and die with it
+     */
+    private static final class BusinessLeaves {
+
+        private final LocalDate windowStart;
+        private final Map<UUID, LeaveSpan> spans;
+        private final LeaveIntervals all;
+        private final Map<UUID, LeaveIntervals> byUser;
+        private final Map<UserYear, List<LeaveBalance>> balances = new ConcurrentHashMap<>();
+
+        private BusinessLeaves(LocalDate windowStart, Map<UUID, LeaveSpan> spans, Map<UUID, LeaveIntervals> byUser) {
+            this.windowStart = windowStart;
+            this.spans = spans;
+            this.all = LeaveIntervals.of(List.copyOf(spans.values()));
+            this.byUser = byUser;
+        }
+
+        static BusinessLeaves of(LocalDate windowStart, List<LeaveSpan> loaded) {
+            Map<UUID, LeaveSpan> spans = new HashMap<>();
+            Map<UUID, List<LeaveSpan>> perUser = new HashMap<>();
+            for (LeaveSpan span : loaded) {
+                spans.put(span.leaveId(), span);
+                perUser.computeIfAbsent(span.userId(), id -> new ArrayList<>()).add(span);
+            }
+            Map<UUID, LeaveIntervals> byUser = new HashMap<>();
+            perUser.forEach((userId, userSpans) -> byUser.put(userId, LeaveIntervals.of(userSpans)));
+            return new BusinessLeaves(windowStart, spans, byUser);
+        }
+
+        BusinessLeaves with(LeaveSpan span) {
+            if (span.endDate().isBefore(windowStart)) {
+                return without(span.leaveId());
+            }
+            Map<UUID, LeaveSpan> updated = new HashMap<>(spans);
+            LeaveSpan previous = updated.put(span.leaveId(), span);
+            return rebuilt(updated, previous != null ? Set.of(previous.userId(), span.userId()) : Set.of(span.userId()));
+        }
+
+        BusinessLeaves without(UUID leaveId) {
+            if (!spans.containsKey(leaveId)) {
+                return this;
+            }
+            Map<UUID, LeaveSpan> updated = new HashMap<>(spans);
+            LeaveSpan removed = updated.remove(leaveId);
+            return rebuilt(updated, Set.of(removed.userId()));
+        }
+
+        // Only the trees of the users touched by the change are rebuilt
+        private BusinessLeaves rebuilt(Map<UUID, LeaveSpan> updated, Set<UUID> changedUsers) {
+            Map<UUID, LeaveIntervals> userTrees = new HashMap<>(byUser);
+            for (UUID userId : changedUsers) {
+                List<LeaveSpan> userSpans = updated.values().stream()
+                        .filter(span -> span.userId().equals(userId))
+                        .toList();
+                if (userSpans.isEmpty()) {
+                    userTrees.remove(userId);
+                } else {
+                    userTrees.put(userId, LeaveIntervals.of(userSpans));
+                }
+            }
+            return new BusinessLeaves(windowStart, updated, userTrees);
+        }
+    }
+}
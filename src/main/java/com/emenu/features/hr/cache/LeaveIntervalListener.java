@@ -0,0 +1,32 @@
+package com.emenu.features.hr.cache;
+
+import com.emenu.features.hr.models.Leave;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the leave interval index in step with leave creates, approvals and deletes
+ */
+@Component
+@RequiredArgsConstructor
+public class LeaveIntervalListener {
+
+    // Resolved lazily: listeners are created while the EntityManagerFactory is being built
+    private final ObjectProvider<LeaveIntervalIndex> leaveIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onChange(Leave leave) {
+        leaveIndex.getObject().applyAfterCommit(leave.getBusinessId(), LeaveSpan.of(leave),
+                Boolean.TRUE.equals(leave.getIsDeleted()));
+    }
+
+    @PostRemove
+    public void onRemove(Leave leave) {
+        leaveIndex.getObject().applyAfterCommit(leave.getBusinessId(), LeaveSpan.of(leave), true);
+    }
+}
@@ -0,0 +1,112 @@
+package com.emenu.features.hr.cache;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable centered interval tree over inclusive date ranges. Each node keeps the intervals that
+ * contain its center, sorted by start and by end, so a range query visits O(log n) nodes and
+ * only scans intervals that match.
+ */
+final class LeaveIntervals {
+
+    static final LeaveIntervals EMPTY = new LeaveIntervals(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private LeaveIntervals(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    static LeaveIntervals of(List<LeaveSpan> spans) {
+        return spans.isEmpty() ? EMPTY : new LeaveIntervals(build(spans), spans.size());
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Spans sharing at least one day with [from, to]
+     */
+    List<LeaveSpan> overlapping(LocalDate from, LocalDate to) {
+        List<LeaveSpan> result = new ArrayList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    // Loops down single-sided paths; only recurses when the center lies inside the range
+    private static void collect(Node node, LocalDate from, LocalDate to, List<LeaveSpan> result) {
+        while (node != null) {
+            if (to.isBefore(node.center)) {
+                // Every interval here ends at or after the center, so start decides
+                for (LeaveSpan span : node.byStart) {
+                    if (span.startDate().isAfter(to)) {
+                        break;
+                    }
+                    result.add(span);
+                }
+                node = node.left;
+            } else if (from.isAfter(node.center)) {
+                // Every interval here starts at or before the center, so end decides
+                for (LeaveSpan span : node.byEndDesc) {
+                    if (span.endDate().isBefore(from)) {
+                        break;
+                    }
+                    result.add(span);
+                }
+                node = node.right;
+            } else {
+                result.addAll(node.byStart);
+                collect(node.left, from, to, result);
+                node = node.right;
+            }
+        }
+    }
+
+    private static Node build(List<LeaveSpan> spans) {
+        if (spans.isEmpty()) {
+            return null;
+        }
+
+        // Median of the endpoints keeps the tree balanced
+        List<LocalDate> endpoints = new ArrayList<>(spans.size() * 2);
+        for (LeaveSpan span : spans) {
+            endpoints.add(span.startDate());
+            endpoints.add(span.endDate());
+        }
+        endpoints.sort(Comparator.naturalOrder());
+        LocalDate center = endpoints.get(endpoints.size() / 2);
+
+        List<LeaveSpan> left = new ArrayList<>();
+        List<LeaveSpan> right = new ArrayList<>();
+        List<LeaveSpan> here = new ArrayList<>();
+        for (LeaveSpan span : spans) {
+            if (span.endDate().isBefore(center)) {
+                left.add(span);
+            } else if (span.startDate().isAfter(center)) {
+                right.add(span);
+            } else {
+                here.add(span);
+            }
+        }
+
+        List<LeaveSpan> byStart = new ArrayList<>(here);
+        byStart.sort(Comparator.comparing(LeaveSpan::startDate));
+        List<LeaveSpan> byEndDesc = new ArrayList<>(here);
+        byEndDesc.sort(Comparator.comparing(LeaveSpan::endDate).reversed());
+
+        return new Node(center, List.copyOf(byStart), List.copyOf(byEndDesc), build(left), build(right));
+    }
+
+    private record Node(LocalDate center, List<LeaveSpan> byStart, List<LeaveSpan> byEndDesc, Node left, Node right) {
+    }
+}
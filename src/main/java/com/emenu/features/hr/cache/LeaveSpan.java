@@ -0,0 +1,28 @@
+package com.emenu.features.hr.cache;
+
+import com.emenu.enums.hr.LeaveStatusEnum;
+import com.emenu.features.hr.models.Leave;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The part of a leave the interval index needs, detached from the persistence context
+ */
+public record LeaveSpan(UUID leaveId, UUID userId, UUID leaveTypeEnum, LocalDate startDate, LocalDate endDate,
+                        LeaveStatusEnum status) {
+
+    public static LeaveSpan of(Leave leave) {
+        return new LeaveSpan(leave.getId(), leave.getUserId(), leave.getLeaveTypeEnum(),
+                leave.getStartDate(), leave.getEndDate(), leave.getStatus());
+    }
+
+    /**
+     * Calendar days of this span inside [from, to], counted like Leave.totalDays
+     */
+    public long daysWithin(LocalDate from, LocalDate to) {
+        LocalDate start = startDate.isBefore(from) ? from : startDate;
+        LocalDate end = endDate.isAfter(to) ? to : endDate;
+        return end.isBefore(start) ? 0 : end.toEpochDay() - start.toEpochDay() + 1;
+    }
+}
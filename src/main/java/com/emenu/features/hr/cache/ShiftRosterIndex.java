@@ -0,0 +1,332 @@
+package com.emenu.features.hr.cache;
+
+import com.emenu.enums.hr.CheckInType;
+import com.emenu.enums.hr.RosterStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.time.*;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-business shift roster for the current week: schedule intervals expanded per day (overnight
+ * shifts end the next day) plus each user's latest punch since yesterday. "Who is on shift" is
+ * answered from the snapshot with approved leave overlaid from {@link LeaveIntervalIndex}.
+ * A snapshot is reloaded when the day changes; schedule and punch writes are applied after commit
+ * by {@link ShiftRosterListener}. Writes made on other instances are picked up by comparing a digest
+ * of the business's schedule and attendance rows, checked at most every few seconds per business.
+ */
+@Component
+@Slf4j
+public class ShiftRosterIndex {
+
+    private static final String SCHEDULES_SQL = """
+            SELECT ws.id, ws.user_id, ws.name, ws.start_time, ws.end_time, d.day_of_week
+            FROM work_schedules ws
+            LEFT JOIN schedule_work_days d ON d.schedule_id = ws.id
+            WHERE ws.business_id = ? AND ws.is_deleted = false
+            """;
+
+    // Yesterday's attendance is included for shifts running past midnight
+    private static final String PUNCHES_SQL = """
+            SELECT a.user_id, a.work_schedule_id, a.attendance_date, ci.check_in_type, ci.check_in_time
+            FROM attendances a
+            JOIN attendance_check_ins ci ON ci.attendance_id = a.id AND ci.is_deleted = false
+            WHERE a.business_id = ? AND a.attendance_date >= ? AND a.is_deleted = false
+            ORDER BY ci.check_in_time
+            """;
+
+    // Row counts and latest change times of what the snapshot is built from, deleted rows included
+    private static final String DIGEST_SQL = """
+            SELECT md5(concat_ws('|',
+                (SELECT COUNT(*) || ':' || COALESCE(MAX(COALESCE(ws.updated_at, ws.created_at))::text, '')
+                 FROM work_schedules ws WHERE ws.business_id = ?),
+                (SELECT COUNT(ci.id) || ':' || COALESCE(MAX(GREATEST(COALESCE(a.updated_at, a.created_at),
+                        COALESCE(ci.updated_at, ci.created_at)))::text, '')
+                 FROM attendances a
+                 LEFT JOIN attendance_check_ins ci ON ci.attendance_id = a.id
+                 WHERE a.business_id = ? AND a.attendance_date >= ?)))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LeaveIntervalIndex leaveIndex;
+    private final Cache<UUID, BusinessRoster> rosters;
+    private final Duration checkInterval;
+
+    public ShiftRosterIndex(JdbcTemplate jdbcTemplate,
+                            LeaveIntervalIndex leaveIndex,
+                            @Value("${app.hr.roster.maximum-size:5000}") long maximumSize,
+                            @Value("${app.hr.roster.expire-after-access-hours:12}") long expireAfterAccessHours,
+                            @Value("${app.hr.roster.check-interval-seconds:15}") long checkIntervalSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaveIndex = leaveIndex;
+        this.checkInterval = Duration.ofSeconds(checkIntervalSeconds);
+        this.rosters = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccessHours, TimeUnit.HOURS)
+                .build();
+    }
+
+    /**
+     * Staff whose shift covers the instant, and staff with an open check-in outside their shift
+     */
+    public List<RosterEntry> getOnShift(UUID businessId, LocalDateTime at) {
+        BusinessRoster roster = get(businessId, at.toLocalDate());
+        LocalDate today = at.toLocalDate();
+        Set<UUID> onLeave = new HashSet<>();
+        leaveIndex.findOffOn(businessId, today).forEach(span -> onLeave.add(span.userId()));
+
+        Map<UUID, RosterEntry> entries = new LinkedHashMap<>();
+        for (LocalDate day : List.of(today.minusDays(1), today)) {
+            for (ShiftInterval interval : roster.intervalsByDay.getOrDefault(day, List.of())) {
+                if (interval.start().isAfter(at) || !interval.end().isAfter(at)) {
+                    continue;
+                }
+                Punch punch = punchOfShift(roster.punchesByUser.get(interval.userId()), interval);
+                entries.putIfAbsent(interval.userId(), new RosterEntry(interval.userId(), interval.scheduleId(),
+                        interval.scheduleName(), interval.start(), interval.end(),
+                        statusOf(interval.userId(), punch, onLeave), punch != null ? punch.time() : null));
+            }
+        }
+
+        // Checked in without a shift covering now: early starts and overtime. An unclosed check-in of an
+        // earlier day only counts while its overnight shift is still running, like punchOfShift
+        roster.punchesByUser.forEach((userId, punch) -> {
+            if (punch.type() == CheckInType.START && !entries.containsKey(userId)
+                    && (!punch.attendanceDate().isBefore(today) || isShiftRunning(roster, userId, punch, at))) {
+                ScheduleShift schedule = roster.schedules.get(punch.scheduleId());
+                entries.put(userId, new RosterEntry(userId, punch.scheduleId(),
+                        schedule != null ? schedule.name() : null, null, null, RosterStatus.CHECKED_IN, punch.time()));
+            }
+        });
+        return List.copyOf(entries.values());
+    }
+
+    public void updateScheduleAfterCommit(UUID businessId, ScheduleShift schedule, boolean deleted) {
+        afterCommit(businessId, roster -> roster.withSchedule(schedule.scheduleId(), deleted ? null : schedule));
+    }
+
+    public void recordPunchAfterCommit(UUID businessId, UUID userId, Punch punch) {
+        afterCommit(businessId, roster -> roster.withPunch(userId, punch));
+    }
+
+    public void clearPunchesAfterCommit(UUID businessId, UUID userId, LocalDate attendanceDate) {
+        afterCommit(businessId, roster -> roster.withoutPunch(userId, attendanceDate));
+    }
+
+    private void afterCommit(UUID businessId, UnaryOperator<BusinessRoster> change) {
+        Runnable apply = () -> rosters.asMap().computeIfPresent(businessId, (id, roster) -> change.apply(roster));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private BusinessRoster get(UUID businessId, LocalDate day) {
+        BusinessRoster roster = rosters.get(businessId, id -> load(id, day));
+        if (!roster.day.equals(day)) {
+            roster = load(businessId, day);
+            rosters.put(businessId, roster);
+        } else if (roster.checkedAt.plus(checkInterval).isBefore(Instant.now())) {
+            roster = refreshIfChanged(businessId, roster);
+        }
+        return roster;
+    }
+
+    /**
+     * Reload the snapshot when the digest differs from the one it was loaded with. Changes applied
+     * locally since then also differ, which costs one extra reload.
+     */
+    private BusinessRoster refreshIfChanged(UUID businessId, BusinessRoster roster) {
+        String digest = digest(businessId, roster.day);
+        BusinessRoster refreshed = Objects.equals(digest, roster.digest)
+                ? roster.checked(Instant.now())
+                : load(businessId, roster.day);
+        // A local change applied meanwhile wins; the next check compares again
+        rosters.asMap().replace(businessId, roster, refreshed);
+        return refreshed;
+    }
+
+    private String digest(UUID businessId, LocalDate day) {
+        return jdbcTemplate.queryForObject(DIGEST_SQL, String.class, businessId, businessId, Date.valueOf(day.minusDays(1)));
+    }
+
+    private BusinessRoster load(UUID businessId, LocalDate day) {
+        // Taken first, so a write committed during the load shows up as a change on the next check
+        String digest = digest(businessId, day);
+
+        Map<UUID, ScheduleShift> schedules = new HashMap<>();
+        jdbcTemplate.query(SCHEDULES_SQL, rs -> {
+            UUID scheduleId = rs.getObject("id", UUID.class);
+            ScheduleShift schedule = schedules.get(scheduleId);
+            if (schedule == null) {
+                schedule = new ScheduleShift(scheduleId, rs.getObject("user_id", UUID.class), rs.getString("name"),
+                        EnumSet.noneOf(DayOfWeek.class),
+                        rs.getTime("start_time").toLocalTime(), rs.getTime("end_time").toLocalTime());
+                schedules.put(scheduleId, schedule);
+            }
+            String dayOfWeek = rs.getString("day_of_week");
+            if (dayOfWeek != null) {
+                schedule.workDays().add(DayOfWeek.valueOf(dayOfWeek));
+            }
+        }, businessId);
+
+        Map<UUID, Punch> punches = new HashMap<>();
+        jdbcTemplate.query(PUNCHES_SQL, rs -> {
+            // Ordered by time, so the last row per user wins
+            punches.put(rs.getObject("user_id", UUID.class), new Punch(
+                    rs.getObject("work_schedule_id", UUID.class),
+                    rs.getDate("attendance_date").toLocalDate(),
+                    CheckInType.valueOf(rs.getString("check_in_type")),
+                    rs.getTimestamp("check_in_time").toLocalDateTime()));
+        }, businessId, Date.valueOf(day.minusDays(1)));
+
+        log.debug("Loaded roster for business {} - Schedules: {}, Punches: {}", businessId, schedules.size(), punches.size());
+        return new BusinessRoster(day, digest, Instant.now(), schedules, punches);
+    }
+
+    /**
+     * The latest punch only describes this shift when it belongs to the shift's day (early check-ins included)
+     * or was made after the shift started; an unclosed check-in of an earlier shift does not count
+     */
+    private static Punch punchOfShift(Punch punch, ShiftInterval interval) {
+        if (punch == null) {
+            return null;
+        }
+        boolean sameDay = punch.attendanceDate().equals(interval.start().toLocalDate());
+        return sameDay || !punch.time().isBefore(interval.start()) ? punch : null;
+    }
+
+    private static boolean isShiftRunning(BusinessRoster roster, UUID userId, Punch punch, LocalDateTime at) {
+        return roster.intervalsByDay.getOrDefault(punch.attendanceDate(), List.of()).stream()
+                .anyMatch(interval -> interval.userId().equals(userId)
+                        && interval.scheduleId().equals(punch.scheduleId())
+                        && interval.end().isAfter(at));
+    }
+
+    private static RosterStatus statusOf(UUID userId, Punch punch, Set<UUID> onLeave) {
+        if (onLeave.contains(userId)) {
+            return RosterStatus.ON_LEAVE;
+        }
+        if (punch == null) {
+            return RosterStatus.SCHEDULED;
+        }
+        return punch.type() == CheckInType.START ? RosterStatus.CHECKED_IN : RosterStatus.CHECKED_OUT;
+    }
+
+    public record RosterEntry(UUID userId, UUID scheduleId, String scheduleName, LocalDateTime shiftStart,
+                              LocalDateTime shiftEnd, RosterStatus status, LocalDateTime lastPunchAt) {
+    }
+
+    public record ScheduleShift(UUID scheduleId, UUID userId, String name, Set<DayOfWeek> workDays,
+                                LocalTime startTime, LocalTime endTime) {
+    }
+
+    public record Punch(UUID scheduleId, LocalDate attendanceDate, CheckInType type, LocalDateTime time) {
+    }
+
+    private record ShiftInterval(UUID userId, UUID scheduleId, String scheduleName, LocalDateTime start, LocalDateTime end) {
+    }
+
+    /**
+     * Immutable; every change produces a copy, schedule changes with the week's intervals re-expanded
+     */
+    private static final class BusinessRoster {
+
+        private final LocalDate day;
+        // Digest the snapshot was loaded with, and when it was last compared with the database
+        private final String digest;
+        private final Instant checkedAt;
+        private final Map<UUID, ScheduleShift> schedules;
+        private final Map<UUID, Punch> punchesByUser;
+        private final Map<LocalDate, List<ShiftInterval>> intervalsByDay;
+
+        private BusinessRoster(LocalDate day, String digest, Instant checkedAt,
+                               Map<UUID, ScheduleShift> schedules, Map<UUID, Punch> punchesByUser) {
+            this(day, digest, checkedAt, schedules, punchesByUser, expandWeek(day, schedules.values()));
+        }
+
+        private BusinessRoster(LocalDate day, String digest, Instant checkedAt, Map<UUID, ScheduleShift> schedules,
+                               Map<UUID, Punch> punchesByUser, Map<LocalDate, List<ShiftInterval>> intervalsByDay) {
+            this.day = day;
+            this.digest = digest;
+            this.checkedAt = checkedAt;
+            this.schedules = schedules;
+            this.punchesByUser = punchesByUser;
+            this.intervalsByDay = intervalsByDay;
+        }
+
+        BusinessRoster checked(Instant at) {
+            return new BusinessRoster(day, digest, at, schedules, punchesByUser, intervalsByDay);
+        }
+
+        BusinessRoster withSchedule(UUID scheduleId, ScheduleShift schedule) {
+            Map<UUID, ScheduleShift> updated = new HashMap<>(schedules);
+            if (schedule == null) {
+                updated.remove(scheduleId);
+            } else {
+                updated.put(scheduleId, schedule);
+            }
+            return new BusinessRoster(day, digest, checkedAt, updated, punchesByUser);
+        }
+
+        BusinessRoster withPunch(UUID userId, Punch punch) {
+            Punch current = punchesByUser.get(userId);
+            if (punch.attendanceDate().isBefore(day.minusDays(1))
+                    || (current != null && current.time().isAfter(punch.time()))) {
+                return this;
+            }
+            Map<UUID, Punch> updated = new HashMap<>(punchesByUser);
+            updated.put(userId, punch);
+            return new BusinessRoster(day, digest, checkedAt, schedules, updated, intervalsByDay);
+        }
+
+        BusinessRoster withoutPunch(UUID userId, LocalDate attendanceDate) {
+            Punch current = punchesByUser.get(userId);
+            if (current == null || !current.attendanceDate().equals(attendanceDate)) {
+                return this;
+            }
+            Map<UUID, Punch> updated = new HashMap<>(punchesByUser);
+            updated.remove(userId);
+            return new BusinessRoster(day, digest, checkedAt, schedules, updated, intervalsByDay);
+        }
+
+        // Monday to Sunday of the current week, plus the Sunday before for shifts running into Monday
+        private static Map<LocalDate, List<ShiftInterval>> expandWeek(LocalDate day, Collection<ScheduleShift> schedules) {
+            LocalDate monday = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            Map<LocalDate, List<ShiftInterval>> intervals = new HashMap<>();
+            for (LocalDate date = monday.minusDays(1); date.isBefore(monday.plusDays(7)); date = date.plusDays(1)) {
+                List<ShiftInterval> dayIntervals = new ArrayList<>();
+                for (ScheduleShift schedule : schedules) {
+                    if (!schedule.workDays().contains(date.getDayOfWeek())) {
+                        continue;
+                    }
+                    LocalDateTime start = date.atTime(schedule.startTime());
+                    LocalDateTime end = schedule.endTime().isAfter(schedule.startTime())
+                            ? date.atTime(schedule.endTime())
+                            : date.plusDays(1).atTime(schedule.endTime());
+                    dayIntervals.add(new ShiftInterval(schedule.userId(), schedule.scheduleId(), schedule.name(), start, end));
+                }
+                dayIntervals.sort(Comparator.comparing(ShiftInterval::start));
+                intervals.put(date, List.copyOf(dayIntervals));
+            }
+            return intervals;
+        }
+    }
+}
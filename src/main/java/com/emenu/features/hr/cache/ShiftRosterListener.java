@@ -0,0 +1,57 @@
+package com.emenu.features.hr.cache;
+
+import com.emenu.features.hr.models.Attendance;
+import com.emenu.features.hr.models.AttendanceCheckIn;
+import com.emenu.features.hr.models.WorkSchedule;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.util.EnumSet;
+
+/**
+ * Feeds schedule changes, check-ins and deleted attendance into the shift roster after commit
+ */
+@Component
+@RequiredArgsConstructor
+public class ShiftRosterListener {
+
+    // Resolved lazily: listeners are created while the EntityManagerFactory is being built
+    private final ObjectProvider<ShiftRosterIndex> rosterIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onChange(Object entity) {
+        apply(entity, false);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        apply(entity, true);
+    }
+
+    private void apply(Object entity, boolean removed) {
+        if (entity instanceof WorkSchedule schedule) {
+            EnumSet<DayOfWeek> workDays = EnumSet.noneOf(DayOfWeek.class);
+            if (schedule.getWorkDays() != null) {
+                workDays.addAll(schedule.getWorkDays());
+            }
+            rosterIndex.getObject().updateScheduleAfterCommit(schedule.getBusinessId(),
+                    new ShiftRosterIndex.ScheduleShift(schedule.getId(), schedule.getUserId(), schedule.getName(),
+                            workDays, schedule.getStartTime(), schedule.getEndTime()),
+                    removed || Boolean.TRUE.equals(schedule.getIsDeleted()));
+        } else if (entity instanceof AttendanceCheckIn checkIn && !removed && checkIn.getAttendance() != null) {
+            Attendance attendance = checkIn.getAttendance();
+            rosterIndex.getObject().recordPunchAfterCommit(attendance.getBusinessId(), attendance.getUserId(),
+                    new ShiftRosterIndex.Punch(attendance.getWorkScheduleId(), attendance.getAttendanceDate(),
+                            checkIn.getCheckInType(), checkIn.getCheckInTime()));
+        } else if (entity instanceof Attendance attendance && (removed || Boolean.TRUE.equals(attendance.getIsDeleted()))) {
+            rosterIndex.getObject().clearPunchesAfterCommit(attendance.getBusinessId(), attendance.getUserId(),
+                    attendance.getAttendanceDate());
+        }
+    }
+}
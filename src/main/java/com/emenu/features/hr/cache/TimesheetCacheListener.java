@@ -0,0 +1,37 @@
+package com.emenu.features.hr.cache;
+
+import com.emenu.features.hr.models.Attendance;
+import com.emenu.features.hr.models.Leave;
+import com.emenu.features.hr.service.TimesheetService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the cached timesheet months covered by an attendance or leave once a write to it commits.
+ * The current dates are enough: attendance dates never change, and leave dates only change while
+ * the leave is pending, which timesheets do not count.
+ */
+@Component
+@RequiredArgsConstructor
+public class TimesheetCacheListener {
+
+    // Resolved lazily: listeners are created while the EntityManagerFactory is being built
+    private final ObjectProvider<TimesheetService> timesheetService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof Attendance attendance) {
+            timesheetService.getObject().evictMonthsAfterCommit(attendance.getBusinessId(),
+                    attendance.getAttendanceDate(), attendance.getAttendanceDate());
+        } else if (entity instanceof Leave leave) {
+            timesheetService.getObject().evictMonthsAfterCommit(leave.getBusinessId(),
+                    leave.getStartDate(), leave.getEndDate());
+        }
+    }
+}
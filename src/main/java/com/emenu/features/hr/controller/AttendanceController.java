@@ -3,19 +3,28 @@ package com.emenu.features.hr.controller;
 import com.emenu.features.auth.models.User;
 import com.emenu.features.hr.dto.filter.AttendanceFilterRequest;
 import com.emenu.features.hr.dto.request.AttendanceCheckInRequest;
+import com.emenu.features.hr.dto.request.AttendancePunchBatchRequest;
+import com.emenu.features.hr.dto.response.AttendancePunchBatchResponse;
 import com.emenu.features.hr.dto.response.AttendanceResponse;
+import com.emenu.features.hr.dto.response.TimesheetResponse;
 import com.emenu.features.hr.dto.update.AttendanceUpdateRequest;
+import com.emenu.features.hr.service.AttendancePunchService;
 import com.emenu.features.hr.service.AttendanceService;
+import com.emenu.features.hr.service.TimesheetService;
 import com.emenu.security.SecurityUtils;
 import com.emenu.shared.dto.ApiResponse;
 import com.emenu.shared.dto.PaginationResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -25,6 +34,8 @@ import java.util.UUID;
 public class AttendanceController {
 
     private final AttendanceService service;
+    private final TimesheetService timesheetService;
+    private final AttendancePunchService punchService;
     private final SecurityUtils securityUtils;
 
     @PostMapping("/check-in")
@@ -37,6 +48,26 @@ public class AttendanceController {
                 .body(ApiResponse.success("Check-in recorded successfully", response));
     }
 
+    @PostMapping("/punches/batch")
+    @PreAuthorize("hasAnyRole('BUSINESS_MANAGER', 'BUSINESS_OWNER')")
+    public ResponseEntity<ApiResponse<AttendancePunchBatchResponse>> ingestPunches(
+            @Valid @RequestBody AttendancePunchBatchRequest request) {
+        log.info("Ingesting punch batch of size: {}", request.getPunches().size());
+        User currentUser = securityUtils.getCurrentUser();
+        AttendancePunchBatchResponse response = punchService.ingest(request, currentUser.getBusinessId());
+        return ResponseEntity.ok(ApiResponse.success("Punch batch processed", response));
+    }
+
+    @GetMapping("/timesheets")
+    @PreAuthorize("hasAnyRole('BUSINESS_MANAGER', 'BUSINESS_OWNER')")
+    public ResponseEntity<ApiResponse<List<TimesheetResponse>>> getMonthlyTimesheets(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        log.info("Get timesheets for month: {}", month);
+        User currentUser = securityUtils.getCurrentUser();
+        List<TimesheetResponse> response = timesheetService.getMonthlyTimesheets(currentUser.getBusinessId(), month);
+        return ResponseEntity.ok(ApiResponse.success("Timesheets retrieved", response));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<AttendanceResponse>> getById(@PathVariable UUID id) {
         log.info("Get attendance record: {}", id);
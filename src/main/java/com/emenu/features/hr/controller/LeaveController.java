@@ -4,7 +4,9 @@ import com.emenu.features.auth.models.User;
 import com.emenu.features.hr.dto.filter.LeaveFilterRequest;
 import com.emenu.features.hr.dto.request.LeaveApprovalRequest;
 import com.emenu.features.hr.dto.request.LeaveCreateRequest;
+import com.emenu.features.hr.dto.response.LeaveBalanceResponse;
 import com.emenu.features.hr.dto.response.LeaveResponse;
+import com.emenu.features.hr.dto.response.StaffOffResponse;
 import com.emenu.features.hr.dto.update.LeaveUpdateRequest;
 import com.emenu.features.hr.service.LeaveService;
 import com.emenu.security.SecurityUtils;
@@ -13,11 +15,14 @@ import com.emenu.shared.dto.PaginationResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -38,6 +43,28 @@ public class LeaveController {
                 .body(ApiResponse.success("Leave request created", response));
     }
 
+    @GetMapping("/off")
+    public ResponseEntity<ApiResponse<List<StaffOffResponse>>> getStaffOff(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.info("Get staff on leave for date: {}", date);
+        User currentUser = securityUtils.getCurrentUser();
+        List<StaffOffResponse> response = service.getStaffOff(currentUser.getBusinessId(), date);
+        return ResponseEntity.ok(ApiResponse.success("Staff on leave retrieved", response));
+    }
+
+    // Staff read their own balances; another user's balances are for managers and owners
+    @GetMapping("/balances")
+    @PreAuthorize("#userId == null or hasAnyRole('BUSINESS_MANAGER', 'BUSINESS_OWNER')")
+    public ResponseEntity<ApiResponse<List<LeaveBalanceResponse>>> getYearlyBalances(
+            @RequestParam(required = false) UUID userId,
+            @RequestParam int year) {
+        log.info("Get leave balances for user: {}, year: {}", userId, year);
+        User currentUser = securityUtils.getCurrentUser();
+        UUID targetUserId = userId != null ? userId : currentUser.getId();
+        List<LeaveBalanceResponse> response = service.getYearlyBalances(currentUser.getBusinessId(), targetUserId, year);
+        return ResponseEntity.ok(ApiResponse.success("Leave balances retrieved", response));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<LeaveResponse>> getById(@PathVariable UUID id) {
         log.info("Get leave request: {}", id);
@@ -1,10 +1,13 @@
 package com.emenu.features.hr.controller;
 
+import com.emenu.features.auth.models.User;
 import com.emenu.features.hr.dto.filter.WorkScheduleFilterRequest;
 import com.emenu.features.hr.dto.request.WorkScheduleCreateRequest;
+import com.emenu.features.hr.dto.response.RosterEntryResponse;
 import com.emenu.features.hr.dto.response.WorkScheduleResponse;
 import com.emenu.features.hr.dto.update.WorkScheduleUpdateRequest;
 import com.emenu.features.hr.service.WorkScheduleService;
+import com.emenu.security.SecurityUtils;
 import com.emenu.shared.dto.ApiResponse;
 import com.emenu.shared.dto.PaginationResponse;
 import jakarta.validation.Valid;
@@ -25,6 +28,7 @@ import java.util.UUID;
 public class WorkScheduleController {
 
     private final WorkScheduleService service;
+    private final SecurityUtils securityUtils;
 
     @PostMapping
     public ResponseEntity<ApiResponse<WorkScheduleResponse>> create(
@@ -50,6 +54,14 @@ public class WorkScheduleController {
         return ResponseEntity.ok(ApiResponse.success("Work schedules retrieved", response));
     }
 
+    @GetMapping("/on-shift")
+    public ResponseEntity<ApiResponse<List<RosterEntryResponse>>> getOnShiftNow() {
+        log.info("Get staff on shift");
+        User currentUser = securityUtils.getCurrentUser();
+        List<RosterEntryResponse> responses = service.getOnShiftNow(currentUser.getBusinessId());
+        return ResponseEntity.ok(ApiResponse.success("Staff on shift retrieved", responses));
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<ApiResponse<List<WorkScheduleResponse>>> getByUserId(
             @PathVariable UUID userId) {
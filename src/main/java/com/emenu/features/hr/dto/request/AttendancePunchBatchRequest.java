@@ -0,0 +1,22 @@
+package com.emenu.features.hr.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendancePunchBatchRequest {
+    @NotEmpty(message = "Punches required")
+    @Size(max = 1000, message = "At most 1000 punches per batch")
+    @Valid
+    private List<AttendancePunchRequest> punches;
+}
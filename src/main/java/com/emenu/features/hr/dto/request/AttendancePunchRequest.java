@@ -0,0 +1,37 @@
+package com.emenu.features.hr.dto.request;
+
+import com.emenu.enums.hr.CheckInType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendancePunchRequest {
+    @NotNull(message = "User ID required")
+    private UUID userId;
+
+    // Optional: defaults to the user's schedule covering the punch day
+    private UUID workScheduleId;
+
+    @NotNull(message = "Check-in type required")
+    private CheckInType checkInType;
+
+    @NotNull(message = "Check-in time required")
+    private LocalDateTime checkInTime;
+
+    @NotNull(message = "Latitude required")
+    private Double latitude;
+
+    @NotNull(message = "Longitude required")
+    private Double longitude;
+
+    private String remarks;
+}
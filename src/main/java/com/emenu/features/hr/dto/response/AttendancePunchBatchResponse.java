@@ -0,0 +1,18 @@
+package com.emenu.features.hr.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendancePunchBatchResponse {
+    private int acceptedCount;
+    private int rejectedCount;
+    private List<AttendancePunchResultResponse> results;
+}
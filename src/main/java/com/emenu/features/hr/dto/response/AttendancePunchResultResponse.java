@@ -0,0 +1,27 @@
+package com.emenu.features.hr.dto.response;
+
+import com.emenu.enums.hr.AttendanceStatusEnum;
+import com.emenu.enums.hr.CheckInType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendancePunchResultResponse {
+    // Position of the punch in the request
+    private int index;
+    private UUID userId;
+    private CheckInType checkInType;
+    private LocalDateTime checkInTime;
+    private boolean accepted;
+    private String message;
+    private UUID attendanceId;
+    private AttendanceStatusEnum attendanceStatus;
+}
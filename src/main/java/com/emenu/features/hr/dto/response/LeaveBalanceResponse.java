@@ -0,0 +1,20 @@
+package com.emenu.features.hr.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBalanceResponse {
+    private UUID userId;
+    private UUID leaveTypeEnum;
+    private int year;
+    private double approvedDays;
+    private double pendingDays;
+}
@@ -0,0 +1,26 @@
+package com.emenu.features.hr.dto.response;
+
+import com.emenu.enums.hr.RosterStatus;
+import com.emenu.features.auth.dto.response.UserBasicInfo;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterEntryResponse {
+    private UUID userId;
+    private UserBasicInfo userInfo;
+    private UUID workScheduleId;
+    private String scheduleName;
+    private LocalDateTime shiftStart;
+    private LocalDateTime shiftEnd;
+    private RosterStatus status;
+    private LocalDateTime lastPunchAt;
+}
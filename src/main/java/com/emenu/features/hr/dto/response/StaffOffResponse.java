@@ -0,0 +1,23 @@
+package com.emenu.features.hr.dto.response;
+
+import com.emenu.features.auth.dto.response.UserBasicInfo;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffOffResponse {
+    private UUID userId;
+    private UserBasicInfo userInfo;
+    private UUID leaveId;
+    private UUID leaveTypeEnum;
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
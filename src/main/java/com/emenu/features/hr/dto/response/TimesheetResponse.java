@@ -0,0 +1,27 @@
+package com.emenu.features.hr.dto.response;
+
+import com.emenu.features.auth.dto.response.UserBasicInfo;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimesheetResponse {
+    private UUID userId;
+    private UserBasicInfo userInfo;
+    private UUID businessId;
+    private String month;
+    private long workedMinutes;
+    private int daysPresent;
+    private int daysAbsent;
+    private int halfDays;
+    private int lateCount;
+    private int earlyLeaveCount;
+    private double approvedLeaveDays;
+}
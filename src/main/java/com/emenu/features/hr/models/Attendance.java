@@ -3,6 +3,8 @@ package com.emenu.features.hr.models;
 import com.emenu.enums.hr.AttendanceStatusEnum;
 import com.emenu.features.auth.models.Business;
 import com.emenu.features.auth.models.User;
+import com.emenu.features.hr.cache.ShiftRosterListener;
+import com.emenu.features.hr.cache.TimesheetCacheListener;
 import com.emenu.shared.domain.BaseUUIDEntity;
 import jakarta.persistence.*;
 import lombok.*;
@@ -12,7 +14,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+// Also unique per (user_id, attendance_date) among live rows, see AttendanceAbsenceService.ensureUniqueDayIndex
 @Entity
+@EntityListeners({TimesheetCacheListener.class, ShiftRosterListener.class})
 @Table(name = "attendances", indexes = {
     @Index(name = "idx_att_user", columnList = "user_id"),
     @Index(name = "idx_att_business", columnList = "business_id"),
@@ -1,6 +1,7 @@
 package com.emenu.features.hr.models;
 
 import com.emenu.enums.hr.CheckInType;
+import com.emenu.features.hr.cache.ShiftRosterListener;
 import com.emenu.shared.domain.BaseUUIDEntity;
 import jakarta.persistence.*;
 import lombok.*;
@@ -8,6 +9,7 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(ShiftRosterListener.class)
 @Table(name = "attendance_check_ins", indexes = {
     @Index(name = "idx_aci_attendance", columnList = "attendance_id"),
     @Index(name = "idx_aci_type", columnList = "check_in_type")
@@ -3,6 +3,8 @@ package com.emenu.features.hr.models;
 import com.emenu.enums.hr.LeaveStatusEnum;
 import com.emenu.features.auth.models.Business;
 import com.emenu.features.auth.models.User;
+import com.emenu.features.hr.cache.LeaveIntervalListener;
+import com.emenu.features.hr.cache.TimesheetCacheListener;
 import com.emenu.shared.domain.BaseUUIDEntity;
 import jakarta.persistence.*;
 import lombok.*;
@@ -12,6 +14,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@EntityListeners({TimesheetCacheListener.class, LeaveIntervalListener.class})
 @Table(name = "leaves", indexes = {
     @Index(name = "idx_leave_user", columnList = "user_id"),
     @Index(name = "idx_leave_business", columnList = "business_id"),
@@ -2,6 +2,7 @@ package com.emenu.features.hr.models;
 
 import com.emenu.features.auth.models.Business;
 import com.emenu.features.auth.models.User;
+import com.emenu.features.hr.cache.ShiftRosterListener;
 import com.emenu.shared.domain.BaseUUIDEntity;
 import jakarta.persistence.*;
 import lombok.*;
@@ -12,6 +13,7 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(ShiftRosterListener.class)
 @Table(name = "work_schedules", indexes = {
     @Index(name = "idx_ws_user", columnList = "user_id"),
     @Index(name = "idx_ws_business", columnList = "business_id")
@@ -17,6 +17,22 @@ import java.util.UUID;
 public interface LeaveRepository extends JpaRepository<Leave, UUID> {
     
     Optional<Leave> findByIdAndIsDeletedFalse(UUID id);
+
+    // Serializes leave writes of one user until the transaction ends, so two overlap checks cannot both pass
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtextextended(CAST(:userId AS text), 0))) l",
+           nativeQuery = true)
+    Integer lockLeavesOfUser(@Param("userId") UUID userId);
+
+    @Query("SELECT COUNT(l) > 0 FROM Leave l WHERE l.isDeleted = false " +
+           "AND l.userId = :userId AND l.id <> :excludedId " +
+           "AND l.status IN (com.emenu.enums.hr.LeaveStatusEnum.PENDING, com.emenu.enums.hr.LeaveStatusEnum.APPROVED) " +
+           "AND l.startDate <= :endDate AND l.endDate >= :startDate")
+    boolean existsOverlapping(
+        @Param("userId") UUID userId,
+        @Param("excludedId") UUID excludedId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
     
     @Query("SELECT l FROM Leave l WHERE l.isDeleted = false " +
            "AND (:businessId IS NULL OR l.businessId = :businessId) " +
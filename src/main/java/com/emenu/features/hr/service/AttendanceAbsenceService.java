@@ -0,0 +1,25 @@
+package com.emenu.features.hr.service;
+
+import java.time.LocalDate;
+
+/**
+ * Materializes absences: staff scheduled on a day without any attendance get an ABSENT row
+ */
+public interface AttendanceAbsenceService {
+
+    /**
+     * Insert ABSENT rows for the given day. Safe to run again for the same day.
+     * Returns the number of rows inserted.
+     */
+    int recordAbsences(LocalDate date);
+
+    /**
+     * Create the partial unique index on (user_id, attendance_date) that recordAbsences inserts against
+     */
+    void ensureUniqueDayIndex();
+
+    /**
+     * Whether that index exists; it is missing while legacy duplicate days remain (see migration_dedupe_attendances.sql)
+     */
+    boolean hasUniqueDayIndex();
+}
@@ -0,0 +1,14 @@
+package com.emenu.features.hr.service;
+
+import com.emenu.features.hr.dto.request.AttendancePunchBatchRequest;
+import com.emenu.features.hr.dto.response.AttendancePunchBatchResponse;
+
+import java.util.UUID;
+
+/**
+ * Replays buffered punches from shared clock-in terminals. Each punch is accepted or rejected on its
+ * own with the same rules as a live check-in, but against its own timestamp instead of today.
+ */
+public interface AttendancePunchService {
+    AttendancePunchBatchResponse ingest(AttendancePunchBatchRequest request, UUID businessId);
+}
@@ -3,10 +3,14 @@ package com.emenu.features.hr.service;
 import com.emenu.features.hr.dto.filter.LeaveFilterRequest;
 import com.emenu.features.hr.dto.request.LeaveApprovalRequest;
 import com.emenu.features.hr.dto.request.LeaveCreateRequest;
+import com.emenu.features.hr.dto.response.LeaveBalanceResponse;
 import com.emenu.features.hr.dto.response.LeaveResponse;
+import com.emenu.features.hr.dto.response.StaffOffResponse;
 import com.emenu.features.hr.dto.update.LeaveUpdateRequest;
 import com.emenu.shared.dto.PaginationResponse;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 public interface LeaveService {
@@ -16,4 +20,6 @@ public interface LeaveService {
     LeaveResponse update(UUID id, LeaveUpdateRequest request);
     LeaveResponse approve(UUID id, LeaveApprovalRequest request, UUID actionBy);
     LeaveResponse delete(UUID id);
+    List<StaffOffResponse> getStaffOff(UUID businessId, LocalDate date);
+    List<LeaveBalanceResponse> getYearlyBalances(UUID businessId, UUID userId, int year);
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.emenu.features.hr.service;
+
+import com.emenu.features.hr.dto.response.TimesheetResponse;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Monthly per-employee totals for payroll, computed in one pass instead of paging attendance and leave
+ */
+public interface TimesheetService {
+
+    /**
+     * Timesheets of every employee with attendance or approved leave in the month.
+     * Completed months are cached.
+     */
+    List<TimesheetResponse> getMonthlyTimesheets(UUID businessId, YearMonth month);
+
+    /**
+     * Drop the cached months of a business touched by the given dates once the current transaction commits
+     */
+    void evictMonthsAfterCommit(UUID businessId, LocalDate from, LocalDate to);
+}
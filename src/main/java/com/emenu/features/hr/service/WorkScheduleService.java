@@ -2,6 +2,7 @@ package com.emenu.features.hr.service;
 
 import com.emenu.features.hr.dto.filter.WorkScheduleFilterRequest;
 import com.emenu.features.hr.dto.request.WorkScheduleCreateRequest;
+import com.emenu.features.hr.dto.response.RosterEntryResponse;
 import com.emenu.features.hr.dto.response.WorkScheduleResponse;
 import com.emenu.features.hr.dto.update.WorkScheduleUpdateRequest;
 import com.emenu.shared.dto.PaginationResponse;
@@ -16,4 +17,5 @@ public interface WorkScheduleService {
     List<WorkScheduleResponse> getByUserId(UUID userId);
     WorkScheduleResponse update(UUID id, WorkScheduleUpdateRequest request);
     WorkScheduleResponse delete(UUID id);
+    List<RosterEntryResponse> getOnShiftNow(UUID businessId);
 }
\ No newline at end of file
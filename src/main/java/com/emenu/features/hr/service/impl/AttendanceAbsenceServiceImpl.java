@@ -0,0 +1,176 @@
+package com.emenu.features.hr.service.impl;
+
+import com.emenu.features.hr.service.AttendanceAbsenceService;
+import com.emenu.features.hr.service.TimesheetService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Walks the staff scheduled on a day in user_id order, one chunk per transaction.
+ * Candidates already exclude staff with attendance or approved leave. The insert skips rows that
+ * conflict with the partial unique index on (user_id, attendance_date), so a check-in committed
+ * after the candidate query never gets a second row. While legacy duplicates keep that index from
+ * being created, the insert falls back to a NOT EXISTS guard instead of failing every run.
+ */
+@Service
+@Slf4j
+public class AttendanceAbsenceServiceImpl implements AttendanceAbsenceService {
+
+    // One schedule per user (the oldest) among those covering the weekday and existing on that day
+    private static final String NEXT_ABSENT_BATCH_SQL = """
+            SELECT DISTINCT ON (ws.user_id) ws.user_id, ws.business_id, ws.id AS schedule_id
+            FROM work_schedules ws
+            JOIN schedule_work_days wd ON wd.schedule_id = ws.id AND wd.day_of_week = ?
+            JOIN users u ON u.id = ws.user_id AND u.is_deleted = false AND u.account_status = 'ACTIVE'
+            JOIN businesses b ON b.id = ws.business_id AND b.is_deleted = false
+            WHERE ws.is_deleted = false
+            AND ws.created_at < ?
+            AND ws.user_id > ?
+            AND NOT EXISTS (
+                SELECT 1 FROM attendances a
+                WHERE a.user_id = ws.user_id AND a.attendance_date = ? AND a.is_deleted = false
+            )
+            AND NOT EXISTS (
+                SELECT 1 FROM leaves l
+                WHERE l.user_id = ws.user_id AND l.status = 'APPROVED' AND l.is_deleted = false
+                AND l.start_date <= ? AND l.end_date >= ?
+            )
+            ORDER BY ws.user_id, ws.created_at, ws.id
+            LIMIT ?
+            """;
+
+    private static final String INSERT_ABSENT_SQL = """
+            INSERT INTO attendances (id, version, created_at, created_by, is_deleted,
+                user_id, business_id, work_schedule_id, attendance_date, status, remarks)
+            VALUES (?, 0, ?, 'SYSTEM', false, ?, ?, ?, ?, 'ABSENT', 'No check-in recorded')
+            ON CONFLICT (user_id, attendance_date) WHERE is_deleted = false DO NOTHING
+            """;
+
+    // Without the unique index; narrows the race with a concurrent check-in but cannot close it
+    private static final String INSERT_ABSENT_IF_MISSING_SQL = """
+            INSERT INTO attendances (id, version, created_at, created_by, is_deleted,
+                user_id, business_id, work_schedule_id, attendance_date, status, remarks)
+            SELECT ?, 0, ?, 'SYSTEM', false, ?, ?, ?, ?, 'ABSENT', 'No check-in recorded'
+            WHERE NOT EXISTS (
+                SELECT 1 FROM attendances a
+                WHERE a.user_id = ? AND a.attendance_date = ? AND a.is_deleted = false
+            )
+            """;
+
+    // One live attendance per user and day; soft-deleted rows do not count
+    private static final String UNIQUE_DAY_INDEX_SQL =
+            "CREATE UNIQUE INDEX IF NOT EXISTS uk_att_user_date_active " +
+            "ON attendances (user_id, attendance_date) WHERE is_deleted = false";
+
+    private static final String UNIQUE_DAY_INDEX_EXISTS_SQL =
+            "SELECT EXISTS (SELECT 1 FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid " +
+            "WHERE c.relname = 'uk_att_user_date_active' AND i.indisvalid)";
+
+    // PostgreSQL orders uuid by unsigned bytes, so the nil UUID sorts first
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TimesheetService timesheetService;
+    private final int batchSize;
+
+    // Once found the index stays; while missing every check looks again, so running the migration needs no restart
+    private volatile boolean uniqueDayIndex;
+
+    public AttendanceAbsenceServiceImpl(JdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate,
+                                        TimesheetService timesheetService,
+                                        @Value("${app.hr.absence.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.timesheetService = timesheetService;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public int recordAbsences(LocalDate date) {
+        Date sqlDate = Date.valueOf(date);
+        Timestamp endOfDay = Timestamp.valueOf(date.plusDays(1).atStartOfDay());
+        UUID lastUserId = MIN_UUID;
+        int inserted = 0;
+
+        while (true) {
+            List<AbsentCandidate> candidates = jdbcTemplate.query(NEXT_ABSENT_BATCH_SQL,
+                    (rs, rowNum) -> new AbsentCandidate(
+                            rs.getObject("user_id", UUID.class),
+                            rs.getObject("business_id", UUID.class),
+                            rs.getObject("schedule_id", UUID.class)),
+                    date.getDayOfWeek().name(), endOfDay, lastUserId, sqlDate, sqlDate, sqlDate, batchSize);
+            if (candidates.isEmpty()) {
+                break;
+            }
+
+            boolean guardedByIndex = hasUniqueDayIndex();
+            Integer rows = transactionTemplate.execute(status -> insertAbsences(candidates, sqlDate, guardedByIndex));
+            inserted += rows != null ? rows : 0;
+            lastUserId = candidates.get(candidates.size() - 1).userId();
+
+            if (candidates.size() < batchSize) {
+                break;
+            }
+        }
+
+        log.info("Recorded {} absences for {}", inserted, date);
+        return inserted;
+    }
+
+    @Override
+    public void ensureUniqueDayIndex() {
+        try {
+            jdbcTemplate.execute(UNIQUE_DAY_INDEX_SQL);
+        } catch (Exception e) {
+            log.error("Unique index on attendances (user_id, attendance_date) not created; absences and " +
+                    "punch batches are inserted with the NOT EXISTS guard until migration_dedupe_attendances.sql is run: {}", e.getMessage());
+        }
+        hasUniqueDayIndex();
+    }
+
+    @Override
+    public boolean hasUniqueDayIndex() {
+        if (!uniqueDayIndex) {
+            uniqueDayIndex = Boolean.TRUE.equals(jdbcTemplate.queryForObject(UNIQUE_DAY_INDEX_EXISTS_SQL, Boolean.class));
+        }
+        return uniqueDayIndex;
+    }
+
+    private int insertAbsences(List<AbsentCandidate> candidates, Date date, boolean guardedByIndex) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String sql = guardedByIndex ? INSERT_ABSENT_SQL : INSERT_ABSENT_IF_MISSING_SQL;
+        int[][] results = jdbcTemplate.batchUpdate(sql, candidates, candidates.size(), (ps, candidate) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setTimestamp(2, now);
+            ps.setObject(3, candidate.userId());
+            ps.setObject(4, candidate.businessId());
+            ps.setObject(5, candidate.scheduleId());
+            ps.setDate(6, date);
+            if (!guardedByIndex) {
+                ps.setObject(7, candidate.userId());
+                ps.setDate(8, date);
+            }
+        });
+        // Rows written over JDBC bypass the entity listener, so timesheets are evicted here
+        LocalDate day = date.toLocalDate();
+        candidates.stream().map(AbsentCandidate::businessId).distinct()
+                .forEach(businessId -> timesheetService.evictMonthsAfterCommit(businessId, day, day));
+        return Arrays.stream(results).flatMapToInt(Arrays::stream).map(count -> Math.max(count, 0)).sum();
+    }
+
+    private record AbsentCandidate(UUID userId, UUID businessId, UUID scheduleId) {
+    }
+}
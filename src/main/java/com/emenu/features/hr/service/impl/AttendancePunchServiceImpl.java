@@ -0,0 +1,444 @@
+package com.emenu.features.hr.service.impl;
+
+import com.emenu.enums.hr.AttendanceStatusEnum;
+import com.emenu.enums.hr.CheckInType;
+import com.emenu.features.hr.cache.BusinessGeofenceIndex;
+import com.emenu.features.hr.cache.ShiftRosterIndex;
+import com.emenu.features.hr.dto.request.AttendancePunchBatchRequest;
+import com.emenu.features.hr.dto.request.AttendancePunchRequest;
+import com.emenu.features.hr.dto.response.AttendancePunchBatchResponse;
+import com.emenu.features.hr.dto.response.AttendancePunchResultResponse;
+import com.emenu.features.hr.service.AttendanceAbsenceService;
+import com.emenu.features.hr.service.AttendancePunchService;
+import com.emenu.features.hr.service.TimesheetService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Punches are grouped per user and day and replayed in time order against the day's attendance
+ * as it would look after the earlier punches. Schedules and existing attendance for the whole batch
+ * are read with two queries; new rows are written with JDBC batches. Existing days are locked before
+ * they are read, so a concurrent batch or check-in for the same day waits instead of being overwritten.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class AttendancePunchServiceImpl implements AttendancePunchService {
+
+    // Terminal clocks drift; anything further ahead is a wrong clock rather than a buffered punch
+    private static final long MAX_CLOCK_SKEW_MINUTES = 5;
+
+    private static final String SCHEDULES_SQL = """
+            SELECT ws.id, ws.user_id, ws.start_time, ws.end_time, ws.break_start_time, ws.break_end_time, d.day_of_week
+            FROM work_schedules ws
+            LEFT JOIN schedule_work_days d ON d.schedule_id = ws.id
+            WHERE ws.business_id = :businessId AND ws.user_id IN (:userIds) AND ws.is_deleted = false
+            """;
+
+    // In id order, so batches locking overlapping days cannot deadlock
+    private static final String LOCK_ATTENDANCE_SQL = """
+            SELECT a.id FROM attendances a
+            WHERE a.user_id IN (:userIds) AND a.attendance_date >= :fromDate AND a.attendance_date <= :toDate
+            AND a.is_deleted = false
+            ORDER BY a.id
+            FOR UPDATE
+            """;
+
+    // Keyed by user and date like checkIn, so a day recorded elsewhere is still found
+    private static final String ATTENDANCE_SQL = """
+            SELECT a.id, a.user_id, a.attendance_date, a.work_schedule_id, a.status, ci.check_in_type, ci.check_in_time
+            FROM attendances a
+            LEFT JOIN attendance_check_ins ci ON ci.attendance_id = a.id AND ci.is_deleted = false
+            WHERE a.user_id IN (:userIds) AND a.attendance_date >= :fromDate AND a.attendance_date <= :toDate
+            AND a.is_deleted = false
+            """;
+
+    // Guarded like the absence job: a check-in racing the batch must not produce a second row
+    private static final String INSERT_ATTENDANCE_SQL = """
+            INSERT INTO attendances (id, version, created_at, created_by, is_deleted,
+                user_id, business_id, work_schedule_id, attendance_date, status)
+            VALUES (?, 0, ?, ?, false, ?, ?, ?, ?, ?)
+            ON CONFLICT (user_id, attendance_date) WHERE is_deleted = false DO NOTHING
+            """;
+
+    // Used while the unique day index is missing (see AttendanceAbsenceService.hasUniqueDayIndex)
+    private static final String INSERT_ATTENDANCE_IF_MISSING_SQL = """
+            INSERT INTO attendances (id, version, created_at, created_by, is_deleted,
+                user_id, business_id, work_schedule_id, attendance_date, status)
+            SELECT ?, 0, ?, ?, false, ?, ?, ?, ?, ?
+            WHERE NOT EXISTS (
+                SELECT 1 FROM attendances a
+                WHERE a.user_id = ? AND a.attendance_date = ? AND a.is_deleted = false
+            )
+            """;
+
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE attendances SET status = ?, updated_at = ?, updated_by = ?, version = version + 1 " +
+            "WHERE id = ? AND is_deleted = false";
+
+    private static final String INSERT_CHECK_IN_SQL = """
+            INSERT INTO attendance_check_ins (id, version, created_at, created_by, is_deleted,
+                attendance_id, check_in_type, check_in_time, latitude, longitude, remarks)
+            VALUES (?, 0, ?, ?, false, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final AuditorAware<String> auditorAware;
+    private final BusinessGeofenceIndex geofenceIndex;
+    private final ShiftRosterIndex rosterIndex;
+    private final TimesheetService timesheetService;
+    private final AttendanceAbsenceService attendanceAbsenceService;
+
+    @Override
+    public AttendancePunchBatchResponse ingest(AttendancePunchBatchRequest request, UUID businessId) {
+        List<AttendancePunchRequest> punches = request.getPunches();
+        AttendancePunchResultResponse[] results = new AttendancePunchResultResponse[punches.size()];
+        LocalDateTime latestAllowed = LocalDateTime.now().plusMinutes(MAX_CLOCK_SKEW_MINUTES);
+
+        // Punches failing checks that need no database state are rejected before grouping
+        Map<DayKey, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < punches.size(); i++) {
+            AttendancePunchRequest punch = punches.get(i);
+            if (punch.getCheckInTime().isAfter(latestAllowed)) {
+                results[i] = rejected(i, punch, "Check-in time is in the future");
+            } else if (!geofenceIndex.allowsCheckIn(businessId, punch.getLatitude(), punch.getLongitude())) {
+                results[i] = rejected(i, punch, "Check-in location is outside the allowed business area");
+            } else {
+                groups.computeIfAbsent(new DayKey(punch.getUserId(), punch.getCheckInTime().toLocalDate()),
+                        key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        if (!groups.isEmpty()) {
+            Map<UUID, List<Schedule>> schedules = loadSchedules(businessId, groups.keySet());
+            Map<DayKey, DayState> days = loadAttendance(groups.keySet());
+
+            Writes writes = new Writes();
+            groups.forEach((key, indexes) -> {
+                indexes.sort(Comparator.comparing(i -> punches.get(i).getCheckInTime()));
+                replayDay(businessId, key, indexes, punches, schedules.getOrDefault(key.userId(), List.of()),
+                        days.get(key), results, writes);
+            });
+            write(businessId, writes, punches, results);
+        }
+
+        int accepted = (int) Arrays.stream(results).filter(AttendancePunchResultResponse::isAccepted).count();
+        log.info("Ingested punch batch for business {} - Accepted: {}, Rejected: {}",
+                businessId, accepted, results.length - accepted);
+        return AttendancePunchBatchResponse.builder()
+                .acceptedCount(accepted)
+                .rejectedCount(results.length - accepted)
+                .results(List.of(results))
+                .build();
+    }
+
+    /**
+     * Applies the sequence rules of AttendanceServiceImpl.checkIn to one user-day in time order
+     */
+    private void replayDay(UUID businessId, DayKey key, List<Integer> indexes, List<AttendancePunchRequest> punches,
+                           List<Schedule> userSchedules, DayState existing, AttendancePunchResultResponse[] results,
+                           Writes writes) {
+        AttendancePunchRequest first = punches.get(indexes.get(0));
+        UUID requestedScheduleId = existing != null ? existing.scheduleId : first.getWorkScheduleId();
+        Schedule schedule = resolveSchedule(userSchedules, requestedScheduleId, key.date().getDayOfWeek());
+
+        String dayError = null;
+        if (schedule == null) {
+            dayError = requestedScheduleId != null ? "Work schedule not found" : "No work schedule for this user on this day";
+        } else if (!schedule.workDays().contains(key.date().getDayOfWeek())) {
+            dayError = "Not a working day according to the schedule";
+        }
+        if (dayError != null) {
+            for (int i : indexes) {
+                results[i] = rejected(i, punches.get(i), dayError);
+            }
+            return;
+        }
+
+        DayState day = existing != null ? existing
+                : new DayState(UUID.randomUUID(), true, schedule.id(), AttendanceStatusEnum.ABSENT);
+        boolean changed = false;
+
+        for (int i : indexes) {
+            AttendancePunchRequest punch = punches.get(i);
+            String error = validateSequence(day, punch);
+            if (error != null) {
+                results[i] = rejected(i, punch, error);
+                continue;
+            }
+            if (punch.getCheckInType() == CheckInType.START) {
+                day.start = punch.getCheckInTime();
+            } else {
+                day.end = punch.getCheckInTime();
+            }
+            changed = true;
+            writes.checkIns.add(new PendingCheckIn(i, day));
+            results[i] = AttendancePunchResultResponse.builder()
+                    .index(i)
+                    .userId(punch.getUserId())
+                    .checkInType(punch.getCheckInType())
+                    .checkInTime(punch.getCheckInTime())
+                    .accepted(true)
+                    .attendanceId(day.attendanceId)
+                    .build();
+        }
+
+        if (!changed) {
+            return;
+        }
+        day.status = day.end != null
+                ? AttendanceStatusCalculator.calculate(key.date(), day.start, day.end, schedule.startTime(),
+                        schedule.endTime(), schedule.breakStartTime(), schedule.breakEndTime()).status()
+                : AttendanceStatusEnum.PRESENT;
+        if (day.isNew) {
+            writes.newDays.put(key, day);
+        } else {
+            writes.updatedDays.add(day);
+        }
+    }
+
+    private String validateSequence(DayState day, AttendancePunchRequest punch) {
+        if (punch.getCheckInType() == CheckInType.START) {
+            if (day.start != null) {
+                return "Already checked in for type: START";
+            }
+            return day.end != null ? "Already completed check-in for this day" : null;
+        }
+        if (day.end != null) {
+            return day.start != null ? "Already completed check-in for this day" : "Already checked in for type: END";
+        }
+        if (day.start == null) {
+            return "Must clock in (START) first";
+        }
+        return punch.getCheckInTime().isBefore(day.start) ? "Clock out is before clock in" : null;
+    }
+
+    private Schedule resolveSchedule(List<Schedule> userSchedules, UUID scheduleId, DayOfWeek dayOfWeek) {
+        if (scheduleId != null) {
+            return userSchedules.stream().filter(s -> s.id().equals(scheduleId)).findFirst().orElse(null);
+        }
+        return userSchedules.stream()
+                .filter(s -> s.workDays().contains(dayOfWeek))
+                .min(Comparator.comparing(Schedule::startTime))
+                .orElse(null);
+    }
+
+    private void write(UUID businessId, Writes writes, List<AttendancePunchRequest> punches,
+                       AttendancePunchResultResponse[] results) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String actor = auditorAware.getCurrentAuditor().orElse("SYSTEM");
+
+        List<Map.Entry<DayKey, DayState>> newDays = new ArrayList<>(writes.newDays.entrySet());
+        if (!newDays.isEmpty()) {
+            boolean guardedByIndex = attendanceAbsenceService.hasUniqueDayIndex();
+            String sql = guardedByIndex ? INSERT_ATTENDANCE_SQL : INSERT_ATTENDANCE_IF_MISSING_SQL;
+            int[][] inserted = jdbcTemplate.batchUpdate(sql, newDays, newDays.size(), (ps, entry) -> {
+                DayState day = entry.getValue();
+                ps.setObject(1, day.attendanceId);
+                ps.setTimestamp(2, now);
+                ps.setString(3, actor);
+                ps.setObject(4, entry.getKey().userId());
+                ps.setObject(5, businessId);
+                ps.setObject(6, day.scheduleId);
+                ps.setDate(7, Date.valueOf(entry.getKey().date()));
+                ps.setString(8, day.status.name());
+                if (!guardedByIndex) {
+                    ps.setObject(9, entry.getKey().userId());
+                    ps.setDate(10, Date.valueOf(entry.getKey().date()));
+                }
+            });
+            int[] counts = Arrays.stream(inserted).flatMapToInt(Arrays::stream).toArray();
+            for (int i = 0; i < counts.length; i++) {
+                // A live check-in created the day after the batch read it; its punches must be resent
+                if (counts[i] == 0) {
+                    DayState lost = newDays.get(i).getValue();
+                    writes.checkIns.removeIf(checkIn -> {
+                        if (checkIn.day() != lost) {
+                            return false;
+                        }
+                        results[checkIn.index()] = rejected(checkIn.index(), punches.get(checkIn.index()),
+                                "Attendance for this day was recorded concurrently, resend the punch");
+                        return true;
+                    });
+                }
+            }
+        }
+
+        if (!writes.updatedDays.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, writes.updatedDays, writes.updatedDays.size(), (ps, day) -> {
+                ps.setString(1, day.status.name());
+                ps.setTimestamp(2, now);
+                ps.setString(3, actor);
+                ps.setObject(4, day.attendanceId);
+            });
+        }
+
+        if (!writes.checkIns.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CHECK_IN_SQL, writes.checkIns, writes.checkIns.size(), (ps, checkIn) -> {
+                AttendancePunchRequest punch = punches.get(checkIn.index());
+                ps.setObject(1, UUID.randomUUID());
+                ps.setTimestamp(2, now);
+                ps.setString(3, actor);
+                ps.setObject(4, checkIn.day().attendanceId);
+                ps.setString(5, punch.getCheckInType().name());
+                ps.setTimestamp(6, Timestamp.valueOf(punch.getCheckInTime()));
+                ps.setDouble(7, punch.getLatitude());
+                ps.setDouble(8, punch.getLongitude());
+                ps.setString(9, punch.getRemarks());
+            });
+        }
+
+        for (PendingCheckIn checkIn : writes.checkIns) {
+            results[checkIn.index()].setAttendanceStatus(checkIn.day().status);
+        }
+
+        // JDBC writes bypass the entity listeners
+        if (!writes.checkIns.isEmpty()) {
+            LocalDate firstDay = null;
+            LocalDate lastDay = null;
+            for (PendingCheckIn checkIn : writes.checkIns) {
+                AttendancePunchRequest punch = punches.get(checkIn.index());
+                LocalDate day = punch.getCheckInTime().toLocalDate();
+                firstDay = firstDay == null || day.isBefore(firstDay) ? day : firstDay;
+                lastDay = lastDay == null || day.isAfter(lastDay) ? day : lastDay;
+                rosterIndex.recordPunchAfterCommit(businessId, punch.getUserId(), new ShiftRosterIndex.Punch(
+                        checkIn.day().scheduleId, punch.getCheckInTime().toLocalDate(),
+                        punch.getCheckInType(), punch.getCheckInTime()));
+            }
+            timesheetService.evictMonthsAfterCommit(businessId, firstDay, lastDay);
+        }
+    }
+
+    private Map<UUID, List<Schedule>> loadSchedules(UUID businessId, Set<DayKey> keys) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("businessId", businessId)
+                .addValue("userIds", keys.stream().map(DayKey::userId).distinct().toList());
+
+        Map<UUID, Schedule> byId = new LinkedHashMap<>();
+        namedJdbcTemplate.query(SCHEDULES_SQL, params, rs -> {
+            UUID id = rs.getObject("id", UUID.class);
+            Schedule schedule = byId.get(id);
+            if (schedule == null) {
+                schedule = new Schedule(id, rs.getObject("user_id", UUID.class), EnumSet.noneOf(DayOfWeek.class),
+                        rs.getTime("start_time").toLocalTime(),
+                        rs.getTime("end_time").toLocalTime(),
+                        toLocalTime(rs.getTime("break_start_time")),
+                        toLocalTime(rs.getTime("break_end_time")));
+                byId.put(id, schedule);
+            }
+            String dayOfWeek = rs.getString("day_of_week");
+            if (dayOfWeek != null) {
+                schedule.workDays().add(DayOfWeek.valueOf(dayOfWeek));
+            }
+        });
+
+        Map<UUID, List<Schedule>> byUser = new HashMap<>();
+        byId.values().forEach(schedule -> byUser.computeIfAbsent(schedule.userId(), id -> new ArrayList<>()).add(schedule));
+        return byUser;
+    }
+
+    private Map<DayKey, DayState> loadAttendance(Set<DayKey> keys) {
+        LocalDate fromDate = keys.stream().map(DayKey::date).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate toDate = keys.stream().map(DayKey::date).max(Comparator.naturalOrder()).orElseThrow();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userIds", keys.stream().map(DayKey::userId).distinct().toList())
+                .addValue("fromDate", Date.valueOf(fromDate))
+                .addValue("toDate", Date.valueOf(toDate));
+
+        // Locked by a statement of its own: the read below then takes a fresh snapshot and sees check-ins
+        // committed by whoever held a lock first, which a joined FOR UPDATE would not
+        namedJdbcTemplate.queryForList(LOCK_ATTENDANCE_SQL, params, UUID.class);
+
+        Map<DayKey, DayState> days = new HashMap<>();
+        namedJdbcTemplate.query(ATTENDANCE_SQL, params, rs -> {
+            DayKey key = new DayKey(rs.getObject("user_id", UUID.class), rs.getDate("attendance_date").toLocalDate());
+            // The range spans every user, so days outside the batch are skipped
+            if (!keys.contains(key)) {
+                return;
+            }
+            DayState day = days.get(key);
+            if (day == null) {
+                day = new DayState(rs.getObject("id", UUID.class), false, rs.getObject("work_schedule_id", UUID.class),
+                        AttendanceStatusEnum.valueOf(rs.getString("status")));
+                days.put(key, day);
+            }
+            Timestamp time = rs.getTimestamp("check_in_time");
+            String type = rs.getString("check_in_type");
+            if (time != null && type != null) {
+                if (CheckInType.valueOf(type) == CheckInType.START) {
+                    day.start = time.toLocalDateTime();
+                } else {
+                    day.end = time.toLocalDateTime();
+                }
+            }
+        });
+        return days;
+    }
+
+    private static AttendancePunchResultResponse rejected(int index, AttendancePunchRequest punch, String message) {
+        return AttendancePunchResultResponse.builder()
+                .index(index)
+                .userId(punch.getUserId())
+                .checkInType(punch.getCheckInType())
+                .checkInTime(punch.getCheckInTime())
+                .accepted(false)
+                .message(message)
+                .build();
+    }
+
+    private static LocalTime toLocalTime(Time time) {
+        return time != null ? time.toLocalTime() : null;
+    }
+
+    private record DayKey(UUID userId, LocalDate date) {
+    }
+
+    private record Schedule(UUID id, UUID userId, Set<DayOfWeek> workDays, LocalTime startTime, LocalTime endTime,
+                            LocalTime breakStartTime, LocalTime breakEndTime) {
+    }
+
+    private record PendingCheckIn(int index, DayState day) {
+    }
+
+    /**
+     * One user-day as it stands after the punches replayed so far
+     */
+    private static class DayState {
+        private final UUID attendanceId;
+        private final boolean isNew;
+        private final UUID scheduleId;
+        private AttendanceStatusEnum status;
+        private LocalDateTime start;
+        private LocalDateTime end;
+
+        DayState(UUID attendanceId, boolean isNew, UUID scheduleId, AttendanceStatusEnum status) {
+            this.attendanceId = attendanceId;
+            this.isNew = isNew;
+            this.scheduleId = scheduleId;
+            this.status = status;
+        }
+    }
+
+    private static class Writes {
+        private final Map<DayKey, DayState> newDays = new LinkedHashMap<>();
+        private final List<DayState> updatedDays = new ArrayList<>();
+        private final List<PendingCheckIn> checkIns = new ArrayList<>();
+    }
+}
@@ -5,6 +5,7 @@ import com.emenu.enums.hr.CheckInType;
 import com.emenu.exception.custom.BusinessValidationException;
 import com.emenu.exception.custom.ResourceNotFoundException;
 import com.emenu.features.auth.mapper.UserMapper;
+import com.emenu.features.hr.cache.BusinessGeofenceIndex;
 import com.emenu.features.hr.dto.filter.AttendanceFilterRequest;
 import com.emenu.features.hr.dto.request.AttendanceCheckInRequest;
 import com.emenu.features.hr.dto.response.AttendanceResponse;
@@ -27,7 +28,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -43,6 +43,7 @@ public class AttendanceServiceImpl implements AttendanceService {
     private final AttendanceMapper mapper;
     private final PaginationMapper paginationMapper;
     private final UserMapper userMapper;
+    private final BusinessGeofenceIndex geofenceIndex;
 
     @Override
     public AttendanceResponse checkIn(AttendanceCheckInRequest request, UUID userId, UUID businessId) {
@@ -56,6 +57,8 @@ public class AttendanceServiceImpl implements AttendanceService {
             throw new BusinessValidationException("Work schedule does not belong to user");
         }
 
+        validateCheckInLocation(businessId, request.getLatitude(), request.getLongitude());
+
         LocalDate today = LocalDate.now();
         DayOfWeek dayOfWeek = today.getDayOfWeek();
 
@@ -98,6 +101,12 @@ public class AttendanceServiceImpl implements AttendanceService {
         return enrichWithUserInfo(mapper.toResponse(attendance), attendance);
     }
 
+    private void validateCheckInLocation(UUID businessId, Double latitude, Double longitude) {
+        if (!geofenceIndex.allowsCheckIn(businessId, latitude, longitude)) {
+            throw new BusinessValidationException("Check-in location is outside the allowed business area");
+        }
+    }
+
     private Attendance createNewAttendance(UUID userId, UUID businessId, UUID workScheduleId, LocalDate date) {
         Attendance newAttendance = Attendance.builder()
                 .userId(userId)
@@ -146,46 +155,13 @@ public class AttendanceServiceImpl implements AttendanceService {
                 .findFirst()
                 .orElseThrow(() -> new BusinessValidationException("End check-in not found"));
 
-        LocalDateTime startTime = startCheckIn.getCheckInTime();
-        LocalDateTime endTime = endCheckIn.getCheckInTime();
-        LocalDateTime expectedStart = LocalDateTime.of(attendance.getAttendanceDate(), schedule.getStartTime());
-
-        // Calculate if late
-        boolean isLate = startTime.isAfter(expectedStart);
-
-        // Calculate total work duration
-        Duration workDuration = Duration.between(startTime, endTime);
-        long totalWorkMinutes = workDuration.toMinutes();
-
-        // Deduct break time if configured
-        if (schedule.getBreakStartTime() != null && schedule.getBreakEndTime() != null) {
-            Duration breakDuration = Duration.between(schedule.getBreakStartTime(), schedule.getBreakEndTime());
-            totalWorkMinutes -= breakDuration.toMinutes();
-        }
-
-        // Calculate expected work hours
-        Duration expectedWorkDuration = Duration.between(schedule.getStartTime(), schedule.getEndTime());
-        long expectedWorkMinutes = expectedWorkDuration.toMinutes();
-
-        if (schedule.getBreakStartTime() != null && schedule.getBreakEndTime() != null) {
-            Duration breakDuration = Duration.between(schedule.getBreakStartTime(), schedule.getBreakEndTime());
-            expectedWorkMinutes -= breakDuration.toMinutes();
-        }
-
-        // Determine final status
-        // Consider half-day if worked less than 60% of expected hours
-        double workPercentage = (double) totalWorkMinutes / expectedWorkMinutes * 100;
-
-        if (isLate) {
-            attendance.setStatus(AttendanceStatusEnum.LATE);
-        } else if (workPercentage < 60) {
-            attendance.setStatus(AttendanceStatusEnum.HALF_DAY);
-        } else {
-            attendance.setStatus(AttendanceStatusEnum.PRESENT);
-        }
+        AttendanceStatusCalculator.Result result = AttendanceStatusCalculator.calculate(attendance.getAttendanceDate(),
+                startCheckIn.getCheckInTime(), endCheckIn.getCheckInTime(), schedule.getStartTime(), schedule.getEndTime(),
+                schedule.getBreakStartTime(), schedule.getBreakEndTime());
+        attendance.setStatus(result.status());
 
         log.info("Calculated attendance status: {}, worked: {} minutes, expected: {} minutes, percentage: {}%",
-                attendance.getStatus(), totalWorkMinutes, expectedWorkMinutes, String.format("%.2f", workPercentage));
+                result.status(), result.workedMinutes(), result.expectedMinutes(), String.format("%.2f", result.workPercentage()));
     }
 
     @Override
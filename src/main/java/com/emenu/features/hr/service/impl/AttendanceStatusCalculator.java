@@ -0,0 +1,52 @@
+package com.emenu.features.hr.service.impl;
+
+import com.emenu.enums.hr.AttendanceStatusEnum;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Status of a completed attendance day from its START and END punches, shared by single check-ins
+ * and batch punch ingestion
+ */
+final class AttendanceStatusCalculator {
+
+    // Worked less than this share of the expected hours counts as a half day
+    private static final double HALF_DAY_PERCENTAGE = 60;
+
+    private AttendanceStatusCalculator() {
+    }
+
+    static Result calculate(LocalDate attendanceDate, LocalDateTime startTime, LocalDateTime endTime,
+                            LocalTime scheduleStart, LocalTime scheduleEnd, LocalTime breakStart, LocalTime breakEnd) {
+        LocalDateTime expectedStart = LocalDateTime.of(attendanceDate, scheduleStart);
+        boolean isLate = startTime.isAfter(expectedStart);
+
+        long totalWorkMinutes = Duration.between(startTime, endTime).toMinutes();
+        long expectedWorkMinutes = Duration.between(scheduleStart, scheduleEnd).toMinutes();
+
+        // Deduct break time if configured
+        if (breakStart != null && breakEnd != null) {
+            long breakMinutes = Duration.between(breakStart, breakEnd).toMinutes();
+            totalWorkMinutes -= breakMinutes;
+            expectedWorkMinutes -= breakMinutes;
+        }
+
+        double workPercentage = (double) totalWorkMinutes / expectedWorkMinutes * 100;
+
+        AttendanceStatusEnum status;
+        if (isLate) {
+            status = AttendanceStatusEnum.LATE;
+        } else if (workPercentage < HALF_DAY_PERCENTAGE) {
+            status = AttendanceStatusEnum.HALF_DAY;
+        } else {
+            status = AttendanceStatusEnum.PRESENT;
+        }
+        return new Result(status, totalWorkMinutes, expectedWorkMinutes, workPercentage);
+    }
+
+    record Result(AttendanceStatusEnum status, long workedMinutes, long expectedMinutes, double workPercentage) {
+    }
+}
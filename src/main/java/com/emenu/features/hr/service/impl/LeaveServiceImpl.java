@@ -4,10 +4,16 @@ import com.emenu.enums.hr.LeaveStatusEnum;
 import com.emenu.exception.custom.BusinessValidationException;
 import com.emenu.exception.custom.ResourceNotFoundException;
 import com.emenu.features.auth.mapper.UserMapper;
+import com.emenu.features.auth.models.User;
+import com.emenu.features.auth.repository.UserRepository;
 import com.emenu.features.hr.dto.filter.LeaveFilterRequest;
 import com.emenu.features.hr.dto.request.LeaveApprovalRequest;
 import com.emenu.features.hr.dto.request.LeaveCreateRequest;
+import com.emenu.features.hr.cache.LeaveIntervalIndex;
+import com.emenu.features.hr.cache.LeaveSpan;
+import com.emenu.features.hr.dto.response.LeaveBalanceResponse;
 import com.emenu.features.hr.dto.response.LeaveResponse;
+import com.emenu.features.hr.dto.response.StaffOffResponse;
 import com.emenu.features.hr.dto.update.LeaveUpdateRequest;
 import com.emenu.features.hr.mapper.LeaveMapper;
 import com.emenu.features.hr.models.Leave;
@@ -23,9 +29,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -37,11 +48,20 @@ public class LeaveServiceImpl implements LeaveService {
     private final LeaveMapper mapper;
     private final PaginationMapper paginationMapper;
     private final UserMapper userMapper;
+    private final UserRepository userRepository;
+    private final LeaveIntervalIndex leaveIndex;
+
+    private static final int MIN_BALANCE_YEAR = 1970;
+    private static final int MAX_BALANCE_YEAR = 2100;
+
+    // Leave ids are random UUIDs, so the nil UUID never matches an existing leave
+    private static final UUID NO_LEAVE = new UUID(0L, 0L);
 
     @Override
     public LeaveResponse create(LeaveCreateRequest request, UUID userId, UUID businessId) {
         log.info("Creating leave request for user: {}", userId);
 
+        validateNoOverlap(userId, null, request.getStartDate(), request.getEndDate());
         double totalDays = ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) + 1;
 
         Leave leave = mapper.toEntity(request);
@@ -100,6 +120,7 @@ public class LeaveServiceImpl implements LeaveService {
         }
 
         mapper.updateEntity(request, leave);
+        validateNoOverlap(leave.getUserId(), leave.getId(), leave.getStartDate(), leave.getEndDate());
 
         if (request.getStartDate() != null && request.getEndDate() != null) {
             double totalDays = ChronoUnit.DAYS.between(leave.getStartDate(), leave.getEndDate()) + 1;
@@ -138,6 +159,58 @@ public class LeaveServiceImpl implements LeaveService {
         return enrichWithUserInfo(mapper.toResponse(leave), leave);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<StaffOffResponse> getStaffOff(UUID businessId, LocalDate date) {
+        List<LeaveSpan> spans = leaveIndex.findOffOn(businessId, date);
+        Map<UUID, User> users = userRepository.findAllById(spans.stream().map(LeaveSpan::userId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return spans.stream()
+                .map(span -> StaffOffResponse.builder()
+                        .userId(span.userId())
+                        .userInfo(users.containsKey(span.userId()) ? userMapper.toUserBasicInfo(users.get(span.userId())) : null)
+                        .leaveId(span.leaveId())
+                        .leaveTypeEnum(span.leaveTypeEnum())
+                        .startDate(span.startDate())
+                        .endDate(span.endDate())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LeaveBalanceResponse> getYearlyBalances(UUID businessId, UUID userId, int year) {
+        if (year < MIN_BALANCE_YEAR || year > MAX_BALANCE_YEAR) {
+            throw new BusinessValidationException(
+                    "Year must be between " + MIN_BALANCE_YEAR + " and " + MAX_BALANCE_YEAR);
+        }
+        return leaveIndex.getYearlyBalances(businessId, userId, year).stream()
+                .map(balance -> LeaveBalanceResponse.builder()
+                        .userId(userId)
+                        .leaveTypeEnum(balance.leaveTypeEnum())
+                        .year(balance.year())
+                        .approvedDays(balance.approvedDays())
+                        .pendingDays(balance.pendingDays())
+                        .build())
+                .toList();
+    }
+
+    private void validateNoOverlap(UUID userId, UUID leaveId, LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            return;
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new BusinessValidationException("End date must not be before start date");
+        }
+        // Checked in the database under a per-user lock: the leave index may lag writes made on other instances
+        repository.lockLeavesOfUser(userId);
+        if (repository.existsOverlapping(userId, leaveId != null ? leaveId : NO_LEAVE, startDate, endDate)) {
+            throw new BusinessValidationException("Leave overlaps an existing pending or approved leave");
+        }
+    }
+
     private LeaveResponse enrichWithUserInfo(LeaveResponse response, Leave leave) {
         if (leave.getUser() != null) {
             response.setUserInfo(userMapper.toUserBasicInfo(leave.getUser()));
@@ -0,0 +1,265 @@
+package com.emenu.features.hr.service.impl;
+
+import com.emenu.enums.hr.AttendanceStatusEnum;
+import com.emenu.enums.hr.CheckInType;
+import com.emenu.features.auth.mapper.UserMapper;
+import com.emenu.features.auth.models.User;
+import com.emenu.features.auth.repository.UserRepository;
+import com.emenu.features.hr.dto.response.TimesheetResponse;
+import com.emenu.features.hr.service.TimesheetService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads a business month with three date-bounded queries (schedules, attendance with check-ins,
+ * overlapping approved leave), groups the rows per employee and computes the employees in parallel.
+ */
+@Service
+@Slf4j
+public class TimesheetServiceImpl implements TimesheetService {
+
+    private static final String SCHEDULES_SQL =
+            "SELECT id, start_time, end_time, break_start_time, break_end_time FROM work_schedules WHERE business_id = ?";
+
+    private static final String ATTENDANCE_SQL = """
+            SELECT a.id, a.user_id, a.work_schedule_id, a.attendance_date, a.status, ci.check_in_type, ci.check_in_time
+            FROM attendances a
+            LEFT JOIN attendance_check_ins ci ON ci.attendance_id = a.id AND ci.is_deleted = false
+            WHERE a.business_id = ? AND a.attendance_date >= ? AND a.attendance_date <= ? AND a.is_deleted = false
+            ORDER BY a.user_id, a.attendance_date
+            """;
+
+    private static final String APPROVED_LEAVE_SQL = """
+            SELECT user_id, start_date, end_date FROM leaves
+            WHERE business_id = ? AND status = 'APPROVED' AND is_deleted = false
+            AND start_date <= ? AND end_date >= ?
+            """;
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final Cache<MonthKey, List<TimesheetResponse>> completedMonths;
+
+    public TimesheetServiceImpl(JdbcTemplate jdbcTemplate,
+                                UserRepository userRepository,
+                                UserMapper userMapper,
+                                @Value("${app.hr.timesheet.cache.maximum-size:1000}") long maximumSize,
+                                @Value("${app.hr.timesheet.cache.expire-after-write-hours:24}") long expireAfterWriteHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.completedMonths = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteHours, TimeUnit.HOURS)
+                .build();
+    }
+
+    // Read-only transaction: PostgreSQL only honours the fetch size, and streams the attendance rows, with autocommit off
+    @Override
+    @Transactional(readOnly = true)
+    public List<TimesheetResponse> getMonthlyTimesheets(UUID businessId, YearMonth month) {
+        if (!month.isBefore(YearMonth.now())) {
+            return compute(businessId, month);
+        }
+        return completedMonths.get(new MonthKey(businessId, month), key -> compute(businessId, month));
+    }
+
+    @Override
+    public void evictMonthsAfterCommit(UUID businessId, LocalDate from, LocalDate to) {
+        List<MonthKey> keys = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            keys.add(new MonthKey(businessId, month));
+        }
+        Runnable evict = () -> completedMonths.invalidateAll(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    private List<TimesheetResponse> compute(UUID businessId, YearMonth month) {
+        long started = System.nanoTime();
+        LocalDate firstDay = month.atDay(1);
+        LocalDate lastDay = month.atEndOfMonth();
+
+        Map<UUID, Shift> shifts = new HashMap<>();
+        jdbcTemplate.query(SCHEDULES_SQL, rs -> {
+            shifts.put(rs.getObject("id", UUID.class), new Shift(
+                    toLocalTime(rs.getTime("start_time")),
+                    toLocalTime(rs.getTime("end_time")),
+                    toLocalTime(rs.getTime("break_start_time")),
+                    toLocalTime(rs.getTime("break_end_time"))));
+        }, businessId);
+
+        // One entry per attendance; check-in rows of the same attendance are folded into it
+        Map<UUID, Map<UUID, DayRecord>> daysByUser = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(ATTENDANCE_SQL);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setObject(1, businessId);
+            statement.setDate(2, Date.valueOf(firstDay));
+            statement.setDate(3, Date.valueOf(lastDay));
+            return statement;
+        }, rs -> {
+            Map<UUID, DayRecord> userDays = daysByUser.computeIfAbsent(rs.getObject("user_id", UUID.class), id -> new LinkedHashMap<>());
+            UUID attendanceId = rs.getObject("id", UUID.class);
+            DayRecord day = userDays.get(attendanceId);
+            if (day == null) {
+                day = new DayRecord(rs.getDate("attendance_date").toLocalDate(),
+                        AttendanceStatusEnum.valueOf(rs.getString("status")),
+                        rs.getObject("work_schedule_id", UUID.class));
+                userDays.put(attendanceId, day);
+            }
+            Timestamp time = rs.getTimestamp("check_in_time");
+            String type = rs.getString("check_in_type");
+            if (time != null && type != null) {
+                if (CheckInType.valueOf(type) == CheckInType.START) {
+                    day.start = time.toLocalDateTime();
+                } else {
+                    day.end = time.toLocalDateTime();
+                }
+            }
+        });
+
+        // Leave spanning the month boundary only counts its days inside the month
+        Map<UUID, Double> leaveDaysByUser = new HashMap<>();
+        jdbcTemplate.query(APPROVED_LEAVE_SQL, rs -> {
+            LocalDate from = max(rs.getDate("start_date").toLocalDate(), firstDay);
+            LocalDate to = min(rs.getDate("end_date").toLocalDate(), lastDay);
+            leaveDaysByUser.merge(rs.getObject("user_id", UUID.class),
+                    (double) ChronoUnit.DAYS.between(from, to) + 1, Double::sum);
+        }, businessId, Date.valueOf(lastDay), Date.valueOf(firstDay));
+
+        Set<UUID> userIds = new HashSet<>(daysByUser.keySet());
+        userIds.addAll(leaveDaysByUser.keySet());
+        Map<UUID, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        Map<UUID, TimesheetResponse> timesheets = new ConcurrentHashMap<>();
+        userIds.parallelStream().forEach(userId -> timesheets.put(userId, computeEmployee(
+                businessId, month, userId,
+                daysByUser.getOrDefault(userId, Map.of()).values(),
+                leaveDaysByUser.getOrDefault(userId, 0.0),
+                shifts)));
+
+        List<TimesheetResponse> result = timesheets.values().stream()
+                .peek(timesheet -> {
+                    User user = users.get(timesheet.getUserId());
+                    if (user != null) {
+                        timesheet.setUserInfo(userMapper.toUserBasicInfo(user));
+                    }
+                })
+                .sorted(Comparator.comparing(TimesheetResponse::getUserId))
+                .toList();
+
+        log.info("Computed {} timesheets for business {} month {} in {} ms", result.size(), businessId, month,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return result;
+    }
+
+    private TimesheetResponse computeEmployee(UUID businessId, YearMonth month, UUID userId,
+                                              Collection<DayRecord> days, double leaveDays, Map<UUID, Shift> shifts) {
+        TimesheetResponse timesheet = TimesheetResponse.builder()
+                .userId(userId)
+                .businessId(businessId)
+                .month(month.toString())
+                .approvedLeaveDays(leaveDays)
+                .build();
+
+        for (DayRecord day : days) {
+            if (day.status == AttendanceStatusEnum.ABSENT) {
+                timesheet.setDaysAbsent(timesheet.getDaysAbsent() + 1);
+                continue;
+            }
+            timesheet.setDaysPresent(timesheet.getDaysPresent() + 1);
+            if (day.status == AttendanceStatusEnum.HALF_DAY) {
+                timesheet.setHalfDays(timesheet.getHalfDays() + 1);
+            }
+
+            Shift shift = shifts.get(day.scheduleId);
+            if (shift != null && day.start != null && day.start.isAfter(day.date.atTime(shift.start()))) {
+                timesheet.setLateCount(timesheet.getLateCount() + 1);
+            }
+            if (shift != null && day.end != null && day.end.isBefore(day.date.atTime(shift.end()))) {
+                timesheet.setEarlyLeaveCount(timesheet.getEarlyLeaveCount() + 1);
+            }
+            if (day.start != null && day.end != null && day.end.isAfter(day.start)) {
+                timesheet.setWorkedMinutes(timesheet.getWorkedMinutes() + workedMinutes(day, shift));
+            }
+        }
+        return timesheet;
+    }
+
+    /**
+     * Time between START and END, minus the part of the scheduled break that falls inside it
+     */
+    private long workedMinutes(DayRecord day, Shift shift) {
+        long minutes = Duration.between(day.start, day.end).toMinutes();
+        if (shift != null && shift.breakStart() != null && shift.breakEnd() != null) {
+            LocalDateTime breakStart = max(day.date.atTime(shift.breakStart()), day.start);
+            LocalDateTime breakEnd = min(day.date.atTime(shift.breakEnd()), day.end);
+            if (breakEnd.isAfter(breakStart)) {
+                minutes -= Duration.between(breakStart, breakEnd).toMinutes();
+            }
+        }
+        return Math.max(minutes, 0);
+    }
+
+    private static LocalTime toLocalTime(Time time) {
+        return time != null ? time.toLocalTime() : null;
+    }
+
+    private static <T extends Comparable<? super T>> T max(T a, T b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    private static <T extends Comparable<? super T>> T min(T a, T b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private record MonthKey(UUID businessId, YearMonth month) {
+    }
+
+    private record Shift(LocalTime start, LocalTime end, LocalTime breakStart, LocalTime breakEnd) {
+    }
+
+    private static class DayRecord {
+        private final LocalDate date;
+        private final AttendanceStatusEnum status;
+        private final UUID scheduleId;
+        private LocalDateTime start;
+        private LocalDateTime end;
+
+        DayRecord(LocalDate date, AttendanceStatusEnum status, UUID scheduleId) {
+            this.date = date;
+            this.status = status;
+            this.scheduleId = scheduleId;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.emenu.features.hr.service.impl;
 
 import com.emenu.features.auth.mapper.UserMapper;
+import com.emenu.features.auth.models.User;
+import com.emenu.features.auth.repository.UserRepository;
 import com.emenu.features.enums.repository.WorkScheduleTypeEnumRepository;
 import com.emenu.features.hr.dto.filter.WorkScheduleFilterRequest;
 import com.emenu.features.hr.dto.request.WorkScheduleCreateRequest;
+import com.emenu.features.hr.cache.ShiftRosterIndex;
+import com.emenu.features.hr.dto.response.RosterEntryResponse;
 import com.emenu.features.hr.dto.response.WorkScheduleResponse;
 import com.emenu.features.hr.dto.update.WorkScheduleUpdateRequest;
 import com.emenu.features.hr.mapper.WorkScheduleMapper;
@@ -21,8 +25,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -35,6 +43,8 @@ public class WorkScheduleServiceImpl implements WorkScheduleService {
     private final WorkScheduleMapper mapper;
     private final PaginationMapper paginationMapper;
     private final UserMapper userMapper;
+    private final UserRepository userRepository;
+    private final ShiftRosterIndex rosterIndex;
 
     @Override
     public WorkScheduleResponse create(WorkScheduleCreateRequest request) {
@@ -109,6 +119,28 @@ public class WorkScheduleServiceImpl implements WorkScheduleService {
         return enrichResponse(mapper.toResponse(schedule), schedule);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<RosterEntryResponse> getOnShiftNow(UUID businessId) {
+        List<ShiftRosterIndex.RosterEntry> entries = rosterIndex.getOnShift(businessId, LocalDateTime.now());
+        Map<UUID, User> users = userRepository.findAllById(entries.stream().map(ShiftRosterIndex.RosterEntry::userId).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return entries.stream()
+                .map(entry -> RosterEntryResponse.builder()
+                        .userId(entry.userId())
+                        .userInfo(users.containsKey(entry.userId()) ? userMapper.toUserBasicInfo(users.get(entry.userId())) : null)
+                        .workScheduleId(entry.scheduleId())
+                        .scheduleName(entry.scheduleName())
+                        .shiftStart(entry.shiftStart())
+                        .shiftEnd(entry.shiftEnd())
+                        .status(entry.status())
+                        .lastPunchAt(entry.lastPunchAt())
+                        .build())
+                .toList();
+    }
+
     private WorkScheduleResponse enrichResponse(WorkScheduleResponse response, WorkSchedule schedule) {
         response.setUserInfo(userMapper.toUserBasicInfo(schedule.getUser()));
         return response;
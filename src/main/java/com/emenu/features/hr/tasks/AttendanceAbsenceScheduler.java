@@ -0,0 +1,48 @@
+package com.emenu.features.hr.tasks;
+
+import com.emenu.features.hr.service.AttendanceAbsenceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(value = "app.hr.absence.enabled", havingValue = "true", matchIfMissing = true)
+public class AttendanceAbsenceScheduler {
+
+    private final AttendanceAbsenceService attendanceAbsenceService;
+
+    @Value("${app.hr.absence.lookback-days:1}")
+    private int lookbackDays;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeOnStartup() {
+        attendanceAbsenceService.ensureUniqueDayIndex();
+    }
+
+    /**
+     * Record absences for the finished days (yesterday by default; more days re-check missed runs)
+     */
+    @Scheduled(cron = "${app.hr.absence.cron:0 15 0 * * ?}")
+    public void recordAbsences() {
+        log.info("Starting scheduled absence recording");
+
+        LocalDate today = LocalDate.now();
+        for (int daysAgo = lookbackDays; daysAgo >= 1; daysAgo--) {
+            LocalDate date = today.minusDays(daysAgo);
+            try {
+                attendanceAbsenceService.recordAbsences(date);
+            } catch (Exception e) {
+                log.error("Failed to record absences for {}", date, e);
+            }
+        }
+    }
+}
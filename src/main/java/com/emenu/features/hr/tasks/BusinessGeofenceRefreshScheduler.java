@@ -0,0 +1,30 @@
+package com.emenu.features.hr.tasks;
+
+import com.emenu.features.hr.cache.BusinessGeofenceIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(value = "app.hr.geofence.refresh.enabled", havingValue = "true", matchIfMissing = true)
+public class BusinessGeofenceRefreshScheduler {
+
+    private final BusinessGeofenceIndex geofenceIndex;
+
+    /**
+     * Pick up check-in site changes committed on other instances
+     */
+    @Scheduled(fixedDelayString = "${app.hr.geofence.refresh.interval-ms:60000}",
+            initialDelayString = "${app.hr.geofence.refresh.interval-ms:60000}")
+    public void refreshGeofences() {
+        try {
+            geofenceIndex.refreshIfChanged();
+        } catch (Exception e) {
+            log.error("Failed to refresh geofence index", e);
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package com.emenu.features.location.cache;
+
+import com.emenu.enums.location.LocationLevel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * The whole province / district / commune / village hierarchy held in memory as one immutable
+ * snapshot. The data changes a few times a year, so every admin write rebuilds the snapshot after
+ * commit instead of patching it; readers never lock and always see one consistent version.
+ * Writes made on other instances are picked up by {@link #refreshIfChanged()}.
+ * <p>
+ * Versions come from the database, not from clocks: a trigger stamps every written row with the id of
+ * its transaction (change_txid), and a snapshot's version is the oldest transaction still running when it
+ * was read (txid_snapshot_xmin). Every transaction below the version had finished, so a row it wrote is
+ * in the snapshot; a row written later has a change_txid at or above the version and is in the next delta.
+ */
+@Component
+@Slf4j
+public class LocationGazetteer {
+
+    private static final String PROVINCES_SQL =
+            "SELECT id, province_code AS code, province_en AS name_en, province_kh AS name_kh, NULL AS parent_code, "
+                    + "created_at, updated_at, created_by, updated_by, is_deleted, change_txid FROM location_province_cbc";
+    private static final String DISTRICTS_SQL =
+            "SELECT id, district_code AS code, district_en AS name_en, district_kh AS name_kh, province_code AS parent_code, "
+                    + "created_at, updated_at, created_by, updated_by, is_deleted, change_txid FROM location_district_cbc";
+    private static final String COMMUNES_SQL =
+            "SELECT id, commune_code AS code, commune_en AS name_en, commune_kh AS name_kh, district_code AS parent_code, "
+                    + "created_at, updated_at, created_by, updated_by, is_deleted, change_txid FROM location_commune_cbc";
+    private static final String VILLAGES_SQL =
+            "SELECT id, village_code AS code, village_en AS name_en, village_kh AS name_kh, commune_code AS parent_code, "
+                    + "created_at, updated_at, created_by, updated_by, is_deleted, change_txid FROM location_village_cbc";
+
+    private static final List<String> TABLES = List.of(
+            "location_province_cbc", "location_district_cbc", "location_commune_cbc", "location_village_cbc");
+
+    private static final String CHANGE_TXID_FUNCTION_SQL = """
+            CREATE OR REPLACE FUNCTION location_change_txid() RETURNS trigger AS $$
+            BEGIN
+                NEW.change_txid := txid_current();
+                RETURN NEW;
+            END;
+            $$ LANGUAGE plpgsql
+            """;
+
+    private static final String CHANGE_TXID_TRIGGER_SQL = """
+            DO $$
+            BEGIN
+                IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = '%1$s_change_txid') THEN
+                    CREATE TRIGGER %1$s_change_txid BEFORE INSERT OR UPDATE ON %1$s
+                        FOR EACH ROW EXECUTE FUNCTION location_change_txid();
+                END IF;
+            END $$
+            """;
+
+    // Oldest transaction still running for the current snapshot
+    private static final String HORIZON_SQL = "SELECT txid_snapshot_xmin(txid_current_snapshot())";
+
+    // Deletes are soft, so every change leaves a row with a new change_txid
+    private static final String CHANGES_SINCE_SQL =
+            "SELECT COUNT(*) AS rows, COALESCE(SUM(change_txid), 0) AS txids FROM ("
+                    + "SELECT change_txid FROM location_province_cbc WHERE change_txid >= ? "
+                    + "UNION ALL SELECT change_txid FROM location_district_cbc WHERE change_txid >= ? "
+                    + "UNION ALL SELECT change_txid FROM location_commune_cbc WHERE change_txid >= ? "
+                    + "UNION ALL SELECT change_txid FROM location_village_cbc WHERE change_txid >= ?) changes";
+
+    private static final Map<LocationLevel, String> LOAD_SQL = Map.of(
+            LocationLevel.PROVINCE, PROVINCES_SQL,
+            LocationLevel.DISTRICT, DISTRICTS_SQL,
+            LocationLevel.COMMUNE, COMMUNES_SQL,
+            LocationLevel.VILLAGE, VILLAGES_SQL);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public LocationGazetteer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // One database snapshot for the horizon and all four tables
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            ensureChangeTracking();
+        } catch (Exception e) {
+            log.error("Failed to install location change tracking", e);
+        }
+        refresh();
+    }
+
+    /**
+     * Install the change_txid trigger and stamp rows written before it existed
+     */
+    public void ensureChangeTracking() {
+        jdbcTemplate.execute(CHANGE_TXID_FUNCTION_SQL);
+        for (String table : TABLES) {
+            jdbcTemplate.execute(String.format(CHANGE_TXID_TRIGGER_SQL, table));
+            int stamped = jdbcTemplate.update("UPDATE " + table + " SET change_txid = txid_current() WHERE change_txid IS NULL");
+            if (stamped > 0) {
+                log.info("Stamped {} rows of {} with a change txid", stamped, table);
+            }
+        }
+    }
+
+    public boolean isLoaded() {
+        return snapshot.get() != null;
+    }
+
+    /**
+     * Transaction horizon of the snapshot; pass it back to {@link #getChangedSince(long)}
+     */
+    public long getVersion() {
+        return current().version;
+    }
+
+    /**
+     * Identifies the snapshot contents: a hash of every row id and change_txid. The version is left out,
+     * as instances holding the same rows load them at different horizons and must still agree on the tag.
+     */
+    public String getTag() {
+        return current().tag;
+    }
+
+    public List<LocationPlace> getAll(LocationLevel level) {
+        return List.of(current().places.get(level));
+    }
+
+    /**
+     * Every live place ordered by level then code, with the version and tag they belong to
+     */
+    public Contents getContents() {
+        Snapshot current = current();
+        List<LocationPlace> all = new ArrayList<>();
+        for (LocationLevel level : LocationLevel.values()) {
+            all.addAll(Arrays.asList(current.places.get(level)));
+        }
+        return new Contents(current.version, current.tag, all);
+    }
+
+    /**
+     * Places created, updated or soft deleted by transactions at or above the given version.
+     * Rows the client already received may be sent again, which is harmless for a client applying
+     * them by id.
+     */
+    public Delta getChangedSince(long version) {
+        Snapshot current = current();
+        List<LocationPlace> changed = new ArrayList<>();
+        for (LocationLevel level : LocationLevel.values()) {
+            for (LocationPlace place : current.places.get(level)) {
+                if (place.changeTxid() >= version) {
+                    changed.add(place);
+                }
+            }
+        }
+        List<LocationPlace> deleted = current.deleted.stream()
+                .filter(place -> place.changeTxid() >= version)
+                .toList();
+        return new Delta(current.version, changed, deleted);
+    }
+
+    public Optional<LocationPlace> findByCode(LocationLevel level, String code) {
+        return Optional.ofNullable(code).map(current().byCode.get(level)::get);
+    }
+
+    public Optional<LocationPlace> findById(LocationLevel level, UUID id) {
+        return Optional.ofNullable(id).map(current().byId::get).filter(place -> place.level() == level);
+    }
+
+    public Optional<LocationPlace> findByNameEn(LocationLevel level, String nameEn) {
+        return Optional.ofNullable(nameEn).map(current().byNameEn.get(level)::get);
+    }
+
+    public Optional<LocationPlace> findByNameKh(LocationLevel level, String nameKh) {
+        return Optional.ofNullable(nameKh).map(current().byNameKh.get(level)::get);
+    }
+
+    public LocationPlace getParent(LocationPlace place) {
+        return place.parentCode() == null ? null : current().byCode.get(place.level().parent()).get(place.parentCode());
+    }
+
+    /**
+     * Direct children of a place ordered by code; provinces when level is null
+     */
+    public List<LocationPlace> getChildren(LocationLevel level, String code) {
+        Snapshot current = current();
+        if (level == null) {
+            return List.of(current.places.get(LocationLevel.PROVINCE));
+        }
+        if (level.child() == null) {
+            return List.of();
+        }
+        return current.children.get(level.child()).getOrDefault(code, List.of());
+    }
+
+    /**
+     * Places whose English or Khmer name starts with the query, then places with a later word
+     * starting with it. Broader levels come first among equal names.
+     */
+    public List<LocationPlace> autocomplete(String query, LocationLevel level, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Snapshot current = current();
+        Predicate<LocationPlace> filter = level == null ? place -> true : place -> place.level() == level;
+        Set<LocationPlace> seen = new HashSet<>();
+        List<LocationPlace> result = new ArrayList<>(current.names.search(prefix, filter, limit, seen));
+        if (result.size() < limit) {
+            result.addAll(current.words.search(prefix, filter, limit - result.size(), seen));
+        }
+        return result;
+    }
+
+    /**
+     * Rebuild the snapshot once the current transaction commits; several writes in one transaction
+     * rebuild once
+     */
+    public void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(LocationGazetteer.this);
+            }
+        });
+    }
+
+    /**
+     * Rebuild the snapshot when rows were written at or above its version that it does not hold,
+     * e.g. by an admin write on another instance. Cheap: an index range scan over change_txid.
+     */
+    public boolean refreshIfChanged() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            refresh();
+            return true;
+        }
+        long version = current.version;
+        Map<String, Object> changes = jdbcTemplate.queryForMap(CHANGES_SINCE_SQL, version, version, version, version);
+        long rows = ((Number) changes.get("rows")).longValue();
+        long txids = ((Number) changes.get("txids")).longValue();
+        if (rows == current.rowsAtOrAboveVersion && txids == current.txidsAtOrAboveVersion) {
+            return false;
+        }
+        refresh();
+        return true;
+    }
+
+    public synchronized void refresh() {
+        long started = System.nanoTime();
+        Snapshot loaded = snapshotTransaction.execute(status -> {
+            Snapshot read = new Snapshot();
+            Long horizon = jdbcTemplate.queryForObject(HORIZON_SQL, Long.class);
+            read.version = horizon != null ? horizon : 0L;
+            for (LocationLevel level : LocationLevel.values()) {
+                List<LocationPlace> places = new ArrayList<>();
+                jdbcTemplate.query(LOAD_SQL.get(level), rs -> {
+                    LocationPlace place = new LocationPlace(level, rs.getObject("id", UUID.class), rs.getString("code"),
+                            rs.getString("name_en"), rs.getString("name_kh"), rs.getString("parent_code"),
+                            toLocalDateTime(rs.getTimestamp("created_at")), toLocalDateTime(rs.getTimestamp("updated_at")),
+                            rs.getString("created_by"), rs.getString("updated_by"), rs.getLong("change_txid"));
+                    // Deleted rows stay as tombstones for the delta feed
+                    (rs.getBoolean("is_deleted") ? read.deleted : places).add(place);
+                });
+                read.add(level, places);
+            }
+            return read;
+        });
+        loaded.buildIndexes();
+        loaded.summarize();
+        snapshot.set(loaded);
+
+        log.info("Loaded location gazetteer version {} ({}): {} provinces, {} districts, {} communes, {} villages in {} ms",
+                loaded.version, loaded.tag,
+                loaded.places.get(LocationLevel.PROVINCE).length, loaded.places.get(LocationLevel.DISTRICT).length,
+                loaded.places.get(LocationLevel.COMMUNE).length, loaded.places.get(LocationLevel.VILLAGE).length,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * Lowercase, zero-width spaces dropped and whitespace collapsed, so "Phnom  Penh" and
+     * "phnom penh" share a key
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\u200B", "").trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            throw new IllegalStateException("Location gazetteer is not loaded yet");
+        }
+        return current;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    public record Contents(long version, String tag, List<LocationPlace> places) {
+    }
+
+    public record Delta(long version, List<LocationPlace> changed, List<LocationPlace> deleted) {
+    }
+
+    private static final class Snapshot {
+        private long version;
+        private String tag;
+        // What refreshIfChanged compares against the database
+        private long rowsAtOrAboveVersion;
+        private long txidsAtOrAboveVersion;
+        private final Map<LocationLevel, LocationPlace[]> places = new EnumMap<>(LocationLevel.class);
+        private final Map<LocationLevel, Map<String, LocationPlace>> byCode = new EnumMap<>(LocationLevel.class);
+        private final Map<LocationLevel, Map<String, LocationPlace>> byNameEn = new EnumMap<>(LocationLevel.class);
+        private final Map<LocationLevel, Map<String, LocationPlace>> byNameKh = new EnumMap<>(LocationLevel.class);
+        private final Map<LocationLevel, Map<String, List<LocationPlace>>> children = new EnumMap<>(LocationLevel.class);
+        private final Map<UUID, LocationPlace> byId = new HashMap<>();
+        private final List<LocationPlace> deleted = new ArrayList<>();
+        private PrefixIndex names;
+        private PrefixIndex words;
+
+        private void add(LocationLevel level, List<LocationPlace> loaded) {
+            LocationPlace[] sorted = loaded.stream()
+                    .sorted(Comparator.comparing(LocationPlace::code))
+                    .toArray(LocationPlace[]::new);
+            places.put(level, sorted);
+
+            Map<String, LocationPlace> codes = new HashMap<>();
+            Map<String, LocationPlace> namesEn = new HashMap<>();
+            Map<String, LocationPlace> namesKh = new HashMap<>();
+            Map<String, List<LocationPlace>> byParent = new HashMap<>();
+            for (LocationPlace place : sorted) {
+                codes.put(place.code(), place);
+                byId.put(place.id(), place);
+                // Names are not unique; the lowest code wins, as it did for the first row of the query
+                namesEn.putIfAbsent(place.nameEn(), place);
+                namesKh.putIfAbsent(place.nameKh(), place);
+                if (place.parentCode() != null) {
+                    byParent.computeIfAbsent(place.parentCode(), code -> new ArrayList<>()).add(place);
+                }
+            }
+            byParent.replaceAll((code, list) -> List.copyOf(list));
+
+            byCode.put(level, codes);
+            byNameEn.put(level, namesEn);
+            byNameKh.put(level, namesKh);
+            children.put(level, byParent);
+        }
+
+        private void summarize() {
+            List<LocationPlace> all = new ArrayList<>(deleted);
+            places.values().forEach(levelPlaces -> all.addAll(Arrays.asList(levelPlaces)));
+            all.sort(Comparator.comparing(LocationPlace::id));
+
+            long hash = 17;
+            for (LocationPlace place : all) {
+                hash = hash * 1_000_003L + place.id().getMostSignificantBits();
+                hash = hash * 1_000_003L + place.id().getLeastSignificantBits();
+                hash = hash * 1_000_003L + place.changeTxid();
+                if (place.changeTxid() >= version) {
+                    rowsAtOrAboveVersion++;
+                    txidsAtOrAboveVersion += place.changeTxid();
+                }
+            }
+            tag = Long.toHexString(hash);
+        }
+
+        private void buildIndexes() {
+            PrefixIndex.Builder nameKeys = PrefixIndex.builder();
+            PrefixIndex.Builder wordKeys = PrefixIndex.builder();
+            for (LocationPlace[] levelPlaces : places.values()) {
+                for (LocationPlace place : levelPlaces) {
+                    for (String name : new String[]{normalize(place.nameEn()), normalize(place.nameKh())}) {
+                        nameKeys.add(name, place);
+                        for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1)) {
+                            wordKeys.add(name.substring(i + 1), place);
+                        }
+                    }
+                }
+            }
+            names = nameKeys.build();
+            words = wordKeys.build();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.emenu.features.location.cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the gazetteer once a write to a province, district, commune or village commits
+ */
+@Component
+@RequiredArgsConstructor
+public class LocationGazetteerListener {
+
+    // Resolved lazily: listeners are created while the EntityManagerFactory is being built
+    private final ObjectProvider<LocationGazetteer> gazetteer;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object location) {
+        gazetteer.getObject().refreshAfterCommit();
+    }
+}
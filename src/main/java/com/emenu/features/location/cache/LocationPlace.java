@@ -0,0 +1,15 @@
+package com.emenu.features.location.cache;
+
+import com.emenu.enums.location.LocationLevel;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One province, district, commune or village as held by the gazetteer. The parent code is null
+ * for provinces; changeTxid is the id of the transaction that last wrote the row.
+ */
+public record LocationPlace(LocationLevel level, UUID id, String code, String nameEn, String nameKh, String parentCode,
+                            LocalDateTime createdAt, LocalDateTime updatedAt, String createdBy, String updatedBy,
+                            long changeTxid) {
+}
@@ -0,0 +1,87 @@
+package com.emenu.features.location.cache;
+
+import com.emenu.features.location.dto.response.LocationSnapshotResponse;
+import com.emenu.features.location.mapper.LocationPlaceMapper;
+import com.emenu.shared.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The full gazetteer serialized and gzipped once per snapshot, so a client download is a plain
+ * byte copy and a client that already has the snapshot gets a 304 from the ETag
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LocationSnapshotCache {
+
+    private final LocationGazetteer gazetteer;
+    private final LocationPlaceMapper locationPlaceMapper;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<EncodedSnapshot> encoded = new AtomicReference<>();
+
+    // Keyed by tag only: a reload with the same rows keeps the encoded body and its older version,
+    // which is still a valid starting point for /delta
+    public EncodedSnapshot getSnapshot() {
+        EncodedSnapshot current = encoded.get();
+        if (current != null && current.tag().equals(gazetteer.getTag())) {
+            return current;
+        }
+        synchronized (this) {
+            current = encoded.get();
+            if (current != null && current.tag().equals(gazetteer.getTag())) {
+                return current;
+            }
+            current = encode(gazetteer.getContents());
+            encoded.set(current);
+            return current;
+        }
+    }
+
+    private EncodedSnapshot encode(LocationGazetteer.Contents contents) {
+        LocationSnapshotResponse snapshot = LocationSnapshotResponse.builder()
+                .version(contents.version())
+                .places(locationPlaceMapper.toEntryResponses(contents.places()))
+                .build();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ApiResponse.success("Location snapshot retrieved", snapshot));
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            log.info("Encoded location snapshot version {}: {} places, {} bytes, {} bytes gzipped",
+                    contents.version(), contents.places().size(), json.length, compressed.size());
+            return new EncodedSnapshot(contents.version(), contents.tag(), "W/\"" + contents.tag() + "\"",
+                    json, compressed.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode location snapshot", e);
+        }
+    }
+
+    /**
+     * One snapshot envelope, as JSON and gzipped JSON
+     */
+    public record EncodedSnapshot(long version, String tag, String eTag, byte[] json, byte[] gzip) {
+
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String trimmed = tag.trim();
+                if (trimmed.equals("*") || trimmed.equals(eTag) || ("W/" + trimmed).equals(eTag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.emenu.features.location.cache;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Immutable prefix index: keys sorted once, so every key sharing a prefix sits in one contiguous
+ * run found by binary search. Same lookups as a trie in O(log n + k), with two flat arrays
+ * instead of a node per character.
+ */
+final class PrefixIndex {
+
+    private final String[] keys;
+    private final LocationPlace[] places;
+
+    private PrefixIndex(String[] keys, LocationPlace[] places) {
+        this.keys = keys;
+        this.places = places;
+    }
+
+    /**
+     * Places matching the prefix in key order, each place at most once
+     */
+    List<LocationPlace> search(String prefix, Predicate<LocationPlace> filter, int limit, Set<LocationPlace> seen) {
+        List<LocationPlace> result = new ArrayList<>();
+        for (int i = lowerBound(prefix); i < keys.length && result.size() < limit && keys[i].startsWith(prefix); i++) {
+            LocationPlace place = places[i];
+            if (filter.test(place) && seen.add(place)) {
+                result.add(place);
+            }
+        }
+        return result;
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    static final class Builder {
+
+        private final List<Map.Entry<String, LocationPlace>> entries = new ArrayList<>();
+
+        Builder add(String key, LocationPlace place) {
+            if (key != null && !key.isEmpty()) {
+                entries.add(Map.entry(key, place));
+            }
+            return this;
+        }
+
+        PrefixIndex build() {
+            // Broader levels first among equal keys, so provinces lead their namesake districts
+            entries.sort(Map.Entry.<String, LocationPlace>comparingByKey()
+                    .thenComparing(entry -> entry.getValue().level())
+                    .thenComparing(entry -> entry.getValue().code()));
+            String[] keys = new String[entries.size()];
+            LocationPlace[] places = new LocationPlace[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                keys[i] = entries.get(i).getKey();
+                places[i] = entries.get(i).getValue();
+            }
+            return new PrefixIndex(keys, places);
+        }
+    }
+}
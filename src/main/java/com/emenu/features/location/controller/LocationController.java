@@ -0,0 +1,98 @@
+package com.emenu.features.location.controller;
+
+import com.emenu.enums.location.LocationLevel;
+import com.emenu.features.location.cache.LocationSnapshotCache;
+import com.emenu.features.location.dto.response.LocationDeltaResponse;
+import com.emenu.features.location.dto.response.LocationImportResponse;
+import com.emenu.features.location.dto.response.LocationSuggestionResponse;
+import com.emenu.features.location.service.LocationGazetteerService;
+import com.emenu.features.location.service.LocationImportService;
+import com.emenu.shared.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/locations")
+@RequiredArgsConstructor
+@Slf4j
+public class LocationController {
+
+    private final LocationGazetteerService locationGazetteerService;
+    private final LocationImportService locationImportService;
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<ApiResponse<List<LocationSuggestionResponse>>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(required = false) LocationLevel level,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<LocationSuggestionResponse> response = locationGazetteerService.autocomplete(q, level, limit);
+        return ResponseEntity.ok(ApiResponse.success("Locations retrieved", response));
+    }
+
+    /**
+     * Provinces when no level is given, otherwise the direct children of the place with the code
+     */
+    @GetMapping("/children")
+    public ResponseEntity<ApiResponse<List<LocationSuggestionResponse>>> getChildren(
+            @RequestParam(required = false) LocationLevel level,
+            @RequestParam(required = false) String code) {
+        log.info("Get location children of {} {}", level, code);
+        List<LocationSuggestionResponse> response = locationGazetteerService.getChildren(level, code);
+        return ResponseEntity.ok(ApiResponse.success("Locations retrieved", response));
+    }
+
+    /**
+     * The whole gazetteer in one download, gzipped when the client accepts it. Clients send the
+     * ETag back and get a 304 until the data changes, then catch up with /delta.
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<byte[]> getSnapshot(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        LocationSnapshotCache.EncodedSnapshot snapshot = locationGazetteerService.getSnapshot();
+        boolean notModified = snapshot.matches(ifNoneMatch);
+        ResponseEntity.BodyBuilder builder = ResponseEntity
+                .status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(snapshot.eTag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (notModified) {
+            return builder.build();
+        }
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return builder
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(snapshot.gzip());
+        }
+        return builder.contentType(MediaType.APPLICATION_JSON).body(snapshot.json());
+    }
+
+    @GetMapping("/delta")
+    public ResponseEntity<ApiResponse<LocationDeltaResponse>> getChangesSince(@RequestParam long since) {
+        log.info("Get location changes since version {}", since);
+        LocationDeltaResponse response = locationGazetteerService.getChangesSince(since);
+        return ResponseEntity.ok(ApiResponse.success("Location changes retrieved", response));
+    }
+
+    /**
+     * Bulk upsert from a CSV request body (level,code,name_en,name_kh,parent_code), read as it streams in
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @PreAuthorize("hasAnyRole('PLATFORM_OWNER', 'PLATFORM_ADMIN')")
+    public ResponseEntity<ApiResponse<LocationImportResponse>> importLocations(InputStream csv) {
+        log.info("Import locations");
+        LocationImportResponse response = locationImportService.importCsv(csv);
+        return ResponseEntity.ok(ApiResponse.success("Locations imported", response));
+    }
+}
@@ -0,0 +1,21 @@
+package com.emenu.features.location.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationDeltaResponse {
+    private long since;
+    private long version;
+
+    // Apply by id: an update may change the code of a place
+    private List<LocationEntryResponse> changed;
+    private List<LocationEntryResponse> deleted;
+}
@@ -0,0 +1,22 @@
+package com.emenu.features.location.dto.response;
+
+import com.emenu.enums.location.LocationLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationEntryResponse {
+    private LocationLevel level;
+    private UUID id;
+    private String code;
+    private String nameEn;
+    private String nameKh;
+    private String parentCode;
+}
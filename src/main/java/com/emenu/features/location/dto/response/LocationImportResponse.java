@@ -0,0 +1,21 @@
+package com.emenu.features.location.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationImportResponse {
+    private int provinces;
+    private int districts;
+    private int communes;
+    private int villages;
+
+    // Rows inserted or changed; rows identical to the stored place are left untouched
+    private int written;
+    private int unchanged;
+}
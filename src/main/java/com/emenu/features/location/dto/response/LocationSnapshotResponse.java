@@ -0,0 +1,19 @@
+package com.emenu.features.location.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationSnapshotResponse {
+    private long version;
+
+    // Provinces, then districts, communes and villages, each ordered by code
+    private List<LocationEntryResponse> places;
+}
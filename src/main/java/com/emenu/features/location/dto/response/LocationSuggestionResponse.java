@@ -0,0 +1,26 @@
+package com.emenu.features.location.dto.response;
+
+import com.emenu.enums.location.LocationLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationSuggestionResponse {
+    private LocationLevel level;
+    private UUID id;
+    private String code;
+    private String nameEn;
+    private String nameKh;
+    private String parentCode;
+
+    // Place first, province last, e.g. "Boeng Keng Kang Ti Muoy, Boeng Keng Kang, Phnom Penh"
+    private String pathEn;
+    private String pathKh;
+}
@@ -0,0 +1,125 @@
+package com.emenu.features.location.mapper;
+
+import com.emenu.features.location.cache.LocationGazetteer;
+import com.emenu.features.location.cache.LocationPlace;
+import com.emenu.features.location.dto.response.*;
+import com.emenu.shared.dto.BaseAuditResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the location responses from gazetteer places, with the same nested parents the entity
+ * mappers produce
+ */
+@Component
+@RequiredArgsConstructor
+public class LocationPlaceMapper {
+
+    private final LocationGazetteer gazetteer;
+
+    public ProvinceResponse toProvinceResponse(LocationPlace place) {
+        if (place == null) {
+            return null;
+        }
+        ProvinceResponse response = new ProvinceResponse();
+        copyAudit(place, response);
+        response.setProvinceCode(place.code());
+        response.setProvinceEn(place.nameEn());
+        response.setProvinceKh(place.nameKh());
+        return response;
+    }
+
+    public DistrictResponse toDistrictResponse(LocationPlace place) {
+        if (place == null) {
+            return null;
+        }
+        DistrictResponse response = new DistrictResponse();
+        copyAudit(place, response);
+        response.setDistrictCode(place.code());
+        response.setDistrictEn(place.nameEn());
+        response.setDistrictKh(place.nameKh());
+        response.setProvinceCode(place.parentCode());
+        response.setProvince(toProvinceResponse(gazetteer.getParent(place)));
+        return response;
+    }
+
+    public CommuneResponse toCommuneResponse(LocationPlace place) {
+        if (place == null) {
+            return null;
+        }
+        CommuneResponse response = new CommuneResponse();
+        copyAudit(place, response);
+        response.setCommuneCode(place.code());
+        response.setCommuneEn(place.nameEn());
+        response.setCommuneKh(place.nameKh());
+        response.setDistrictCode(place.parentCode());
+        response.setDistrict(toDistrictResponse(gazetteer.getParent(place)));
+        return response;
+    }
+
+    public VillageResponse toVillageResponse(LocationPlace place) {
+        if (place == null) {
+            return null;
+        }
+        VillageResponse response = new VillageResponse();
+        copyAudit(place, response);
+        response.setVillageCode(place.code());
+        response.setVillageEn(place.nameEn());
+        response.setVillageKh(place.nameKh());
+        response.setCommuneCode(place.parentCode());
+        response.setCommune(toCommuneResponse(gazetteer.getParent(place)));
+        return response;
+    }
+
+    /**
+     * Place with its ancestors spelled out from the place up to the province
+     */
+    public LocationSuggestionResponse toSuggestionResponse(LocationPlace place) {
+        List<String> pathEn = new ArrayList<>();
+        List<String> pathKh = new ArrayList<>();
+        for (LocationPlace current = place; current != null; current = gazetteer.getParent(current)) {
+            pathEn.add(current.nameEn());
+            pathKh.add(current.nameKh());
+        }
+        return LocationSuggestionResponse.builder()
+                .level(place.level())
+                .id(place.id())
+                .code(place.code())
+                .nameEn(place.nameEn())
+                .nameKh(place.nameKh())
+                .parentCode(place.parentCode())
+                .pathEn(String.join(", ", pathEn))
+                .pathKh(String.join(", ", pathKh))
+                .build();
+    }
+
+    public List<LocationSuggestionResponse> toSuggestionResponses(List<LocationPlace> places) {
+        return places.stream().map(this::toSuggestionResponse).toList();
+    }
+
+    public LocationEntryResponse toEntryResponse(LocationPlace place) {
+        return LocationEntryResponse.builder()
+                .level(place.level())
+                .id(place.id())
+                .code(place.code())
+                .nameEn(place.nameEn())
+                .nameKh(place.nameKh())
+                .parentCode(place.parentCode())
+                .build();
+    }
+
+    public List<LocationEntryResponse> toEntryResponses(List<LocationPlace> places) {
+        return places.stream().map(this::toEntryResponse).toList();
+    }
+
+    private void copyAudit(LocationPlace place, BaseAuditResponse response) {
+        response.setId(place.id());
+        response.setCreatedAt(place.createdAt());
+        response.setUpdatedAt(place.updatedAt());
+        response.setCreatedBy(place.createdBy());
+        response.setUpdatedBy(place.updatedBy());
+    }
+}
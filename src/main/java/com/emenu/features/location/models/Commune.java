@@ -1,5 +1,6 @@
 package com.emenu.features.location.models;
 
+import com.emenu.features.location.cache.LocationGazetteerListener;
 import com.emenu.shared.domain.BaseUUIDEntity;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -8,6 +9,7 @@ import lombok.EqualsAndHashCode;
 @EqualsAndHashCode(callSuper = true)
 @Data
 @Entity
+@EntityListeners(LocationGazetteerListener.class)
 @Table(name = "location_commune_cbc",
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_commune_code", columnNames = "commune_code")
@@ -15,7 +17,8 @@ import lombok.EqualsAndHashCode;
         indexes = {
                 @Index(name = "idx_commune_code", columnList = "commune_code"),
                 @Index(name = "idx_commune_district", columnList = "district_code"),
-                @Index(name = "idx_commune_deleted", columnList = "is_deleted")
+                @Index(name = "idx_commune_deleted", columnList = "is_deleted"),
+                @Index(name = "idx_commune_change_txid", columnList = "change_txid")
         }
 )
 public class Commune extends BaseUUIDEntity {
@@ -35,4 +38,8 @@ public class Commune extends BaseUUIDEntity {
     @JoinColumn(name = "district_code", referencedColumnName = "district_code",
             insertable = false, updatable = false)
     private District district;
+
+    // Id of the last writing transaction, set by a database trigger (see LocationGazetteer)
+    @Column(name = "change_txid", insertable = false, updatable = false)
+    private Long changeTxid;
 }
\ No newline at end of file
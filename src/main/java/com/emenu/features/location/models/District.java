@@ -1,5 +1,6 @@
 package com.emenu.features.location.models;
 
+import com.emenu.features.location.cache.LocationGazetteerListener;
 import com.emenu.shared.domain.BaseUUIDEntity;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -8,6 +9,7 @@ import lombok.EqualsAndHashCode;
 @EqualsAndHashCode(callSuper = true)
 @Data
 @Entity
+@EntityListeners(LocationGazetteerListener.class)
 @Table(name = "location_district_cbc",
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_district_code", columnNames = "district_code")
@@ -15,7 +17,8 @@ import lombok.EqualsAndHashCode;
         indexes = {
                 @Index(name = "idx_district_code", columnList = "district_code"),
                 @Index(name = "idx_district_province", columnList = "province_code"),
-                @Index(name = "idx_district_deleted", columnList = "is_deleted")
+                @Index(name = "idx_district_deleted", columnList = "is_deleted"),
+                @Index(name = "idx_district_change_txid", columnList = "change_txid")
         }
 )
 public class District extends BaseUUIDEntity {
@@ -35,4 +38,8 @@ public class District extends BaseUUIDEntity {
     @JoinColumn(name = "province_code", referencedColumnName = "province_code",
             insertable = false, updatable = false)
     private Province province;
+
+    // Id of the last writing transaction, set by a database trigger (see LocationGazetteer)
+    @Column(name = "change_txid", insertable = false, updatable = false)
+    private Long changeTxid;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.emenu.features.location.models;
 
+import com.emenu.features.location.cache.LocationGazetteerListener;
 import com.emenu.shared.domain.BaseUUIDEntity;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -8,6 +9,7 @@ import lombok.EqualsAndHashCode;
 @EqualsAndHashCode(callSuper = true)
 @Data
 @Entity
+@EntityListeners(LocationGazetteerListener.class)
 @Table(
         name = "location_province_cbc",
         uniqueConstraints = {
@@ -15,7 +17,8 @@ import lombok.EqualsAndHashCode;
         },
         indexes = {
                 @Index(name = "idx_province_code", columnList = "province_code"),
-                @Index(name = "idx_province_deleted", columnList = "is_deleted")
+                @Index(name = "idx_province_deleted", columnList = "is_deleted"),
+                @Index(name = "idx_province_change_txid", columnList = "change_txid")
         }
 )
 public class Province extends BaseUUIDEntity {
@@ -27,4 +30,8 @@ public class Province extends BaseUUIDEntity {
     
     @Column(name = "province_kh", nullable = false)
     private String provinceKh;
+
+    // Id of the last writing transaction, set by a database trigger (see LocationGazetteer)
+    @Column(name = "change_txid", insertable = false, updatable = false)
+    private Long changeTxid;
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.emenu.features.location.service;
+
+import com.emenu.enums.location.LocationLevel;
+import com.emenu.features.location.cache.LocationSnapshotCache;
+import com.emenu.features.location.dto.response.LocationDeltaResponse;
+import com.emenu.features.location.dto.response.LocationSuggestionResponse;
+
+import java.util.List;
+
+public interface LocationGazetteerService {
+    List<LocationSuggestionResponse> autocomplete(String query, LocationLevel level, int limit);
+    List<LocationSuggestionResponse> getChildren(LocationLevel level, String code);
+    LocationSnapshotCache.EncodedSnapshot getSnapshot();
+    LocationDeltaResponse getChangesSince(long version);
+}
@@ -0,0 +1,14 @@
+package com.emenu.features.location.service;
+
+import com.emenu.features.location.dto.response.LocationImportResponse;
+
+import java.io.InputStream;
+
+public interface LocationImportService {
+
+    /**
+     * Upsert places from a UTF-8 CSV with the header level,code,name_en,name_kh,parent_code.
+     * Any invalid row rejects the whole file.
+     */
+    LocationImportResponse importCsv(InputStream csv);
+}
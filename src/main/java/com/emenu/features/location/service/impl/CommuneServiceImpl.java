@@ -1,10 +1,13 @@
 package com.emenu.features.location.service.impl;
 
+import com.emenu.enums.location.LocationLevel;
 import com.emenu.exception.custom.ValidationException;
+import com.emenu.features.location.cache.LocationGazetteer;
 import com.emenu.features.location.dto.filter.CommuneFilterRequest;
 import com.emenu.features.location.dto.request.CommuneRequest;
 import com.emenu.features.location.dto.response.CommuneResponse;
 import com.emenu.features.location.mapper.CommuneMapper;
+import com.emenu.features.location.mapper.LocationPlaceMapper;
 import com.emenu.features.location.models.Commune;
 import com.emenu.features.location.repository.CommuneRepository;
 import com.emenu.features.location.repository.DistrictRepository;
@@ -30,6 +33,8 @@ public class CommuneServiceImpl implements CommuneService {
     private final CommuneMapper communeMapper;
     private final DistrictRepository districtRepository;
     private final com.emenu.shared.mapper.PaginationMapper paginationMapper;
+    private final LocationGazetteer gazetteer;
+    private final LocationPlaceMapper locationPlaceMapper;
 
     @Override
     @Transactional
@@ -88,6 +93,11 @@ public class CommuneServiceImpl implements CommuneService {
     @Override
     @Transactional(readOnly = true)
     public CommuneResponse getCommuneById(UUID id) {
+        if (gazetteer.isLoaded()) {
+            return gazetteer.findById(LocationLevel.COMMUNE, id)
+                .map(locationPlaceMapper::toCommuneResponse)
+                .orElseThrow(() -> new RuntimeException("Commune not found"));
+        }
         Commune commune = communeRepository.findByIdAndIsDeletedFalse(id)
             .orElseThrow(() -> new RuntimeException("Commune not found"));
         return communeMapper.toResponse(commune);
@@ -96,6 +106,11 @@ public class CommuneServiceImpl implements CommuneService {
     @Override
     @Transactional(readOnly = true)
     public CommuneResponse getCommuneByCode(String code) {
+        if (gazetteer.isLoaded()) {
+            return gazetteer.findByCode(LocationLevel.COMMUNE, code)
+                .map(locationPlaceMapper::toCommuneResponse)
+                .orElseThrow(() -> new RuntimeException("Commune not found with code: " + code));
+        }
         Commune commune = communeRepository.findByCommuneCodeAndIsDeletedFalse(code)
             .orElseThrow(() -> new RuntimeException("Commune not found with code: " + code));
         return communeMapper.toResponse(commune);
@@ -104,6 +119,11 @@ public class CommuneServiceImpl implements CommuneService {
     @Override
     @Transactional(readOnly = true)
     public CommuneResponse getCommuneByNameEn(String nameEn) {
+        if (gazetteer.isLoaded()) {
+            return gazetteer.findByNameEn(LocationLevel.COMMUNE, nameEn)
+                .map(locationPlaceMapper::toCommuneResponse)
+                .orElseThrow(() -> new RuntimeException("Commune not found with name: " + nameEn));
+        }
         Commune commune = communeRepository.findByCommuneEnAndIsDeletedFalse(nameEn)
             .orElseThrow(() -> new RuntimeException("Commune not found with name: " + nameEn));
         return communeMapper.toResponse(commune);
@@ -112,6 +132,11 @@ public class CommuneServiceImpl implements CommuneService {
     @Override
     @Transactional(readOnly = true)
     public CommuneResponse getCommuneByNameKh(String nameKh) {
+        if (gazetteer.isLoaded()) {
+            return gazetteer.findByNameKh(LocationLevel.COMMUNE, nameKh)
+                .map(locationPlaceMapper::toCommuneResponse)
+                .orElseThrow(() -> new RuntimeException("Commune not found with Khmer name: " + nameKh));
+        }
         Commune commune = communeRepository.findByCommuneKhAndIsDeletedFalse(nameKh)
             .orElseThrow(() -> new RuntimeException("Commune not found with Khmer name: " + nameKh));
         return communeMapper.toResponse(commune);
@@ -1,10 +1,13 @@
 package com.emenu.features.location.service.impl;
 
+import com.emenu.enums.location.LocationLevel;
 import com.emenu.exception.custom.ValidationException;
+import com.emenu.features.location.cache.LocationGazetteer;
 import com.emenu.features.location.dto.filter.DistrictFilterRequest;
 import com.emenu.features.location.dto.request.DistrictRequest;
 import com.emenu.features.location.dto.response.DistrictResponse;
 import com.emenu.features.location.mapper.DistrictMapper;
+import com.emenu.features.location.mapper.LocationPlaceMapper;
 import com.emenu.features.location.models.District;
 import com.emenu.features.location.repository.DistrictRepository;
 import com.emenu.features.location.repository.ProvinceRepository;
@@ -29,6 +32,8 @@ public class DistrictServiceImpl implements DistrictService {
     private final DistrictMapper districtMapper;
     private final ProvinceRepository provinceRepository;
     private final com.emenu.shared.mapper.PaginationMapper paginationMapper;
+    private final LocationGazetteer gazetteer;
+    private final LocationPlaceMapper locationPlaceMapper;
 
     @Override
     @Transactional  // Keep transaction open during mapping
@@ -83,6 +88,11 @@ public class DistrictServiceImpl implements DistrictService {
     @Override
     @Transactional(readOnly = true)  // Keep transaction open
     public DistrictResponse getDistrictById(UUID id) {
+        if (gazetteer.isLoaded()) {
+            return gazetteer.findById(LocationLevel.DISTRICT, id)
+                .map(locationPlaceMapper::toDistrictResponse)
+                .orElseThrow(() -> new RuntimeException("District not found"));
+        }
         District district = districtRepository.findByIdAndIsDeletedFalse(id)
             .orElseThrow(() -> new RuntimeException("District not found"));
         
@@ -93,6 +103,11 @@ public class DistrictServiceImpl implements DistrictService {
     @Override
     @Transactional(readOnly = true)
     public DistrictResponse getDistrictByCode(String code) {
+        if (gazetteer.isLoaded()) {
+            return gazetteer.findByCode(LocationLevel.DISTRICT, code)
+                .map(locationPlaceMapper::toDistrictResponse)
+                .orElseThrow(() -> new RuntimeException("District not found with code: " + code));
+        }
         District district = districtRepository.findByDistrictCodeAndIsDeletedFalse(code)
             .orElseThrow(() -> new RuntimeException("District not found with code: " + code));
         return districtMapper.toResponse(district);
@@ -101,6 +116,11 @@ public class DistrictServiceImpl implements DistrictService {
     @Override
     @Transactional(readOnly = true)
     public DistrictResponse getDistrictByNameEn(String nameEn) {
+        if (gazetteer.isLoaded()) {
+            return gazetteer.findByNameEn(LocationLevel.DISTRICT, nameEn)
+                .map(locationPlaceMapper::toDistrictResponse)
+                .orElseThrow(() -> new RuntimeException("District not found with name: " + nameEn));
+        }
         District district = districtRepository.findByDistrictEnAndIsDeletedFalse(nameEn)
             .orElseThrow(() -> new RuntimeException("District not found with name: " + nameEn));
         return districtMapper.toResponse(district);
@@ -109,6 +129,11 @@ public class DistrictServiceImpl implements DistrictService {
     @Override
     @Transactional(readOnly = true)
     public DistrictResponse getDistrictByNameKh(String nameKh) {
+        if (gazetteer.isLoaded()) {
+            return gazetteer.findByNameKh(LocationLevel.DISTRICT, nameKh)
+                .map(locationPlaceMapper::toDistrictResponse)
+                .orElseThrow(() -> new RuntimeException("District not found with Khmer name: " + nameKh));
+        }
         District district = districtRepository.findByDistrictKhAndIsDeletedFalse(nameKh)
             .orElseThrow(() -> new RuntimeException("District not found with Khmer name: " + nameKh));
         return districtMapper.toResponse(district);
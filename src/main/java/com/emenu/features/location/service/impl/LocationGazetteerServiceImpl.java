@@ -0,0 +1,61 @@
+package com.emenu.features.location.service.impl;
+
+import com.emenu.enums.location.LocationLevel;
+import com.emenu.exception.custom.ValidationException;
+import com.emenu.features.location.cache.LocationGazetteer;
+import com.emenu.features.location.cache.LocationSnapshotCache;
+import com.emenu.features.location.dto.response.LocationDeltaResponse;
+import com.emenu.features.location.dto.response.LocationSuggestionResponse;
+import com.emenu.features.location.mapper.LocationPlaceMapper;
+import com.emenu.features.location.service.LocationGazetteerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class LocationGazetteerServiceImpl implements LocationGazetteerService {
+
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private final LocationGazetteer gazetteer;
+    private final LocationPlaceMapper locationPlaceMapper;
+    private final LocationSnapshotCache snapshotCache;
+
+    @Override
+    public List<LocationSuggestionResponse> autocomplete(String query, LocationLevel level, int limit) {
+        int boundedLimit = Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
+        return locationPlaceMapper.toSuggestionResponses(gazetteer.autocomplete(query, level, boundedLimit));
+    }
+
+    @Override
+    public List<LocationSuggestionResponse> getChildren(LocationLevel level, String code) {
+        if (level != null && gazetteer.findByCode(level, code).isEmpty()) {
+            throw new RuntimeException(level.getDescription() + " not found with code: " + code);
+        }
+        if (level == LocationLevel.VILLAGE) {
+            throw new ValidationException("Villages have no children");
+        }
+        return locationPlaceMapper.toSuggestionResponses(gazetteer.getChildren(level, code));
+    }
+
+    @Override
+    public LocationSnapshotCache.EncodedSnapshot getSnapshot() {
+        return snapshotCache.getSnapshot();
+    }
+
+    @Override
+    public LocationDeltaResponse getChangesSince(long version) {
+        if (version < 0) {
+            throw new ValidationException("Version must not be negative");
+        }
+        LocationGazetteer.Delta delta = gazetteer.getChangedSince(version);
+        return LocationDeltaResponse.builder()
+                .since(version)
+                .version(delta.version())
+                .changed(locationPlaceMapper.toEntryResponses(delta.changed()))
+                .deleted(locationPlaceMapper.toEntryResponses(delta.deleted()))
+                .build();
+    }
+}
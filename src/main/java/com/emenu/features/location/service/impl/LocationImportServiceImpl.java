@@ -0,0 +1,241 @@
+package com.emenu.features.location.service.impl;
+
+import com.emenu.enums.location.LocationLevel;
+import com.emenu.exception.custom.ValidationException;
+import com.emenu.features.location.cache.LocationGazetteer;
+import com.emenu.features.location.dto.response.LocationImportResponse;
+import com.emenu.features.location.service.LocationImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the file line by line into per-level row lists, validates every parent code against the
+ * gazetteer plus the codes of the file itself, then upserts provinces, districts, communes and
+ * villages in that order with batched INSERT ... ON CONFLICT on the code.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LocationImportServiceImpl implements LocationImportService {
+
+    private static final String HEADER = "level,code,name_en,name_kh,parent_code";
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_CODE_LENGTH = 10;
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private static final Map<LocationLevel, String> UPSERT_SQL = Map.of(
+            LocationLevel.PROVINCE, upsertSql("location_province_cbc", "province", null),
+            LocationLevel.DISTRICT, upsertSql("location_district_cbc", "district", "province_code"),
+            LocationLevel.COMMUNE, upsertSql("location_commune_cbc", "commune", "district_code"),
+            LocationLevel.VILLAGE, upsertSql("location_village_cbc", "village", "commune_code"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LocationGazetteer gazetteer;
+    private final AuditorAware<String> auditorAware;
+
+    @Override
+    @Transactional
+    public LocationImportResponse importCsv(InputStream csv) {
+        long started = System.nanoTime();
+        Map<LocationLevel, Map<String, ImportRow>> rows = read(csv);
+
+        List<String> errors = new ArrayList<>();
+        int errorCount = 0;
+        for (Map<String, ImportRow> levelRows : rows.values()) {
+            for (ImportRow row : levelRows.values()) {
+                String error = validateParent(row, rows);
+                if (error != null && errorCount++ < MAX_REPORTED_ERRORS) {
+                    errors.add(error);
+                }
+            }
+        }
+        if (errorCount > 0) {
+            throw new ValidationException("Location import rejected, " + errorCount + " invalid rows: " + String.join("; ", errors));
+        }
+
+        String actor = auditorAware.getCurrentAuditor().orElse("SYSTEM");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int written = 0;
+        int total = 0;
+        // Parents are written before their children so every parent code exists when a child lands
+        for (LocationLevel level : LocationLevel.values()) {
+            List<ImportRow> levelRows = List.copyOf(rows.get(level).values());
+            total += levelRows.size();
+            int[][] counts = jdbcTemplate.batchUpdate(UPSERT_SQL.get(level), levelRows, BATCH_SIZE, (ps, row) -> {
+                ps.setObject(1, UUID.randomUUID());
+                ps.setTimestamp(2, now);
+                ps.setString(3, actor);
+                ps.setString(4, row.code());
+                ps.setString(5, row.nameEn());
+                ps.setString(6, row.nameKh());
+                if (level != LocationLevel.PROVINCE) {
+                    ps.setString(7, row.parentCode());
+                }
+            });
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    written += Math.max(count, 0);
+                }
+            }
+        }
+        // JDBC writes bypass the entity listeners
+        gazetteer.refreshAfterCommit();
+
+        log.info("Imported {} locations ({} written) in {} ms", total, written,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return LocationImportResponse.builder()
+                .provinces(rows.get(LocationLevel.PROVINCE).size())
+                .districts(rows.get(LocationLevel.DISTRICT).size())
+                .communes(rows.get(LocationLevel.COMMUNE).size())
+                .villages(rows.get(LocationLevel.VILLAGE).size())
+                .written(written)
+                .unchanged(total - written)
+                .build();
+    }
+
+    /**
+     * Rows per level keyed by code, in file order. Format errors fail fast with the line number.
+     */
+    private Map<LocationLevel, Map<String, ImportRow>> read(InputStream csv) {
+        Map<LocationLevel, Map<String, ImportRow>> rows = new EnumMap<>(LocationLevel.class);
+        for (LocationLevel level : LocationLevel.values()) {
+            rows.put(level, new LinkedHashMap<>());
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null || !HEADER.equalsIgnoreCase(header.replace("\uFEFF", "").trim())) {
+                throw new ValidationException("Location import must start with the header: " + HEADER);
+            }
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                ImportRow row = parse(line, lineNumber);
+                if (rows.get(row.level()).putIfAbsent(row.code(), row) != null) {
+                    throw new ValidationException("Line " + lineNumber + ": duplicate "
+                            + row.level().getDescription().toLowerCase(Locale.ROOT) + " code " + row.code());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read location import", e);
+        }
+        return rows;
+    }
+
+    private ImportRow parse(String line, int lineNumber) {
+        List<String> fields = splitCsv(line, lineNumber);
+        if (fields.size() != 5) {
+            throw new ValidationException("Line " + lineNumber + ": expected 5 fields, found " + fields.size());
+        }
+        LocationLevel level;
+        try {
+            level = LocationLevel.valueOf(fields.get(0).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Line " + lineNumber + ": unknown level " + fields.get(0));
+        }
+        String code = fields.get(1);
+        if (code.isEmpty() || code.length() > MAX_CODE_LENGTH) {
+            throw new ValidationException("Line " + lineNumber + ": code must be 1 to " + MAX_CODE_LENGTH + " characters");
+        }
+        if (fields.get(2).isEmpty() || fields.get(3).isEmpty()) {
+            throw new ValidationException("Line " + lineNumber + ": English and Khmer names are required");
+        }
+        String parentCode = fields.get(4).isEmpty() ? null : fields.get(4);
+        return new ImportRow(lineNumber, level, code, fields.get(2), fields.get(3), parentCode);
+    }
+
+    private String validateParent(ImportRow row, Map<LocationLevel, Map<String, ImportRow>> rows) {
+        LocationLevel parentLevel = row.level().parent();
+        if (parentLevel == null) {
+            return row.parentCode() == null ? null : "line " + row.line() + ": a province has no parent code";
+        }
+        if (row.parentCode() == null) {
+            return "line " + row.line() + ": parent " + parentLevel.getDescription().toLowerCase(Locale.ROOT) + " code is required";
+        }
+        if (rows.get(parentLevel).containsKey(row.parentCode())
+                || gazetteer.findByCode(parentLevel, row.parentCode()).isPresent()) {
+            return null;
+        }
+        return "line " + row.line() + ": " + parentLevel.getDescription().toLowerCase(Locale.ROOT) + " code does not exist: " + row.parentCode();
+    }
+
+    /**
+     * Comma separated fields, trimmed; a field in double quotes may hold commas and "" for a quote
+     */
+    private static List<String> splitCsv(String line, int lineNumber) {
+        List<String> fields = new ArrayList<>(5);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new ValidationException("Line " + lineNumber + ": unterminated quoted field");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    /**
+     * Upsert keyed on the code. Identical rows are skipped so a re-import does not restamp change_txid,
+     * which keeps the gazetteer delta feed to real changes; a soft deleted place is restored.
+     */
+    private static String upsertSql(String table, String prefix, String parentColumn) {
+        String columns = prefix + "_code, " + prefix + "_en, " + prefix + "_kh" + (parentColumn != null ? ", " + parentColumn : "");
+        String values = parentColumn != null ? "?, ?, ?, ?" : "?, ?, ?";
+        StringBuilder updates = new StringBuilder();
+        StringBuilder current = new StringBuilder("t.is_deleted");
+        StringBuilder incoming = new StringBuilder("false");
+        for (String column : new String[]{prefix + "_en", prefix + "_kh", parentColumn}) {
+            if (column != null) {
+                updates.append(column).append(" = EXCLUDED.").append(column).append(", ");
+                current.append(", t.").append(column);
+                incoming.append(", EXCLUDED.").append(column);
+            }
+        }
+        return "INSERT INTO " + table + " AS t (id, version, created_at, created_by, is_deleted, " + columns + ") "
+                + "VALUES (?, 0, ?, ?, false, " + values + ") "
+                + "ON CONFLICT (" + prefix + "_code) DO UPDATE SET " + updates
+                + "is_deleted = false, deleted_at = NULL, deleted_by = NULL, "
+                + "updated_at = EXCLUDED.created_at, updated_by = EXCLUDED.created_by, version = t.version + 1 "
+                + "WHERE (" + current + ") IS DISTINCT FROM (" + incoming + ")";
+    }
+
+    private record ImportRow(int line, LocationLevel level, String code, String nameEn, String nameKh, String parentCode) {
+    }
+}
@@ -1,9 +1,12 @@
 package com.emenu.features.location.service.impl;
 
+import com.emenu.enums.location.LocationLevel;
 import com.emenu.exception.custom.ValidationException;
+import com.emenu.features.location.cache.LocationGazetteer;
 import com.emenu.features.location.dto.filter.ProvinceFilterRequest;
 import com.emenu.features.location.dto.request.ProvinceRequest;
 import com.emenu.features.location.dto.response.ProvinceResponse;
+import com.emenu.features.location.mapper.LocationPlaceMapper;
 import com.emenu.features.location.mapper.ProvinceMapper;
 import com.emenu.features.location.models.Province;
 import com.emenu.features.location.repository.ProvinceRepository;
@@ -29,6 +32,8 @@ public class ProvinceServiceImpl implements ProvinceService {
     private final ProvinceRepository provinceRepository;
     private final ProvinceMapper provinceMapper;
     private final com.emenu.shared.mapper.PaginationMapper paginationMapper;
+    private final LocationGazetteer gazetteer;
+    private final LocationPlaceMapper locationPlaceMapper;
 
     @Override
     public ProvinceResponse createProvince(ProvinceRequest request) {
@@ -65,6 +70,11 @@ public class ProvinceServiceImpl implements ProvinceService {
     @Override
     @Transactional(readOnly = true)
     public ProvinceResponse getProvinceById(UUID id) {
+        if (gazetteer.isLoaded()) {
+            return gazetteer.findById(LocationLevel.PROVINCE, id)
+                .map(locationPlaceMapper::toProvinceResponse)
+                .orElseThrow(() -> new RuntimeException("Province not found"));
+        }
         Province province = provinceRepository.findByIdAndIsDeletedFalse(id)
             .orElseThrow(() -> new RuntimeException("Province not found"));
         return provinceMapper.toResponse(province);
@@ -73,6 +83,11 @@ public class ProvinceServiceImpl implements ProvinceService {
     @Override
     @Transactional(readOnly = true)
     public ProvinceResponse getProvinceByCode(String code) {
+        if (gazetteer.isLoaded()) {
+            return gazetteer.findByCode(LocationLevel.PROVINCE, code)
+                .map(locationPlaceMapper::toProvinceResponse)
+                .orElseThrow(() -> new RuntimeException("Province not found with code: " + code));
+        }
         Province province = provinceRepository.findByProvinceCodeAndIsDeletedFalse(code)
             .orElseThrow(() -> new RuntimeException("Province not found with code: " + code));
         return provinceMapper.toResponse(province);
@@ -81,6 +96,11 @@ public class ProvinceServiceImpl implements ProvinceService {
     @Override
     @Transactional(readOnly = true)
     public ProvinceResponse getProvinceByNameEn(String nameEn) {
+        if (gazetteer.isLoaded()) {
+            return gazetteer.findByNameEn(LocationLevel.PROVINCE, nameEn)
+                .map(locationPlaceMapper::toProvinceResponse)
+                .orElseThrow(() -> new RuntimeException("Province not found with name: " + nameEn));
+        }
         Province province = provinceRepository.findByProvinceEnAndIsDeletedFalse(nameEn)
             .orElseThrow(() -> new RuntimeException("Province not found with name: " + nameEn));
         return provinceMapper.toResponse(province);
@@ -89,6 +109,11 @@ public class ProvinceServiceImpl implements ProvinceService {
     @Override
     @Transactional(readOnly = true)
     public ProvinceResponse getProvinceByNameKh(String nameKh) {
+        if (gazetteer.isLoaded()) {
+            return gazetteer.findByNameKh(LocationLevel.PROVINCE, nameKh)
+                .map(locationPlaceMapper::toProvinceResponse)
+                .orElseThrow(() -> new RuntimeException("Province not found with Khmer name: " + nameKh));
+        }
         Province province = provinceRepository.findByProvinceKhAndIsDeletedFalse(nameKh)
             .orElseThrow(() -> new RuntimeException("Province not found with Khmer name: " + nameKh));
         return provinceMapper.toResponse(province);
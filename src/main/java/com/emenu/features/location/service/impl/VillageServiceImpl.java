@@ -1,9 +1,12 @@
 package com.emenu.features.location.service.impl;
 
+import com.emenu.enums.location.LocationLevel;
 import com.emenu.exception.custom.ValidationException;
+import com.emenu.features.location.cache.LocationGazetteer;
 import com.emenu.features.location.dto.filter.VillageFilterRequest;
 import com.emenu.features.location.dto.request.VillageRequest;
 import com.emenu.features.location.dto.response.VillageResponse;
+import com.emenu.features.location.mapper.LocationPlaceMapper;
 import com.emenu.features.location.mapper.VillageMapper;
 import com.emenu.features.location.models.Village;
 import com.emenu.features.location.repository.CommuneRepository;
@@ -30,6 +33,8 @@ public class VillageServiceImpl implements VillageService {
     private final VillageMapper villageMapper;
     private final CommuneRepository communeRepository;
     private final com.emenu.shared.mapper.PaginationMapper paginationMapper;
+    private final LocationGazetteer gazetteer;
+    private final LocationPlaceMapper locationPlaceMapper;
 
     @Override
     @Transactional
@@ -83,6 +88,11 @@ public class VillageServiceImpl implements VillageService {
     @Override
     @Transactional(readOnly = true)
     public VillageResponse getVillageById(UUID id) {
+        if (gazetteer.isLoaded()) {
+            return gazetteer.findById(LocationLevel.VILLAGE, id)
+                .map(locationPlaceMapper::toVillageResponse)
+                .orElseThrow(() -> new RuntimeException("Village not found"));
+        }
         Village village = villageRepository.findByIdAndIsDeletedFalse(id)
             .orElseThrow(() -> new RuntimeException("Village not found"));
         return villageMapper.toResponse(village);
@@ -91,6 +101,11 @@ public class VillageServiceImpl implements VillageService {
     @Override
     @Transactional(readOnly = true)
     public VillageResponse getVillageByCode(String code) {
+        if (gazetteer.isLoaded()) {
+            return gazetteer.findByCode(LocationLevel.VILLAGE, code)
+                .map(locationPlaceMapper::toVillageResponse)
+                .orElseThrow(() -> new RuntimeException("Village not found with code: " + code));
+        }
         Village village = villageRepository.findByVillageCodeAndIsDeletedFalse(code)
             .orElseThrow(() -> new RuntimeException("Village not found with code: " + code));
         return villageMapper.toResponse(village);
@@ -99,6 +114,11 @@ public class VillageServiceImpl implements VillageService {
     @Override
     @Transactional(readOnly = true)
     public VillageResponse getVillageByNameEn(String nameEn) {
+        if (gazetteer.isLoaded()) {
+            return gazetteer.findByNameEn(LocationLevel.VILLAGE, nameEn)
+                .map(locationPlaceMapper::toVillageResponse)
+                .orElseThrow(() -> new RuntimeException("Village not found with name: " + nameEn));
+        }
         Village village = villageRepository.findByVillageEnAndIsDeletedFalse(nameEn)
             .orElseThrow(() -> new RuntimeException("Village not found with name: " + nameEn));
         return villageMapper.toResponse(village);
@@ -107,6 +127,11 @@ public class VillageServiceImpl implements VillageService {
     @Override
     @Transactional(readOnly = true)
     public VillageResponse getVillageByNameKh(String nameKh) {
+        if (gazetteer.isLoaded()) {
+            return gazetteer.findByNameKh(LocationLevel.VILLAGE, nameKh)
+                .map(locationPlaceMapper::toVillageResponse)
+                .orElseThrow(() -> new RuntimeException("Village not found with Khmer name: " + nameKh));
+        }
         Village village = villageRepository.findByVillageKhAndIsDeletedFalse(nameKh)
             .orElseThrow(() -> new RuntimeException("Village not found with Khmer name: " + nameKh));
         return villageMapper.toResponse(village);
@@ -0,0 +1,30 @@
+package com.emenu.features.location.tasks;
+
+import com.emenu.features.location.cache.LocationGazetteer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(value = "app.location.gazetteer.refresh.enabled", havingValue = "true", matchIfMissing = true)
+public class LocationGazetteerRefreshScheduler {
+
+    private final LocationGazetteer gazetteer;
+
+    /**
+     * Pick up location changes committed on other instances
+     */
+    @Scheduled(fixedDelayString = "${app.location.gazetteer.refresh.interval-ms:60000}",
+            initialDelayString = "${app.location.gazetteer.refresh.interval-ms:60000}")
+    public void refreshGazetteer() {
+        try {
+            gazetteer.refreshIfChanged();
+        } catch (Exception e) {
+            log.error("Failed to refresh location gazetteer", e);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.emenu.features.notification.broadcast;
+
+import com.emenu.enums.notification.MessageStatus;
+import com.emenu.enums.notification.MessageType;
+import com.emenu.enums.notification.NotificationPriority;
+import com.emenu.enums.notification.NotificationRecipientType;
+import com.emenu.features.notification.dto.resposne.NotificationResponse;
+import com.emenu.features.notification.mapper.NotificationMapper;
+import com.emenu.features.notification.models.Notification;
+import com.emenu.features.notification.push.NotificationPushRegistry;
+import com.emenu.features.notification.service.NotificationCounterService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes the per-user rows of an ALL_USERS notification outside the sending request.
+ * The broadcast is first recorded in notification_broadcast_jobs inside the sending transaction; recipients are
+ * then read as id/name pairs in keyset-ordered chunks and inserted with batched JDBC, one transaction per chunk
+ * that also advances the job cursor under a row lock. A broadcast interrupted by a restart is resumed from its
+ * cursor by NotificationBroadcastScheduler, and concurrent runners of the same job never write a user twice.
+ * Each chunk is pushed to the recipients' open streams after it commits, carrying the id of the user's own row.
+ */
+@Component
+@Slf4j
+public class NotificationBroadcastWriter {
+
+    private static final String INSERT_JOB_SQL =
+            "INSERT INTO notification_broadcast_jobs (id, version, created_at, created_by, updated_at, updated_by, " +
+            "is_deleted, group_id, title, message, message_type, priority, status, business_id, written_count) " +
+            "VALUES (?, 0, ?, ?, ?, ?, false, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String SELECT_JOB_SQL =
+            "SELECT group_id, title, message, message_type, priority, status, business_id, created_by " +
+            "FROM notification_broadcast_jobs WHERE group_id = ? AND completed_at IS NULL";
+
+    private static final String LOCK_JOB_CURSOR_SQL =
+            "SELECT last_user_id FROM notification_broadcast_jobs " +
+            "WHERE group_id = ? AND completed_at IS NULL FOR UPDATE";
+
+    private static final String ADVANCE_JOB_SQL =
+            "UPDATE notification_broadcast_jobs SET last_user_id = ?, written_count = written_count + ?, " +
+            "updated_at = ?, version = version + 1 WHERE group_id = ?";
+
+    private static final String COMPLETE_JOB_SQL =
+            "UPDATE notification_broadcast_jobs SET completed_at = ?, updated_at = ?, version = version + 1 " +
+            "WHERE group_id = ?";
+
+    private static final String SELECT_STALE_JOBS_SQL =
+            "SELECT group_id FROM notification_broadcast_jobs " +
+            "WHERE completed_at IS NULL AND is_deleted = false AND updated_at < ? ORDER BY created_at";
+
+    private static final String SELECT_RECIPIENTS_SQL =
+            "SELECT id, first_name, last_name, user_identifier FROM users " +
+            "WHERE account_status = 'ACTIVE' AND is_deleted = false AND id > ? " +
+            "ORDER BY id LIMIT ?";
+
+    private static final String INSERT_NOTIFICATION_SQL =
+            "INSERT INTO notifications (id, version, created_at, created_by, updated_at, updated_by, is_deleted, " +
+            "title, message, message_type, priority, status, recipient_type, user_id, user_name, business_id, " +
+            "group_id, is_seen, is_read) " +
+            "VALUES (?, 0, ?, ?, ?, ?, false, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false, false)";
+
+    // PostgreSQL orders uuid by unsigned bytes, so the nil UUID sorts first
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationCounterService notificationCounterService;
+    private final NotificationPushRegistry notificationPushRegistry;
+    private final NotificationMapper notificationMapper;
+    private final int batchSize;
+
+    public NotificationBroadcastWriter(JdbcTemplate jdbcTemplate,
+                                       TransactionTemplate transactionTemplate,
+                                       NotificationCounterService notificationCounterService,
+                                       NotificationPushRegistry notificationPushRegistry,
+                                       NotificationMapper notificationMapper,
+                                       @Value("${app.notification.broadcast.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.notificationCounterService = notificationCounterService;
+        this.notificationPushRegistry = notificationPushRegistry;
+        this.notificationMapper = notificationMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Record the broadcast job in the caller's transaction, so it exists exactly when the request commits
+     */
+    public void enqueue(Notification template, String createdBy) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(INSERT_JOB_SQL,
+                UUID.randomUUID(), now, createdBy, now, createdBy,
+                template.getGroupId(),
+                template.getTitle(),
+                template.getMessage(),
+                template.getMessageType().name(),
+                template.getPriority().name(),
+                template.getStatus().name(),
+                template.getBusinessId());
+    }
+
+    /**
+     * Write the remaining recipients of a job, starting after its stored cursor
+     */
+    @Async("taskExecutor")
+    public void broadcastToActiveUsers(UUID groupId) {
+        long started = System.currentTimeMillis();
+        int total = 0;
+
+        try {
+            List<Job> jobs = jdbcTemplate.query(SELECT_JOB_SQL, (rs, rowNum) -> new Job(
+                    toTemplate(rs.getObject("group_id", UUID.class),
+                            rs.getString("title"),
+                            rs.getString("message"),
+                            MessageType.valueOf(rs.getString("message_type")),
+                            NotificationPriority.valueOf(rs.getString("priority")),
+                            MessageStatus.valueOf(rs.getString("status")),
+                            rs.getObject("business_id", UUID.class)),
+                    rs.getString("created_by")), groupId);
+            if (jobs.isEmpty()) {
+                log.debug("Broadcast {} already completed", groupId);
+                return;
+            }
+            Job job = jobs.get(0);
+
+            Chunk chunk;
+            do {
+                chunk = transactionTemplate.execute(status -> writeNextChunk(job.template(), job.createdBy()));
+                if (chunk == null) {
+                    break;
+                }
+                total += chunk.rows().size();
+                push(chunk.rows());
+            } while (!chunk.complete());
+
+            log.info("Broadcast {} written for {} users in {} ms",
+                    groupId, total, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Broadcast {} stopped after {} users, it will be resumed: {}", groupId, total, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Group ids of unfinished jobs whose cursor has not moved since the given time
+     */
+    public List<UUID> findStalledJobs(LocalDateTime notUpdatedSince) {
+        return jdbcTemplate.queryForList(SELECT_STALE_JOBS_SQL, UUID.class, Timestamp.valueOf(notUpdatedSince));
+    }
+
+    /**
+     * Write one chunk and advance the cursor in the same transaction
+     */
+    private Chunk writeNextChunk(Notification template, String createdBy) {
+        UUID groupId = template.getGroupId();
+        List<UUID> cursor = jdbcTemplate.query(LOCK_JOB_CURSOR_SQL,
+                (rs, rowNum) -> rs.getObject("last_user_id", UUID.class), groupId);
+        if (cursor.isEmpty()) {
+            // Completed by another runner
+            return new Chunk(List.of(), true);
+        }
+        UUID lastId = cursor.get(0) != null ? cursor.get(0) : MIN_UUID;
+
+        List<Recipient> recipients = jdbcTemplate.query(SELECT_RECIPIENTS_SQL,
+                (rs, rowNum) -> new Recipient(
+                        rs.getObject("id", UUID.class),
+                        fullName(rs.getString("first_name"), rs.getString("last_name"),
+                                rs.getString("user_identifier"))),
+                lastId, batchSize);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> rows = recipients.stream()
+                .map(recipient -> toRow(template, createdBy, recipient, now))
+                .toList();
+        if (!rows.isEmpty()) {
+            insertRows(rows);
+            jdbcTemplate.update(ADVANCE_JOB_SQL,
+                    recipients.get(recipients.size() - 1).id(), rows.size(), Timestamp.valueOf(now), groupId);
+        }
+        boolean complete = recipients.size() < batchSize;
+        if (complete) {
+            jdbcTemplate.update(COMPLETE_JOB_SQL, Timestamp.valueOf(now), Timestamp.valueOf(now), groupId);
+        }
+        return new Chunk(rows, complete);
+    }
+
+    private void insertRows(List<Notification> rows) {
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION_SQL, rows, rows.size(), (ps, row) -> {
+            Timestamp createdAt = Timestamp.valueOf(row.getCreatedAt());
+            ps.setObject(1, row.getId());
+            ps.setTimestamp(2, createdAt);
+            ps.setString(3, row.getCreatedBy());
+            ps.setTimestamp(4, createdAt);
+            ps.setString(5, row.getCreatedBy());
+            ps.setString(6, row.getTitle());
+            ps.setString(7, row.getMessage());
+            ps.setString(8, row.getMessageType().name());
+            ps.setString(9, row.getPriority().name());
+            ps.setString(10, row.getStatus().name());
+            ps.setString(11, row.getRecipientType().name());
+            ps.setObject(12, row.getUserId());
+            ps.setString(13, row.getUserName());
+            ps.setObject(14, row.getBusinessId());
+            ps.setObject(15, row.getGroupId());
+        });
+        notificationCounterService.recordCreated(rows.stream().map(Notification::getUserId).toList());
+    }
+
+    // Only recipients with a mailbox on this instance are mapped; everyone else catches up from their cursor
+    private void push(List<Notification> rows) {
+        List<NotificationResponse> responses = new ArrayList<>();
+        for (Notification row : rows) {
+            if (notificationPushRegistry.hasMailbox(row.getUserId())) {
+                responses.add(notificationMapper.toResponse(row));
+            }
+        }
+        if (!responses.isEmpty()) {
+            notificationPushRegistry.publish(responses);
+        }
+    }
+
+    private static Notification toRow(Notification template, String createdBy, Recipient recipient,
+                                      LocalDateTime now) {
+        Notification row = new Notification();
+        row.setId(UUID.randomUUID());
+        row.setCreatedAt(now);
+        row.setUpdatedAt(now);
+        row.setCreatedBy(createdBy);
+        row.setUpdatedBy(createdBy);
+        row.setTitle(template.getTitle());
+        row.setMessage(template.getMessage());
+        row.setMessageType(template.getMessageType());
+        row.setPriority(template.getPriority());
+        row.setStatus(template.getStatus());
+        row.setRecipientType(template.getRecipientType());
+        row.setUserId(recipient.id());
+        row.setUserName(recipient.name());
+        row.setBusinessId(template.getBusinessId());
+        row.setGroupId(template.getGroupId());
+        return row;
+    }
+
+    private static Notification toTemplate(UUID groupId, String title, String message, MessageType messageType,
+                                           NotificationPriority priority, MessageStatus status, UUID businessId) {
+        Notification template = new Notification();
+        template.setGroupId(groupId);
+        template.setTitle(title);
+        template.setMessage(message);
+        template.setMessageType(messageType);
+        template.setPriority(priority);
+        template.setStatus(status);
+        template.setRecipientType(NotificationRecipientType.ALL_USERS);
+        template.setBusinessId(businessId);
+        return template;
+    }
+
+    // Same rules as User.getFullName()
+    private static String fullName(String firstName, String lastName, String userIdentifier) {
+        if (firstName != null && lastName != null) {
+            return firstName + " " + lastName;
+        } else if (firstName != null) {
+            return firstName;
+        } else if (lastName != null) {
+            return lastName;
+        }
+        return userIdentifier;
+    }
+
+    private record Job(Notification template, String createdBy) {
+    }
+
+    private record Chunk(List<Notification> rows, boolean complete) {
+    }
+
+    private record Recipient(UUID id, String name) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.emenu.features.notification.config;
+
+import com.emenu.enums.notification.MessageType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Digest settings for bursty notification types (app.notification.digest.*)
+ */
+@Component
+@ConfigurationProperties(prefix = "app.notification.digest")
+@Data
+public class NotificationDigestProperties {
+
+    private boolean enabled = true;
+
+    // Message types that are held and merged per recipient
+    private Set<MessageType> types = EnumSet.of(MessageType.ORDER_NEW, MessageType.ORDER_CANCELLED);
+
+    // How long the first event of a window waits for more
+    private long windowMs = 30000;
+
+    // A window is flushed early once it holds this many events
+    private int maxEvents = 20;
+
+    // Individual messages quoted in the digest body
+    private int previewLines = 5;
+}
@@ -0,0 +1,51 @@
+package com.emenu.features.notification.config;
+
+import com.emenu.enums.notification.MessageType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Retention settings for the notifications table (app.notification.retention.*).
+ * A TTL of 0 or less keeps that message type forever.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.notification.retention")
+@Data
+public class NotificationRetentionProperties {
+
+    public enum PurgeMode {
+        DELETE,
+        ARCHIVE
+    }
+
+    // Age (from created_at) after which a notification is soft-deleted, per message type
+    private Map<MessageType, Integer> ttlDays = new EnumMap<>(MessageType.class);
+
+    // TTL for message types missing from ttlDays
+    private int defaultTtlDays = 365;
+
+    // Read notifications are soft-deleted this long after being read, whatever their type
+    private int readTtlDays = 90;
+
+    // Soft-deleted rows are purged this long after deletion
+    private int purgeGraceDays = 30;
+
+    // DELETE drops purged rows for good, so it must be chosen explicitly
+    private PurgeMode purgeMode = PurgeMode.ARCHIVE;
+
+    // Target of ARCHIVE mode, created with the layout of notifications when missing
+    private String archiveTable = "archive.notifications_archive";
+
+    private int batchSize = 1000;
+
+    // Upper bound of chunks per phase and run, so one run cannot monopolize the database
+    private int maxBatchesPerRun = 500;
+
+    public int ttlDaysFor(MessageType type) {
+        return ttlDays.getOrDefault(type, defaultTtlDays);
+    }
+}
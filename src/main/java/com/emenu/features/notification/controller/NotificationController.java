@@ -10,9 +10,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -31,10 +33,27 @@ public class NotificationController {
             @Valid @RequestBody NotificationRequest request) {
         log.info("Sending notification - Recipient: {}", request.getRecipientType());
         List<NotificationResponse> responses = notificationService.sendNotification(request);
+        if (responses.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("Notification queued for digest", responses));
+        }
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Notification sent", responses));
     }
 
+    // ===== PUSH =====
+    /**
+     * "notification" events carry the notification; a "reset" event means events were missed and the
+     * client should reload its list and badge counts
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
+            @RequestHeader(value = "Last-Event-ID", required = false) UUID lastEventIdHeader,
+            @RequestParam(required = false) UUID lastEventId) {
+        log.info("Open notification stream");
+        return notificationService.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
     // ===== READ =====
     @GetMapping("/{notificationId}")
     public ResponseEntity<ApiResponse<NotificationResponse>> getNotification(
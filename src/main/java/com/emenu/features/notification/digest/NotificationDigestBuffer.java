@@ -0,0 +1,161 @@
+package com.emenu.features.notification.digest;
+
+import com.emenu.enums.notification.MessageType;
+import com.emenu.enums.notification.NotificationPriority;
+import com.emenu.enums.notification.NotificationRecipientType;
+import com.emenu.features.notification.config.NotificationDigestProperties;
+import com.emenu.features.notification.dto.request.NotificationRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds bursty notifications per (recipient, type) for a short window and merges them into one digest.
+ * A window closes when it is older than windowMs (drained by NotificationDigestScheduler)
+ * or as soon as it reaches maxEvents (returned to the caller to send right away).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDigestBuffer {
+
+    private final NotificationDigestProperties properties;
+    private final Map<DigestKey, DigestWindow> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Only individual and business team notifications of the configured types are coalesced
+     */
+    public boolean supports(NotificationRequest request) {
+        if (!properties.isEnabled() || !properties.getTypes().contains(request.getMessageType())) {
+            return false;
+        }
+        return (request.getRecipientType() == NotificationRecipientType.INDIVIDUAL_USER && request.getUserId() != null)
+                || (request.getRecipientType() == NotificationRecipientType.BUSINESS_TEAM_GROUP && request.getBusinessId() != null);
+    }
+
+    /**
+     * Add an event to its window. Returns the digest when the window reached the size threshold.
+     */
+    public Optional<NotificationRequest> add(NotificationRequest request) {
+        DigestKey key = DigestKey.of(request);
+        DigestWindow[] full = new DigestWindow[1];
+
+        windows.compute(key, (k, window) -> {
+            DigestWindow current = window != null ? window : new DigestWindow(System.currentTimeMillis());
+            current.add(request, properties.getPreviewLines());
+            if (current.count >= properties.getMaxEvents()) {
+                full[0] = current;
+                return null;
+            }
+            return current;
+        });
+
+        return Optional.ofNullable(full[0]).map(window -> window.toRequest(key));
+    }
+
+    /**
+     * Remove and merge every window older than the configured window length
+     */
+    public List<NotificationRequest> drainDue() {
+        long cutoff = System.currentTimeMillis() - properties.getWindowMs();
+        List<NotificationRequest> due = new ArrayList<>();
+        for (DigestKey key : List.copyOf(windows.keySet())) {
+            DigestWindow window = windows.get(key);
+            if (window != null && window.openedAt <= cutoff && windows.remove(key, window)) {
+                due.add(window.toRequest(key));
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Remove and merge every open window (shutdown)
+     */
+    public List<NotificationRequest> drainAll() {
+        List<NotificationRequest> all = new ArrayList<>();
+        for (DigestKey key : List.copyOf(windows.keySet())) {
+            DigestWindow window = windows.remove(key);
+            if (window != null) {
+                all.add(window.toRequest(key));
+            }
+        }
+        return all;
+    }
+
+    public int openWindows() {
+        return windows.size();
+    }
+
+    private record DigestKey(NotificationRecipientType recipientType, UUID recipientId, MessageType messageType) {
+
+        static DigestKey of(NotificationRequest request) {
+            UUID recipientId = request.getRecipientType() == NotificationRecipientType.BUSINESS_TEAM_GROUP
+                    ? request.getBusinessId()
+                    : request.getUserId();
+            return new DigestKey(request.getRecipientType(), recipientId, request.getMessageType());
+        }
+    }
+
+    /**
+     * Mutated only inside ConcurrentHashMap.compute for its key
+     */
+    private static class DigestWindow {
+
+        private final long openedAt;
+        private NotificationRequest first;
+        private int count;
+        private NotificationPriority priority = NotificationPriority.LOW;
+        private boolean sendSystemCopy;
+        private final Deque<String> preview = new ArrayDeque<>();
+
+        DigestWindow(long openedAt) {
+            this.openedAt = openedAt;
+        }
+
+        void add(NotificationRequest request, int previewLines) {
+            if (first == null) {
+                first = request;
+            }
+            count++;
+            NotificationPriority requestPriority = request.getPriority() != null
+                    ? request.getPriority()
+                    : NotificationPriority.NORMAL;
+            if (requestPriority.compareTo(priority) > 0) {
+                priority = requestPriority;
+            }
+            sendSystemCopy |= Boolean.TRUE.equals(request.getSendSystemCopy());
+
+            // Keep the most recent messages for the digest body
+            preview.addLast(request.getMessage());
+            if (preview.size() > previewLines) {
+                preview.pollFirst();
+            }
+        }
+
+        NotificationRequest toRequest(DigestKey key) {
+            if (count == 1) {
+                return first;
+            }
+
+            NotificationRequest digest = new NotificationRequest();
+            digest.setTitle(String.format("%d × %s", count, key.messageType().getDisplayName()));
+            StringBuilder message = new StringBuilder();
+            preview.forEach(line -> message.append("• ").append(line).append('\n'));
+            if (count > preview.size()) {
+                message.append(String.format("…and %d more", count - preview.size()));
+            }
+            digest.setMessage(message.toString().trim());
+            digest.setMessageType(key.messageType());
+            digest.setRecipientType(key.recipientType());
+            digest.setPriority(priority);
+            digest.setUserId(first.getUserId());
+            digest.setUserName(first.getUserName());
+            digest.setBusinessId(first.getBusinessId());
+            digest.setSendSystemCopy(sendSystemCopy);
+            return digest;
+        }
+    }
+}
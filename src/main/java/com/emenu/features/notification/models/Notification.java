@@ -20,7 +20,10 @@ import java.util.UUID;
     @Index(name = "idx_notification_business", columnList = "business_id, is_deleted"),
     @Index(name = "idx_notification_read", columnList = "is_read, user_id"),
     @Index(name = "idx_notification_seen", columnList = "is_seen, user_id"),
-    @Index(name = "idx_notification_group", columnList = "group_id, is_deleted")
+    @Index(name = "idx_notification_group", columnList = "group_id, is_deleted"),
+    @Index(name = "idx_notification_type_created", columnList = "message_type, created_at"),
+    @Index(name = "idx_notification_created", columnList = "created_at"),
+    @Index(name = "idx_notification_deleted", columnList = "is_deleted, deleted_at")
 })
 @Data
 @EqualsAndHashCode(callSuper = true)
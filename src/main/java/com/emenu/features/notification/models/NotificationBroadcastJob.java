@@ -0,0 +1,63 @@
+package com.emenu.features.notification.models;
+
+import com.emenu.enums.notification.MessageStatus;
+import com.emenu.enums.notification.MessageType;
+import com.emenu.enums.notification.NotificationPriority;
+import com.emenu.shared.domain.BaseUUIDEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Durable state of an ALL_USERS broadcast: the message template and the keyset cursor of the last
+ * recipient written. Written with JDBC by NotificationBroadcastWriter; this mapping only defines the table.
+ */
+@Entity
+@Table(name = "notification_broadcast_jobs", indexes = {
+    @Index(name = "idx_notification_broadcast_job_pending", columnList = "completed_at, updated_at")
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationBroadcastJob extends BaseUUIDEntity {
+
+    @Column(name = "group_id", nullable = false, unique = true)
+    private UUID groupId;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "message", columnDefinition = "TEXT", nullable = false)
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "message_type", nullable = false)
+    private MessageType messageType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", nullable = false)
+    private NotificationPriority priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private MessageStatus status;
+
+    @Column(name = "business_id")
+    private UUID businessId;
+
+    // Recipients are written in id order; everything up to and including this id is done
+    @Column(name = "last_user_id")
+    private UUID lastUserId;
+
+    @Column(name = "written_count", nullable = false)
+    private Long writtenCount = 0L;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,34 @@
+package com.emenu.features.notification.models;
+
+import com.emenu.shared.domain.BaseUUIDEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Maintained unread/unseen badge counts per user.
+ * Written with JDBC by NotificationCounterService; this mapping only defines the table.
+ */
+@Entity
+@Table(name = "notification_counters")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationCounter extends BaseUUIDEntity {
+
+    @Column(name = "user_id", nullable = false, unique = true)
+    private UUID userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private Long unreadCount = 0L;
+
+    @Column(name = "unseen_count", nullable = false)
+    private Long unseenCount = 0L;
+}
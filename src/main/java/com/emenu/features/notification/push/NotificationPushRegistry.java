@@ -0,0 +1,232 @@
+package com.emenu.features.notification.push;
+
+import com.emenu.features.notification.dto.resposne.NotificationResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user mailboxes for server-sent notification events on this instance.
+ * A mailbox exists only for users who opened a stream; while such a user is briefly disconnected,
+ * events queue in a bounded buffer (oldest dropped first) and are replayed on reconnect.
+ * Anything older is recovered through the cursor-based catch-up in NotificationService.subscribe.
+ * Notifications created on other instances arrive through NotificationPushRelay; each mailbox
+ * remembers the ids it recently delivered so an event is never sent twice.
+ */
+@Component
+@Slf4j
+public class NotificationPushRegistry {
+
+    private final Cache<UUID, Mailbox> mailboxes;
+    private final int mailboxCapacity;
+    private final long emitterTimeoutMs;
+
+    public NotificationPushRegistry(@Value("${app.notification.push.mailbox-capacity:50}") int mailboxCapacity,
+                                    @Value("${app.notification.push.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                                    @Value("${app.notification.push.mailbox-idle-minutes:10}") long mailboxIdleMinutes,
+                                    @Value("${app.notification.push.maximum-mailboxes:20000}") long maximumMailboxes) {
+        this.mailboxCapacity = mailboxCapacity;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.mailboxes = Caffeine.newBuilder()
+                .maximumSize(maximumMailboxes)
+                .expireAfterAccess(mailboxIdleMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * Open a stream for the user. Catch-up events are sent first, then anything queued while disconnected
+     * that the catch-up did not already contain. A reset event goes first when the catch-up could not be
+     * complete, telling the client to reload its notification list instead of relying on the stream.
+     */
+    public SseEmitter subscribe(UUID userId, List<NotificationResponse> catchUp, String resetReason) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Mailbox mailbox = mailboxes.get(userId, id -> new Mailbox(mailboxCapacity));
+
+        emitter.onCompletion(() -> mailbox.removeEmitter(emitter));
+        emitter.onTimeout(() -> mailbox.removeEmitter(emitter));
+        emitter.onError(e -> mailbox.removeEmitter(emitter));
+
+        catchUp.forEach(response -> mailbox.markDelivered(response.getId()));
+        Set<UUID> caughtUp = new HashSet<>();
+        catchUp.forEach(response -> caughtUp.add(response.getId()));
+        List<NotificationResponse> initial = new ArrayList<>(catchUp);
+        mailbox.attach(emitter).stream()
+                .filter(response -> !caughtUp.contains(response.getId()))
+                .forEach(initial::add);
+        boolean open = resetReason == null || sendReset(emitter, resetReason);
+        for (NotificationResponse response : initial) {
+            if (!open || !send(emitter, response)) {
+                open = false;
+                break;
+            }
+        }
+        if (!open) {
+            mailbox.removeEmitter(emitter);
+        }
+
+        log.debug("Notification stream opened for user: {} ({} initial events)", userId, initial.size());
+        return emitter;
+    }
+
+    /**
+     * Deliver to the recipient's open streams, or queue if the user has a mailbox but no open stream
+     */
+    public void publish(Collection<NotificationResponse> responses) {
+        for (NotificationResponse response : responses) {
+            Mailbox mailbox = mailboxes.getIfPresent(response.getUserId());
+            if (mailbox != null) {
+                deliver(mailbox, response);
+            }
+        }
+    }
+
+    public boolean hasMailbox(UUID userId) {
+        return mailboxes.getIfPresent(userId) != null;
+    }
+
+    /**
+     * Whether the user has a mailbox here that has not delivered this notification yet
+     */
+    public boolean awaitsDelivery(UUID userId, UUID notificationId) {
+        Mailbox mailbox = mailboxes.getIfPresent(userId);
+        return mailbox != null && !mailbox.wasDelivered(notificationId);
+    }
+
+    /**
+     * Keep idle connections open through proxies and detect streams whose client went away
+     */
+    public int sendHeartbeats() {
+        int connected = 0;
+        for (Map.Entry<UUID, Mailbox> entry : mailboxes.asMap().entrySet()) {
+            Mailbox mailbox = entry.getValue();
+            for (SseEmitter emitter : mailbox.emitters()) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    connected++;
+                } catch (IOException | IllegalStateException e) {
+                    mailbox.removeEmitter(emitter);
+                }
+            }
+            if (mailbox.isConnected()) {
+                // Touch the entry so an open stream never expires as idle
+                mailboxes.getIfPresent(entry.getKey());
+            }
+        }
+        return connected;
+    }
+
+    public long mailboxCount() {
+        return mailboxes.estimatedSize();
+    }
+
+    private void deliver(Mailbox mailbox, NotificationResponse response) {
+        if (!mailbox.markDelivered(response.getId())) {
+            return;
+        }
+        if (mailbox.enqueueIfDisconnected(response)) {
+            return;
+        }
+        for (SseEmitter emitter : mailbox.emitters()) {
+            if (!send(emitter, response)) {
+                mailbox.removeEmitter(emitter);
+            }
+        }
+    }
+
+    private boolean send(SseEmitter emitter, NotificationResponse response) {
+        try {
+            // Every event is a persisted per-user row, so its id is the client's Last-Event-ID cursor
+            emitter.send(SseEmitter.event()
+                    .id(response.getId().toString())
+                    .name("notification")
+                    .data(response));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping notification stream: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean sendReset(SseEmitter emitter, String reason) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("reset")
+                    .data(Map.of("reason", reason)));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping notification stream: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static class Mailbox {
+
+        private final int capacity;
+        private final Deque<NotificationResponse> pending = new ArrayDeque<>();
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        // Recently delivered or queued ids, oldest first; the relay looks back further than the mailbox holds
+        private final Set<UUID> delivered = new LinkedHashSet<>();
+        private final int deliveredCapacity;
+
+        Mailbox(int capacity) {
+            this.capacity = capacity;
+            this.deliveredCapacity = capacity * 4;
+        }
+
+        // Returns false when the id was already delivered
+        synchronized boolean markDelivered(UUID notificationId) {
+            if (!delivered.add(notificationId)) {
+                return false;
+            }
+            if (delivered.size() > deliveredCapacity) {
+                Iterator<UUID> oldest = delivered.iterator();
+                oldest.next();
+                oldest.remove();
+            }
+            return true;
+        }
+
+        synchronized boolean wasDelivered(UUID notificationId) {
+            return delivered.contains(notificationId);
+        }
+
+        synchronized List<NotificationResponse> attach(SseEmitter emitter) {
+            emitters.add(emitter);
+            List<NotificationResponse> queued = new ArrayList<>(pending);
+            pending.clear();
+            return queued;
+        }
+
+        // Synchronized with attach, so an event is either queued before a stream attaches or sent to it
+        synchronized boolean enqueueIfDisconnected(NotificationResponse response) {
+            if (!emitters.isEmpty()) {
+                return false;
+            }
+            if (pending.size() >= capacity) {
+                pending.pollFirst();
+            }
+            pending.addLast(response);
+            return true;
+        }
+
+        void removeEmitter(SseEmitter emitter) {
+            emitters.remove(emitter);
+        }
+
+        List<SseEmitter> emitters() {
+            return emitters;
+        }
+
+        boolean isConnected() {
+            return !emitters.isEmpty();
+        }
+    }
+}
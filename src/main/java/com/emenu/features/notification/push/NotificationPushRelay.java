@@ -0,0 +1,83 @@
+package com.emenu.features.notification.push;
+
+import com.emenu.features.notification.dto.resposne.NotificationResponse;
+import com.emenu.features.notification.mapper.NotificationMapper;
+import com.emenu.features.notification.models.Notification;
+import com.emenu.features.notification.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delivers notifications created on other instances to the streams open on this one. Each poll reads
+ * the ids created since the previous poll, less an overlap for clock skew and slow commits, keeps those
+ * whose recipient has a mailbox here that has not delivered them, and loads only those rows.
+ * A row committed later than the overlap is missed here and recovered by the client's next catch-up.
+ */
+@Component
+@Slf4j
+public class NotificationPushRelay {
+
+    private static final String RECENT_SQL =
+            "SELECT id, user_id FROM notifications WHERE created_at > ? AND is_deleted = false";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationRepository notificationRepository;
+    private final NotificationMapper notificationMapper;
+    private final NotificationPushRegistry notificationPushRegistry;
+    private final Duration overlap;
+    private volatile LocalDateTime lastPollStartedAt = LocalDateTime.now();
+
+    public NotificationPushRelay(JdbcTemplate jdbcTemplate,
+                                 NotificationRepository notificationRepository,
+                                 NotificationMapper notificationMapper,
+                                 NotificationPushRegistry notificationPushRegistry,
+                                 @Value("${app.notification.push.relay.overlap-seconds:30}") long overlapSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notificationRepository = notificationRepository;
+        this.notificationMapper = notificationMapper;
+        this.notificationPushRegistry = notificationPushRegistry;
+        this.overlap = Duration.ofSeconds(overlapSeconds);
+    }
+
+    /**
+     * Push notifications this instance has not delivered yet; returns the number pushed
+     */
+    @Transactional(readOnly = true)
+    public int relayRecent() {
+        LocalDateTime started = LocalDateTime.now();
+        if (notificationPushRegistry.mailboxCount() == 0) {
+            lastPollStartedAt = started;
+            return 0;
+        }
+
+        List<UUID> undelivered = new ArrayList<>();
+        jdbcTemplate.query(RECENT_SQL, rs -> {
+            UUID id = rs.getObject("id", UUID.class);
+            if (notificationPushRegistry.awaitsDelivery(rs.getObject("user_id", UUID.class), id)) {
+                undelivered.add(id);
+            }
+        }, Timestamp.valueOf(lastPollStartedAt.minus(overlap)));
+        lastPollStartedAt = started;
+        if (undelivered.isEmpty()) {
+            return 0;
+        }
+
+        List<Notification> rows = new ArrayList<>(notificationRepository.findAllById(undelivered));
+        rows.sort(Comparator.comparing(Notification::getCreatedAt).thenComparing(Notification::getId));
+        List<NotificationResponse> responses = notificationMapper.toResponseList(rows);
+        notificationPushRegistry.publish(responses);
+        log.debug("Relayed {} notifications created on other instances", responses.size());
+        return responses.size();
+    }
+}
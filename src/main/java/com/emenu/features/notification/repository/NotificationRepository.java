@@ -34,6 +34,17 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.userId = :userId AND n.isRead = false AND n.isDeleted = false")
     long countUnreadByUserId(@Param("userId") UUID userId);
 
+    // ===== PUSH CATCH-UP (keyset after the last delivered notification) =====
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.isDeleted = false " +
+           "AND (n.createdAt > :createdAt OR (n.createdAt = :createdAt AND n.id > :id)) " +
+           "ORDER BY n.createdAt ASC, n.id ASC")
+    List<Notification> findByUserIdAfterCursor(
+        @Param("userId") UUID userId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") UUID id,
+        Pageable pageable
+    );
+
     // ===== SEEN STATUS QUERIES (For Badge Count) =====
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.userId = :userId AND n.isSeen = false AND n.isDeleted = false")
     long countUnseenByUserId(@Param("userId") UUID userId);
@@ -120,10 +131,6 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     );
 
     // ===== DELETE OPERATIONS =====
-    @Modifying
-    @Query("UPDATE Notification n SET n.isDeleted = true WHERE n.isRead = true AND n.readAt < :beforeDate")
-    int softDeleteOldReadNotifications(@Param("beforeDate") LocalDateTime beforeDate);
-
     @Modifying
     @Query("UPDATE Notification n SET n.isDeleted = true WHERE n.groupId = :groupId")
     int softDeleteGroupNotifications(@Param("groupId") UUID groupId);
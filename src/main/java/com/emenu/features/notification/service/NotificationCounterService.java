@@ -0,0 +1,38 @@
+package com.emenu.features.notification.service;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Maintained unread/unseen badge counts, so badge requests do not scan a user's notification history.
+ * The record methods join the caller's transaction; cached values are dropped once it commits.
+ */
+public interface NotificationCounterService {
+
+    long getUnreadCount(UUID userId);
+
+    long getUnseenCount(UUID userId);
+
+    /**
+     * One new unread and unseen notification per entry (a user may appear more than once)
+     */
+    void recordCreated(Collection<UUID> userIds);
+
+    void recordChange(UUID userId, int unreadDelta, int unseenDelta);
+
+    /**
+     * One removed notification per entry, for bulk deletes that are not tied to a single user
+     */
+    void recordRemoved(Collection<UUID> unreadUserIds, Collection<UUID> unseenUserIds);
+
+    void recordAllRead(UUID userId);
+
+    void recordAllSeen(UUID userId);
+
+    void recordAllDeleted(UUID userId);
+
+    /**
+     * Recompute every stored counter from the notifications table. Returns the number of counters corrected.
+     */
+    int reconcile();
+}
@@ -0,0 +1,14 @@
+package com.emenu.features.notification.service;
+
+/**
+ * Keeps the notifications table proportional to live data: expired rows are soft-deleted,
+ * and soft-deleted rows are purged (or archived) once their grace period has passed.
+ */
+public interface NotificationRetentionService {
+
+    RetentionReport applyRetention();
+
+    record RetentionReport(int softDeleted, int purged, long bytesReclaimed,
+                           long tableBytesBefore, long tableBytesAfter) {
+    }
+}
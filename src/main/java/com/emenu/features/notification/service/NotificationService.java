@@ -4,13 +4,27 @@ import com.emenu.features.notification.dto.filter.NotificationFilterRequest;
 import com.emenu.features.notification.dto.request.NotificationRequest;
 import com.emenu.features.notification.dto.resposne.NotificationResponse;
 import com.emenu.shared.dto.PaginationResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
 
 public interface NotificationService {
 
+    /**
+     * Send, or hold for a digest when the message type is coalesced (returns an empty list while held)
+     */
     List<NotificationResponse> sendNotification(NotificationRequest request);
+
+    /**
+     * Send immediately, bypassing digest coalescing
+     */
+    List<NotificationResponse> sendNotificationNow(NotificationRequest request);
+
+    /**
+     * Open a server-sent event stream for the current user, replaying anything after lastEventId
+     */
+    SseEmitter subscribe(UUID lastEventId);
     
     NotificationResponse getNotificationById(UUID notificationId);
     NotificationResponse getMyNotificationById(UUID notificationId);
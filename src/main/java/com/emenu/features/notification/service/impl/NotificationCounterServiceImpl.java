@@ -0,0 +1,223 @@
+package com.emenu.features.notification.service.impl;
+
+import com.emenu.features.notification.service.NotificationCounterService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Counters live in notification_counters and are cached per user.
+ * A missing row is seeded from a COUNT on first read; until then, changes for that user are no-ops.
+ * The cache only absorbs badge polling bursts: a write evicts the entry on its own instance, and
+ * other instances read the row again once their entry expires a few seconds later.
+ */
+@Service
+@Slf4j
+public class NotificationCounterServiceImpl implements NotificationCounterService {
+
+    private static final String SELECT_COUNTS_SQL =
+            "SELECT unread_count, unseen_count FROM notification_counters WHERE user_id = ?";
+
+    private static final String COUNT_NOTIFICATIONS_SQL =
+            "SELECT COUNT(*) FILTER (WHERE is_read = false) AS unread, " +
+            "COUNT(*) FILTER (WHERE is_seen = false) AS unseen " +
+            "FROM notifications WHERE user_id = ? AND is_deleted = false";
+
+    private static final String INSERT_COUNTS_SQL =
+            "INSERT INTO notification_counters (id, version, created_at, created_by, is_deleted, user_id, unread_count, unseen_count) " +
+            "VALUES (?, 0, ?, 'SYSTEM', false, ?, ?, ?) ON CONFLICT (user_id) DO NOTHING";
+
+    private static final String ADJUST_COUNTS_SQL =
+            "UPDATE notification_counters SET unread_count = GREATEST(unread_count + ?, 0), " +
+            "unseen_count = GREATEST(unseen_count + ?, 0), updated_at = ? WHERE user_id = ?";
+
+    private static final String CLEAR_UNREAD_SQL =
+            "UPDATE notification_counters SET unread_count = 0, updated_at = ? WHERE user_id = ?";
+
+    private static final String CLEAR_UNSEEN_SQL =
+            "UPDATE notification_counters SET unseen_count = 0, updated_at = ? WHERE user_id = ?";
+
+    private static final String CLEAR_ALL_SQL =
+            "UPDATE notification_counters SET unread_count = 0, unseen_count = 0, updated_at = ? WHERE user_id = ?";
+
+    private static final String NEXT_RECONCILE_BATCH_SQL =
+            "SELECT user_id FROM notification_counters WHERE user_id > ? ORDER BY user_id LIMIT ?";
+
+    // Rewrites only the counters that drifted within one user_id range
+    private static final String RECONCILE_RANGE_SQL =
+            "UPDATE notification_counters c SET unread_count = a.unread, unseen_count = a.unseen, updated_at = ? " +
+            "FROM (SELECT c2.user_id, " +
+            "             COUNT(n.id) FILTER (WHERE n.is_read = false) AS unread, " +
+            "             COUNT(n.id) FILTER (WHERE n.is_seen = false) AS unseen " +
+            "      FROM notification_counters c2 " +
+            "      LEFT JOIN notifications n ON n.user_id = c2.user_id AND n.is_deleted = false " +
+            "      WHERE c2.user_id > ? AND c2.user_id <= ? " +
+            "      GROUP BY c2.user_id) a " +
+            "WHERE c.user_id = a.user_id AND (c.unread_count <> a.unread OR c.unseen_count <> a.unseen) " +
+            "RETURNING c.user_id";
+
+    // PostgreSQL orders uuid by unsigned bytes, so the nil UUID sorts first
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<UUID, Counts> cache;
+    private final int reconcileBatchSize;
+
+    public NotificationCounterServiceImpl(JdbcTemplate jdbcTemplate,
+                                          @Value("${app.notification.counters.cache.maximum-size:10000}") long maximumSize,
+                                          @Value("${app.notification.counters.cache.expire-after-write-seconds:5}") long expireAfterWriteSeconds,
+                                          @Value("${app.notification.counters.reconcile.batch-size:500}") int reconcileBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .build();
+        this.reconcileBatchSize = reconcileBatchSize;
+    }
+
+    @Override
+    public long getUnreadCount(UUID userId) {
+        return cache.get(userId, this::load).unread();
+    }
+
+    @Override
+    public long getUnseenCount(UUID userId) {
+        return cache.get(userId, this::load).unseen();
+    }
+
+    @Override
+    public void recordCreated(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, Long> increments = userIds.stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(ADJUST_COUNTS_SQL, increments.entrySet(), increments.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getValue());
+            ps.setLong(2, entry.getValue());
+            ps.setTimestamp(3, now);
+            ps.setObject(4, entry.getKey());
+        });
+        evictAfterCommit(increments.keySet());
+    }
+
+    @Override
+    public void recordChange(UUID userId, int unreadDelta, int unseenDelta) {
+        if (unreadDelta == 0 && unseenDelta == 0) {
+            return;
+        }
+        jdbcTemplate.update(ADJUST_COUNTS_SQL, unreadDelta, unseenDelta, Timestamp.valueOf(LocalDateTime.now()), userId);
+        evictAfterCommit(Set.of(userId));
+    }
+
+    @Override
+    public void recordRemoved(Collection<UUID> unreadUserIds, Collection<UUID> unseenUserIds) {
+        Map<UUID, long[]> decrements = new HashMap<>();
+        unreadUserIds.forEach(userId -> decrements.computeIfAbsent(userId, id -> new long[2])[0]++);
+        unseenUserIds.forEach(userId -> decrements.computeIfAbsent(userId, id -> new long[2])[1]++);
+        if (decrements.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(ADJUST_COUNTS_SQL, decrements.entrySet(), decrements.size(), (ps, entry) -> {
+            ps.setLong(1, -entry.getValue()[0]);
+            ps.setLong(2, -entry.getValue()[1]);
+            ps.setTimestamp(3, now);
+            ps.setObject(4, entry.getKey());
+        });
+        evictAfterCommit(decrements.keySet());
+    }
+
+    @Override
+    public void recordAllRead(UUID userId) {
+        jdbcTemplate.update(CLEAR_UNREAD_SQL, Timestamp.valueOf(LocalDateTime.now()), userId);
+        evictAfterCommit(Set.of(userId));
+    }
+
+    @Override
+    public void recordAllSeen(UUID userId) {
+        jdbcTemplate.update(CLEAR_UNSEEN_SQL, Timestamp.valueOf(LocalDateTime.now()), userId);
+        evictAfterCommit(Set.of(userId));
+    }
+
+    @Override
+    public void recordAllDeleted(UUID userId) {
+        jdbcTemplate.update(CLEAR_ALL_SQL, Timestamp.valueOf(LocalDateTime.now()), userId);
+        evictAfterCommit(Set.of(userId));
+    }
+
+    /**
+     * Walks the counters in user_id order, one range per statement. A change committed while a range
+     * is being recomputed can be overwritten; the next run corrects it.
+     */
+    @Override
+    public int reconcile() {
+        UUID lastId = MIN_UUID;
+        int corrected = 0;
+
+        while (true) {
+            List<UUID> userIds = jdbcTemplate.queryForList(NEXT_RECONCILE_BATCH_SQL, UUID.class, lastId, reconcileBatchSize);
+            if (userIds.isEmpty()) {
+                break;
+            }
+
+            UUID upperId = userIds.get(userIds.size() - 1);
+            List<UUID> drifted = jdbcTemplate.queryForList(RECONCILE_RANGE_SQL, UUID.class,
+                    Timestamp.valueOf(LocalDateTime.now()), lastId, upperId);
+            cache.invalidateAll(drifted);
+            corrected += drifted.size();
+            lastId = upperId;
+
+            if (userIds.size() < reconcileBatchSize) {
+                break;
+            }
+        }
+        return corrected;
+    }
+
+    private Counts load(UUID userId) {
+        List<Counts> stored = jdbcTemplate.query(SELECT_COUNTS_SQL,
+                (rs, rowNum) -> new Counts(rs.getLong("unread_count"), rs.getLong("unseen_count")), userId);
+        if (!stored.isEmpty()) {
+            return stored.get(0);
+        }
+
+        // First badge request for this user: seed the counter from the notifications table
+        Counts actual = jdbcTemplate.queryForObject(COUNT_NOTIFICATIONS_SQL,
+                (rs, rowNum) -> new Counts(rs.getLong("unread"), rs.getLong("unseen")), userId);
+        jdbcTemplate.update(INSERT_COUNTS_SQL, UUID.randomUUID(), Timestamp.valueOf(LocalDateTime.now()),
+                userId, actual.unread(), actual.unseen());
+        return actual;
+    }
+
+    private void evictAfterCommit(Set<UUID> userIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(userIds);
+                }
+            });
+        } else {
+            cache.invalidateAll(userIds);
+        }
+    }
+
+    private record Counts(long unread, long unseen) {
+    }
+}
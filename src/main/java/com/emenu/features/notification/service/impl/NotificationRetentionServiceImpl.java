@@ -0,0 +1,210 @@
+package com.emenu.features.notification.service.impl;
+
+import com.emenu.enums.notification.MessageType;
+import com.emenu.features.notification.config.NotificationRetentionProperties;
+import com.emenu.features.notification.service.NotificationCounterService;
+import com.emenu.features.notification.service.NotificationRetentionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Chunked retention for notifications. Every chunk runs in its own transaction and
+ * keeps the badge counters in step with the rows it removes from view.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationRetentionServiceImpl implements NotificationRetentionService {
+
+    private static final String SOFT_DELETE_EXPIRED_SQL =
+            "UPDATE notifications SET is_deleted = true, deleted_at = ?, deleted_by = 'SYSTEM' " +
+            "WHERE id IN (SELECT id FROM notifications " +
+            "             WHERE is_deleted = false AND message_type = ? AND created_at < ? LIMIT ?) " +
+            "RETURNING user_id, is_read, is_seen";
+
+    private static final String SOFT_DELETE_READ_SQL =
+            "UPDATE notifications SET is_deleted = true, deleted_at = ?, deleted_by = 'SYSTEM' " +
+            "WHERE id IN (SELECT id FROM notifications " +
+            "             WHERE is_deleted = false AND is_read = true AND read_at < ? LIMIT ?) " +
+            "RETURNING user_id, is_read, is_seen";
+
+    // Bulk soft deletes elsewhere only set is_deleted, so fall back to the last write time
+    private static final String PURGE_CANDIDATE_CONDITION =
+            "is_deleted = true AND COALESCE(deleted_at, updated_at, created_at) < ?";
+
+    private static final String NEXT_PURGE_BATCH_SQL =
+            "SELECT id FROM notifications WHERE " + PURGE_CANDIDATE_CONDITION + " AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String PURGE_RANGE_SQL =
+            "DELETE FROM notifications n WHERE " + PURGE_CANDIDATE_CONDITION + " AND n.id > ? AND n.id <= ? " +
+            "RETURNING pg_column_size(n.*)";
+
+    // Named columns, so the archive keeps working when notifications gains or reorders columns
+    private static final String ARCHIVED_COLUMNS =
+            "id, version, created_at, updated_at, created_by, updated_by, is_deleted, deleted_at, deleted_by, " +
+            "title, message, message_type, priority, status, recipient_type, user_id, user_name, business_id, " +
+            "group_id, is_seen, seen_at, is_read, read_at";
+
+    private static final String ARCHIVE_RANGE_SQL =
+            "WITH moved AS (DELETE FROM notifications n WHERE " + PURGE_CANDIDATE_CONDITION +
+            " AND n.id > ? AND n.id <= ? RETURNING n.*), " +
+            "archived AS (INSERT INTO %s (" + ARCHIVED_COLUMNS + ") SELECT " + ARCHIVED_COLUMNS + " FROM moved) " +
+            "SELECT pg_column_size(moved.*) FROM moved";
+
+    private static final String TABLE_SIZE_SQL = "SELECT pg_total_relation_size('notifications')";
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[a-z_][a-z0-9_]*(\\.[a-z_][a-z0-9_]*)?");
+
+    // PostgreSQL orders uuid by unsigned bytes, so the nil UUID sorts first
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationCounterService notificationCounterService;
+    private final NotificationRetentionProperties properties;
+
+    @Override
+    public RetentionReport applyRetention() {
+        long tableBytesBefore = tableSize();
+        LocalDateTime now = LocalDateTime.now();
+
+        int softDeleted = 0;
+        for (MessageType type : MessageType.values()) {
+            int ttlDays = properties.ttlDaysFor(type);
+            if (ttlDays > 0) {
+                softDeleted += softDeleteExpired(type, now.minusDays(ttlDays), now);
+            }
+        }
+        if (properties.getReadTtlDays() > 0) {
+            softDeleted += softDeleteRead(now.minusDays(properties.getReadTtlDays()), now);
+        }
+
+        long[] purged = purgeDeleted(now.minusDays(properties.getPurgeGraceDays()));
+
+        RetentionReport report = new RetentionReport(softDeleted, (int) purged[0], purged[1],
+                tableBytesBefore, tableSize());
+        log.info("Notification retention - Soft-deleted: {}, {}: {} rows / {} bytes, Table size: {} -> {} bytes",
+                report.softDeleted(), properties.getPurgeMode(), report.purged(), report.bytesReclaimed(),
+                report.tableBytesBefore(), report.tableBytesAfter());
+        return report;
+    }
+
+    private int softDeleteExpired(MessageType type, LocalDateTime cutoff, LocalDateTime now) {
+        int total = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            int deleted = softDeleteChunk(SOFT_DELETE_EXPIRED_SQL,
+                    Timestamp.valueOf(now), type.name(), Timestamp.valueOf(cutoff), properties.getBatchSize());
+            total += deleted;
+            if (deleted < properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Soft-deleted {} expired {} notifications", total, type);
+        }
+        return total;
+    }
+
+    private int softDeleteRead(LocalDateTime cutoff, LocalDateTime now) {
+        int total = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            int deleted = softDeleteChunk(SOFT_DELETE_READ_SQL,
+                    Timestamp.valueOf(now), Timestamp.valueOf(cutoff), properties.getBatchSize());
+            total += deleted;
+            if (deleted < properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Soft-deleted {} read notifications", total);
+        }
+        return total;
+    }
+
+    private int softDeleteChunk(String sql, Object... args) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<UUID> unreadUserIds = new ArrayList<>();
+            List<UUID> unseenUserIds = new ArrayList<>();
+            int[] rows = {0};
+            jdbcTemplate.query(sql, rs -> {
+                UUID userId = rs.getObject("user_id", UUID.class);
+                if (!rs.getBoolean("is_read")) {
+                    unreadUserIds.add(userId);
+                }
+                if (!rs.getBoolean("is_seen")) {
+                    unseenUserIds.add(userId);
+                }
+                rows[0]++;
+            }, args);
+            notificationCounterService.recordRemoved(unreadUserIds, unseenUserIds);
+            return rows[0];
+        });
+        return deleted != null ? deleted : 0;
+    }
+
+    /**
+     * Walks purge candidates in id order, one id range per transaction. Returns {rows, bytes}.
+     */
+    private long[] purgeDeleted(LocalDateTime cutoff) {
+        String rangeSql = PURGE_RANGE_SQL;
+        if (properties.getPurgeMode() == NotificationRetentionProperties.PurgeMode.ARCHIVE) {
+            rangeSql = String.format(ARCHIVE_RANGE_SQL, ensureArchiveTable());
+        }
+
+        Timestamp cutoffTimestamp = Timestamp.valueOf(cutoff);
+        UUID lastId = MIN_UUID;
+        long rows = 0;
+        long bytes = 0;
+
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            List<UUID> ids = jdbcTemplate.queryForList(NEXT_PURGE_BATCH_SQL, UUID.class,
+                    cutoffTimestamp, lastId, properties.getBatchSize());
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            UUID upperId = ids.get(ids.size() - 1);
+            String sql = rangeSql;
+            UUID lowerId = lastId;
+            List<Long> rowSizes = transactionTemplate.execute(status ->
+                    jdbcTemplate.queryForList(sql, Long.class, cutoffTimestamp, lowerId, upperId));
+            if (rowSizes != null) {
+                rows += rowSizes.size();
+                bytes += rowSizes.stream().mapToLong(Long::longValue).sum();
+            }
+            lastId = upperId;
+
+            if (ids.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+        return new long[]{rows, bytes};
+    }
+
+    private String ensureArchiveTable() {
+        String table = properties.getArchiveTable();
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalStateException("Invalid notification archive table: " + table);
+        }
+        if (table.contains(".")) {
+            jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + table.substring(0, table.indexOf('.')));
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + " (LIKE notifications INCLUDING DEFAULTS)");
+        return table;
+    }
+
+    private long tableSize() {
+        Long size = jdbcTemplate.queryForObject(TABLE_SIZE_SQL, Long.class);
+        return size != null ? size : 0L;
+    }
+}
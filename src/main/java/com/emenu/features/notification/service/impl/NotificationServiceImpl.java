@@ -6,13 +6,17 @@ import com.emenu.enums.user.RoleEnum;
 import com.emenu.exception.custom.ValidationException;
 import com.emenu.features.auth.models.User;
 import com.emenu.features.auth.repository.UserRepository;
+import com.emenu.features.notification.broadcast.NotificationBroadcastWriter;
+import com.emenu.features.notification.digest.NotificationDigestBuffer;
 import com.emenu.features.notification.dto.filter.NotificationFilterRequest;
 import com.emenu.features.notification.dto.request.NotificationRequest;
 import com.emenu.features.notification.dto.resposne.NotificationResponse;
 import com.emenu.features.notification.factory.NotificationFactory;
 import com.emenu.features.notification.mapper.NotificationMapper;
 import com.emenu.features.notification.models.Notification;
+import com.emenu.features.notification.push.NotificationPushRegistry;
 import com.emenu.features.notification.repository.NotificationRepository;
+import com.emenu.features.notification.service.NotificationCounterService;
 import com.emenu.features.notification.service.NotificationService;
 import com.emenu.security.SecurityUtils;
 import com.emenu.shared.dto.PaginationResponse;
@@ -20,13 +24,18 @@ import com.emenu.shared.pagination.PaginationUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -36,20 +45,42 @@ import java.util.stream.Collectors;
 @Transactional
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final int CATCH_UP_LIMIT = 100;
+
     private final NotificationRepository notificationRepository;
     private final NotificationMapper notificationMapper;
     private final NotificationFactory notificationFactory;
     private final SecurityUtils securityUtils;
     private final UserRepository userRepository;
     private final com.emenu.shared.mapper.PaginationMapper paginationMapper;
+    private final NotificationBroadcastWriter notificationBroadcastWriter;
+    private final NotificationCounterService notificationCounterService;
+    private final NotificationPushRegistry notificationPushRegistry;
+    private final NotificationDigestBuffer notificationDigestBuffer;
     
     // ===== CREATE =====
     @Override
     public List<NotificationResponse> sendNotification(NotificationRequest request) {
+        // Bursty types are merged per recipient; NotificationDigestScheduler sends the digest when the window closes
+        if (notificationDigestBuffer.supports(request)) {
+            Optional<NotificationRequest> digest = notificationDigestBuffer.add(request);
+            if (digest.isEmpty()) {
+                log.info("Notification held for digest - Type: {}, Recipient: {}",
+                    request.getMessageType(), request.getRecipientType());
+                return List.of();
+            }
+            return sendNotificationNow(digest.get());
+        }
+        return sendNotificationNow(request);
+    }
+    
+    @Override
+    public List<NotificationResponse> sendNotificationNow(NotificationRequest request) {
         log.info("Sending notification - Type: {}, Recipient: {}", 
             request.getMessageType(), request.getRecipientType());
         
         List<Notification> notifications = new ArrayList<>();
+        Notification broadcast = null;
         UUID groupId = UUID.randomUUID();
         
         // Route based on recipient type
@@ -69,7 +100,7 @@ public class NotificationServiceImpl implements NotificationService {
                 break;
                 
             case ALL_USERS:
-                notifications.addAll(createAllUsersNotifications(request, groupId));
+                broadcast = createAllUsersBroadcast(request, groupId);
                 break;
                 
             default:
@@ -78,17 +109,25 @@ public class NotificationServiceImpl implements NotificationService {
         
         // Save all notifications
         List<Notification> saved = notificationRepository.saveAll(notifications);
+        notificationCounterService.recordCreated(saved.stream().map(Notification::getUserId).toList());
         
         // Send system copy if requested
         if (Boolean.TRUE.equals(request.getSendSystemCopy()) && 
             request.getRecipientType() != NotificationRecipientType.SYSTEM_OWNER_GROUP) {
-            sendSystemCopies(notifications.get(0), groupId);
+            sendSystemCopies(broadcast != null ? broadcast : notifications.get(0), groupId);
+        }
+        
+        if (broadcast != null) {
+            // Per-user rows are written and pushed in the background; return the message itself
+            return List.of(notificationMapper.toResponse(broadcast));
         }
         
         log.info("Notification sent to {} recipients", saved.size());
-        return saved.stream()
+        List<NotificationResponse> responses = saved.stream()
                 .map(notificationMapper::toResponse)
                 .collect(Collectors.toList());
+        afterCommit(() -> notificationPushRegistry.publish(responses));
+        return responses;
     }
     
     // ===== VALIDATION =====
@@ -167,26 +206,28 @@ public class NotificationServiceImpl implements NotificationService {
     }
     
     // ===== CREATE ALL USERS =====
-    private List<Notification> createAllUsersNotifications(NotificationRequest request, UUID groupId) {
-        List<User> allUsers = userRepository.findAllActiveUsers();
+    /**
+     * Record the broadcast job with the request and let NotificationBroadcastWriter write the recipient
+     * rows after commit, so the request does not grow with the number of users.
+     */
+    private Notification createAllUsersBroadcast(NotificationRequest request, UUID groupId) {
+        Notification broadcast = notificationFactory.createAllUsersNotification(
+            request.getTitle(),
+            request.getMessage(),
+            request.getMessageType(),
+            null,
+            null,
+            request.getPriority(),
+            groupId
+        );
+        broadcast.setBusinessId(request.getBusinessId());
         
-        if (allUsers.isEmpty()) {
-            log.warn("No active users found");
-            return List.of();
-        }
+        String createdBy = Optional.ofNullable(securityUtils.getCurrentUserIdentifier()).orElse("SYSTEM");
+        notificationBroadcastWriter.enqueue(broadcast, createdBy);
+        afterCommit(() -> notificationBroadcastWriter.broadcastToActiveUsers(groupId));
         
-        log.info("Creating notifications for ALL {} users", allUsers.size());
-        return allUsers.stream()
-                .map(user -> notificationFactory.createAllUsersNotification(
-                    request.getTitle(),
-                    request.getMessage(),
-                    request.getMessageType(),
-                    user.getId(),
-                    user.getFullName(),
-                    request.getPriority(),
-                    groupId
-                ))
-                .collect(Collectors.toList());
+        log.info("Broadcast {} queued for all active users", groupId);
+        return broadcast;
     }
     
     // ===== SYSTEM COPY =====
@@ -203,9 +244,57 @@ public class NotificationServiceImpl implements NotificationService {
                 .collect(Collectors.toList());
         
         notificationRepository.saveAll(systemCopies);
+        notificationCounterService.recordCreated(systemCopies.stream().map(Notification::getUserId).toList());
+        List<NotificationResponse> responses = notificationMapper.toResponseList(systemCopies);
+        afterCommit(() -> notificationPushRegistry.publish(responses));
         log.info("System copy sent to {} owners", systemCopies.size());
     }
     
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    // ===== PUSH =====
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter subscribe(UUID lastEventId) {
+        User currentUser = securityUtils.getCurrentUser();
+        
+        // Catch up from the last event the client received, oldest first
+        List<NotificationResponse> catchUp = List.of();
+        String resetReason = null;
+        if (lastEventId != null) {
+            // One extra row tells a full catch-up from a truncated one
+            Optional<List<Notification>> missed = notificationRepository.findById(lastEventId)
+                    .filter(cursor -> cursor.getUserId().equals(currentUser.getId()))
+                    .map(cursor -> notificationRepository.findByUserIdAfterCursor(
+                            currentUser.getId(),
+                            cursor.getCreatedAt(),
+                            cursor.getId(),
+                            PageRequest.of(0, CATCH_UP_LIMIT + 1)));
+            if (missed.isEmpty()) {
+                resetReason = "LAST_EVENT_NOT_FOUND";
+            } else if (missed.get().size() > CATCH_UP_LIMIT) {
+                resetReason = "CATCH_UP_TRUNCATED";
+            } else {
+                catchUp = notificationMapper.toResponseList(missed.get());
+            }
+        }
+        
+        log.info("Opening notification stream for user: {} ({} catch-up, reset: {})",
+                currentUser.getId(), catchUp.size(), resetReason);
+        return notificationPushRegistry.subscribe(currentUser.getId(), catchUp, resetReason);
+    }
+    
     // ===== READ =====
     @Override
     @Transactional(readOnly = true)
@@ -292,18 +381,17 @@ public class NotificationServiceImpl implements NotificationService {
         return notificationMapper.toPaginationResponse(notificationPage, paginationMapper);
     }
 
+    // Not read-only: the first request for a user seeds its counter row
     @Override
-    @Transactional(readOnly = true)
     public long getUnreadCount() {
         User currentUser = securityUtils.getCurrentUser();
-        return notificationRepository.countUnreadByUserId(currentUser.getId());
+        return notificationCounterService.getUnreadCount(currentUser.getId());
     }
     
     @Override
-    @Transactional(readOnly = true)
     public long getUnseenCount() {
         User currentUser = securityUtils.getCurrentUser();
-        return notificationRepository.countUnseenByUserId(currentUser.getId());
+        return notificationCounterService.getUnseenCount(currentUser.getId());
     }
     
     // ===== UPDATE (Self notifications only) =====
@@ -314,6 +402,7 @@ public class NotificationServiceImpl implements NotificationService {
                 currentUser.getId(),
                 LocalDateTime.now()
         );
+        notificationCounterService.recordAllSeen(currentUser.getId());
         log.info("Marked {} notifications as SEEN (badge cleared) for user: {}", updated, currentUser.getId());
         return updated;
     }
@@ -326,8 +415,10 @@ public class NotificationServiceImpl implements NotificationService {
                 .orElseThrow(() -> new ValidationException("Notification not found"));
         
         if (!notification.getIsRead()) {
+            boolean wasSeen = notification.getIsSeen();
             notification.markAsRead();
             notification = notificationRepository.save(notification);
+            notificationCounterService.recordChange(currentUser.getId(), -1, wasSeen ? 0 : -1);
             log.info("Notification marked as read: {}", notificationId);
         }
         
@@ -342,6 +433,7 @@ public class NotificationServiceImpl implements NotificationService {
                 LocalDateTime.now(),
                 MessageStatus.READ
         );
+        notificationCounterService.recordAllRead(currentUser.getId());
         log.info("Marked {} notifications as read for user: {}", updated, currentUser.getId());
         return updated;
     }
@@ -357,6 +449,9 @@ public class NotificationServiceImpl implements NotificationService {
         
         notification.softDelete();
         notification = notificationRepository.save(notification);
+        notificationCounterService.recordChange(currentUser.getId(),
+                notification.getIsRead() ? 0 : -1,
+                notification.getIsSeen() ? 0 : -1);
         log.info("Notification deleted: {}", notificationId);
         return notificationMapper.toResponse(notification);
     }
@@ -367,6 +462,7 @@ public class NotificationServiceImpl implements NotificationService {
         
         // Use efficient bulk update query
         int deleted = notificationRepository.softDeleteAllUserNotifications(currentUser.getId());
+        notificationCounterService.recordAllDeleted(currentUser.getId());
         
         log.info("Deleted {} notifications for user: {}", deleted, currentUser.getId());
         return deleted;
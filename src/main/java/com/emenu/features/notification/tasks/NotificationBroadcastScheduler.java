@@ -0,0 +1,46 @@
+package com.emenu.features.notification.tasks;
+
+import com.emenu.features.notification.broadcast.NotificationBroadcastWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(value = "app.notification.broadcast.resume.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationBroadcastScheduler {
+
+    private final NotificationBroadcastWriter notificationBroadcastWriter;
+    private final long stalledAfterSeconds;
+
+    public NotificationBroadcastScheduler(NotificationBroadcastWriter notificationBroadcastWriter,
+                                          @Value("${app.notification.broadcast.resume.stalled-after-seconds:120}") long stalledAfterSeconds) {
+        this.notificationBroadcastWriter = notificationBroadcastWriter;
+        this.stalledAfterSeconds = stalledAfterSeconds;
+    }
+
+    /**
+     * Resume broadcasts whose writer died (restart, crash) before reaching the last recipient
+     */
+    @Scheduled(fixedDelayString = "${app.notification.broadcast.resume.interval-ms:60000}",
+            initialDelayString = "${app.notification.broadcast.resume.initial-delay-ms:30000}")
+    public void resumeStalledBroadcasts() {
+        try {
+            List<UUID> stalled = notificationBroadcastWriter.findStalledJobs(
+                    LocalDateTime.now().minusSeconds(stalledAfterSeconds));
+            if (stalled.isEmpty()) {
+                return;
+            }
+            log.info("Resuming {} stalled notification broadcasts", stalled.size());
+            stalled.forEach(notificationBroadcastWriter::broadcastToActiveUsers);
+        } catch (Exception e) {
+            log.error("Failed to resume stalled notification broadcasts", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.emenu.features.notification.tasks;
+
+import com.emenu.features.notification.service.NotificationCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(value = "app.notification.counters.reconcile.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationCounterScheduler {
+
+    private final NotificationCounterService notificationCounterService;
+
+    /**
+     * Correct badge counters that drifted from the notifications table (bulk updates, races)
+     */
+    @Scheduled(cron = "${app.notification.counters.reconcile.cron:0 0 4 * * ?}")
+    public void reconcileCounters() {
+        log.info("Starting scheduled notification counter reconcile");
+
+        try {
+            int corrected = notificationCounterService.reconcile();
+            if (corrected > 0) {
+                log.info("Corrected {} notification counters", corrected);
+            } else {
+                log.debug("All notification counters are in sync");
+            }
+        } catch (Exception e) {
+            log.error("Failed to execute scheduled notification counter reconcile", e);
+        }
+    }
+}
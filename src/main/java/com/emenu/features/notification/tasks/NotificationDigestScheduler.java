@@ -0,0 +1,83 @@
+package com.emenu.features.notification.tasks;
+
+import com.emenu.features.notification.digest.NotificationDigestBuffer;
+import com.emenu.features.notification.dto.request.NotificationRequest;
+import com.emenu.features.notification.service.NotificationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the digest flush on its own thread: the shared @Scheduled thread also runs the nightly
+ * sweeps, and a held notification must not wait behind them.
+ */
+@Component
+@Slf4j
+public class NotificationDigestScheduler {
+
+    private final NotificationDigestBuffer notificationDigestBuffer;
+    private final NotificationService notificationService;
+    private final long flushIntervalMs;
+    private ScheduledExecutorService executor;
+
+    public NotificationDigestScheduler(NotificationDigestBuffer notificationDigestBuffer,
+                                       NotificationService notificationService,
+                                       @Value("${app.notification.digest.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.notificationDigestBuffer = notificationDigestBuffer;
+        this.notificationService = notificationService;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-digest");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushDueDigests, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Send the digests whose window has closed
+     */
+    public void flushDueDigests() {
+        try {
+            send(notificationDigestBuffer.drainDue());
+        } catch (Exception e) {
+            log.error("Failed to flush due notification digests", e);
+        }
+    }
+
+    /**
+     * Stop the flush thread, then send everything still held
+     */
+    @PreDestroy
+    public void flushOnShutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        List<NotificationRequest> pending = notificationDigestBuffer.drainAll();
+        if (!pending.isEmpty()) {
+            log.info("Sending {} pending notification digests on shutdown", pending.size());
+            send(pending);
+        }
+    }
+
+    private void send(List<NotificationRequest> digests) {
+        for (NotificationRequest digest : digests) {
+            try {
+                notificationService.sendNotificationNow(digest);
+            } catch (Exception e) {
+                log.error("Failed to send notification digest - Type: {}, Recipient: {}",
+                        digest.getMessageType(), digest.getRecipientType(), e);
+            }
+        }
+    }
+}
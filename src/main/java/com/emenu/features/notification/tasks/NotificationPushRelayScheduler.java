@@ -0,0 +1,60 @@
+package com.emenu.features.notification.tasks;
+
+import com.emenu.features.notification.push.NotificationPushRelay;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the cross-instance push relay on its own thread: the shared @Scheduled thread also runs the
+ * nightly sweeps, and a stream must not go quiet behind them.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(value = "app.notification.push.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationPushRelayScheduler {
+
+    private final NotificationPushRelay notificationPushRelay;
+    private final long intervalMs;
+    private ScheduledExecutorService executor;
+
+    public NotificationPushRelayScheduler(NotificationPushRelay notificationPushRelay,
+                                          @Value("${app.notification.push.relay.interval-ms:2000}") long intervalMs) {
+        this.notificationPushRelay = notificationPushRelay;
+        this.intervalMs = intervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-push-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::relayNotifications, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Push notifications created on other instances to the streams open here
+     */
+    public void relayNotifications() {
+        try {
+            notificationPushRelay.relayRecent();
+        } catch (Exception e) {
+            log.error("Failed to relay notifications to open streams", e);
+        }
+    }
+}
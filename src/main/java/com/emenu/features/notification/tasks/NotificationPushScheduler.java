@@ -0,0 +1,36 @@
+package com.emenu.features.notification.tasks;
+
+import com.emenu.features.notification.push.NotificationPushRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationPushScheduler {
+
+    private final NotificationPushRegistry notificationPushRegistry;
+
+    /**
+     * Heartbeat open notification streams so proxies keep them open and dead clients are dropped
+     */
+    @Scheduled(fixedDelayString = "${app.notification.push.heartbeat-interval-ms:25000}")
+    public void sendHeartbeats() {
+        try {
+            int connected = notificationPushRegistry.sendHeartbeats();
+            log.debug("Notification streams open: {}", connected);
+        } catch (Exception e) {
+            log.error("Failed to send notification stream heartbeats", e);
+        }
+    }
+
+    /**
+     * Log push registry statistics every hour for monitoring
+     */
+    @Scheduled(fixedRate = 3600000) // Every hour
+    public void logPushStats() {
+        log.info("Notification push monitoring - Mailboxes: {}", notificationPushRegistry.mailboxCount());
+    }
+}
@@ -0,0 +1,31 @@
+package com.emenu.features.notification.tasks;
+
+import com.emenu.features.notification.service.NotificationRetentionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(value = "app.notification.retention.enabled", havingValue = "true", matchIfMissing = false)
+public class NotificationRetentionScheduler {
+
+    private final NotificationRetentionService notificationRetentionService;
+
+    /**
+     * Expire and purge old notifications every night
+     */
+    @Scheduled(cron = "${app.notification.retention.cron:0 30 3 * * ?}")
+    public void applyRetention() {
+        log.info("Starting scheduled notification retention");
+
+        try {
+            notificationRetentionService.applyRetention();
+        } catch (Exception e) {
+            log.error("Failed to execute scheduled notification retention", e);
+        }
+    }
+}
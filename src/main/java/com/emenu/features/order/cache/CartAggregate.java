@@ -0,0 +1,229 @@
+package com.emenu.features.order.cache;
+
+import com.emenu.features.auth.models.Business;
+import com.emenu.features.order.models.Cart;
+import com.emenu.features.order.models.CartItem;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of one user's cart for one business.
+ * Items are detached CartItem instances holding the product/size snapshot they were loaded with;
+ * quantity changes are applied here first and written back by CartWriteBehindWriter.
+ * All mutators are synchronized on the aggregate.
+ */
+public class CartAggregate {
+
+    @Getter
+    private final CartKey key;
+
+    @Getter
+    private final UUID cartId;
+
+    @Getter
+    private final String businessName;
+
+    // carts.items_version the items were loaded at; every flush must find the row still at this value
+    private long itemsVersion;
+
+    // Insertion ordered so the response keeps the order items were added in
+    private final Map<UUID, CartItem> items = new LinkedHashMap<>();
+
+    // Pending write-behind changes, drained by the writer
+    private final Set<UUID> dirtyItemIds = new HashSet<>();
+    private final Set<UUID> deletedItemIds = new HashSet<>();
+
+    public CartAggregate(CartKey key, UUID cartId, String businessName, long itemsVersion, Collection<CartItem> loadedItems) {
+        this.key = key;
+        this.cartId = cartId;
+        this.businessName = businessName;
+        this.itemsVersion = itemsVersion;
+        if (loadedItems != null) {
+            loadedItems.forEach(item -> items.put(item.getId(), snapshotOf(item)));
+        }
+    }
+
+    public synchronized Optional<CartItem> findItem(UUID productId, UUID productSizeId) {
+        return items.values().stream()
+                .filter(item -> item.getProductId().equals(productId)
+                        && Objects.equals(item.getProductSizeId(), productSizeId))
+                .findFirst();
+    }
+
+    public synchronized Optional<CartItem> findItemById(UUID cartItemId) {
+        return Optional.ofNullable(items.get(cartItemId));
+    }
+
+    public synchronized void addItem(CartItem item) {
+        item.setId(UUID.randomUUID());
+        item.setCartId(cartId);
+        item.setCreatedAt(LocalDateTime.now());
+        item.setUpdatedAt(item.getCreatedAt());
+        items.put(item.getId(), item);
+        dirtyItemIds.add(item.getId());
+    }
+
+    public synchronized void updateQuantity(CartItem item, int quantity, String updatedBy) {
+        item.setQuantity(quantity);
+        item.setUpdatedAt(LocalDateTime.now());
+        item.setUpdatedBy(updatedBy);
+        dirtyItemIds.add(item.getId());
+    }
+
+    public synchronized void removeItem(UUID cartItemId) {
+        if (items.remove(cartItemId) != null) {
+            dirtyItemIds.remove(cartItemId);
+            deletedItemIds.add(cartItemId);
+        }
+    }
+
+    public synchronized int clear() {
+        int removed = items.size();
+        new ArrayList<>(items.keySet()).forEach(this::removeItem);
+        return removed;
+    }
+
+    public synchronized boolean hasPendingChanges() {
+        return !dirtyItemIds.isEmpty() || !deletedItemIds.isEmpty();
+    }
+
+    public synchronized boolean containsProduct(UUID productId) {
+        return items.values().stream().anyMatch(item -> item.getProductId().equals(productId));
+    }
+
+    public synchronized Map<UUID, Integer> getQuantitiesByProduct() {
+        Map<UUID, Integer> quantities = new HashMap<>();
+        items.values().stream()
+                .filter(CartAggregate::isDisplayable)
+                .forEach(item -> quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+        return quantities;
+    }
+
+    public synchronized long countAvailableItems() {
+        return items.values().stream()
+                .filter(CartAggregate::isDisplayable)
+                .mapToLong(CartItem::getQuantity)
+                .sum();
+    }
+
+    /**
+     * Build a transient Cart for CartMapper with the available items only.
+     * The item list is a copy, so later mutations do not leak into it.
+     */
+    public synchronized Cart toCart() {
+        Cart cart = new Cart();
+        cart.setId(cartId);
+        cart.setUserId(key.userId());
+        cart.setBusinessId(key.businessId());
+        if (businessName != null) {
+            Business business = new Business();
+            business.setName(businessName);
+            cart.setBusiness(business);
+        }
+        cart.setItems(items.values().stream()
+                .filter(CartAggregate::isDisplayable)
+                .collect(Collectors.toCollection(ArrayList::new)));
+        return cart;
+    }
+
+    /**
+     * Take the pending changes out of the aggregate. Upserts carry copies of the item state at drain time.
+     */
+    public synchronized PendingChanges drainChanges() {
+        List<CartItem> upserts = dirtyItemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(CartAggregate::snapshotOf)
+                .toList();
+        List<UUID> deletes = List.copyOf(deletedItemIds);
+        dirtyItemIds.clear();
+        deletedItemIds.clear();
+        return new PendingChanges(key, cartId, itemsVersion, upserts, deletes);
+    }
+
+    /**
+     * Record that drained changes were written, which moved the cart row one items version on
+     */
+    public synchronized void changesWritten(PendingChanges changes) {
+        if (itemsVersion == changes.itemsVersion()) {
+            itemsVersion++;
+        }
+    }
+
+    /**
+     * Put back changes that failed to persist, without overriding anything newer
+     */
+    public synchronized void restoreChanges(PendingChanges changes) {
+        changes.upserts().forEach(item -> {
+            if (items.containsKey(item.getId())) {
+                dirtyItemIds.add(item.getId());
+            }
+        });
+        changes.deletes().forEach(id -> {
+            if (!items.containsKey(id)) {
+                deletedItemIds.add(id);
+            }
+        });
+    }
+
+    private static boolean isDisplayable(CartItem item) {
+        if (!item.isAvailable()) {
+            return false;
+        }
+        return item.getProductSizeId() == null
+                || (item.getProductSize() != null && !item.getProductSize().getIsDeleted());
+    }
+
+    /**
+     * Detached copy of an item, so the aggregate never holds entities managed by a persistence context
+     */
+    private static CartItem snapshotOf(CartItem item) {
+        CartItem copy = new CartItem(item.getCartId(), item.getProductId(), item.getProductSizeId(), item.getQuantity());
+        copy.setId(item.getId());
+        copy.setProduct(item.getProduct());
+        copy.setProductSize(item.getProductSize());
+        copy.setCreatedAt(item.getCreatedAt());
+        copy.setCreatedBy(item.getCreatedBy());
+        copy.setUpdatedAt(item.getUpdatedAt());
+        copy.setUpdatedBy(item.getUpdatedBy());
+        return copy;
+    }
+
+    /**
+     * Copy of the items before a mutation, so the mutation can be undone when its transaction rolls back
+     */
+    public synchronized Checkpoint checkpoint() {
+        Map<UUID, CartItem> copy = new LinkedHashMap<>();
+        items.forEach((id, item) -> copy.put(id, snapshotOf(item)));
+        return new Checkpoint(copy);
+    }
+
+    /**
+     * Go back to the checkpointed items. Every restored item is rewritten and every item added since is
+     * deleted, because part of the undone change may already have been flushed.
+     */
+    public synchronized void restore(Checkpoint checkpoint) {
+        Set<UUID> added = new HashSet<>(items.keySet());
+        added.removeAll(checkpoint.items().keySet());
+
+        items.clear();
+        checkpoint.items().forEach((id, item) -> items.put(id, snapshotOf(item)));
+
+        dirtyItemIds.clear();
+        dirtyItemIds.addAll(items.keySet());
+        deletedItemIds.removeAll(items.keySet());
+        deletedItemIds.addAll(added);
+    }
+
+    public record Checkpoint(Map<UUID, CartItem> items) {
+    }
+
+    public record PendingChanges(CartKey key, UUID cartId, long itemsVersion, List<CartItem> upserts, List<UUID> deletes) {
+        public boolean isEmpty() {
+            return upserts.isEmpty() && deletes.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.emenu.features.order.cache;
+
+import com.emenu.exception.custom.BusinessValidationException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of cart aggregates with coalesced write-behind.
+ * Mutated aggregates are registered as dirty and flushed together by CartWriteBehindScheduler;
+ * the dirty registry keeps an aggregate reachable until it is flushed even if the cache evicts it.
+ * Entries also expire a few minutes after loading, so the product and price snapshots they hold are
+ * refreshed even when the product change was made on another instance.
+ * <p>
+ * Each instance caches its own aggregates, so a cart edited through two instances has two copies.
+ * Flushes carry the cart's items version and CartWriteBehindWriter rejects a copy loaded before the
+ * other instance's last write; the rejected copy is dropped and reloaded, losing its buffered edits
+ * rather than overwriting newer rows. Checkout on one instance cannot flush edits still buffered on
+ * another, so those are lost too once that instance's flush is rejected.
+ */
+@Component
+@Slf4j
+public class CartAggregateCache {
+
+    private final CartWriteBehindWriter writer;
+    private final Cache<CartKey, CartAggregate> cache;
+    private final Map<CartKey, CartAggregate> dirty = new ConcurrentHashMap<>();
+    // One flush per cart at a time; completed when that flush has committed or put its changes back
+    private final Map<CartKey, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    public CartAggregateCache(CartWriteBehindWriter writer,
+                              @Value("${app.cart.cache.maximum-size:10000}") long maximumSize,
+                              @Value("${app.cart.cache.expire-after-access-minutes:30}") long expireAfterAccessMinutes,
+                              @Value("${app.cart.cache.expire-after-write-minutes:5}") long expireAfterWriteMinutes) {
+        this.writer = writer;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccessMinutes, TimeUnit.MINUTES)
+                .expireAfterWrite(expireAfterWriteMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<CartAggregate> getIfPresent(CartKey key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    /**
+     * Return the cached aggregate or load it. Pending writes of a previously evicted aggregate
+     * for the same key are flushed first so the loader never reads stale rows.
+     */
+    public CartAggregate get(CartKey key, Function<CartKey, CartAggregate> loader) {
+        return cache.get(key, k -> {
+            // Stale changes are dropped here; the loader reads what the other instance wrote
+            flushOne(k);
+            return loader.apply(k);
+        });
+    }
+
+    public void put(CartAggregate aggregate) {
+        cache.put(aggregate.getKey(), aggregate);
+    }
+
+    public void markDirty(CartAggregate aggregate) {
+        dirty.put(aggregate.getKey(), aggregate);
+    }
+
+    /**
+     * Drop one cart without flushing it, for an aggregate whose creating transaction rolled back or
+     * whose items were replaced by the caller
+     */
+    public void discard(CartKey key) {
+        dirty.remove(key);
+        cache.invalidate(key);
+    }
+
+    /**
+     * Synchronously persist the pending changes of one cart (checkout path); fails when the write fails.
+     * A flush of the same cart already running, e.g. on the write-behind thread, is waited for first,
+     * so every change made before this call is committed when it returns.
+     *
+     * @throws BusinessValidationException when the cart's items were changed on another instance since it was loaded
+     */
+    public void flush(CartKey key) {
+        if (flushOne(key)) {
+            cache.invalidate(key);
+            throw new BusinessValidationException("Your cart was changed on another device; please review it and try again");
+        }
+    }
+
+    /**
+     * Persist every dirty aggregate in one batch. When the batch fails the carts are retried one by one,
+     * so a single bad cart is kept for the next flush without holding back everyone else's. A cart
+     * whose flush is already running elsewhere is left for the next round.
+     */
+    public int flushAll() {
+        Map<CartKey, CartAggregate> aggregates = new HashMap<>();
+        Map<CartKey, CompletableFuture<Void>> claims = new HashMap<>();
+        Set<CartKey> stale = new HashSet<>();
+        try {
+            for (CartKey key : List.copyOf(dirty.keySet())) {
+                CompletableFuture<Void> claim = new CompletableFuture<>();
+                if (inFlight.putIfAbsent(key, claim) != null) {
+                    continue;
+                }
+                claims.put(key, claim);
+                CartAggregate aggregate = dirty.remove(key);
+                if (aggregate != null) {
+                    aggregates.put(key, aggregate);
+                }
+            }
+            List<CartAggregate.PendingChanges> batch = aggregates.values().stream()
+                    .map(CartAggregate::drainChanges)
+                    .filter(changes -> !changes.isEmpty())
+                    .toList();
+            if (batch.isEmpty()) {
+                return aggregates.size();
+            }
+
+            try {
+                stale.addAll(writer.write(batch));
+                batch.forEach(changes -> written(aggregates.get(changes.key()), changes, stale));
+            } catch (Exception e) {
+                log.warn("Failed to flush {} carts in one batch, retrying cart by cart: {}", batch.size(), e.getMessage());
+                for (CartAggregate.PendingChanges changes : batch) {
+                    try {
+                        stale.addAll(writer.write(List.of(changes)));
+                        written(aggregates.get(changes.key()), changes, stale);
+                    } catch (Exception cartFailure) {
+                        log.error("Failed to flush cart {}, keeping changes for the next flush: {}",
+                                changes.key(), cartFailure.getMessage());
+                        restore(aggregates.get(changes.key()), changes);
+                    }
+                }
+            }
+            return aggregates.size();
+        } finally {
+            claims.forEach(this::release);
+            // Only after release: a loader blocked on one of these keys is itself waiting for its claim
+            stale.forEach(cache::invalidate);
+        }
+    }
+
+    /**
+     * Flush and drop one cart, so the next access reloads it from the database
+     */
+    public void invalidate(CartKey key) {
+        flushOne(key);
+        cache.invalidate(key);
+    }
+
+    /**
+     * Flush and drop every cached cart that holds the given product
+     */
+    public int invalidateCartsContaining(UUID productId) {
+        List<CartKey> keys = cache.asMap().values().stream()
+                .filter(aggregate -> aggregate.containsProduct(productId))
+                .map(CartAggregate::getKey)
+                .toList();
+        keys.forEach(this::invalidate);
+        return keys.size();
+    }
+
+    /**
+     * Flush and drop every cached cart
+     */
+    public void invalidateAll() {
+        flushAll();
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public int dirtyCount() {
+        return dirty.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flushAll();
+        if (flushed > 0) {
+            log.info("Flushed {} pending carts on shutdown", flushed);
+        }
+    }
+
+    /**
+     * Flush one cart while holding its in-flight claim; returns true when its changes were rejected as stale.
+     * Does not touch the cache, so it can run inside the cache loader of the same key.
+     */
+    private boolean flushOne(CartKey key) {
+        while (true) {
+            CompletableFuture<Void> claim = new CompletableFuture<>();
+            CompletableFuture<Void> running = inFlight.putIfAbsent(key, claim);
+            if (running != null) {
+                // Wait and look again: the running flush may have put failed changes back as dirty
+                running.join();
+                continue;
+            }
+            try {
+                CartAggregate aggregate = dirty.remove(key);
+                if (aggregate == null) {
+                    return false;
+                }
+                CartAggregate.PendingChanges changes = aggregate.drainChanges();
+                if (changes.isEmpty()) {
+                    return false;
+                }
+                Set<CartKey> stale;
+                try {
+                    stale = writer.write(List.of(changes));
+                } catch (Exception e) {
+                    restore(aggregate, changes);
+                    throw e;
+                }
+                written(aggregate, changes, stale);
+                return !stale.isEmpty();
+            } finally {
+                release(key, claim);
+            }
+        }
+    }
+
+    private void written(CartAggregate aggregate, CartAggregate.PendingChanges changes, Set<CartKey> stale) {
+        if (stale.contains(changes.key())) {
+            // Changes made after this drain belong to the same stale aggregate and are dropped with it
+            dirty.remove(changes.key(), aggregate);
+            log.warn("Discarded changes of cart {}: its items were changed on another instance since it was loaded",
+                    changes.key());
+        } else {
+            aggregate.changesWritten(changes);
+        }
+    }
+
+    private void release(CartKey key, CompletableFuture<Void> claim) {
+        inFlight.remove(key, claim);
+        claim.complete(null);
+    }
+
+    private void restore(CartAggregate aggregate, CartAggregate.PendingChanges changes) {
+        aggregate.restoreChanges(changes);
+        markDirty(aggregate);
+    }
+}
@@ -0,0 +1,9 @@
+package com.emenu.features.order.cache;
+
+import java.util.UUID;
+
+/**
+ * Identifies one cart: a user's cart is scoped to a single business
+ */
+public record CartKey(UUID userId, UUID businessId) {
+}
@@ -0,0 +1,91 @@
+package com.emenu.features.order.cache;
+
+import com.emenu.features.order.models.CartItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Persists drained cart aggregate changes with batched JDBC statements.
+ * Runs in its own transaction so a checkout flush is committed before the order reads the cart.
+ * <p>
+ * Each cart's items version is moved on first, expecting the value its aggregate was loaded at. A cart
+ * whose items were written since (by another instance, or by a checkout) is stale: its changes are not
+ * written and its key is returned, so a stale aggregate can neither bring back deleted lines nor add a
+ * second line for a product.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CartWriteBehindWriter {
+
+    private static final String UPSERT_ITEM_SQL =
+            "INSERT INTO cart_items (id, version, created_at, created_by, updated_at, updated_by, is_deleted, " +
+            "cart_id, product_id, product_size_id, quantity) " +
+            "VALUES (?, 0, ?, ?, ?, ?, false, ?, ?, ?, ?) " +
+            "ON CONFLICT (id) DO UPDATE SET quantity = EXCLUDED.quantity, updated_at = EXCLUDED.updated_at, " +
+            "updated_by = EXCLUDED.updated_by, version = cart_items.version + 1";
+
+    private static final String DELETE_ITEM_SQL = "DELETE FROM cart_items WHERE id = ?";
+
+    private static final String CLAIM_CART_SQL =
+            "UPDATE carts SET items_version = COALESCE(items_version, 0) + 1 " +
+            "WHERE id = ? AND COALESCE(items_version, 0) = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Write the changes of every cart still at its expected items version; returns the stale carts
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Set<CartKey> write(List<CartAggregate.PendingChanges> batch) {
+        int[][] claimed = jdbcTemplate.batchUpdate(CLAIM_CART_SQL, batch, batch.size(), (ps, changes) -> {
+            ps.setObject(1, changes.cartId());
+            ps.setLong(2, changes.itemsVersion());
+        });
+        Set<CartKey> stale = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (claimed[0][i] == 0) {
+                stale.add(batch.get(i).key());
+            }
+        }
+        List<CartAggregate.PendingChanges> current = batch.stream()
+                .filter(changes -> !stale.contains(changes.key()))
+                .toList();
+
+        List<CartItem> upserts = current.stream().flatMap(changes -> changes.upserts().stream()).toList();
+        List<UUID> deletes = current.stream().flatMap(changes -> changes.deletes().stream()).toList();
+
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_ITEM_SQL, upserts, upserts.size(), (ps, item) -> {
+                ps.setObject(1, item.getId());
+                ps.setTimestamp(2, Timestamp.valueOf(item.getCreatedAt()));
+                ps.setString(3, item.getCreatedBy());
+                ps.setTimestamp(4, Timestamp.valueOf(item.getUpdatedAt()));
+                ps.setString(5, item.getUpdatedBy());
+                ps.setObject(6, item.getCartId());
+                ps.setObject(7, item.getProductId());
+                ps.setObject(8, item.getProductSizeId());
+                ps.setInt(9, item.getQuantity());
+            });
+        }
+
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_ITEM_SQL, deletes, deletes.size(),
+                    (ps, id) -> ps.setObject(1, id));
+        }
+
+        log.debug("Flushed {} carts: {} item upserts, {} item deletes, {} stale", current.size(),
+                upserts.size(), deletes.size(), stale.size());
+        return stale;
+    }
+}
@@ -1,6 +1,7 @@
 package com.emenu.features.order.controller;
 
 import com.emenu.features.auth.models.User;
+import com.emenu.features.order.dto.request.CartBatchRequest;
 import com.emenu.features.order.dto.request.CartItemRequest;
 import com.emenu.features.order.dto.response.CartResponse;
 import com.emenu.features.order.dto.update.CartUpdateRequest;
@@ -59,6 +60,23 @@ public class CartController {
         return ResponseEntity.ok(ApiResponse.success(message, cart));
     }
 
+    /**
+     * POST - Apply several item changes in one request
+     * Each entry works like POST /add: quantity is the new quantity, 0 removes the item
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<CartResponse>> addToCartBatch(
+            @RequestParam UUID businessId,
+            @Valid @RequestBody CartBatchRequest request) {
+        
+        log.info("Applying {} cart item changes for business: {}", request.getItems().size(), businessId);
+        
+        User currentUser = securityUtils.getCurrentUser();
+        CartResponse cart = cartService.addToCartBatch(currentUser.getId(), businessId, request.getItems());
+        
+        return ResponseEntity.ok(ApiResponse.success("Cart updated successfully", cart));
+    }
+
     /**
      * PUT - Update cart item quantity
      */
@@ -0,0 +1,17 @@
+package com.emenu.features.order.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CartBatchRequest {
+
+    // Same semantics as POST /add for each entry: quantity is the new quantity, 0 removes the item
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 100, message = "Cannot change more than 100 items at once")
+    private List<@Valid CartItemRequest> items;
+}
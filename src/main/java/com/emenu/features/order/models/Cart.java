@@ -49,6 +49,11 @@ public class Cart extends BaseUUIDEntity {
     @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private List<CartItem> items;
 
+    // Moved on by every write of the cart's items, so a flush from a cart aggregate loaded on another
+    // instance before that write is rejected (see CartWriteBehindWriter); null counts as 0
+    @Column(name = "items_version")
+    private Long itemsVersion;
+
     // Business Methods
     public BigDecimal getSubtotal() {
         if (items == null || items.isEmpty()) {
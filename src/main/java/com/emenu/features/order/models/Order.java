@@ -42,6 +42,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Order extends BaseUUIDEntity {
 
+    // A partitioned orders table cannot carry this key; migration_partition_orders.sql enforces it through order_numbers
     @Column(name = "order_number", nullable = false, unique = true)
     private String orderNumber; // Generated unique order number
 
@@ -34,7 +34,8 @@ public class OrderItem extends BaseUUIDEntity {
     private UUID orderId;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "order_id", insertable = false, updatable = false)
+    @JoinColumn(name = "order_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT)) // orders may be partitioned by created_at
     private Order order;
 
     @Column(name = "product_id", nullable = false)
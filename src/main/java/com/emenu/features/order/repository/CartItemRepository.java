@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,22 +24,39 @@ public interface CartItemRepository extends JpaRepository<CartItem, UUID> {
                                                           @Param("productId") UUID productId, 
                                                           @Param("productSizeId") UUID productSizeId);
     
-    // HARD DELETE methods - these will permanently remove cart items
+    // HARD DELETE methods - these will permanently remove cart items, at most batchSize rows per call
     @Modifying
-    @Query("DELETE FROM CartItem ci WHERE ci.productId IN (SELECT p.id FROM Product p WHERE p.isDeleted = true)")
-    int deleteCartItemsForDeletedProducts();
+    @Query(value = "DELETE FROM cart_items WHERE id IN (" +
+            "SELECT ci.id FROM cart_items ci JOIN products p ON p.id = ci.product_id " +
+            "WHERE p.is_deleted = true LIMIT :batchSize)", nativeQuery = true)
+    int deleteCartItemsForDeletedProducts(@Param("batchSize") int batchSize);
 
     @Modifying
-    @Query("DELETE FROM CartItem ci WHERE ci.productId IN (SELECT p.id FROM Product p WHERE p.status != 'ACTIVE')")
-    int deleteCartItemsForInactiveProducts();
+    @Query(value = "DELETE FROM cart_items WHERE id IN (" +
+            "SELECT ci.id FROM cart_items ci JOIN products p ON p.id = ci.product_id " +
+            "WHERE p.status <> 'ACTIVE' LIMIT :batchSize)", nativeQuery = true)
+    int deleteCartItemsForInactiveProducts(@Param("batchSize") int batchSize);
 
     @Modifying
-    @Query("DELETE FROM CartItem ci WHERE ci.productSizeId IN (SELECT ps.id FROM ProductSize ps WHERE ps.isDeleted = true)")
-    int deleteCartItemsForDeletedProductSizes();
+    @Query(value = "DELETE FROM cart_items WHERE id IN (" +
+            "SELECT ci.id FROM cart_items ci JOIN product_sizes ps ON ps.id = ci.product_size_id " +
+            "WHERE ps.is_deleted = true LIMIT :batchSize)", nativeQuery = true)
+    int deleteCartItemsForDeletedProductSizes(@Param("batchSize") int batchSize);
 
     @Modifying
-    @Query("DELETE FROM CartItem ci WHERE ci.createdAt < :cutoffDate")
-    int deleteOldCartItems(@Param("cutoffDate") LocalDateTime cutoffDate);
+    @Query(value = "DELETE FROM cart_items WHERE id IN (" +
+            "SELECT ci.id FROM cart_items ci " +
+            "WHERE COALESCE(ci.updated_at, ci.created_at) < :cutoffDate LIMIT :batchSize)", nativeQuery = true)
+    int deleteOldCartItems(@Param("cutoffDate") LocalDateTime cutoffDate, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.productId = :productId")
+    int deleteByProductId(@Param("productId") UUID productId);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.productId = :productId AND ci.productSizeId IN :productSizeIds")
+    int deleteByProductIdAndProductSizeIdIn(@Param("productId") UUID productId,
+                                            @Param("productSizeIds") Collection<UUID> productSizeIds);
 
     @Query("SELECT COUNT(ci) FROM CartItem ci WHERE ci.isDeleted = false")
     long countActiveCartItems();
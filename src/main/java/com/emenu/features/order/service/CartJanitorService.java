@@ -0,0 +1,20 @@
+package com.emenu.features.order.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+public interface CartJanitorService {
+
+    int deleteItemsForDeletedProducts(int batchSize);
+
+    int deleteItemsForInactiveProducts(int batchSize);
+
+    int deleteItemsForDeletedProductSizes(int batchSize);
+
+    int deleteStaleItems(LocalDateTime cutoffDate, int batchSize);
+
+    int deleteItemsForProduct(UUID productId);
+
+    int deleteItemsForProductSizes(UUID productId, Collection<UUID> productSizeIds);
+}
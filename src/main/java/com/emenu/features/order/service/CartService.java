@@ -4,6 +4,7 @@ import com.emenu.features.order.dto.request.CartItemRequest;
 import com.emenu.features.order.dto.response.CartResponse;
 import com.emenu.features.order.dto.update.CartUpdateRequest;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface CartService {
@@ -18,6 +19,11 @@ public interface CartService {
      */
     CartResponse addToCart(UUID userId, UUID businessId, CartItemRequest request);
     
+    /**
+     * POST - Apply several item changes at once and return the cart once
+     */
+    CartResponse addToCartBatch(UUID userId, UUID businessId, List<CartItemRequest> requests);
+    
     /**
      * PUT - Update cart item quantity
      */
@@ -37,4 +43,14 @@ public interface CartService {
      * GET - Get cart items count
      */
     Long getCartItemsCount(UUID userId, UUID businessId);
+    
+    /**
+     * Persist pending cart changes immediately (checkout)
+     */
+    void flushCart(UUID userId, UUID businessId);
+    
+    /**
+     * Drop the cached cart and its buffered edits so the next access reloads it from the database
+     */
+    void evictCart(UUID userId, UUID businessId);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.emenu.features.order.service;
+
+import java.time.LocalDate;
+
+public interface OrderPartitionService {
+
+    boolean isPartitioningInstalled();
+
+    int ensureFuturePartitions(int monthsAhead);
+
+    int archivePartitionsBefore(LocalDate cutoffMonth, String archiveSchema);
+}
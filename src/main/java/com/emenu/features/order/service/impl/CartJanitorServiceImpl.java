@@ -0,0 +1,64 @@
+package com.emenu.features.order.service.impl;
+
+import com.emenu.features.order.repository.CartItemRepository;
+import com.emenu.features.order.service.CartJanitorService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Set-based cart item cleanup. Each call deletes one chunk in its own transaction,
+ * so a large sweep never holds locks on the whole cart_items table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(propagation = Propagation.REQUIRES_NEW)
+public class CartJanitorServiceImpl implements CartJanitorService {
+
+    private final CartItemRepository cartItemRepository;
+
+    @Override
+    public int deleteItemsForDeletedProducts(int batchSize) {
+        return cartItemRepository.deleteCartItemsForDeletedProducts(batchSize);
+    }
+
+    @Override
+    public int deleteItemsForInactiveProducts(int batchSize) {
+        return cartItemRepository.deleteCartItemsForInactiveProducts(batchSize);
+    }
+
+    @Override
+    public int deleteItemsForDeletedProductSizes(int batchSize) {
+        return cartItemRepository.deleteCartItemsForDeletedProductSizes(batchSize);
+    }
+
+    @Override
+    public int deleteStaleItems(LocalDateTime cutoffDate, int batchSize) {
+        return cartItemRepository.deleteOldCartItems(cutoffDate, batchSize);
+    }
+
+    @Override
+    public int deleteItemsForProduct(UUID productId) {
+        int deleted = cartItemRepository.deleteByProductId(productId);
+        if (deleted > 0) {
+            log.info("Deleted {} cart items for deactivated product: {}", deleted, productId);
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteItemsForProductSizes(UUID productId, Collection<UUID> productSizeIds) {
+        int deleted = cartItemRepository.deleteByProductIdAndProductSizeIdIn(productId, productSizeIds);
+        if (deleted > 0) {
+            log.info("Deleted {} cart items for removed sizes of product: {}", deleted, productId);
+        }
+        return deleted;
+    }
+}
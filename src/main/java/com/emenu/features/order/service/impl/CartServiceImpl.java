@@ -2,26 +2,34 @@ package com.emenu.features.order.service.impl;
 
 import com.emenu.exception.custom.NotFoundException;
 import com.emenu.exception.custom.ValidationException;
+import com.emenu.features.auth.models.Business;
+import com.emenu.features.auth.repository.BusinessRepository;
+import com.emenu.features.order.cache.CartAggregate;
+import com.emenu.features.order.cache.CartAggregateCache;
+import com.emenu.features.order.cache.CartKey;
 import com.emenu.features.order.dto.request.CartItemRequest;
 import com.emenu.features.order.dto.response.CartResponse;
 import com.emenu.features.order.dto.update.CartUpdateRequest;
 import com.emenu.features.order.mapper.CartMapper;
 import com.emenu.features.order.models.Cart;
 import com.emenu.features.order.models.CartItem;
-import com.emenu.features.order.repository.CartItemRepository;
 import com.emenu.features.order.repository.CartRepository;
 import com.emenu.features.order.service.CartService;
 import com.emenu.features.product.models.Product;
 import com.emenu.features.product.models.ProductSize;
 import com.emenu.features.product.repository.ProductRepository;
 import com.emenu.features.product.repository.ProductSizeRepository;
+import com.emenu.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -30,27 +38,21 @@ import java.util.UUID;
 public class CartServiceImpl implements CartService {
 
     private final CartRepository cartRepository;
-    private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
     private final ProductSizeRepository productSizeRepository;
     private final CartMapper cartMapper;
+    private final CartAggregateCache cartAggregateCache;
+    private final BusinessRepository businessRepository;
+    private final SecurityUtils securityUtils;
 
     @Override
     @Transactional(readOnly = true)
     public CartResponse getCart(UUID userId, UUID businessId) {
         log.info("Getting cart for user: {} and business: {}", userId, businessId);
-        
-        Optional<Cart> cartOpt = cartRepository.findByUserIdAndBusinessIdWithItems(userId, businessId);
-        
-        if (cartOpt.isPresent()) {
-            Cart cart = cartOpt.get();
-            // Filter out unavailable items for display
-            filterUnavailableItems(cart);
-            return cartMapper.toResponse(cart);
-        }
-        
-        // Return empty cart response
-        return createEmptyCartResponse(userId, businessId);
+
+        return findAggregate(new CartKey(userId, businessId))
+                .map(cart -> cartMapper.toResponse(cart.toCart()))
+                .orElseGet(() -> createEmptyCartResponse(userId, businessId));
     }
 
     @Override
@@ -58,49 +60,21 @@ public class CartServiceImpl implements CartService {
         log.info("Adding item to cart - User: {}, Business: {}, Product: {}, Quantity: {}", 
                 userId, businessId, request.getProductId(), request.getQuantity());
 
-        // Validate product and get business ID from product
-        UUID productBusinessId = validateProductAndGetBusinessId(request.getProductId(), request.getProductSizeId());
-        
-        // Ensure product belongs to the specified business
-        if (!productBusinessId.equals(businessId)) {
-            throw new ValidationException("Product does not belong to the specified business");
-        }
-
-        // Get or create cart
-        Cart cart = getOrCreateCart(userId, businessId);
+        return applyItemChanges(userId, businessId, List.of(request));
+    }
 
-        // Check if item already exists in cart
-        Optional<CartItem> existingItem = cartItemRepository.findByCartIdAndProductIdAndSizeId(
-                cart.getId(), request.getProductId(), request.getProductSizeId());
+    @Override
+    public CartResponse addToCartBatch(UUID userId, UUID businessId, List<CartItemRequest> requests) {
+        log.info("Applying {} cart item changes - User: {}, Business: {}", requests.size(), userId, businessId);
 
-        if (existingItem.isPresent()) {
-            CartItem item = existingItem.get();
-            
-            if (request.getQuantity() == 0) {
-                // Remove item completely
-                cartItemRepository.delete(item);
-                log.info("Removed cart item: {} for user: {}", item.getId(), userId);
-            } else {
-                // Update quantity
-                item.setQuantity(request.getQuantity());
-                cartItemRepository.save(item);
-                log.info("Updated cart item quantity to: {} for user: {}", item.getQuantity(), userId);
-            }
-        } else {
-            // Create new item only if quantity > 0
-            if (request.getQuantity() > 0) {
-                CartItem newItem = new CartItem(
-                        cart.getId(),
-                        request.getProductId(),
-                        request.getProductSizeId(),
-                        request.getQuantity()
-                );
-                cartItemRepository.save(newItem);
-                log.info("Added new item to cart with quantity: {} for user: {}", newItem.getQuantity(), userId);
+        Set<String> seen = new HashSet<>();
+        for (CartItemRequest request : requests) {
+            if (!seen.add(request.getProductId() + ":" + request.getProductSizeId())) {
+                throw new ValidationException("Duplicate item in batch for product: " + request.getProductId());
             }
         }
 
-        return getCart(userId, businessId);
+        return applyItemChanges(userId, businessId, requests);
     }
 
     @Override
@@ -108,73 +82,77 @@ public class CartServiceImpl implements CartService {
         log.info("Updating cart item: {} to quantity: {} for user: {}", 
                 request.getCartItemId(), request.getQuantity(), userId);
 
-        CartItem cartItem = cartItemRepository.findByIdAndIsDeletedFalse(request.getCartItemId())
+        // The cart is keyed by the current user, so a found item always belongs to them
+        CartAggregate cart = findAggregate(new CartKey(userId, businessId))
+                .orElseThrow(() -> new NotFoundException("Cart item not found"));
+        CartItem cartItem = cart.findItemById(request.getCartItemId())
                 .orElseThrow(() -> new NotFoundException("Cart item not found"));
-
-        // Security check: Ensure cart item belongs to current user
-        Cart itemCart = cartItem.getCart();
-        if (!itemCart.getUserId().equals(userId)) {
-            throw new ValidationException("Cart item does not belong to current user");
-        }
 
         // Validate product is still available
-        validateProductAvailability(cartItem.getProductId(), cartItem.getProductSizeId());
+        validateCartItemAvailability(cartItem);
 
+        undoOnRollback(cart);
         if (request.getQuantity() == 0) {
             // Remove item completely
-            cartItemRepository.delete(cartItem);
+            cart.removeItem(cartItem.getId());
             log.info("Removed cart item: {} for user: {}", request.getCartItemId(), userId);
         } else {
             // Update quantity
-            cartItem.setQuantity(request.getQuantity());
-            cartItemRepository.save(cartItem);
+            cart.updateQuantity(cartItem, request.getQuantity(), securityUtils.getCurrentUserIdentifier());
             log.info("Updated cart item quantity to: {} for user: {}", request.getQuantity(), userId);
         }
 
-        return getCart(userId, businessId);
+        scheduleWriteBehind(cart);
+        return cartMapper.toResponse(cart.toCart());
     }
 
     @Override
     public CartResponse removeFromCart(UUID userId, UUID businessId, UUID cartItemId) {
         log.info("Removing cart item: {} for user: {}", cartItemId, userId);
 
-        CartItem cartItem = cartItemRepository.findByIdAndIsDeletedFalse(cartItemId)
+        CartAggregate cart = findAggregate(new CartKey(userId, businessId))
+                .orElseThrow(() -> new NotFoundException("Cart item not found"));
+        cart.findItemById(cartItemId)
                 .orElseThrow(() -> new NotFoundException("Cart item not found"));
-
-        // Security check: Ensure cart item belongs to current user
-        Cart itemCart = cartItem.getCart();
-        if (!itemCart.getUserId().equals(userId)) {
-            throw new ValidationException("Cart item does not belong to current user");
-        }
 
         // Remove item completely
-        cartItemRepository.delete(cartItem);
+        undoOnRollback(cart);
+        cart.removeItem(cartItemId);
         log.info("Removed cart item: {} for user: {}", cartItemId, userId);
 
-        return getCart(userId, businessId);
+        scheduleWriteBehind(cart);
+        return cartMapper.toResponse(cart.toCart());
     }
 
     @Override
     public CartResponse clearCart(UUID userId, UUID businessId) {
         log.info("Clearing cart for user: {} and business: {}", userId, businessId);
 
-        Optional<Cart> cartOpt = cartRepository.findByUserIdAndBusinessIdWithItems(userId, businessId);
-        if (cartOpt.isPresent()) {
-            Cart cart = cartOpt.get();
-            if (cart.getItems() != null && !cart.getItems().isEmpty()) {
-                // Remove all items from database
-                cartItemRepository.deleteAll(cart.getItems());
-                log.info("Cleared {} cart items for user: {}", cart.getItems().size(), userId);
-            }
+        Optional<CartAggregate> cartOpt = findAggregate(new CartKey(userId, businessId));
+        if (cartOpt.isEmpty()) {
+            return createEmptyCartResponse(userId, businessId);
+        }
+
+        CartAggregate cart = cartOpt.get();
+        undoOnRollback(cart);
+        int cleared = cart.clear();
+        if (cleared > 0) {
+            log.info("Cleared {} cart items for user: {}", cleared, userId);
         }
 
-        return getCart(userId, businessId);
+        scheduleWriteBehind(cart);
+        return cartMapper.toResponse(cart.toCart());
     }
 
     @Override
     @Transactional(readOnly = true)
     public Long getCartItemsCount(UUID userId, UUID businessId) {
         log.info("Getting cart items count for user: {} and business: {}", userId, businessId);
+
+        Optional<CartAggregate> cached = cartAggregateCache.getIfPresent(new CartKey(userId, businessId));
+        if (cached.isPresent()) {
+            return cached.get().countAvailableItems();
+        }
         
         try {
             Long count = cartRepository.countItemsByUserIdAndBusinessId(userId, businessId);
@@ -185,120 +163,260 @@ public class CartServiceImpl implements CartService {
         }
     }
 
+    @Override
+    public void flushCart(UUID userId, UUID businessId) {
+        cartAggregateCache.flush(new CartKey(userId, businessId));
+    }
+
+    @Override
+    public void evictCart(UUID userId, UUID businessId) {
+        CartKey key = new CartKey(userId, businessId);
+        // Not flushed: the caller moved the items version on, so buffered edits would be rejected anyway,
+        // and a flush here would wait for the cart row the caller's transaction has locked
+        cartAggregateCache.discard(key);
+
+        // Evict again once the caller's changes are visible, so a concurrent read cannot cache the old rows
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cartAggregateCache.discard(key);
+                }
+            });
+        }
+    }
+
     // ===== PRIVATE HELPER METHODS =====
 
-    private Cart getOrCreateCart(UUID userId, UUID businessId) {
-        Optional<Cart> existingCart = cartRepository.findByUserIdAndBusinessIdAndIsDeletedFalse(userId, businessId);
+    private Optional<CartAggregate> findAggregate(CartKey key) {
+        return Optional.ofNullable(cartAggregateCache.get(key, this::loadAggregate));
+    }
 
-        if (existingCart.isPresent()) {
-            return existingCart.get();
+    private CartAggregate loadAggregate(CartKey key) {
+        Optional<Cart> cartOpt = cartRepository.findByUserIdAndBusinessIdWithItems(key.userId(), key.businessId());
+        if (cartOpt.isEmpty()) {
+            return null;
         }
 
+        Cart cart = cartOpt.get();
+        String businessName = cart.getBusiness() != null ? cart.getBusiness().getName() : null;
+        // Unavailable items stay in the aggregate but are hidden from responses; CartJanitorScheduler deletes them
+        long itemsVersion = cart.getItemsVersion() != null ? cart.getItemsVersion() : 0L;
+        return new CartAggregate(key, cart.getId(), businessName, itemsVersion, cart.getItems());
+    }
+
+    private CartAggregate createAggregate(CartKey key) {
         // Create new cart
         Cart newCart = new Cart();
-        newCart.setUserId(userId);
-        newCart.setBusinessId(businessId);
+        newCart.setUserId(key.userId());
+        newCart.setBusinessId(key.businessId());
         Cart savedCart = cartRepository.save(newCart);
-        
-        log.info("Created new cart for user: {} and business: {}", userId, businessId);
-        return savedCart;
-    }
 
-    private UUID validateProductAndGetBusinessId(UUID productId, UUID productSizeId) {
-        if (productSizeId != null) {
-            // Product with size
-            ProductSize productSize = productSizeRepository.findById(productSizeId)
-                    .orElseThrow(() -> new NotFoundException("Product size not found"));
-
-            Product product = productSize.getProduct();
-            validateProductAvailability(product);
-            return product.getBusinessId();
-        } else {
-            // Product without size
-            Product product = productRepository.findByIdAndIsDeletedFalse(productId)
-                    .orElseThrow(() -> new NotFoundException("Product not found"));
-
-            validateProductAvailability(product);
-            return product.getBusinessId();
+        String businessName = businessRepository.findById(key.businessId())
+                .map(Business::getName)
+                .orElse(null);
+        CartAggregate aggregate = new CartAggregate(key, savedCart.getId(), businessName, 0L, List.of());
+        cartAggregateCache.put(aggregate);
+
+        // The cart row goes away with a rollback, so the aggregate must too
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        cartAggregateCache.discard(key);
+                    }
+                }
+            });
         }
+
+        log.info("Created new cart for user: {} and business: {}", key.userId(), key.businessId());
+        return aggregate;
     }
 
-    private void validateProductAvailability(UUID productId, UUID productSizeId) {
-        if (productSizeId != null) {
-            ProductSize productSize = productSizeRepository.findById(productSizeId)
-                    .orElseThrow(() -> new ValidationException("Product size no longer available"));
-            validateProductAvailability(productSize.getProduct());
+    /**
+     * Queue the aggregate for the next write-behind flush once the current transaction commits,
+     * so a newly created cart row is visible before its items are written
+     */
+    private void scheduleWriteBehind(CartAggregate cart) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cartAggregateCache.markDirty(cart);
+                }
+            });
         } else {
-            Product product = productRepository.findByIdAndIsDeletedFalse(productId)
-                    .orElseThrow(() -> new ValidationException("Product no longer available"));
-            validateProductAvailability(product);
+            cartAggregateCache.markDirty(cart);
         }
     }
 
-    private void validateProductAvailability(Product product) {
-        if (product == null) {
-            throw new ValidationException("Product not found");
-        }
-        if (product.getIsDeleted()) {
-            throw new ValidationException("Product has been removed");
-        }
-        if (!product.isActive()) {
-            throw new ValidationException("Product is no longer available");
+    /**
+     * Changes are applied to the cached aggregate before the transaction commits; put the items back
+     * when it rolls back. The restored aggregate is queued again since a flush may have run in between.
+     */
+    private void undoOnRollback(CartAggregate cart) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
         }
+        CartAggregate.Checkpoint checkpoint = cart.checkpoint();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    cart.restore(checkpoint);
+                    cartAggregateCache.markDirty(cart);
+                }
+            }
+        });
     }
 
-    private void filterUnavailableItems(Cart cart) {
-        if (cart.getItems() == null || cart.getItems().isEmpty()) {
-            return;
+    /**
+     * Validate every change before touching the cart, so a batch is applied all or nothing.
+     * Items already in the cart are checked from memory; the rest are loaded with one query per table.
+     */
+    private CartResponse applyItemChanges(UUID userId, UUID businessId, List<CartItemRequest> requests) {
+        CartKey key = new CartKey(userId, businessId);
+        CartAggregate existingCart = findAggregate(key).orElse(null);
+
+        List<CartItemRequest> newItems = new ArrayList<>();
+        for (CartItemRequest request : requests) {
+            Optional<CartItem> existingItem = existingCart != null
+                    ? existingCart.findItem(request.getProductId(), request.getProductSizeId())
+                    : Optional.empty();
+
+            if (existingItem.isEmpty()) {
+                newItems.add(request);
+            } else if (request.getQuantity() > 0) {
+                validateCartItemAvailability(existingItem.get());
+            }
         }
+        Map<UUID, ProductSelection> selections = resolveProducts(newItems, businessId);
 
-        // Collect unavailable items to delete from database
-        var unavailableItems = cart.getItems().stream()
-                .filter(item -> !isCartItemAvailable(item))
-                .toList();
+        boolean addsItems = newItems.stream().anyMatch(request -> request.getQuantity() > 0);
+        CartAggregate cart = existingCart == null && addsItems ? createAggregate(key) : existingCart;
+        if (cart == null) {
+            return createEmptyCartResponse(userId, businessId);
+        }
+        if (cart == existingCart) {
+            undoOnRollback(cart);
+        }
 
-        if (!unavailableItems.isEmpty()) {
-            // Hard delete unavailable items from database
-            cartItemRepository.deleteAll(unavailableItems);
-            log.info("Deleted {} unavailable cart items from database for cart: {}",
-                    unavailableItems.size(), cart.getId());
+        String currentUser = securityUtils.getCurrentUserIdentifier();
+        for (CartItemRequest request : requests) {
+            applyItemChange(cart, request, selections, currentUser);
         }
 
-        // Filter items to only include available ones for response
-        cart.getItems().removeIf(item -> !isCartItemAvailable(item));
+        scheduleWriteBehind(cart);
+        return cartMapper.toResponse(cart.toCart());
     }
 
-    private boolean isCartItemAvailable(CartItem cartItem) {
-        try {
-            Product product = cartItem.getProduct();
-            if (product == null) {
-                Optional<Product> productOpt = productRepository.findByIdAndIsDeletedFalse(cartItem.getProductId());
-                if (productOpt.isEmpty()) {
-                    return false;
-                }
-                product = productOpt.get();
+    private void applyItemChange(CartAggregate cart, CartItemRequest request,
+                                 Map<UUID, ProductSelection> selections, String currentUser) {
+        Optional<CartItem> existingItem = cart.findItem(request.getProductId(), request.getProductSizeId());
+
+        if (existingItem.isPresent()) {
+            CartItem item = existingItem.get();
+
+            if (request.getQuantity() == 0) {
+                // Remove item completely
+                cart.removeItem(item.getId());
+                log.info("Removed cart item: {} for user: {}", item.getId(), cart.getKey().userId());
+            } else {
+                // Update quantity
+                cart.updateQuantity(item, request.getQuantity(), currentUser);
+                log.info("Updated cart item quantity to: {} for user: {}", item.getQuantity(), cart.getKey().userId());
             }
-            
-            if (product.getIsDeleted() || !product.isActive()) {
-                return false;
+        } else if (request.getQuantity() > 0) {
+            // Create new item only if quantity > 0
+            ProductSelection selection = selections.get(selectionKey(request));
+
+            CartItem newItem = new CartItem(
+                    cart.getCartId(),
+                    request.getProductId(),
+                    request.getProductSizeId(),
+                    request.getQuantity()
+            );
+            newItem.setProduct(selection.product());
+            newItem.setProductSize(selection.productSize());
+            newItem.setCreatedBy(currentUser);
+            newItem.setUpdatedBy(currentUser);
+            cart.addItem(newItem);
+            log.info("Added new item to cart with quantity: {} for user: {}", newItem.getQuantity(), cart.getKey().userId());
+        }
+    }
+
+    private Map<UUID, ProductSelection> resolveProducts(List<CartItemRequest> requests, UUID businessId) {
+        if (requests.isEmpty()) {
+            return Map.of();
+        }
+
+        Set<UUID> sizeIds = new HashSet<>();
+        Set<UUID> productIds = new HashSet<>();
+        for (CartItemRequest request : requests) {
+            if (request.getProductSizeId() != null) {
+                sizeIds.add(request.getProductSizeId());
+            } else {
+                productIds.add(request.getProductId());
             }
+        }
 
-            if (cartItem.getProductSizeId() != null) {
-                ProductSize productSize = cartItem.getProductSize();
+        Map<UUID, ProductSize> sizes = sizeIds.isEmpty() ? Map.of() :
+                productSizeRepository.findAllByIdInWithProduct(sizeIds).stream()
+                        .collect(Collectors.toMap(ProductSize::getId, Function.identity()));
+        Map<UUID, Product> products = productIds.isEmpty() ? Map.of() :
+                productRepository.findAllByIdInAndIsDeletedFalse(productIds).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Map<UUID, ProductSelection> selections = new HashMap<>();
+        for (CartItemRequest request : requests) {
+            ProductSelection selection;
+            if (request.getProductSizeId() != null) {
+                // Product with size
+                ProductSize productSize = sizes.get(request.getProductSizeId());
                 if (productSize == null) {
-                    Optional<ProductSize> sizeOpt = productSizeRepository.findById(cartItem.getProductSizeId());
-                    if (sizeOpt.isEmpty()) {
-                        return false;
-                    }
-                    productSize = sizeOpt.get();
+                    throw new NotFoundException("Product size not found");
                 }
-                return !productSize.getIsDeleted();
+                selection = new ProductSelection(productSize.getProduct(), productSize);
+            } else {
+                // Product without size
+                Product product = products.get(request.getProductId());
+                if (product == null) {
+                    throw new NotFoundException("Product not found");
+                }
+                selection = new ProductSelection(product, null);
             }
 
-            return true;
-        } catch (Exception e) {
-            log.error("Error checking cart item availability for item {}: {}", cartItem.getId(), e.getMessage());
-            return false;
+            validateProductAvailability(selection.product());
+            if (!selection.product().getBusinessId().equals(businessId)) {
+                throw new ValidationException("Product does not belong to the specified business");
+            }
+            selections.put(selectionKey(request), selection);
+        }
+        return selections;
+    }
+
+    private UUID selectionKey(CartItemRequest request) {
+        return request.getProductSizeId() != null ? request.getProductSizeId() : request.getProductId();
+    }
+
+    private void validateCartItemAvailability(CartItem cartItem) {
+        if (cartItem.getProductSizeId() != null
+                && (cartItem.getProductSize() == null || cartItem.getProductSize().getIsDeleted())) {
+            throw new ValidationException("Product size no longer available");
+        }
+        validateProductAvailability(cartItem.getProduct());
+    }
+
+    private void validateProductAvailability(Product product) {
+        if (product == null) {
+            throw new ValidationException("Product not found");
+        }
+        if (product.getIsDeleted()) {
+            throw new ValidationException("Product has been removed");
+        }
+        if (!product.isActive()) {
+            throw new ValidationException("Product is no longer available");
         }
     }
 
@@ -310,4 +428,7 @@ public class CartServiceImpl implements CartService {
         emptyCart.setUnavailableItems(0);
         return emptyCart;
     }
+
+    private record ProductSelection(Product product, ProductSize productSize) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.emenu.features.order.service.impl;
+
+import com.emenu.features.order.service.OrderPartitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Maintains the monthly created_at partitions of the order tables.
+ * The partition DDL lives in the helper functions installed by migration_partition_orders.sql.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class OrderPartitionServiceImpl implements OrderPartitionService {
+
+    // Children first so an archived month never leaves orphaned items or payments behind in the live tables
+    private static final List<String> PARTITIONED_TABLES = List.of("order_items", "business_order_payments", "orders");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isPartitioningInstalled() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_partitioned_table pt " +
+                "JOIN pg_class c ON c.oid = pt.partrelid " +
+                "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                "WHERE n.nspname = 'public' AND c.relname = 'orders'",
+                Integer.class);
+        return count != null && count > 0;
+    }
+
+    @Override
+    public int ensureFuturePartitions(int monthsAhead) {
+        int created = 0;
+        for (String table : PARTITIONED_TABLES) {
+            Integer count = jdbcTemplate.queryForObject(
+                    "SELECT emenu_create_monthly_partitions(?, CURRENT_DATE, ?)",
+                    Integer.class, table, monthsAhead);
+            if (count != null && count > 0) {
+                log.info("Created {} monthly partitions for table: {}", count, table);
+                created += count;
+            }
+        }
+        return created;
+    }
+
+    @Override
+    public int archivePartitionsBefore(LocalDate cutoffMonth, String archiveSchema) {
+        int archived = 0;
+        for (String table : PARTITIONED_TABLES) {
+            Integer count = jdbcTemplate.queryForObject(
+                    "SELECT emenu_archive_partitions(?, ?, ?)",
+                    Integer.class, table, Date.valueOf(cutoffMonth.withDayOfMonth(1)), archiveSchema);
+            if (count != null && count > 0) {
+                log.info("Archived {} partitions of table {} into schema {}", count, table, archiveSchema);
+                archived += count;
+            }
+        }
+        return archived;
+    }
+}
@@ -15,6 +15,7 @@ import com.emenu.features.order.models.Order;
 import com.emenu.features.order.models.OrderItem;
 import com.emenu.features.order.repository.CartRepository;
 import com.emenu.features.order.repository.OrderRepository;
+import com.emenu.features.order.service.CartService;
 import com.emenu.features.order.service.OrderService;
 import com.emenu.features.order.specification.OrderSpecification;
 import com.emenu.features.payment.models.BusinessOrderPayment;
@@ -50,6 +51,7 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
     private final CartRepository cartRepository;
+    private final CartService cartService;
     private final ProductRepository productRepository;
     private final ProductSizeRepository productSizeRepository;
     private final BusinessOrderPaymentRepository paymentRepository;
@@ -66,6 +68,9 @@ public class OrderServiceImpl implements OrderService {
         
         User currentUser = securityUtils.getCurrentUser();
         
+        // Persist any cart changes still waiting for write-behind
+        cartService.flushCart(currentUser.getId(), request.getBusinessId());
+        
         // Get cart with items
         Cart cart = cartRepository.findByUserIdAndBusinessIdWithItems(currentUser.getId(), request.getBusinessId())
                 .orElseThrow(() -> new ValidationException("Cart is empty or not found"));
@@ -351,8 +356,11 @@ public class OrderServiceImpl implements OrderService {
                     if (cart.getItems() != null) {
                         cart.getItems().clear();
                     }
+                    // Cart aggregates cached on other instances must not write the ordered lines back
+                    cart.setItemsVersion((cart.getItemsVersion() != null ? cart.getItemsVersion() : 0L) + 1);
                     log.info("Cart cleared after order for customer: {} and business: {}", customerId, businessId);
                 });
+        cartService.evictCart(customerId, businessId);
     }
 
     private void validateUserBusinessAssociation(User user) {
@@ -84,6 +84,12 @@ public class OrderSpecification {
                 predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("confirmedAt"), filter.getConfirmedTo()));
             }
 
+            // An order is confirmed after it is created, so the confirmation bound also bounds createdAt
+            // and lets PostgreSQL prune the later monthly partitions of the orders table
+            if (filter.getConfirmedTo() != null && filter.getCreatedTo() == null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("createdAt"), filter.getConfirmedTo()));
+            }
+
             // Global search filter
             if (StringUtils.hasText(filter.getSearch())) {
                 String searchPattern = "%" + filter.getSearch().toLowerCase() + "%";
@@ -0,0 +1,104 @@
+package com.emenu.features.order.tasks;
+
+import com.emenu.features.order.cache.CartAggregateCache;
+import com.emenu.features.order.service.CartJanitorService;
+import com.emenu.features.product.event.ProductChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.function.IntUnaryOperator;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(value = "app.cart.janitor.enabled", havingValue = "true", matchIfMissing = true)
+public class CartJanitorScheduler {
+
+    private final CartJanitorService cartJanitorService;
+    private final CartAggregateCache cartAggregateCache;
+
+    @Value("${app.cart.janitor.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.cart.janitor.stale-after-days:30}")
+    private int staleAfterDays;
+
+    /**
+     * Remove cart items whose product or size can no longer be ordered, every 15 minutes
+     */
+    @Scheduled(cron = "0 */15 * * * ?")
+    public void sweepUnavailableItems() {
+        try {
+            // Pending write-behind changes go first so the sweep sees every live item
+            cartAggregateCache.flushAll();
+
+            int deleted = sweep(cartJanitorService::deleteItemsForDeletedProducts)
+                    + sweep(cartJanitorService::deleteItemsForInactiveProducts)
+                    + sweep(cartJanitorService::deleteItemsForDeletedProductSizes);
+
+            if (deleted > 0) {
+                cartAggregateCache.invalidateAll();
+                log.info("Cart janitor removed {} unavailable cart items", deleted);
+            } else {
+                log.debug("No unavailable cart items found for cleanup");
+            }
+        } catch (Exception e) {
+            log.error("Failed to execute scheduled cart janitor sweep", e);
+        }
+    }
+
+    /**
+     * Remove cart items untouched for staleAfterDays, every day at 3 AM
+     */
+    @Scheduled(cron = "0 0 3 * * ?")
+    public void sweepStaleItems() {
+        try {
+            cartAggregateCache.flushAll();
+
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(staleAfterDays);
+            int deleted = sweep(chunk -> cartJanitorService.deleteStaleItems(cutoff, chunk));
+
+            if (deleted > 0) {
+                cartAggregateCache.invalidateAll();
+                log.info("Cart janitor removed {} cart items untouched since {}", deleted, cutoff);
+            }
+        } catch (Exception e) {
+            log.error("Failed to execute scheduled stale cart cleanup", e);
+        }
+    }
+
+    /**
+     * Drop cached carts holding a changed product so they pick up new prices. Remove all its cart
+     * items straight away when it was deactivated, or only the items of the sizes it no longer has.
+     */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            int invalidated = cartAggregateCache.invalidateCartsContaining(event.productId());
+            if (event.deactivated()) {
+                cartJanitorService.deleteItemsForProduct(event.productId());
+            } else if (!event.removedSizeIds().isEmpty()) {
+                cartJanitorService.deleteItemsForProductSizes(event.productId(), event.removedSizeIds());
+            }
+            log.debug("Product {} changed - {} cached carts invalidated", event.productId(), invalidated);
+        } catch (Exception e) {
+            log.error("Failed to clean carts for changed product: {}", event.productId(), e);
+        }
+    }
+
+    private int sweep(IntUnaryOperator deleteChunk) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = deleteChunk.applyAsInt(batchSize);
+            total += deleted;
+        } while (deleted >= batchSize);
+        return total;
+    }
+}
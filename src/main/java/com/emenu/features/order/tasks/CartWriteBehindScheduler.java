@@ -0,0 +1,74 @@
+package com.emenu.features.order.tasks;
+
+import com.emenu.features.order.cache.CartAggregateCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the write-behind flush on its own thread: the shared @Scheduled thread also runs the
+ * nightly sweeps, and a cart flush must not wait behind them.
+ */
+@Component
+@Slf4j
+public class CartWriteBehindScheduler {
+
+    private final CartAggregateCache cartAggregateCache;
+    private final long flushIntervalMs;
+    private ScheduledExecutorService executor;
+
+    public CartWriteBehindScheduler(CartAggregateCache cartAggregateCache,
+                                    @Value("${app.cart.write-behind.flush-interval-ms:2000}") long flushIntervalMs) {
+        this.cartAggregateCache = cartAggregateCache;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cart-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushPendingCarts, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop flushing before the cache's own shutdown flush runs
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Persist coalesced cart changes every couple of seconds
+     */
+    public void flushPendingCarts() {
+        try {
+            int flushed = cartAggregateCache.flushAll();
+            if (flushed > 0) {
+                log.debug("Write-behind flushed {} carts", flushed);
+            }
+        } catch (Exception e) {
+            log.error("Failed to execute scheduled cart write-behind flush", e);
+        }
+    }
+
+    /**
+     * Log cart cache statistics every hour for monitoring
+     */
+    @Scheduled(fixedRate = 3600000) // Every hour
+    public void logCartCacheStats() {
+        log.info("Cart cache monitoring - Cached: {}, Pending flush: {}",
+                cartAggregateCache.size(), cartAggregateCache.dirtyCount());
+    }
+}
@@ -0,0 +1,68 @@
+package com.emenu.features.order.tasks;
+
+import com.emenu.features.order.service.OrderPartitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(value = "app.order.partitioning.enabled", havingValue = "true")
+public class OrderPartitionScheduler {
+
+    private final OrderPartitionService orderPartitionService;
+
+    @Value("${app.order.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.order.partitioning.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${app.order.partitioning.archive.retention-months:24}")
+    private int retentionMonths;
+
+    @Value("${app.order.partitioning.archive.schema:archive}")
+    private String archiveSchema;
+
+    /**
+     * Make sure the upcoming months have partitions as soon as the application starts
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        maintainPartitions();
+    }
+
+    /**
+     * Create future partitions and archive expired months every day at 1:30 AM
+     */
+    @Scheduled(cron = "0 30 1 * * ?")
+    public void maintainPartitions() {
+        try {
+            if (!orderPartitionService.isPartitioningInstalled()) {
+                log.warn("Order partitioning is enabled but the orders table is not partitioned. " +
+                        "Run migration_partition_orders.sql first.");
+                return;
+            }
+
+            int created = orderPartitionService.ensureFuturePartitions(monthsAhead);
+            log.info("Order partition maintenance - {} new partitions, {} months ahead covered", created, monthsAhead);
+
+            if (archiveEnabled) {
+                LocalDate cutoff = LocalDate.now().minusMonths(retentionMonths).withDayOfMonth(1);
+                int archived = orderPartitionService.archivePartitionsBefore(cutoff, archiveSchema);
+                log.info("Order partition archiving - {} partitions older than {} moved to schema {}",
+                        archived, cutoff, archiveSchema);
+            }
+        } catch (Exception e) {
+            log.error("Failed to execute scheduled order partition maintenance", e);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.emenu.features.order.utils;
 
+import com.emenu.features.order.cache.CartAggregate;
+import com.emenu.features.order.cache.CartAggregateCache;
+import com.emenu.features.order.cache.CartKey;
 import com.emenu.features.order.repository.CartItemRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -7,6 +10,7 @@ import org.springframework.stereotype.Component;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -18,6 +22,7 @@ import java.util.UUID;
 public class CartQueryHelper {
 
     private final CartItemRepository cartItemRepository;
+    private final CartAggregateCache cartAggregateCache;
 
     /**
      * Get cart quantities for multiple products for a specific user and business.
@@ -33,6 +38,20 @@ public class CartQueryHelper {
             return Map.of();
         }
 
+        // Serve from the cached cart when present; it may hold changes not yet written to the database
+        Optional<CartAggregate> cachedCart = cartAggregateCache.getIfPresent(new CartKey(userId, businessId));
+        if (cachedCart.isPresent()) {
+            Map<UUID, Integer> cartQuantities = cachedCart.get().getQuantitiesByProduct();
+            Map<UUID, Integer> quantityMap = new HashMap<>();
+            for (UUID productId : productIds) {
+                Integer quantity = cartQuantities.get(productId);
+                if (quantity != null) {
+                    quantityMap.put(productId, quantity);
+                }
+            }
+            return quantityMap;
+        }
+
         List<Map<String, Object>> results = cartItemRepository.getProductQuantitiesInCart(userId, businessId, productIds);
 
         Map<UUID, Integer> quantityMap = new HashMap<>();
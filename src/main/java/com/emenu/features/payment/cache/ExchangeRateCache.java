@@ -0,0 +1,125 @@
+package com.emenu.features.payment.cache;
+
+import com.emenu.features.payment.dto.response.BusinessExchangeRateResponse;
+import com.emenu.features.payment.dto.response.ExchangeRateResponse;
+import com.emenu.features.payment.mapper.BusinessExchangeRateMapper;
+import com.emenu.features.payment.mapper.ExchangeRateMapper;
+import com.emenu.features.payment.models.BusinessExchangeRate;
+import com.emenu.features.payment.repository.BusinessExchangeRateRepository;
+import com.emenu.features.payment.repository.ExchangeRateRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Active exchange rates, per business and system-wide. Rates change rarely, so they are served
+ * from memory and dropped after a committed create/update/delete; the expiry only bounds staleness
+ * for changes made by other instances. Cached responses are shared and must not be modified.
+ */
+@Component
+@Slf4j
+public class ExchangeRateCache {
+
+    // Single key for the system-wide rate
+    private static final String SYSTEM_RATE_KEY = "system";
+
+    private final BusinessExchangeRateRepository businessExchangeRateRepository;
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final BusinessExchangeRateMapper businessExchangeRateMapper;
+    private final ExchangeRateMapper exchangeRateMapper;
+
+    private final Cache<UUID, Optional<BusinessExchangeRateResponse>> businessRates;
+    private final Cache<String, Optional<ExchangeRateResponse>> systemRate;
+
+    public ExchangeRateCache(BusinessExchangeRateRepository businessExchangeRateRepository,
+                             ExchangeRateRepository exchangeRateRepository,
+                             BusinessExchangeRateMapper businessExchangeRateMapper,
+                             ExchangeRateMapper exchangeRateMapper,
+                             @Value("${app.payment.exchange-rate-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${app.payment.exchange-rate-cache.expire-after-write-minutes:60}") long expireAfterWriteMinutes) {
+        this.businessExchangeRateRepository = businessExchangeRateRepository;
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.businessExchangeRateMapper = businessExchangeRateMapper;
+        this.exchangeRateMapper = exchangeRateMapper;
+        this.businessRates = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+        this.systemRate = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWriteMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    public Optional<BusinessExchangeRateResponse> getActiveBusinessRate(UUID businessId) {
+        return businessRates.get(businessId, id -> loadBusinessRates(Set.of(id)).getOrDefault(id, Optional.empty()));
+    }
+
+    /**
+     * Active rates of several businesses, loading all misses with one query.
+     * Businesses without an active rate are absent from the result.
+     */
+    public Map<UUID, BusinessExchangeRateResponse> getActiveBusinessRates(Collection<UUID> businessIds) {
+        Map<UUID, Optional<BusinessExchangeRateResponse>> cached = businessRates.getAll(
+                new HashSet<>(businessIds), this::loadBusinessRates);
+
+        Map<UUID, BusinessExchangeRateResponse> rates = new HashMap<>();
+        cached.forEach((businessId, rate) -> rate.ifPresent(value -> rates.put(businessId, value)));
+        return rates;
+    }
+
+    public Optional<ExchangeRateResponse> getActiveSystemRate() {
+        return systemRate.get(SYSTEM_RATE_KEY, key -> exchangeRateRepository.findActiveRate()
+                .map(exchangeRateMapper::toResponse));
+    }
+
+    /**
+     * Drop a business rate once the current transaction commits
+     */
+    public void invalidateBusinessRateAfterCommit(UUID businessId) {
+        afterCommit(() -> businessRates.invalidate(businessId));
+    }
+
+    /**
+     * Drop the system rate once the current transaction commits
+     */
+    public void invalidateSystemRateAfterCommit() {
+        afterCommit(() -> systemRate.invalidate(SYSTEM_RATE_KEY));
+    }
+
+    public long size() {
+        return businessRates.estimatedSize();
+    }
+
+    private Map<UUID, Optional<BusinessExchangeRateResponse>> loadBusinessRates(Set<? extends UUID> businessIds) {
+        Map<UUID, Optional<BusinessExchangeRateResponse>> loaded = new HashMap<>();
+        businessIds.forEach(businessId -> loaded.put(businessId, Optional.empty()));
+
+        List<BusinessExchangeRate> activeRates =
+                businessExchangeRateRepository.findActiveRatesByBusinessIdIn(List.copyOf(businessIds));
+        for (BusinessExchangeRate rate : activeRates) {
+            loaded.put(rate.getBusinessId(), Optional.of(businessExchangeRateMapper.toResponse(rate)));
+        }
+        return loaded;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
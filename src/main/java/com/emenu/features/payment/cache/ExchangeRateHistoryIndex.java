@@ -0,0 +1,161 @@
+package com.emenu.features.payment.cache;
+
+import com.emenu.features.payment.models.BusinessExchangeRate;
+import com.emenu.features.payment.models.ExchangeRate;
+import com.emenu.features.payment.repository.BusinessExchangeRateRepository;
+import com.emenu.features.payment.repository.ExchangeRateRepository;
+import com.emenu.shared.constants.Constants;
+import com.emenu.shared.domain.BaseUUIDEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * As-of exchange rate lookups for reports: one immutable ExchangeRateTimeline per business,
+ * built from the rate history on first use and rebuilt after a committed rate change.
+ * A report resolves its timelines once and converts each order without further queries.
+ * <p>
+ * Rate changes made on other instances are picked up when the timelines expire a few minutes after
+ * loading. A timeline whose load began before an invalidation is returned to its caller but not
+ * cached, so a load racing with a commit cannot keep the old history.
+ */
+@Component
+@Slf4j
+public class ExchangeRateHistoryIndex {
+
+    private final BusinessExchangeRateRepository businessExchangeRateRepository;
+    private final ExchangeRateRepository exchangeRateRepository;
+
+    private static final String SYSTEM = "system";
+
+    private final Cache<UUID, ExchangeRateTimeline> businessTimelines;
+    private final Cache<String, ExchangeRateTimeline> systemTimeline;
+    // Moved on by every invalidation; a load only publishes when it is unchanged since the load began
+    private final AtomicLong generation = new AtomicLong();
+
+    public ExchangeRateHistoryIndex(BusinessExchangeRateRepository businessExchangeRateRepository,
+                                    ExchangeRateRepository exchangeRateRepository,
+                                    @Value("${app.payment.exchange-rate-cache.maximum-size:10000}") long maximumSize,
+                                    @Value("${app.payment.exchange-rate-history.expire-after-write-minutes:5}") long expireAfterWriteMinutes) {
+        this.businessExchangeRateRepository = businessExchangeRateRepository;
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.businessTimelines = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteMinutes, TimeUnit.MINUTES)
+                .build();
+        this.systemTimeline = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(expireAfterWriteMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    public ExchangeRateTimeline getTimeline(UUID businessId) {
+        return getTimelines(Set.of(businessId)).get(businessId);
+    }
+
+    /**
+     * Timelines for several businesses, loading the history of all misses with one query
+     */
+    public Map<UUID, ExchangeRateTimeline> getTimelines(Collection<UUID> businessIds) {
+        long loadedAt = generation.get();
+        ExchangeRateTimeline system = getSystemTimeline();
+        Map<UUID, ExchangeRateTimeline> timelines = new HashMap<>(businessTimelines.getAllPresent(businessIds));
+        Set<UUID> missing = new HashSet<>(businessIds);
+        missing.removeAll(timelines.keySet());
+        if (!missing.isEmpty()) {
+            Map<UUID, ExchangeRateTimeline> loaded = loadTimelines(missing, system);
+            if (generation.get() == loadedAt) {
+                businessTimelines.putAll(loaded);
+            }
+            timelines.putAll(loaded);
+        }
+        return timelines;
+    }
+
+    /**
+     * System-wide rate history, used for businesses (or instants) without a business rate
+     */
+    public ExchangeRateTimeline getSystemTimeline() {
+        ExchangeRateTimeline timeline = systemTimeline.getIfPresent(SYSTEM);
+        if (timeline == null) {
+            long loadedAt = generation.get();
+            List<ExchangeRateTimeline.Period> periods = new ArrayList<>();
+            for (ExchangeRate rate : exchangeRateRepository.findAllByOrderByCreatedAtAsc()) {
+                periods.add(new ExchangeRateTimeline.Period(rate.getCreatedAt(),
+                        effectiveUntil(rate, rate.isActive()), rate.getUsdToKhrRate()));
+            }
+            timeline = new ExchangeRateTimeline(periods, null, Constants.DEFAULT_EXCHANGE_RATE);
+            if (generation.get() == loadedAt) {
+                systemTimeline.put(SYSTEM, timeline);
+            }
+        }
+        return timeline;
+    }
+
+    public void invalidateBusinessAfterCommit(UUID businessId) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            businessTimelines.invalidate(businessId);
+        });
+    }
+
+    /**
+     * Business timelines embed the system timeline as fallback, so they are dropped as well
+     */
+    public void invalidateSystemAfterCommit() {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            systemTimeline.invalidateAll();
+            businessTimelines.invalidateAll();
+        });
+    }
+
+    private Map<UUID, ExchangeRateTimeline> loadTimelines(Set<? extends UUID> businessIds, ExchangeRateTimeline system) {
+        Map<UUID, List<ExchangeRateTimeline.Period>> ratesByBusiness = new HashMap<>();
+        businessIds.forEach(businessId -> ratesByBusiness.put(businessId, new ArrayList<>()));
+
+        // Keyed by creation; a rate change is saved as a new row, so a row's rate held for its whole period
+        for (BusinessExchangeRate rate : businessExchangeRateRepository.findHistoryByBusinessIdIn(List.copyOf(businessIds))) {
+            ratesByBusiness.get(rate.getBusinessId()).add(new ExchangeRateTimeline.Period(rate.getCreatedAt(),
+                    effectiveUntil(rate, rate.isActive()), rate.getUsdToKhrRate()));
+        }
+
+        Map<UUID, ExchangeRateTimeline> timelines = new HashMap<>();
+        ratesByBusiness.forEach((businessId, rates) ->
+                timelines.put(businessId, new ExchangeRateTimeline(rates, system, Constants.DEFAULT_EXCHANGE_RATE)));
+        log.debug("Built exchange rate timelines for {} businesses", timelines.size());
+        return timelines;
+    }
+
+    /**
+     * When a rate stopped applying: its deletion, else its deactivation (the last write of an inactive rate)
+     */
+    private static LocalDateTime effectiveUntil(BaseUUIDEntity rate, boolean active) {
+        if (Boolean.TRUE.equals(rate.getIsDeleted())) {
+            return rate.getDeletedAt() != null ? rate.getDeletedAt() : rate.getUpdatedAt();
+        }
+        return active ? null : rate.getUpdatedAt();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.emenu.features.payment.cache;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Immutable USD to KHR rate history of one business. Each rate is valid from its creation
+ * until the next rate was created or until it was deactivated or deleted, whichever comes first.
+ * Instants not covered by a rate use the fallback timeline (the system rate history), and then the fallback rate,
+ * which is what the current-rate lookup in ExchangeRateCache returns for the same state.
+ */
+public final class ExchangeRateTimeline {
+
+    // A null value marks the end of a rate that no other rate replaced
+    private final NavigableMap<LocalDateTime, Double> ratesByEffectiveFrom;
+    private final ExchangeRateTimeline fallback;
+    private final Double fallbackRate;
+
+    ExchangeRateTimeline(List<Period> periods, ExchangeRateTimeline fallback, Double fallbackRate) {
+        List<Period> ordered = new ArrayList<>(periods);
+        ordered.sort(Comparator.comparing(Period::from));
+
+        TreeMap<LocalDateTime, Double> rates = new TreeMap<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            Period period = ordered.get(i);
+            if (period.until() != null && !period.until().isAfter(period.from())) {
+                continue;
+            }
+            rates.put(period.from(), period.rate());
+
+            LocalDateTime nextFrom = i + 1 < ordered.size() ? ordered.get(i + 1).from() : null;
+            if (period.until() != null && (nextFrom == null || period.until().isBefore(nextFrom))) {
+                rates.put(period.until(), null);
+            }
+        }
+
+        this.ratesByEffectiveFrom = Collections.unmodifiableNavigableMap(rates);
+        this.fallback = fallback;
+        this.fallbackRate = fallbackRate;
+    }
+
+    /**
+     * KHR per USD valid at the given instant, in O(log n)
+     */
+    public Double rateAt(LocalDateTime at) {
+        Map.Entry<LocalDateTime, Double> entry = ratesByEffectiveFrom.floorEntry(at);
+        if (entry != null && entry.getValue() != null) {
+            return entry.getValue();
+        }
+        return fallback != null ? fallback.rateAt(at) : fallbackRate;
+    }
+
+    public BigDecimal toKhr(BigDecimal usdAmount, LocalDateTime at) {
+        return usdAmount.multiply(BigDecimal.valueOf(rateAt(at))).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal toUsd(BigDecimal khrAmount, LocalDateTime at) {
+        return khrAmount.divide(BigDecimal.valueOf(rateAt(at)), 2, RoundingMode.HALF_UP);
+    }
+
+    public int size() {
+        return (int) ratesByEffectiveFrom.values().stream().filter(Objects::nonNull).count();
+    }
+
+    /**
+     * One rate and the instants it was valid between; until is null while the rate is still active
+     */
+    record Period(LocalDateTime from, LocalDateTime until, Double rate) {
+    }
+}
@@ -33,9 +33,11 @@ public class BusinessOrderPayment extends BaseUUIDEntity {
     private UUID orderId;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "order_id", insertable = false, updatable = false)
+    @JoinColumn(name = "order_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT)) // orders may be partitioned by created_at
     private Order order;
 
+    // A partitioned table cannot carry this key; migration_partition_orders.sql enforces it through payment_references
     @Column(name = "payment_reference", nullable = false, unique = true)
     private String paymentReference; // Generated reference
 
@@ -4,6 +4,7 @@ import com.emenu.enums.payment.PaymentMethod;
 import com.emenu.enums.payment.PaymentStatus;
 import com.emenu.enums.payment.PaymentType;
 import com.emenu.features.auth.models.Business;
+import com.emenu.features.auth.summary.BusinessOwnerSummaryListener;
 import com.emenu.features.subscription.models.Subscription;
 import com.emenu.features.subscription.models.SubscriptionPlan;
 import com.emenu.shared.domain.BaseUUIDEntity;
@@ -18,6 +19,7 @@ import java.math.RoundingMode;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(BusinessOwnerSummaryListener.class)
 @Table(name = "payments")
 @Data
 @EqualsAndHashCode(callSuper = true)
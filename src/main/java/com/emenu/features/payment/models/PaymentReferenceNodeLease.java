@@ -0,0 +1,36 @@
+package com.emenu.features.payment.models;
+
+import com.emenu.shared.domain.BaseUUIDEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lease of one payment reference node ID by a running instance. Written with JDBC by
+ * PaymentReferenceGenerator; this mapping only defines the table.
+ */
+@Entity
+@Table(name = "payment_reference_node_leases")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentReferenceNodeLease extends BaseUUIDEntity {
+
+    @Column(name = "node_id", nullable = false, unique = true)
+    private Integer nodeId;
+
+    @Column(name = "instance_id", nullable = false)
+    private UUID instanceId;
+
+    // Database time (LOCALTIMESTAMP); the lease is free again once this has passed
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
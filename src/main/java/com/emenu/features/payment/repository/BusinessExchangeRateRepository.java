@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +23,15 @@ public interface BusinessExchangeRateRepository extends JpaRepository<BusinessEx
     @Query("SELECT ber FROM BusinessExchangeRate ber WHERE ber.businessId = :businessId AND ber.isActive = true AND ber.isDeleted = false")
     Optional<BusinessExchangeRate> findActiveRateByBusinessId(@Param("businessId") UUID businessId);
     
+    // Get active rates for several businesses at once (business fetched for the response name)
+    @Query("SELECT ber FROM BusinessExchangeRate ber LEFT JOIN FETCH ber.business " +
+           "WHERE ber.businessId IN :businessIds AND ber.isActive = true AND ber.isDeleted = false")
+    List<BusinessExchangeRate> findActiveRatesByBusinessIdIn(@Param("businessIds") Collection<UUID> businessIds);
+    
+    // Rate history of several businesses, oldest first (active, superseded, deactivated and deleted rates)
+    @Query("SELECT ber FROM BusinessExchangeRate ber WHERE ber.businessId IN :businessIds ORDER BY ber.createdAt")
+    List<BusinessExchangeRate> findHistoryByBusinessIdIn(@Param("businessIds") Collection<UUID> businessIds);
+    
     // Get all rates for a business
     @Query("SELECT ber FROM BusinessExchangeRate ber WHERE ber.businessId = :businessId AND ber.isDeleted = false ORDER BY ber.createdAt DESC")
     List<BusinessExchangeRate> findAllByBusinessId(@Param("businessId") UUID businessId);
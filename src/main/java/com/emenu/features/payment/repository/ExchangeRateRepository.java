@@ -20,6 +20,9 @@ public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, UUID
     @Query("SELECT er FROM ExchangeRate er WHERE er.isActive = true AND er.isDeleted = false")
     Optional<ExchangeRate> findActiveRate();
     
+    // Rate history, oldest first (active, superseded, deactivated and deleted rates)
+    List<ExchangeRate> findAllByOrderByCreatedAtAsc();
+    
     // Count active rates
     @Query("SELECT COUNT(er) FROM ExchangeRate er WHERE er.isActive = true AND er.isDeleted = false")
     long countActiveRates();
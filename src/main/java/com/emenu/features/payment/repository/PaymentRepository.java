@@ -11,7 +11,9 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -76,4 +78,17 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
             @Param("subscriptionId") UUID subscriptionId,
             @Param("status") PaymentStatus status
     );
-}
\ No newline at end of file
+
+    /**
+     * Payment totals per subscription and status, for several subscriptions at once
+     */
+    @Query("""
+                SELECT p.subscriptionId as subscriptionId, p.status as status,
+                       SUM(p.amount) as totalAmount, COUNT(p) as paymentCount, MAX(p.createdAt) as lastPaymentDate
+                FROM Payment p
+                WHERE p.subscriptionId IN :subscriptionIds
+                AND p.isDeleted = false
+                GROUP BY p.subscriptionId, p.status
+            """)
+    List<Map<String, Object>> getPaymentTotalsBySubscriptionIds(@Param("subscriptionIds") Collection<UUID> subscriptionIds);
+}
@@ -1,11 +1,14 @@
 package com.emenu.features.payment.service;
 
+import com.emenu.features.payment.cache.ExchangeRateTimeline;
 import com.emenu.features.payment.dto.filter.BusinessExchangeRateFilterRequest;
 import com.emenu.features.payment.dto.request.BusinessExchangeRateCreateRequest;
 import com.emenu.features.payment.dto.response.BusinessExchangeRateResponse;
 import com.emenu.features.payment.dto.update.BusinessExchangeRateUpdateRequest;
 import com.emenu.shared.dto.PaginationResponse;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 public interface BusinessExchangeRateService {
@@ -39,4 +42,14 @@ public interface BusinessExchangeRateService {
      * Get current active exchange rate for a business
      */
     BusinessExchangeRateResponse getActiveRateByBusinessId(UUID businessId);
-}
\ No newline at end of file
+    
+    /**
+     * Get USD to KHR rates for several businesses (system rate for businesses without their own)
+     */
+    Map<UUID, Double> getKhrRatesForBusinesses(Collection<UUID> businessIds);
+    
+    /**
+     * Get the USD to KHR rate history of several businesses, for converting past amounts as of their date
+     */
+    Map<UUID, ExchangeRateTimeline> getKhrRateTimelines(Collection<UUID> businessIds);
+}
@@ -5,9 +5,13 @@ import com.emenu.exception.custom.ValidationException;
 import com.emenu.features.auth.models.Business;
 import com.emenu.features.auth.models.User;
 import com.emenu.features.auth.repository.BusinessRepository;
+import com.emenu.features.payment.cache.ExchangeRateCache;
+import com.emenu.features.payment.cache.ExchangeRateHistoryIndex;
+import com.emenu.features.payment.cache.ExchangeRateTimeline;
 import com.emenu.features.payment.dto.filter.BusinessExchangeRateFilterRequest;
 import com.emenu.features.payment.dto.request.BusinessExchangeRateCreateRequest;
 import com.emenu.features.payment.dto.response.BusinessExchangeRateResponse;
+import com.emenu.features.payment.dto.response.ExchangeRateResponse;
 import com.emenu.features.payment.dto.update.BusinessExchangeRateUpdateRequest;
 import com.emenu.features.payment.mapper.BusinessExchangeRateMapper;
 import com.emenu.features.payment.models.BusinessExchangeRate;
@@ -26,6 +30,9 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -40,6 +47,8 @@ public class BusinessExchangeRateServiceImpl implements BusinessExchangeRateServ
     private final BusinessExchangeRateMapper exchangeRateMapper;
     private final SecurityUtils securityUtils;
     private final com.emenu.shared.mapper.PaginationMapper paginationMapper;
+    private final ExchangeRateCache exchangeRateCache;
+    private final ExchangeRateHistoryIndex exchangeRateHistoryIndex;
 
     @Override
     public BusinessExchangeRateResponse createBusinessExchangeRate(BusinessExchangeRateCreateRequest request) {
@@ -58,6 +67,8 @@ public class BusinessExchangeRateServiceImpl implements BusinessExchangeRateServ
         exchangeRate.setIsActive(true); // New rate is always active
 
         BusinessExchangeRate savedExchangeRate = exchangeRateRepository.save(exchangeRate);
+        exchangeRateCache.invalidateBusinessRateAfterCommit(businessId);
+        exchangeRateHistoryIndex.invalidateBusinessAfterCommit(businessId);
 
         log.info("Business exchange rate created successfully for {}: {} KHR per USD",
                 business.getName(), savedExchangeRate.getUsdToKhrRate());
@@ -92,14 +103,30 @@ public class BusinessExchangeRateServiceImpl implements BusinessExchangeRateServ
         return exchangeRateMapper.toResponse(exchangeRate);
     }
 
+    /**
+     * Notes are edited in place. A rate change closes the current row and saves the new rates as a new
+     * version, so orders before the change keep converting at the old rate; the new version is returned.
+     */
     @Override
     public BusinessExchangeRateResponse updateBusinessExchangeRate(UUID id, BusinessExchangeRateUpdateRequest request) {
         log.info("Updating business exchange rate: {}", id);
 
         BusinessExchangeRate exchangeRate = findExchangeRateById(id);
+        if (changesRates(request, exchangeRate)) {
+            if (!exchangeRate.isActive()) {
+                throw new ValidationException("Only the active exchange rate can be changed; past rates are kept for reporting");
+            }
+            BusinessExchangeRate current = exchangeRate;
+            current.deactivate();
+            exchangeRateRepository.save(current);
+            exchangeRate = nextVersion(current);
+            log.info("Business exchange rate {} superseded by a new version", id);
+        }
 
         exchangeRateMapper.updateEntity(request, exchangeRate);
         BusinessExchangeRate updatedExchangeRate = exchangeRateRepository.save(exchangeRate);
+        exchangeRateCache.invalidateBusinessRateAfterCommit(updatedExchangeRate.getBusinessId());
+        exchangeRateHistoryIndex.invalidateBusinessAfterCommit(updatedExchangeRate.getBusinessId());
 
         log.info("Business exchange rate updated successfully: {} - New rate: {}",
                 id, updatedExchangeRate.getUsdToKhrRate());
@@ -120,6 +147,8 @@ public class BusinessExchangeRateServiceImpl implements BusinessExchangeRateServ
 
         exchangeRate.softDelete();
         exchangeRate = exchangeRateRepository.save(exchangeRate);
+        exchangeRateCache.invalidateBusinessRateAfterCommit(exchangeRate.getBusinessId());
+        exchangeRateHistoryIndex.invalidateBusinessAfterCommit(exchangeRate.getBusinessId());
 
         log.info("Business exchange rate deleted successfully: {}", id);
         return exchangeRateMapper.toResponse(exchangeRate);
@@ -130,14 +159,60 @@ public class BusinessExchangeRateServiceImpl implements BusinessExchangeRateServ
     public BusinessExchangeRateResponse getActiveRateByBusinessId(UUID businessId) {
         log.info("Fetching active exchange rate for business: {}", businessId);
 
-        BusinessExchangeRate activeRate = exchangeRateRepository.findActiveRateByBusinessId(businessId)
+        return exchangeRateCache.getActiveBusinessRate(businessId)
                 .orElseThrow(() -> new NotFoundException("No active exchange rate found for business"));
+    }
 
-        return exchangeRateMapper.toResponse(activeRate);
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, Double> getKhrRatesForBusinesses(Collection<UUID> businessIds) {
+        Map<UUID, BusinessExchangeRateResponse> businessRates = exchangeRateCache.getActiveBusinessRates(businessIds);
+
+        // Businesses without their own rate use the system rate
+        Double systemRate = exchangeRateCache.getActiveSystemRate()
+                .map(ExchangeRateResponse::getUsdToKhrRate)
+                .orElse(Constants.DEFAULT_EXCHANGE_RATE);
+
+        Map<UUID, Double> rates = new HashMap<>();
+        for (UUID businessId : businessIds) {
+            BusinessExchangeRateResponse rate = businessRates.get(businessId);
+            rates.put(businessId, rate != null ? rate.getUsdToKhrRate() : systemRate);
+        }
+        return rates;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, ExchangeRateTimeline> getKhrRateTimelines(Collection<UUID> businessIds) {
+        return exchangeRateHistoryIndex.getTimelines(businessIds);
     }
 
     // Private helper methods
 
+    private static boolean changesRates(BusinessExchangeRateUpdateRequest request, BusinessExchangeRate rate) {
+        return changes(request.getUsdToKhrRate(), rate.getUsdToKhrRate())
+                || changes(request.getUsdToCnyRate(), rate.getUsdToCnyRate())
+                || changes(request.getUsdToThbRate(), rate.getUsdToThbRate())
+                || changes(request.getUsdToVndRate(), rate.getUsdToVndRate());
+    }
+
+    private static boolean changes(Double requested, Double current) {
+        return requested != null && !requested.equals(current);
+    }
+
+    private static BusinessExchangeRate nextVersion(BusinessExchangeRate current) {
+        BusinessExchangeRate next = new BusinessExchangeRate();
+        next.setBusinessId(current.getBusinessId());
+        next.setBusiness(current.getBusiness());
+        next.setUsdToKhrRate(current.getUsdToKhrRate());
+        next.setUsdToCnyRate(current.getUsdToCnyRate());
+        next.setUsdToThbRate(current.getUsdToThbRate());
+        next.setUsdToVndRate(current.getUsdToVndRate());
+        next.setNotes(current.getNotes());
+        next.setIsActive(true);
+        return next;
+    }
+
     private BusinessExchangeRate findExchangeRateById(UUID id) {
         return exchangeRateRepository.findByIdAndIsDeletedFalse(id)
                 .orElseThrow(() -> new NotFoundException("Business exchange rate not found"));
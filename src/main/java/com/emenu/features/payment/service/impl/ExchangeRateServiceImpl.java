@@ -1,6 +1,9 @@
 package com.emenu.features.payment.service.impl;
 
 import com.emenu.exception.custom.NotFoundException;
+import com.emenu.exception.custom.ValidationException;
+import com.emenu.features.payment.cache.ExchangeRateCache;
+import com.emenu.features.payment.cache.ExchangeRateHistoryIndex;
 import com.emenu.features.payment.dto.filter.ExchangeRateFilterRequest;
 import com.emenu.features.payment.dto.request.ExchangeRateCreateRequest;
 import com.emenu.features.payment.dto.response.ExchangeRateResponse;
@@ -33,6 +36,8 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
     private final ExchangeRateRepository exchangeRateRepository;
     private final ExchangeRateMapper exchangeRateMapper;
     private final com.emenu.shared.mapper.PaginationMapper paginationMapper;
+    private final ExchangeRateCache exchangeRateCache;
+    private final ExchangeRateHistoryIndex exchangeRateHistoryIndex;
 
     @Override
     public ExchangeRateResponse createExchangeRate(ExchangeRateCreateRequest request) {
@@ -45,6 +50,8 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
         exchangeRate.setIsActive(true); // New rate is always active
 
         ExchangeRate savedExchangeRate = exchangeRateRepository.save(exchangeRate);
+        exchangeRateCache.invalidateSystemRateAfterCommit();
+        exchangeRateHistoryIndex.invalidateSystemAfterCommit();
 
         log.info("System exchange rate created successfully: {} KHR per USD", savedExchangeRate.getUsdToKhrRate());
         return exchangeRateMapper.toResponse(savedExchangeRate);
@@ -70,12 +77,32 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
         return exchangeRateMapper.toResponse(exchangeRate);
     }
 
+    /**
+     * Notes are edited in place. A rate change closes the current row and saves the new rate as a new
+     * version, so orders before the change keep converting at the old rate; the new version is returned.
+     */
     @Override
     public ExchangeRateResponse updateExchangeRate(UUID id, ExchangeRateUpdateRequest request) {
         ExchangeRate exchangeRate = findExchangeRateById(id);
+        if (request.getUsdToKhrRate() != null && !request.getUsdToKhrRate().equals(exchangeRate.getUsdToKhrRate())) {
+            if (!exchangeRate.isActive()) {
+                throw new ValidationException("Only the active exchange rate can be changed; past rates are kept for reporting");
+            }
+            ExchangeRate current = exchangeRate;
+            current.setIsActive(false);
+            exchangeRateRepository.save(current);
+
+            exchangeRate = new ExchangeRate();
+            exchangeRate.setUsdToKhrRate(current.getUsdToKhrRate());
+            exchangeRate.setNotes(current.getNotes());
+            exchangeRate.setIsActive(true);
+            log.info("Exchange rate {} superseded by a new version", id);
+        }
 
         exchangeRateMapper.updateEntity(request, exchangeRate);
         ExchangeRate updatedExchangeRate = exchangeRateRepository.save(exchangeRate);
+        exchangeRateCache.invalidateSystemRateAfterCommit();
+        exchangeRateHistoryIndex.invalidateSystemAfterCommit();
 
         log.info("Exchange rate updated successfully: {} - New rate: {}", id, updatedExchangeRate.getUsdToKhrRate());
         return exchangeRateMapper.toResponse(updatedExchangeRate);
@@ -92,6 +119,8 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
 
         exchangeRate.softDelete();
         exchangeRate = exchangeRateRepository.save(exchangeRate);
+        exchangeRateCache.invalidateSystemRateAfterCommit();
+        exchangeRateHistoryIndex.invalidateSystemAfterCommit();
 
         log.info("Exchange rate deleted successfully: {}", id);
         return exchangeRateMapper.toResponse(exchangeRate);
@@ -100,17 +129,15 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
     @Override
     @Transactional(readOnly = true)
     public ExchangeRateResponse getCurrentActiveRate() {
-        ExchangeRate activeRate = exchangeRateRepository.findActiveRate().orElseThrow(
+        return exchangeRateCache.getActiveSystemRate().orElseThrow(
                 () -> new NotFoundException("No active exchange rate found")
         );
-
-        return exchangeRateMapper.toResponse(activeRate);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Double getCurrentRateValue() {
-        Optional<ExchangeRate> activeRate = exchangeRateRepository.findActiveRate();
+        Optional<ExchangeRateResponse> activeRate = exchangeRateCache.getActiveSystemRate();
 
         if (activeRate.isPresent()) {
             return activeRate.get().getUsdToKhrRate();
@@ -2,9 +2,11 @@ package com.emenu.features.payment.specification;
 
 import com.emenu.features.payment.dto.filter.BusinessOrderPaymentFilterRequest;
 import com.emenu.features.payment.models.BusinessOrderPayment;
+import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 
@@ -47,7 +49,7 @@ public class BusinessOrderPaymentSpecification {
             if (StringUtils.hasText(filter.getCustomerPhone())) {
                 String phonePattern = "%" + filter.getCustomerPhone().toLowerCase() + "%";
                 
-                Join<Object, Object> orderJoin = root.join("order", JoinType.LEFT);
+                Join<Object, Object> orderJoin = joinOrder(root, criteriaBuilder, filter);
                 Join<Object, Object> customerJoin = orderJoin.join("customer", JoinType.LEFT);
                 
                 Predicate guestPhonePredicate = criteriaBuilder.like(
@@ -61,13 +63,13 @@ public class BusinessOrderPaymentSpecification {
 
             // POS order filter
             if (filter.getIsPosOrder() != null) {
-                Join<Object, Object> orderJoin = root.join("order", JoinType.LEFT);
+                Join<Object, Object> orderJoin = joinOrder(root, criteriaBuilder, filter);
                 predicates.add(criteriaBuilder.equal(orderJoin.get("isPosOrder"), filter.getIsPosOrder()));
             }
 
             // Guest order filter
             if (filter.getIsGuestOrder() != null) {
-                Join<Object, Object> orderJoin = root.join("order", JoinType.LEFT);
+                Join<Object, Object> orderJoin = joinOrder(root, criteriaBuilder, filter);
                 predicates.add(criteriaBuilder.equal(orderJoin.get("isGuestOrder"), filter.getIsGuestOrder()));
             }
 
@@ -85,7 +87,7 @@ public class BusinessOrderPaymentSpecification {
                 String searchPattern = "%" + filter.getSearch().toLowerCase() + "%";
                 
                 Join<Object, Object> businessJoin = root.join("business", JoinType.LEFT);
-                Join<Object, Object> orderJoin = root.join("order", JoinType.LEFT);
+                Join<Object, Object> orderJoin = joinOrder(root, criteriaBuilder, filter);
                 Join<Object, Object> customerJoin = orderJoin.join("customer", JoinType.LEFT);
                 
                 Predicate referencePredicate = criteriaBuilder.like(
@@ -111,6 +113,24 @@ public class BusinessOrderPaymentSpecification {
         };
     }
 
+    // Payments are created right after their order, so the payment createdTo bound also bounds the joined
+    // order's createdAt and lets PostgreSQL prune the later monthly partitions of the orders table. The bound
+    // sits in the ON clause so the join stays a LEFT join, and the join is created once per query.
+    @SuppressWarnings("unchecked")
+    private static Join<Object, Object> joinOrder(Root<BusinessOrderPayment> root, CriteriaBuilder criteriaBuilder,
+                                                  BusinessOrderPaymentFilterRequest filter) {
+        for (Join<BusinessOrderPayment, ?> join : root.getJoins()) {
+            if ("order".equals(join.getAttribute().getName())) {
+                return (Join<Object, Object>) (Join<?, ?>) join;
+            }
+        }
+        Join<Object, Object> orderJoin = root.join("order", JoinType.LEFT);
+        if (filter.getCreatedTo() != null) {
+            orderJoin.on(criteriaBuilder.lessThanOrEqualTo(orderJoin.get("createdAt"), filter.getCreatedTo()));
+        }
+        return orderJoin;
+    }
+
     // Common specifications for quick queries
     public static Specification<BusinessOrderPayment> byBusiness(UUID businessId) {
         return (root, query, criteriaBuilder) -> 
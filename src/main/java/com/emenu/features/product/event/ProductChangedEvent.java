@@ -0,0 +1,12 @@
+package com.emenu.features.product.event;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published when a product is updated or deleted.
+ * deactivated is true when the product can no longer be ordered (deleted or not ACTIVE);
+ * removedSizeIds holds the sizes deleted by the update, while the rest of the product stays orderable.
+ */
+public record ProductChangedEvent(UUID productId, boolean deactivated, Set<UUID> removedSizeIds) {
+}
@@ -11,6 +11,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,6 +30,8 @@ public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpec
 
     Optional<Product> findByIdAndIsDeletedFalse(UUID id);
 
+    List<Product> findAllByIdInAndIsDeletedFalse(Collection<UUID> ids);
+
     @Query("SELECT COUNT(p) FROM Product p " +
            "WHERE p.categoryId = :categoryId AND p.isDeleted = false")
     long countByCategoryId(@Param("categoryId") UUID categoryId);
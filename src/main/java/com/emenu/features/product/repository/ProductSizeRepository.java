@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -27,6 +28,11 @@ public interface ProductSizeRepository extends JpaRepository<ProductSize, UUID>
            "ORDER BY ps.productId, ps.price ASC")
     List<ProductSize> findByProductIds(@Param("productIds") List<UUID> productIds);
 
+    @Query("SELECT ps FROM ProductSize ps " +
+           "JOIN FETCH ps.product " +
+           "WHERE ps.id IN :ids")
+    List<ProductSize> findAllByIdInWithProduct(@Param("ids") Collection<UUID> ids);
+
     default Map<UUID, List<ProductSize>> findSizesByProductIdsGrouped(List<UUID> productIds) {
         if (productIds == null || productIds.isEmpty()) {
             return Map.of();
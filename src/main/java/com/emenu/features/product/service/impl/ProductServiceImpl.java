@@ -4,6 +4,7 @@ import com.emenu.exception.custom.NotFoundException;
 import com.emenu.exception.custom.ValidationException;
 import com.emenu.features.auth.models.User;
 import com.emenu.features.product.dto.filter.ProductFilterDto;
+import com.emenu.features.product.event.ProductChangedEvent;
 import com.emenu.features.product.dto.request.ProductCreateDto;
 import com.emenu.features.product.dto.request.ProductImageCreateDto;
 import com.emenu.features.product.dto.request.ProductSizeCreateDto;
@@ -31,6 +32,7 @@ import com.emenu.shared.dto.PaginationResponse;
 import com.emenu.shared.mapper.PaginationMapper;
 import com.emenu.shared.pagination.PaginationUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -55,6 +57,7 @@ public class ProductServiceImpl implements ProductService {
     private final ProductUtils productUtils;
     private final ProductFavoriteQueryHelper favoriteQueryHelper;
     private final CartQueryHelper cartQueryHelper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -243,6 +246,7 @@ public class ProductServiceImpl implements ProductService {
 
         updateProductImages(updatedProduct, request.getImages());
         
+        Set<UUID> removedSizeIds = Set.copyOf(productSizeMapper.getIdsToDelete(request.getSizes()));
         boolean sizesChanged = updateProductSizes(updatedProduct, request.getSizes());
         
         if (sizesChanged) {
@@ -252,6 +256,9 @@ public class ProductServiceImpl implements ProductService {
             updatedProduct = productRepository.save(updatedProduct);
         }
 
+        eventPublisher.publishEvent(new ProductChangedEvent(
+                updatedProduct.getId(), !updatedProduct.isActive(), removedSizeIds));
+
         return getProductById(updatedProduct.getId());
     }
 
@@ -266,6 +273,8 @@ public class ProductServiceImpl implements ProductService {
         product.softDelete();
         Product deletedProduct = productRepository.save(product);
 
+        eventPublisher.publishEvent(new ProductChangedEvent(deletedProduct.getId(), true, Set.of()));
+
         return productMapper.toDetailDto(deletedProduct);
     }
 
@@ -1,16 +1,21 @@
 package com.emenu.features.setting.controller;
 
+import com.emenu.features.setting.dto.response.ImageContentResponse;
 import com.emenu.features.setting.dto.response.ImageDto;
-import com.emenu.features.setting.dto.response.ImageResponse;
 import com.emenu.features.setting.dto.request.ImageUploadRequest;
 import com.emenu.features.setting.service.ImageService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.UUID;
 
 @RestController
@@ -20,19 +25,36 @@ public class ImageController {
     
     private final ImageService imageService;
 
-    @PostMapping
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ImageDto> uploadImage(@Valid @RequestBody ImageUploadRequest request) {
         ImageDto uploadedImage = imageService.uploadImage(request);
         return new ResponseEntity<>(uploadedImage, HttpStatus.CREATED);
     }
 
+    /**
+     * Raw image body, e.g. Content-Type: image/png, written to storage as it arrives
+     */
+    @PostMapping(consumes = "image/*")
+    public ResponseEntity<ImageDto> uploadImageStream(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                      InputStream content) {
+        ImageDto uploadedImage = imageService.uploadImage(contentType, content);
+        return new ResponseEntity<>(uploadedImage, HttpStatus.CREATED);
+    }
+
+    /**
+     * An image id never changes content, so responses are cacheable for a year. The ETag is the
+     * content hash; Spring answers a matching If-None-Match with 304 and serves Range requests.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<byte[]> getImageData(@PathVariable UUID id) {
-        ImageResponse imageResponse = imageService.getImageById(id);
+    public ResponseEntity<Resource> getImageData(@PathVariable UUID id) {
+        ImageContentResponse image = imageService.getImageContent(id);
         return ResponseEntity
                 .ok()
-                .contentType(MediaType.valueOf(imageResponse.getType()))
-                .body(imageResponse.getData());
+                .contentType(MediaType.valueOf(image.getType()))
+                .contentLength(image.getSize())
+                .eTag("\"" + image.getContentHash() + "\"")
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .body(image.getResource());
     }
 
     @DeleteMapping("/{id}")
@@ -40,4 +62,4 @@ public class ImageController {
         imageService.deleteImage(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.core.io.Resource;
 
 import java.util.UUID;
 
@@ -11,8 +12,10 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ImageResponse {
+public class ImageContentResponse {
     private UUID id;
     private String type;
-    private byte[] data;
-}
\ No newline at end of file
+    private String contentHash;
+    private long size;
+    private Resource resource;
+}
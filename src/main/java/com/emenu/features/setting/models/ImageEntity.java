@@ -19,7 +19,8 @@ import java.util.UUID;
 
         // ✅ FIXED: Image management indexes
         @Index(name = "idx_image_entity_type_deleted", columnList = "type, is_deleted"),
-        @Index(name = "idx_image_entity_type_created_deleted", columnList = "type, created_at, is_deleted")
+        @Index(name = "idx_image_entity_type_created_deleted", columnList = "type, created_at, is_deleted"),
+        @Index(name = "idx_image_entity_content_hash", columnList = "content_hash")
 })
 @Data
 @NoArgsConstructor
@@ -29,7 +30,13 @@ public class ImageEntity extends BaseUUIDEntity {
     @Column(name = "type")
     private String type;
     
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // SHA-256 hex of the file in image storage
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
     @Lob
     @Column(name = "data", columnDefinition = "TEXT")
-    private String data; // Base64 encoded string
+    private String data; // Legacy Base64 encoded string, null once moved to image storage
 }
\ No newline at end of file
@@ -2,10 +2,25 @@ package com.emenu.features.setting.repository;
 
 import com.emenu.features.setting.models.ImageEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ImageRepository extends JpaRepository<ImageEntity, UUID> {
+
+    // Leaves the legacy data column unread
+    @Query("SELECT i.type AS type, i.contentHash AS contentHash, i.sizeBytes AS sizeBytes FROM ImageEntity i WHERE i.id = :id")
+    Optional<ImageLocator> findLocatorById(@Param("id") UUID id);
+
+    boolean existsByContentHash(String contentHash);
+
+    interface ImageLocator {
+        String getType();
+        String getContentHash();
+        Long getSizeBytes();
+    }
 }
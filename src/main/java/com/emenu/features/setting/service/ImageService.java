@@ -1,9 +1,10 @@
 package com.emenu.features.setting.service;
 
+import com.emenu.features.setting.dto.response.ImageContentResponse;
 import com.emenu.features.setting.dto.response.ImageDto;
-import com.emenu.features.setting.dto.response.ImageResponse;
 import com.emenu.features.setting.dto.request.ImageUploadRequest;
 
+import java.io.InputStream;
 import java.util.UUID;
 
 
@@ -11,7 +12,31 @@ public interface ImageService {
 
     ImageDto uploadImage(ImageUploadRequest request);
 
-    ImageResponse getImageById(UUID id);
+    /**
+     * Upload raw image bytes as they stream in
+     */
+    ImageDto uploadImage(String type, InputStream content);
 
+    ImageContentResponse getImageContent(UUID id);
+
+    /**
+     * Delete the row only; its file is left to {@link #sweepOrphanedImages()}
+     */
     void deleteImage(UUID id);
-}
\ No newline at end of file
+
+    /**
+     * Delete stored files no row points at that are older than the grace period; returns the number deleted
+     */
+    int sweepOrphanedImages();
+
+    /**
+     * Move the next batch of Base64 rows with an id above afterId into image storage
+     */
+    LegacyMigrationBatch migrateLegacyImageBatch(UUID afterId);
+
+    /**
+     * Rows moved by one batch; lastId is where the next batch starts, null once no rows are left
+     */
+    record LegacyMigrationBatch(int migrated, UUID lastId) {
+    }
+}
@@ -1,55 +1,220 @@
 package com.emenu.features.setting.service.impl;
 
 import com.emenu.exception.custom.NotFoundException;
+import com.emenu.exception.custom.ValidationException;
+import com.emenu.features.setting.dto.response.ImageContentResponse;
 import com.emenu.features.setting.dto.response.ImageDto;
-import com.emenu.features.setting.dto.response.ImageResponse;
 import com.emenu.features.setting.dto.request.ImageUploadRequest;
 import com.emenu.features.setting.mapper.ImageMapper;
 import com.emenu.features.setting.models.ImageEntity;
 import com.emenu.features.setting.repository.ImageRepository;
 import com.emenu.features.setting.service.ImageService;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import com.emenu.features.setting.storage.ImageStorage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
+/**
+ * Image rows only hold the type and the content hash; the bytes live in {@link ImageStorage}.
+ * Rows from before the storage still carry Base64 data and are moved on startup, or on first read
+ * when that has not reached them yet.
+ * <p>
+ * Stored files are shared by identical uploads, so deleting a row never deletes its file: a file
+ * is only removed by {@link #sweepOrphanedImages()} once no row points at it and it is older than
+ * the grace period, which covers an upload between storing its file and saving its row.
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class ImageServiceImpl implements ImageService {
-    
+
+    private static final String SELECT_LEGACY_SQL =
+            "SELECT id, data FROM images WHERE content_hash IS NULL AND data IS NOT NULL AND id > ? ORDER BY id LIMIT ?";
+    private static final String SELECT_LEGACY_BY_ID_SQL =
+            "SELECT data FROM images WHERE id = ? AND content_hash IS NULL AND data IS NOT NULL";
+    private static final String MIGRATE_SQL =
+            "UPDATE images SET content_hash = ?, size_bytes = ?, data = NULL WHERE id = ? AND content_hash IS NULL";
+
     private final ImageRepository imageRepository;
     private final ImageMapper imageMapper;
+    private final ImageStorage imageStorage;
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxSizeBytes;
+    private final int migrationBatchSize;
+    private final Duration orphanGracePeriod;
+    // A row's content never changes; expiry bounds how long a row deleted on another instance is still served
+    private final Cache<UUID, ImageRepository.ImageLocator> locators;
+
+    public ImageServiceImpl(ImageRepository imageRepository,
+                            ImageMapper imageMapper,
+                            ImageStorage imageStorage,
+                            JdbcTemplate jdbcTemplate,
+                            @Value("${app.image.storage.max-size-bytes:10485760}") long maxSizeBytes,
+                            @Value("${app.image.storage.migration.batch-size:50}") int migrationBatchSize,
+                            @Value("${app.image.storage.orphan-sweep.grace-minutes:60}") long orphanGraceMinutes,
+                            @Value("${app.image.storage.locator-cache.maximum-size:10000}") long locatorCacheSize,
+                            @Value("${app.image.storage.locator-cache.expire-after-write-minutes:10}") long locatorExpiryMinutes) {
+        this.imageRepository = imageRepository;
+        this.imageMapper = imageMapper;
+        this.imageStorage = imageStorage;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxSizeBytes = maxSizeBytes;
+        this.migrationBatchSize = migrationBatchSize;
+        this.orphanGracePeriod = Duration.ofMinutes(orphanGraceMinutes);
+        this.locators = Caffeine.newBuilder()
+                .maximumSize(locatorCacheSize)
+                .expireAfterWrite(locatorExpiryMinutes, TimeUnit.MINUTES)
+                .build();
+    }
 
     @Override
-    @Transactional
     public ImageDto uploadImage(ImageUploadRequest request) {
-        // Normalize the type field - add "image/" prefix if it doesn't have it
-        if (!request.getType().contains("/")) {
-            request.setType("image/" + request.getType());
-        }
+        return uploadImage(request.getType(), decodeBase64(request.getBase64()));
+    }
+
+    /**
+     * Not transactional: the upload streams into storage without holding a connection, and the row
+     * is saved in the repository's own short transaction. When the save fails the file is left to
+     * the orphan sweep, since an identical upload may be saving a row for the same file right now.
+     */
+    @Override
+    public ImageDto uploadImage(String type, InputStream content) {
+        ImageStorage.StoredImage stored = imageStorage.store(content, maxSizeBytes);
 
-        ImageEntity image = imageMapper.toEntity(request);
-        ImageEntity savedImage = imageRepository.save(image);
-        return imageMapper.toDto(savedImage);
+        ImageEntity image = new ImageEntity();
+        image.setType(normalizeType(type));
+        image.setContentHash(stored.contentHash());
+        image.setSizeBytes(stored.size());
+        try {
+            ImageEntity savedImage = imageRepository.save(image);
+            return imageMapper.toDto(savedImage);
+        } catch (RuntimeException e) {
+            log.warn("Failed to save image row for stored content {}; the orphan sweep removes it if unused",
+                    stored.contentHash());
+            throw e;
+        }
     }
-    
+
     @Override
-    @Transactional()
-    public ImageResponse getImageById(UUID id) {
-        ImageEntity image = imageRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Image not found with id: " + id));
-        return imageMapper.toResponse(image);
+    public ImageContentResponse getImageContent(UUID id) {
+        ImageRepository.ImageLocator locator = locators.getIfPresent(id);
+        if (locator == null) {
+            locator = imageRepository.findLocatorById(id)
+                    .orElseThrow(() -> new NotFoundException("Image not found with id: " + id));
+            if (locator.getContentHash() == null) {
+                migrateLegacyImage(id);
+                locator = imageRepository.findLocatorById(id)
+                        .filter(migrated -> migrated.getContentHash() != null)
+                        .orElseThrow(() -> new NotFoundException("Image content not found with id: " + id));
+            }
+            locators.put(id, locator);
+        }
+
+        String contentHash = locator.getContentHash();
+        Resource resource = imageStorage.load(contentHash)
+                .orElseThrow(() -> new NotFoundException("Image content not found with id: " + id));
+        return ImageContentResponse.builder()
+                .id(id)
+                .type(locator.getType())
+                .contentHash(contentHash)
+                .size(locator.getSizeBytes())
+                .resource(resource)
+                .build();
     }
 
-    
     @Override
-    @Transactional
     public void deleteImage(UUID id) {
         if (!imageRepository.existsById(id)) {
             throw new NotFoundException("Image not found with id: " + id);
         }
         imageRepository.deleteById(id);
+        locators.invalidate(id);
+    }
+
+    @Override
+    public int sweepOrphanedImages() {
+        long started = System.nanoTime();
+        Instant cutoff = Instant.now().minus(orphanGracePeriod);
+        AtomicInteger deleted = new AtomicInteger();
+        imageStorage.forEachStoredBefore(cutoff, contentHash -> {
+            if (!imageRepository.existsByContentHash(contentHash)
+                    && imageStorage.deleteIfStoredBefore(contentHash, cutoff)) {
+                deleted.incrementAndGet();
+            }
+        });
+        log.info("Swept {} orphaned images in {} ms", deleted.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return deleted.get();
+    }
+
+    @Override
+    public LegacyMigrationBatch migrateLegacyImageBatch(UUID afterId) {
+        List<LegacyImage> batch = jdbcTemplate.query(SELECT_LEGACY_SQL,
+                (rs, rowNum) -> new LegacyImage(rs.getObject("id", UUID.class), rs.getString("data")),
+                afterId, migrationBatchSize);
+        int migrated = 0;
+        for (LegacyImage image : batch) {
+            if (migrate(image.id(), image.data())) {
+                migrated++;
+            }
+        }
+        // Keyset paging, so a row that fails to decode is skipped instead of selected again
+        UUID lastId = batch.size() < migrationBatchSize ? null : batch.get(batch.size() - 1).id();
+        return new LegacyMigrationBatch(migrated, lastId);
+    }
+
+    private void migrateLegacyImage(UUID id) {
+        List<String> data = jdbcTemplate.queryForList(SELECT_LEGACY_BY_ID_SQL, String.class, id);
+        if (!data.isEmpty()) {
+            migrate(id, data.get(0));
+        }
+    }
+
+    /**
+     * Store the decoded bytes, then point the row at them and drop the Base64 text. A row moved
+     * concurrently by another instance is left as that instance wrote it.
+     */
+    private boolean migrate(UUID id, String base64) {
+        try {
+            ImageStorage.StoredImage stored = imageStorage.store(decodeBase64(base64), Long.MAX_VALUE);
+            return jdbcTemplate.update(MIGRATE_SQL, stored.contentHash(), stored.size(), id) > 0;
+        } catch (RuntimeException e) {
+            log.warn("Failed to move legacy image {} to image storage: {}", id, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * A data URL prefix such as "data:image/png;base64," is skipped
+     */
+    private static InputStream decodeBase64(String base64) {
+        int comma = base64.indexOf(',');
+        try {
+            return new ByteArrayInputStream(Base64.getDecoder().decode(comma >= 0 ? base64.substring(comma + 1) : base64));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Image data is not valid Base64");
+        }
+    }
+
+    // Normalize the type field - add "image/" prefix if it doesn't have it
+    private static String normalizeType(String type) {
+        return type.contains("/") ? type : "image/" + type;
+    }
+
+    private record LegacyImage(UUID id, String data) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,39 @@
+package com.emenu.features.setting.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Where image bytes live. Content is addressed by its SHA-256 hex digest, so identical uploads
+ * share one stored object and a stored object never changes. Objects are never deleted with their
+ * rows; a periodic sweep removes the ones no row points at once they are older than a grace period.
+ */
+public interface ImageStorage {
+
+    /**
+     * Stream the content into storage without buffering it in memory. The stored object counts as
+     * written now even when identical content was already there.
+     *
+     * @throws com.emenu.exception.custom.ValidationException when the content is empty or longer than maxBytes
+     */
+    StoredImage store(InputStream content, long maxBytes);
+
+    Optional<Resource> load(String contentHash);
+
+    /**
+     * Visit every stored object last written before the cutoff
+     */
+    void forEachStoredBefore(Instant cutoff, Consumer<String> contentHashAction);
+
+    /**
+     * Delete the object unless it was written again at or after the cutoff; returns whether it was deleted
+     */
+    boolean deleteIfStoredBefore(String contentHash, Instant cutoff);
+
+    record StoredImage(String contentHash, long size) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.emenu.features.setting.storage;
+
+import com.emenu.exception.custom.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Files under a root directory at ab/cd/abcd..., named by their SHA-256. An upload is written to a
+ * temporary file while it is hashed, then renamed into place. A duplicate replaces the identical
+ * file, which renews its modification time so the orphan sweep leaves it alone while the new row
+ * is being saved.
+ * <p>
+ * With more than one instance the root must be a volume every instance mounts (e.g. NFS); a
+ * node-local directory only works for a single instance.
+ */
+@Component
+@Slf4j
+public class LocalImageStorage implements ImageStorage {
+
+    private static final Pattern CONTENT_HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path root;
+
+    public LocalImageStorage(@Value("${app.image.storage.local.root:./data/images}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create image storage directory " + this.root, e);
+        }
+        log.info("Local image storage at {}", this.root);
+    }
+
+    @Override
+    public StoredImage store(InputStream content, long maxBytes) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(root, "upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size = 0;
+            try (InputStream in = new DigestInputStream(content, digest); OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new ValidationException("Image must not exceed " + maxBytes + " bytes");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            if (size == 0) {
+                throw new ValidationException("Image content is empty");
+            }
+
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(contentHash);
+            Files.createDirectories(target.getParent());
+            // rename(2) replaces an existing file atomically; readers of the old one keep their handle
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return new StoredImage(contentHash, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store image", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    @Override
+    public Optional<Resource> load(String contentHash) {
+        Path path = pathOf(contentHash);
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    @Override
+    public void forEachStoredBefore(Instant cutoff, Consumer<String> contentHashAction) {
+        try (Stream<Path> files = Files.walk(root, 3)) {
+            files.filter(path -> CONTENT_HASH.matcher(path.getFileName().toString()).matches())
+                    .filter(path -> isStoredBefore(path, cutoff))
+                    .forEach(path -> contentHashAction.accept(path.getFileName().toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list image storage", e);
+        }
+    }
+
+    @Override
+    public boolean deleteIfStoredBefore(String contentHash, Instant cutoff) {
+        Path path = pathOf(contentHash);
+        // Checked again right before deleting, so an upload that just renewed the file keeps it
+        if (!isStoredBefore(path, cutoff)) {
+            return false;
+        }
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete stored image {}: {}", contentHash, e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean isStoredBefore(Path path, Instant cutoff) {
+        try {
+            return Files.isRegularFile(path) && Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            log.warn("Failed to read modification time of {}: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    private Path pathOf(String contentHash) {
+        if (contentHash == null || !CONTENT_HASH.matcher(contentHash).matches()) {
+            throw new IllegalArgumentException("Invalid image content hash: " + contentHash);
+        }
+        return root.resolve(contentHash.substring(0, 2)).resolve(contentHash.substring(2, 4)).resolve(contentHash);
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary upload {}: {}", path, e.getMessage());
+        }
+    }
+}
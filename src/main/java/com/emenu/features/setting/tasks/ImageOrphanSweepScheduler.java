@@ -0,0 +1,30 @@
+package com.emenu.features.setting.tasks;
+
+import com.emenu.features.setting.service.ImageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(value = "app.image.storage.orphan-sweep.enabled", havingValue = "true", matchIfMissing = true)
+public class ImageOrphanSweepScheduler {
+
+    private final ImageService imageService;
+
+    /**
+     * Delete stored image files left behind by deleted rows and failed uploads
+     */
+    @Scheduled(fixedDelayString = "${app.image.storage.orphan-sweep.interval-ms:3600000}",
+            initialDelayString = "${app.image.storage.orphan-sweep.interval-ms:3600000}")
+    public void sweepOrphanedImages() {
+        try {
+            imageService.sweepOrphanedImages();
+        } catch (Exception e) {
+            log.error("Failed to sweep orphaned images", e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.emenu.features.setting.tasks;
+
+import com.emenu.features.setting.service.ImageService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves Base64 image rows into image storage on its own thread, one batch at a time, so a large
+ * legacy table does not hold up startup. Interrupted migrations resume on the next start: moved
+ * rows no longer match the legacy query.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(value = "app.image.storage.migration.enabled", havingValue = "true", matchIfMissing = true)
+public class ImageStorageMigrationRunner {
+
+    private final ImageService imageService;
+    private final long batchDelayMs;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "image-storage-migration");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private int migrated;
+
+    public ImageStorageMigrationRunner(ImageService imageService,
+                                       @Value("${app.image.storage.migration.batch-delay-ms:100}") long batchDelayMs) {
+        this.imageService = imageService;
+        this.batchDelayMs = batchDelayMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        executor.execute(() -> migrateBatch(new UUID(0L, 0L)));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Move one batch and schedule the next; a no-op once every row has been moved
+     */
+    private void migrateBatch(UUID afterId) {
+        // A batch already scheduled still runs after shutdown(); the remaining rows move on the next start
+        if (executor.isShutdown()) {
+            log.info("Stopped moving legacy images on shutdown after {}", migrated);
+            return;
+        }
+        ImageService.LegacyMigrationBatch batch;
+        try {
+            batch = imageService.migrateLegacyImageBatch(afterId);
+        } catch (Exception e) {
+            log.error("Failed to move legacy images to image storage", e);
+            return;
+        }
+
+        migrated += batch.migrated();
+        if (batch.lastId() == null) {
+            if (migrated > 0) {
+                log.info("Moved {} legacy images to image storage", migrated);
+            }
+            return;
+        }
+        log.info("Moved {} legacy images to image storage so far", migrated);
+        try {
+            executor.schedule(() -> migrateBatch(batch.lastId()), batchDelayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.info("Stopped moving legacy images on shutdown after {}", migrated);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.emenu.features.subscription.cache;
+
+import com.emenu.features.subscription.models.Subscription;
+import com.emenu.features.subscription.repository.SubscriptionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-business subscription entitlement: the end date of the running subscription that ends last.
+ * Expiry is evaluated against the cached end date, so a subscription running out needs no reload;
+ * subscription writes drop the entry after commit. That eviction reaches this instance only, so entries
+ * also expire a few minutes after loading to bound how long other instances serve a stale entitlement.
+ */
+@Component
+@Slf4j
+public class SubscriptionEntitlementCache {
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final Cache<UUID, Entitlement> entitlements;
+
+    public SubscriptionEntitlementCache(SubscriptionRepository subscriptionRepository,
+                                        @Value("${app.subscription.entitlement-cache.maximum-size:10000}") long maximumSize,
+                                        @Value("${app.subscription.entitlement-cache.expire-after-write-minutes:2}") long expireAfterWriteMinutes) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.entitlements = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    public boolean isEntitled(UUID businessId) {
+        return getEntitlement(businessId).isActiveAt(LocalDateTime.now());
+    }
+
+    public Entitlement getEntitlement(UUID businessId) {
+        return getEntitlements(Set.of(businessId)).get(businessId);
+    }
+
+    /**
+     * Entitlements of several businesses, loading all misses with one query
+     */
+    public Map<UUID, Entitlement> getEntitlements(Collection<UUID> businessIds) {
+        return entitlements.getAll(new HashSet<>(businessIds), this::load);
+    }
+
+    public void invalidateAfterCommit(UUID businessId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entitlements.invalidate(businessId);
+                }
+            });
+        } else {
+            entitlements.invalidate(businessId);
+        }
+    }
+
+    public void invalidate(Collection<UUID> businessIds) {
+        entitlements.invalidateAll(businessIds);
+    }
+
+    private Map<UUID, Entitlement> load(Set<? extends UUID> businessIds) {
+        Map<UUID, Entitlement> loaded = new HashMap<>();
+        businessIds.forEach(businessId -> loaded.put(businessId, Entitlement.NONE));
+
+        // Latest end date first, so the first subscription seen per business wins
+        List<Subscription> running = subscriptionRepository.findCurrentActiveByBusinessIdIn(List.copyOf(businessIds), LocalDateTime.now());
+        for (Subscription subscription : running) {
+            if (loaded.get(subscription.getBusinessId()) == Entitlement.NONE) {
+                loaded.put(subscription.getBusinessId(), new Entitlement(subscription.getId(), subscription.getEndDate()));
+            }
+        }
+        return loaded;
+    }
+
+    public record Entitlement(UUID subscriptionId, LocalDateTime endDate) {
+
+        public static final Entitlement NONE = new Entitlement(null, null);
+
+        public boolean isActiveAt(LocalDateTime at) {
+            return endDate != null && endDate.isAfter(at);
+        }
+    }
+}
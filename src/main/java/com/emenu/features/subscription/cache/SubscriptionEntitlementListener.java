@@ -0,0 +1,29 @@
+package com.emenu.features.subscription.cache;
+
+import com.emenu.features.subscription.models.Subscription;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops a business entitlement once a write to one of its subscriptions commits
+ */
+@Component
+@RequiredArgsConstructor
+public class SubscriptionEntitlementListener {
+
+    // Resolved lazily: listeners are created while the EntityManagerFactory is being built
+    private final ObjectProvider<SubscriptionEntitlementCache> entitlementCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Subscription subscription) {
+        if (subscription.getBusinessId() != null) {
+            entitlementCache.getObject().invalidateAfterCommit(subscription.getBusinessId());
+        }
+    }
+}
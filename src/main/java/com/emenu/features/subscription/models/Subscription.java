@@ -1,7 +1,9 @@
 package com.emenu.features.subscription.models;
 
 import com.emenu.features.auth.models.Business;
+import com.emenu.features.auth.summary.BusinessOwnerSummaryListener;
 import com.emenu.features.payment.models.Payment;
+import com.emenu.features.subscription.cache.SubscriptionEntitlementListener;
 import com.emenu.shared.domain.BaseUUIDEntity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -17,7 +19,11 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "subscriptions")
+@EntityListeners({BusinessOwnerSummaryListener.class, SubscriptionEntitlementListener.class})
+@Table(name = "subscriptions", indexes = {
+        @Index(name = "idx_subscription_end_date", columnList = "end_date, is_deleted"),
+        @Index(name = "idx_subscription_business_end_date", columnList = "business_id, end_date")
+})
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
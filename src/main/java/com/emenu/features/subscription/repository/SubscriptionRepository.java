@@ -10,6 +10,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,6 +24,10 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, UUID
     @Query("SELECT s FROM Subscription s LEFT JOIN FETCH s.business b LEFT JOIN FETCH s.plan p WHERE s.businessId = :businessId AND s.endDate > :now AND s.isDeleted = false ORDER BY s.endDate DESC")
     Optional<Subscription> findCurrentActiveByBusinessId(@Param("businessId") UUID businessId, @Param("now") LocalDateTime now);
 
+    // Running subscriptions of several businesses, latest end date first per business
+    @Query("SELECT s FROM Subscription s LEFT JOIN FETCH s.plan p WHERE s.businessId IN :businessIds AND s.endDate > :now AND s.isDeleted = false ORDER BY s.endDate DESC")
+    List<Subscription> findCurrentActiveByBusinessIdIn(@Param("businessIds") Collection<UUID> businessIds, @Param("now") LocalDateTime now);
+
     @Query("SELECT COUNT(s) FROM Subscription s WHERE s.planId = :planId AND s.isDeleted = false")
     long countByPlan(@Param("planId") UUID planId);
 
@@ -0,0 +1,23 @@
+package com.emenu.features.subscription.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Applies subscription end dates to business state, so readers do not have to derive it from now()
+ */
+public interface SubscriptionExpiryService {
+
+    /**
+     * Handle subscriptions whose end date, or expiring-soon threshold, fell in (from, to]
+     */
+    SweepReport sweep(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Deactivate every business still marked active whose subscriptions all ended by {@code to},
+     * however long ago; returns the number of businesses deactivated
+     */
+    int deactivateAllExpired(LocalDateTime to);
+
+    record SweepReport(int expired, int businessesDeactivated, int expiringSoon) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.emenu.features.subscription.service.impl;
+
+import com.emenu.features.auth.service.BusinessOwnerSummaryService;
+import com.emenu.features.subscription.service.SubscriptionExpiryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set-based expiry handling. Candidates come from a range scan on subscriptions.end_date;
+ * every statement is idempotent, so overlapping or repeated windows are harmless.
+ */
+@Service
+@Slf4j
+public class SubscriptionExpiryServiceImpl implements SubscriptionExpiryService {
+
+    private static final String CROSSING_BUSINESSES_SQL =
+            "SELECT DISTINCT s.business_id FROM subscriptions s " +
+            "WHERE s.is_deleted = false AND s.end_date > ? AND s.end_date <= ?";
+
+    // Same state change as Business.deactivateSubscription, for businesses left without a running subscription
+    private static final String DEACTIVATE_BATCH_SQL = """
+            UPDATE businesses b
+            SET is_subscription_active = false, status = 'SUSPENDED',
+                updated_at = ?, updated_by = 'SYSTEM', version = b.version + 1
+            WHERE b.id IN (
+                SELECT DISTINCT s.business_id FROM subscriptions s
+                JOIN businesses c ON c.id = s.business_id
+                WHERE s.is_deleted = false AND s.end_date > ? AND s.end_date <= ?
+                AND c.is_subscription_active = true AND c.is_deleted = false
+                AND NOT EXISTS (
+                    SELECT 1 FROM subscriptions r
+                    WHERE r.business_id = s.business_id AND r.is_deleted = false AND r.end_date > ?
+                )
+                LIMIT ?
+            )
+            RETURNING b.id
+            """;
+
+    // Same change without a lower bound on end_date, for businesses whose expiry no swept window covered
+    private static final String DEACTIVATE_ALL_EXPIRED_BATCH_SQL = """
+            UPDATE businesses b
+            SET is_subscription_active = false, status = 'SUSPENDED',
+                updated_at = ?, updated_by = 'SYSTEM', version = b.version + 1
+            WHERE b.id IN (
+                SELECT c.id FROM businesses c
+                WHERE c.is_subscription_active = true AND c.is_deleted = false
+                AND EXISTS (
+                    SELECT 1 FROM subscriptions s
+                    WHERE s.business_id = c.id AND s.is_deleted = false AND s.end_date <= ?
+                )
+                AND NOT EXISTS (
+                    SELECT 1 FROM subscriptions r
+                    WHERE r.business_id = c.id AND r.is_deleted = false AND r.end_date > ?
+                )
+                LIMIT ?
+            )
+            RETURNING b.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BusinessOwnerSummaryService summaryService;
+    private final int expiringSoonDays;
+    private final int batchSize;
+
+    public SubscriptionExpiryServiceImpl(JdbcTemplate jdbcTemplate,
+                                         TransactionTemplate transactionTemplate,
+                                         BusinessOwnerSummaryService summaryService,
+                                         @Value("${app.subscription.expiry.expiring-soon-days:7}") int expiringSoonDays,
+                                         @Value("${app.subscription.expiry.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.summaryService = summaryService;
+        this.expiringSoonDays = expiringSoonDays;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public SweepReport sweep(LocalDateTime from, LocalDateTime to) {
+        Timestamp fromTimestamp = Timestamp.valueOf(from);
+        Timestamp toTimestamp = Timestamp.valueOf(to);
+
+        List<UUID> expired = jdbcTemplate.queryForList(CROSSING_BUSINESSES_SQL, UUID.class, fromTimestamp, toTimestamp);
+        int deactivated = deactivateExpired(fromTimestamp, toTimestamp);
+
+        List<UUID> expiringSoon = jdbcTemplate.queryForList(CROSSING_BUSINESSES_SQL, UUID.class,
+                Timestamp.valueOf(from.plusDays(expiringSoonDays)), Timestamp.valueOf(to.plusDays(expiringSoonDays)));
+
+        // Business rows were changed with JDBC, so the listing read model is refreshed here
+        refreshSummaries(expired);
+        refreshSummaries(expiringSoon);
+
+        SweepReport report = new SweepReport(expired.size(), deactivated, expiringSoon.size());
+        if (report.expired() > 0 || report.expiringSoon() > 0) {
+            log.info("Subscription expiry sweep ({} - {}) - Expired: {}, Businesses deactivated: {}, Expiring soon: {}",
+                    from, to, report.expired(), report.businessesDeactivated(), report.expiringSoon());
+        }
+        return report;
+    }
+
+    @Override
+    public int deactivateAllExpired(LocalDateTime to) {
+        Timestamp toTimestamp = Timestamp.valueOf(to);
+        List<UUID> deactivated = new ArrayList<>();
+        while (true) {
+            List<UUID> batch = transactionTemplate.execute(status -> jdbcTemplate.queryForList(
+                    DEACTIVATE_ALL_EXPIRED_BATCH_SQL, UUID.class, Timestamp.valueOf(LocalDateTime.now()),
+                    toTimestamp, toTimestamp, batchSize));
+            if (batch != null) {
+                deactivated.addAll(batch);
+            }
+            if (batch == null || batch.size() < batchSize) {
+                break;
+            }
+        }
+
+        refreshSummaries(deactivated);
+        if (!deactivated.isEmpty()) {
+            log.info("Subscription expiry catch-up (until {}) - Businesses deactivated: {}", to, deactivated.size());
+        }
+        return deactivated.size();
+    }
+
+    private int deactivateExpired(Timestamp from, Timestamp to) {
+        int total = 0;
+        while (true) {
+            List<UUID> deactivated = transactionTemplate.execute(status -> jdbcTemplate.queryForList(
+                    DEACTIVATE_BATCH_SQL, UUID.class, Timestamp.valueOf(LocalDateTime.now()), from, to, to, batchSize));
+            int count = deactivated != null ? deactivated.size() : 0;
+            total += count;
+            if (count < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    private void refreshSummaries(List<UUID> businessIds) {
+        for (int start = 0; start < businessIds.size(); start += batchSize) {
+            List<UUID> chunk = businessIds.subList(start, Math.min(start + batchSize, businessIds.size()));
+            summaryService.refresh(chunk, Set.of());
+        }
+    }
+}
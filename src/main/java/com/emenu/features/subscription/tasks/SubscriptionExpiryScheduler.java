@@ -0,0 +1,46 @@
+package com.emenu.features.subscription.tasks;
+
+import com.emenu.features.subscription.service.SubscriptionExpiryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(value = "app.subscription.expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class SubscriptionExpiryScheduler {
+
+    private final SubscriptionExpiryService subscriptionExpiryService;
+
+    @Value("${app.subscription.expiry.initial-lookback-hours:24}")
+    private int initialLookbackHours;
+
+    // End of the last swept window; kept in memory, so the first run after startup catches up instead
+    private LocalDateTime sweptUntil;
+
+    /**
+     * Apply subscriptions that expired or entered the expiring-soon window since the last run
+     */
+    @Scheduled(fixedDelayString = "${app.subscription.expiry.sweep-interval-ms:300000}")
+    public void sweepExpiringSubscriptions() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = sweptUntil != null ? sweptUntil : now.minusHours(initialLookbackHours);
+
+        try {
+            if (sweptUntil == null) {
+                // Expiries missed while no instance was sweeping, however long ago they happened
+                subscriptionExpiryService.deactivateAllExpired(now);
+            }
+            subscriptionExpiryService.sweep(from, now);
+            sweptUntil = now;
+        } catch (Exception e) {
+            log.error("Failed to execute scheduled subscription expiry sweep", e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.emenu.security;
 
 import com.emenu.security.jwt.JWTAuthenticationFilter;
 import com.emenu.security.jwt.JwtAuthEntryPoint;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -57,6 +58,9 @@ public class SecurityConfig {
                         // ===== ACTUATOR ENDPOINTS =====
                         .requestMatchers("/actuator/health/**").permitAll()
 
+                        // ===== ASYNC DISPATCH (streams already authorized on the original request) =====
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
@@ -1,47 +1,231 @@
 package com.emenu.shared.generate;
 
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Payment references of the form PAY-yyyyMMdd-HHmmssSSS-NNN-SSSS (31 chars):
+ * timestamp, node ID and a per-millisecond sequence. A node never repeats a reference;
+ * nodes differ by their node ID, which is either configured or leased from payment_reference_node_leases.
+ * A leased ID is renewed by a heartbeat and is only used while the lease is known to be held.
+ */
 @Component
+// The lease table is created by Hibernate (PaymentReferenceNodeLease) before the first lease is taken
+@DependsOn("entityManagerFactory")
 @Slf4j
 public class PaymentReferenceGenerator {
 
-    private final AtomicLong counter = new AtomicLong(System.currentTimeMillis() % 10000);
+    private static final int NODE_COUNT = 1000;
+    private static final int SEQUENCE_RADIX = 10000;
+
+    // Lowest ID that is free or expired; a concurrent claim of the same ID makes the conditional update a no-op
+    private static final String ACQUIRE_LEASE_SQL =
+            "INSERT INTO payment_reference_node_leases (id, version, created_at, created_by, is_deleted, " +
+            "node_id, instance_id, expires_at) " +
+            "SELECT ?, 0, LOCALTIMESTAMP, 'SYSTEM', false, n, ?, LOCALTIMESTAMP + make_interval(secs => ?) " +
+            "FROM generate_series(0, " + (NODE_COUNT - 1) + ") n " +
+            "WHERE NOT EXISTS (SELECT 1 FROM payment_reference_node_leases l WHERE l.node_id = n AND l.expires_at > LOCALTIMESTAMP) " +
+            "ORDER BY n LIMIT 1 " +
+            "ON CONFLICT (node_id) DO UPDATE SET instance_id = EXCLUDED.instance_id, expires_at = EXCLUDED.expires_at, " +
+            "updated_at = LOCALTIMESTAMP, version = payment_reference_node_leases.version + 1 " +
+            "WHERE payment_reference_node_leases.expires_at <= LOCALTIMESTAMP " +
+            "RETURNING node_id";
+
+    private static final String RENEW_LEASE_SQL =
+            "UPDATE payment_reference_node_leases SET expires_at = LOCALTIMESTAMP + make_interval(secs => ?), " +
+            "updated_at = LOCALTIMESTAMP, version = version + 1 " +
+            "WHERE node_id = ? AND instance_id = ? AND expires_at > LOCALTIMESTAMP";
+
+    private static final String RELEASE_LEASE_SQL =
+            "DELETE FROM payment_reference_node_leases WHERE node_id = ? AND instance_id = ?";
+
+    private static final int ACQUIRE_ATTEMPTS = 5;
+
+    private static final DateTimeFormatter MINUTE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmm");
+    private static final char[] PREFIX = "PAY-".toCharArray();
+    private static final int LENGTH = 31;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> {
+        char[] buffer = new char[LENGTH];
+        System.arraycopy(PREFIX, 0, buffer, 0, PREFIX.length);
+        buffer[22] = '-';
+        buffer[26] = '-';
+        return buffer;
+    });
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean leased;
+    private final UUID instanceId = UUID.randomUUID();
+    private final long leaseTtlSeconds;
+    private volatile int nodeId;
+
+    // System.nanoTime() until which the lease is certainly held: renewal start + TTL - safety margin
+    private volatile long leaseValidUntilNanos;
+
+    // epochMillis * SEQUENCE_RADIX + sequence of the last reference issued
+    private final AtomicLong lastStamp = new AtomicLong();
+    private volatile MinuteText minuteText = new MinuteText(Long.MIN_VALUE, null);
+
+    public PaymentReferenceGenerator(JdbcTemplate jdbcTemplate,
+                                     @Value("${app.payment.reference.node-id:-1}") int configuredNodeId,
+                                     @Value("${app.payment.reference.lease.ttl-seconds:90}") long leaseTtlSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseTtlSeconds = leaseTtlSeconds;
+        this.leased = configuredNodeId < 0;
+        if (leased) {
+            acquireLease();
+        } else {
+            if (configuredNodeId >= NODE_COUNT) {
+                throw new IllegalStateException("app.payment.reference.node-id must be below " + NODE_COUNT);
+            }
+            this.nodeId = configuredNodeId;
+        }
+        log.info("Payment reference node ID: {}{}", nodeId, leased ? " (leased)" : "");
+    }
 
     /**
-     * Generate reference number (no uniqueness check)
-     * ✅ FIXED: Removed uniqueness check and database dependency
+     * Generate reference number, unique without a database check
      */
     public String generateUniqueReference() {
-        String reference = generateReference();
+        if (leased && leaseExpired()) {
+            ensureLease();
+        }
+        String reference = format(nextStamp());
         log.debug("Generated reference: {}", reference);
         return reference;
     }
 
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Heartbeat of a leased node ID; an ID lost to another instance is replaced by a new lease
+     */
+    @Scheduled(fixedDelayString = "${app.payment.reference.lease.renew-interval-ms:30000}")
+    public void heartbeat() {
+        if (!leased) {
+            return;
+        }
+        try {
+            renewLease();
+        } catch (Exception e) {
+            log.error("Failed to renew payment reference node lease {}", nodeId, e);
+        }
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        if (leased) {
+            try {
+                jdbcTemplate.update(RELEASE_LEASE_SQL, nodeId, instanceId);
+            } catch (Exception e) {
+                log.warn("Failed to release payment reference node lease {}: {}", nodeId, e.getMessage());
+            }
+        }
+    }
+
     /**
-     * Generate reference with multiple entropy sources
+     * Strictly increasing per node: 10000 references per millisecond, then the clock is borrowed from the next
+     * millisecond. A clock moving backwards keeps counting from the last issued stamp.
      */
-    private String generateReference() {
-        // Get current timestamp components
-        LocalDateTime now = LocalDateTime.now();
-        String date = now.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String time = now.format(DateTimeFormatter.ofPattern("HHmmss"));
-        String millis = String.format("%03d", now.getNano() / 1000000);
+    private long nextStamp() {
+        long floor = System.currentTimeMillis() * SEQUENCE_RADIX;
+        while (true) {
+            long last = lastStamp.get();
+            long next = Math.max(last + 1, floor);
+            if (lastStamp.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
 
-        // Thread-safe counter
-        long counterValue = counter.incrementAndGet() % 10000;
+    private String format(long stamp) {
+        long epochMillis = stamp / SEQUENCE_RADIX;
+        int sequence = (int) (stamp % SEQUENCE_RADIX);
+        long epochMinute = Math.floorDiv(epochMillis, 60_000L);
+        int millisOfMinute = (int) Math.floorMod(epochMillis, 60_000L);
 
-        // Additional randomness
-        int random = ThreadLocalRandom.current().nextInt(1000, 9999);
+        // Zone offsets are whole minutes, so only the minute text needs the formatter
+        MinuteText minute = minuteText;
+        if (minute.epochMinute != epochMinute) {
+            String text = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochMinute * 60), zone).format(MINUTE_FORMAT);
+            minute = new MinuteText(epochMinute, text.toCharArray());
+            minuteText = minute;
+        }
+
+        char[] buffer = BUFFER.get();
+        System.arraycopy(minute.chars, 0, buffer, 4, minute.chars.length);
+        writeDigits(buffer, 17, 2, millisOfMinute / 1000);
+        writeDigits(buffer, 19, 3, millisOfMinute % 1000);
+        writeDigits(buffer, 23, 3, nodeId);
+        writeDigits(buffer, 27, 4, sequence);
+        return new String(buffer);
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int width, int value) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    // Heartbeat fell behind (pause, database outage): never issue under a lease that may have expired
+    private synchronized void ensureLease() {
+        if (leaseExpired()) {
+            renewLease();
+        }
+    }
+
+    private boolean leaseExpired() {
+        return System.nanoTime() - leaseValidUntilNanos > 0;
+    }
+
+    private synchronized void renewLease() {
+        long started = System.nanoTime();
+        if (jdbcTemplate.update(RENEW_LEASE_SQL, leaseTtlSeconds, nodeId, instanceId) == 1) {
+            leaseValidUntilNanos = started + leaseValidityNanos();
+            return;
+        }
+        log.warn("Payment reference node lease {} expired, acquiring a new node ID", nodeId);
+        acquireLease();
+        log.info("Payment reference node ID: {} (leased)", nodeId);
+    }
+
+    private synchronized void acquireLease() {
+        for (int attempt = 0; attempt < ACQUIRE_ATTEMPTS; attempt++) {
+            long started = System.nanoTime();
+            List<Integer> acquired = jdbcTemplate.queryForList(ACQUIRE_LEASE_SQL, Integer.class,
+                    UUID.randomUUID(), instanceId, leaseTtlSeconds);
+            if (!acquired.isEmpty()) {
+                nodeId = acquired.get(0);
+                leaseValidUntilNanos = started + leaseValidityNanos();
+                return;
+            }
+        }
+        throw new IllegalStateException("No free payment reference node ID among " + NODE_COUNT);
+    }
+
+    // Stop trusting the lease a third of the TTL early, well before another instance may take it over
+    private long leaseValidityNanos() {
+        return TimeUnit.SECONDS.toNanos(leaseTtlSeconds) * 2 / 3;
+    }
 
-        // Combine all entropy sources
-        return String.format("PAY-%s-%s%s-%04d-%04d",
-                date, time, millis, counterValue, random);
+    private record MinuteText(long epochMinute, char[] chars) {
     }
-}
\ No newline at end of file
+}
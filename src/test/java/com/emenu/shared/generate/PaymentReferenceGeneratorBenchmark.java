@@ -0,0 +1,55 @@
+package com.emenu.shared.generate;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of PaymentReferenceGenerator with one thread and under contention on the shared sequence.
+ * Allocation per call comes from the GC profiler (gc.alloc.rate.norm), which main() enables:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.emenu.shared.generate.PaymentReferenceGeneratorBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentReferenceGeneratorBenchmark {
+
+    private PaymentReferenceGenerator generator;
+
+    @Setup
+    public void setUp() {
+        // A configured node ID needs no lease, so no database
+        generator = new PaymentReferenceGenerator(null, 7, 90);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String singleThread() {
+        return generator.generateUniqueReference();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String contended() {
+        return generator.generateUniqueReference();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PaymentReferenceGeneratorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}